@@ -0,0 +1,43 @@
+package com.jwctech.finance.benchmarks;
+
+import com.jwctech.finance.FinanceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application against a private in-memory database, without the web layer unless a benchmark drives it
+ * over HTTP.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName) {
+        return new SpringApplicationBuilder(FinanceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("benchmark")
+                .run(datasourceUrl(databaseName));
+    }
+
+    /**
+     * Starts the servlet stack on a random port with the given extra profiles and command-line properties.
+     */
+    static ConfigurableApplicationContext startWeb(String databaseName, String[] profiles, String... properties) {
+        String[] args = new String[properties.length + 2];
+        args[0] = datasourceUrl(databaseName);
+        args[1] = "--server.port=0";
+        System.arraycopy(properties, 0, args, 2, properties.length);
+        return new SpringApplicationBuilder(FinanceApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles("benchmark")
+                .profiles(profiles)
+                .run(args);
+    }
+
+    private static String datasourceUrl(String databaseName) {
+        return "--spring.datasource.url=jdbc:h2:mem:" + databaseName
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    }
+}
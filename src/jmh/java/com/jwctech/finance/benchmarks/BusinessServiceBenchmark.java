@@ -0,0 +1,106 @@
+package com.jwctech.finance.benchmarks;
+
+import com.jwctech.finance.dto.BusinessDeletionJobDto;
+import com.jwctech.finance.dto.BusinessDto;
+import com.jwctech.finance.services.BusinessDeletionJob;
+import com.jwctech.finance.services.BusinessDeletionService;
+import com.jwctech.finance.services.BusinessService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Business lifecycle: creation (business row plus the default category set) and the background purge of a business
+ * holding {@code transactionCount} transactions.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BusinessServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class CreateState {
+        private ConfigurableApplicationContext context;
+        private BusinessService businessService;
+        private long sequence;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BenchmarkContext.start("business-create-" + System.nanoTime());
+            businessService = context.getBean(BusinessService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class DeleteState {
+        @Param({"10000", "100000", "1000000"})
+        public int transactionCount;
+
+        private ConfigurableApplicationContext context;
+        private BusinessDeletionService businessDeletionService;
+        private LedgerSeeder seeder;
+        private long sequence;
+        private Long businessId;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BenchmarkContext.start("business-delete-" + transactionCount + "-" + System.nanoTime());
+            businessDeletionService = context.getBean(BusinessDeletionService.class);
+            seeder = new LedgerSeeder(context);
+        }
+
+        // Seeding is excluded from the measurement; each delete gets a freshly populated business.
+        @Setup(Level.Invocation)
+        public void seedBusiness() {
+            businessId = seeder.seed("Delete " + transactionCount + "-" + sequence++, transactionCount).businessId();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 5)
+    @Measurement(iterations = 5, time = 5)
+    public BusinessDto createBusiness(CreateState state) {
+        return state.businessService.createBusiness("Business " + state.sequence++, null);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public BusinessDeletionJobDto deleteBusiness(DeleteState state) throws InterruptedException {
+        // Deletion is asynchronous; measure until the purge has finished.
+        BusinessDeletionJobDto job = state.businessDeletionService.deleteBusiness(state.businessId);
+        while (!job.status().equals(BusinessDeletionJob.Status.COMPLETED.name())) {
+            if (job.status().equals(BusinessDeletionJob.Status.FAILED.name())) {
+                throw new IllegalStateException("Deletion failed: " + job.failureReason());
+            }
+            Thread.sleep(1);
+            job = state.businessDeletionService.getDeletion(job.id());
+        }
+        return job;
+    }
+}
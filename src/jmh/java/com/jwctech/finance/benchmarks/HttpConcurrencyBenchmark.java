@@ -0,0 +1,109 @@
+package com.jwctech.finance.benchmarks;
+
+import com.jwctech.finance.benchmarks.LedgerSeeder.SeededBusiness;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Month-end style read load over HTTP: each operation fires {@code concurrentClients} simultaneous requests against
+ * the account listing and balance lookups and waits for all of them. The requests are short indexed reads so the
+ * embedded database's CPU cost does not drown out the request scheduling under test. Compares Tomcat's platform-thread pool with the
+ * {@code virtual-threads} profile; the virtual mode needs a Java 21 runtime, e.g.
+ * {@code JAVA_HOME=/path/to/jdk-21 mvn -Pbenchmarks,java21 -DskipTests package exec:exec
+ * -Djmh.args="HttpConcurrencyBenchmark -f 1"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HttpConcurrencyBenchmark {
+
+    private static final int TRANSACTION_COUNT = 10_000;
+
+    @Param({"platform", "virtual"})
+    public String threadMode;
+
+    @Param({"1000", "2000"})
+    public int concurrentClients;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private List<HttpRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] profiles = "virtual".equals(threadMode) ? new String[]{"virtual-threads"} : new String[0];
+        // Both modes get the virtual-threads pool size so only the request threading differs; with Hikari's default
+        // of ten connections the platform mode times out on the pool instead of measuring anything.
+        context = BenchmarkContext.startWeb("http-" + threadMode + "-" + System.nanoTime(), profiles,
+                "--spring.datasource.hikari.maximum-pool-size=50",
+                "--spring.datasource.hikari.minimum-idle=50");
+        SeededBusiness business = new LedgerSeeder(context).seed("Benchmark http", TRANSACTION_COUNT);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String base = "http://localhost:" + port + "/api/businesses/" + business.businessId();
+        requests = List.of(
+                HttpRequest.newBuilder(URI.create(base + "/accounts")).GET().build(),
+                HttpRequest.newBuilder(URI.create(base + "/accounts/" + business.accountIds().get(0)
+                        + "/balance")).GET().build(),
+                HttpRequest.newBuilder(URI.create(base + "/accounts/" + business.accountIds().get(1)
+                        + "/balance")).GET().build()
+        );
+
+        // The client side is identical in both modes as well.
+        clientExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        client = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientExecutor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public int concurrentReads() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[concurrentClients];
+        for (int i = 0; i < concurrentClients; i++) {
+            responses[i] = client.sendAsync(requests.get(i % requests.size()), HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("Unexpected status " + response.statusCode()
+                                    + " from " + response.uri());
+                        }
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+}
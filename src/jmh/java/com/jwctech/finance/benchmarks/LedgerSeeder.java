@@ -0,0 +1,125 @@
+package com.jwctech.finance.benchmarks;
+
+import com.jwctech.finance.dto.AccountDto;
+import com.jwctech.finance.dto.BusinessDto;
+import com.jwctech.finance.dto.CategoryDto;
+import com.jwctech.finance.dto.VendorDto;
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.repositories.TransactionBatchRepository;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewSplit;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewTransaction;
+import com.jwctech.finance.services.AccountService;
+import com.jwctech.finance.services.BusinessService;
+import com.jwctech.finance.services.CategoryService;
+import com.jwctech.finance.services.LedgerProjectionService;
+import com.jwctech.finance.services.VendorService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds synthetic businesses through the same services and batch writer the application uses, so derived tables
+ * (rollups, balances) are populated exactly as in production. Data is deterministic for a given name and size.
+ */
+final class LedgerSeeder {
+
+    private static final int CHUNK_SIZE = 5000;
+    private static final int ACCOUNT_COUNT = 4;
+    private static final int VENDOR_COUNT = 25;
+    private static final LocalDate FIRST_POSTING = LocalDate.of(2022, 1, 1);
+    private static final int POSTING_DAYS = 3 * 365;
+
+    private final BusinessService businessService;
+    private final AccountService accountService;
+    private final CategoryService categoryService;
+    private final VendorService vendorService;
+    private final TransactionBatchRepository transactionBatchRepository;
+    private final LedgerProjectionService ledgerProjectionService;
+    private final TransactionTemplate transactionTemplate;
+
+    LedgerSeeder(ApplicationContext context) {
+        this.businessService = context.getBean(BusinessService.class);
+        this.accountService = context.getBean(AccountService.class);
+        this.categoryService = context.getBean(CategoryService.class);
+        this.vendorService = context.getBean(VendorService.class);
+        this.transactionBatchRepository = context.getBean(TransactionBatchRepository.class);
+        this.ledgerProjectionService = context.getBean(LedgerProjectionService.class);
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    SeededBusiness seed(String name, int transactionCount) {
+        BusinessDto business = businessService.createBusiness(name, null);
+        Long businessId = business.id();
+
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            AccountDto account = accountService.createAccount(businessId, "Account " + i, i == 0 ? "CHECKING" : "CREDIT_CARD");
+            accountIds.add(account.id());
+        }
+        List<Long> vendorIds = new ArrayList<>();
+        for (int i = 0; i < VENDOR_COUNT; i++) {
+            VendorDto vendor = vendorService.createVendor(businessId, "Vendor " + i, null, null, null, true);
+            vendorIds.add(vendor.id());
+        }
+        List<Long> categoryIds = categoryService.getCategories(businessId)
+                .stream()
+                .map(CategoryDto::id)
+                .toList();
+
+        Random random = new Random(name.hashCode());
+        List<NewTransaction> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < transactionCount; i++) {
+            chunk.add(randomTransaction(random, businessId, accountIds, vendorIds, categoryIds, i));
+            if (chunk.size() == CHUNK_SIZE) {
+                write(chunk);
+            }
+        }
+        write(chunk);
+        return new SeededBusiness(businessId, accountIds, vendorIds, categoryIds);
+    }
+
+    private NewTransaction randomTransaction(Random random,
+                                             Long businessId,
+                                             List<Long> accountIds,
+                                             List<Long> vendorIds,
+                                             List<Long> categoryIds,
+                                             int sequence) {
+        int splitCount = 1 + random.nextInt(3);
+        List<NewSplit> splits = new ArrayList<>(splitCount);
+        long total = 0;
+        for (int i = 0; i < splitCount; i++) {
+            long amount = random.nextInt(200_000) - 150_000;
+            splits.add(new NewSplit(categoryIds.get(random.nextInt(categoryIds.size())), Money.ofMinor(amount), null));
+            total += amount;
+        }
+        return new NewTransaction(
+                businessId,
+                accountIds.get(random.nextInt(accountIds.size())),
+                random.nextInt(4) == 0 ? null : vendorIds.get(random.nextInt(vendorIds.size())),
+                "Payee " + (sequence % 500),
+                random.nextInt(3) == 0 ? "Memo " + sequence : null,
+                FIRST_POSTING.plusDays(random.nextInt(POSTING_DAYS)),
+                Money.ofMinor(total),
+                splits
+        );
+    }
+
+    private void write(List<NewTransaction> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = transactionBatchRepository.insertAll(chunk);
+            ledgerProjectionService.transactionsInserted(chunk, ids);
+        });
+        chunk.clear();
+    }
+
+    record SeededBusiness(Long businessId, List<Long> accountIds, List<Long> vendorIds, List<Long> categoryIds) {
+    }
+}
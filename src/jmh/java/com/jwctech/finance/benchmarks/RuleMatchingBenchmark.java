@@ -0,0 +1,94 @@
+package com.jwctech.finance.benchmarks;
+
+import com.jwctech.finance.entities.PayeeMatchType;
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.services.rules.CompiledRuleSet;
+import com.jwctech.finance.services.rules.RuleDefinition;
+import com.jwctech.finance.services.rules.RuleMatch;
+import com.jwctech.finance.services.rules.RuleSplit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows classified per second by a {@link CompiledRuleSet} of {@code ruleCount} rules, mostly contains and prefix
+ * patterns with one regex rule in a hundred. About a third of the rows match no rule.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleMatchingBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"100", "10000"})
+    public int ruleCount;
+
+    private CompiledRuleSet ruleSet;
+    private String[] payees;
+    private Money[] amounts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<RuleSplit> splits = List.of(new RuleSplit(1L, 600_000), new RuleSplit(2L, 400_000));
+        List<RuleDefinition> rules = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            PayeeMatchType type;
+            String pattern;
+            if (i % 100 == 99) {
+                type = PayeeMatchType.REGEX;
+                pattern = "^ACH\\s+DEBIT\\s+" + i + "\\b";
+            } else if (i % 2 == 0) {
+                type = PayeeMatchType.CONTAINS;
+                pattern = "Merchant " + i;
+            } else {
+                type = PayeeMatchType.PREFIX;
+                pattern = "STORE-" + i;
+            }
+            Money maxAmount = i % 10 == 0 ? Money.ZERO : null;
+            rules.add(new RuleDefinition((long) i + 1, i % 7, type, pattern, null, maxAmount, null, (long) i, splits));
+        }
+        ruleSet = CompiledRuleSet.compile(rules);
+
+        Random random = new Random(42);
+        payees = new String[ROWS];
+        amounts = new Money[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            int rule = random.nextInt(ruleCount);
+            payees[i] = switch (i % 3) {
+                case 0 -> "POS PURCHASE merchant #" + rule + " SEATTLE WA 4411";
+                case 1 -> "Store " + rule + " online order " + random.nextInt(1_000_000);
+                default -> "Unmatched Payee " + random.nextInt(1_000_000);
+            };
+            amounts[i] = Money.ofMinor(random.nextInt(200_000) - 150_000);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void classifyRows(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            RuleMatch match = ruleSet.match(payees[i], amounts[i], 7L);
+            blackhole.consume(match);
+        }
+    }
+}
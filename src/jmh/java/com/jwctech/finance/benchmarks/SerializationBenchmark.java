@@ -0,0 +1,113 @@
+package com.jwctech.finance.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.jwctech.finance.dto.TransactionDto;
+import com.jwctech.finance.dto.TransactionSplitDto;
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.money.MoneyJsonComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Time to encode one listing page of {@code TransactionDto}s, two splits each, in every format the API negotiates.
+ * The setup prints each format's payload size, plain and gzipped, since that is the other half of the trade-off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int TRANSACTIONS = 1_000;
+
+    @Param({"json", "json-blackbird", "smile", "cbor"})
+    public String format;
+
+    private ObjectWriter writer;
+    private List<TransactionDto> transactions;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        writer = switch (format) {
+            case "json" -> mapper(new JsonFactory(), false).writer();
+            case "json-blackbird" -> mapper(new JsonFactory(), true).writer();
+            case "smile" -> mapper(SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                    .build(), true).writer();
+            case "cbor" -> mapper(new CBORFactory(), true).writer();
+            default -> throw new IllegalArgumentException(format);
+        };
+
+        Random random = new Random(42);
+        Instant createdAt = Instant.parse("2024-06-01T12:00:00Z");
+        transactions = new ArrayList<>(TRANSACTIONS);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            long amount = random.nextInt(200_000) - 150_000;
+            long first = amount / 3;
+            List<TransactionSplitDto> splits = List.of(
+                    new TransactionSplitDto((long) random.nextInt(40), Money.ofMinor(first), null),
+                    new TransactionSplitDto((long) random.nextInt(40), Money.ofMinor(amount - first), "Shared cost"));
+            int account = random.nextInt(4);
+            int vendor = random.nextInt(25);
+            transactions.add(new TransactionDto((long) i + 1, 1L, (long) account + 1, "Account " + account,
+                    "POS PURCHASE Vendor " + vendor + " SEATTLE WA", i % 5 == 0 ? "Invoice " + i : null,
+                    LocalDate.of(2024, 1, 1).plusDays(random.nextInt(366)), Money.ofMinor(amount), i % 2 == 0,
+                    false, (long) vendor + 1, "Vendor " + vendor, splits, createdAt.plusSeconds(i),
+                    createdAt.plusSeconds(i)));
+        }
+
+        byte[] encoded = encode();
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(encoded);
+        }
+        System.out.printf("%n%s: %,d bytes, %,d gzipped%n", format, encoded.length, gzipped.size());
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(transactions);
+    }
+
+    /**
+     * The application's mapper setup as far as these DTOs see it: ISO dates and amounts as decimal numbers.
+     */
+    private static ObjectMapper mapper(JsonFactory factory, boolean blackbird) {
+        ObjectMapper mapper = new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .registerModule(new SimpleModule().addSerializer(Money.class, new MoneyJsonComponent.Serializer()))
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return blackbird ? mapper.registerModule(new BlackbirdModule()) : mapper;
+    }
+}
@@ -0,0 +1,70 @@
+package com.jwctech.finance.benchmarks;
+
+import com.jwctech.finance.benchmarks.LedgerSeeder.SeededBusiness;
+import com.jwctech.finance.dto.TransactionSearchResultDto;
+import com.jwctech.finance.services.TransactionSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TransactionSearchService} queries against an already built index of {@code transactionCount} transactions.
+ * Seeded payees are {@code "Payee <n % 500>"} and a third of the memos are {@code "Memo <n>"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TransactionSearchBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int transactionCount;
+
+    private ConfigurableApplicationContext context;
+    private TransactionSearchService transactionSearchService;
+    private SeededBusiness business;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("search-" + transactionCount + "-" + System.nanoTime());
+        business = new LedgerSeeder(context).seed("Benchmark " + transactionCount, transactionCount);
+        transactionSearchService = context.getBean(TransactionSearchService.class);
+        // The first search builds the index; every measured search reuses it.
+        transactionSearchService.search(business.businessId(), "payee", 0, 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionSearchResultDto wholeTokens() {
+        return transactionSearchService.search(business.businessId(), "payee 427", 0, 25);
+    }
+
+    @Benchmark
+    public TransactionSearchResultDto partialToken() {
+        return transactionSearchService.search(business.businessId(), "ayee 42", 0, 25);
+    }
+
+    @Benchmark
+    public TransactionSearchResultDto rareToken() {
+        return transactionSearchService.search(business.businessId(), "memo 31337", 0, 25);
+    }
+}
@@ -0,0 +1,98 @@
+package com.jwctech.finance.benchmarks;
+
+import com.jwctech.finance.benchmarks.LedgerSeeder.SeededBusiness;
+import com.jwctech.finance.dto.TransactionDto;
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.services.DuplicatePolicy;
+import com.jwctech.finance.services.TransactionService;
+import com.jwctech.finance.services.TransactionService.CreateTransactionRequest;
+import com.jwctech.finance.services.TransactionService.CreateTransactionSplitRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ledger write and read paths of {@link TransactionService} against a business of {@code transactionCount}
+ * transactions. Each benchmark method gets a freshly seeded database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TransactionServiceBenchmark {
+
+    private static final int SPLITS_PER_TRANSACTION = 5;
+
+    @Param({"10000", "100000", "1000000"})
+    public int transactionCount;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private SeededBusiness business;
+    private CreateTransactionRequest createRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("transactions-" + transactionCount + "-" + System.nanoTime());
+        business = new LedgerSeeder(context).seed("Benchmark " + transactionCount, transactionCount);
+        transactionService = context.getBean(TransactionService.class);
+
+        Long accountId = business.accountIds().get(0);
+        List<CreateTransactionSplitRequest> splits = new ArrayList<>();
+        for (int i = 0; i < SPLITS_PER_TRANSACTION; i++) {
+            splits.add(new CreateTransactionSplitRequest(business.categoryIds().get(i), Money.ofMinor(-1_000), null));
+        }
+        createRequest = new CreateTransactionRequest(
+                business.businessId(),
+                accountId,
+                business.businessId(),
+                accountId,
+                "Benchmark payee",
+                null,
+                LocalDate.of(2024, 6, 15),
+                Money.ofMinor(-5_000),
+                business.vendorIds().get(0),
+                splits
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionDto createTransaction() {
+        // Every call posts the same row, so duplicate detection is bypassed to keep measuring a plain insert.
+        return transactionService.createTransaction(createRequest, DuplicatePolicy.FORCE);
+    }
+
+    @Benchmark
+    public List<TransactionDto> getTransactionsForBusiness() {
+        return transactionService.getTransactionsForBusiness(business.businessId(), null, null);
+    }
+
+    @Benchmark
+    public List<TransactionDto> getTransactionsForAccount() {
+        return transactionService.getTransactionsForAccount(business.businessId(), business.accountIds().get(0), null,
+                null);
+    }
+}
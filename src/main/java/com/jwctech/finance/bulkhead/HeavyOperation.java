@@ -0,0 +1,17 @@
+package com.jwctech.finance.bulkhead;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a business-scoped handler whose cost grows with the size of the ledger, so it runs in the business's
+ * {@link OperationWeight#HEAVY} compartment. Unmarked handlers are light.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface HeavyOperation {
+}
@@ -0,0 +1,18 @@
+package com.jwctech.finance.bulkhead;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an async business-scoped handler whose response stays open, mostly idle, for as long as the client listens,
+ * such as an event stream. The handler itself runs under a permit as usual, but the permit is released as soon as the
+ * response goes async rather than when it completes, so open streams never crowd out ordinary requests.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LongLivedOperation {
+}
@@ -0,0 +1,14 @@
+package com.jwctech.finance.bulkhead;
+
+/**
+ * Bulkhead compartment a request runs in. Heavy operations read or write a whole ledger and get a much smaller
+ * per-business allowance than everything else.
+ */
+public enum OperationWeight {
+    LIGHT,
+    HEAVY;
+
+    public String tagValue() {
+        return name().toLowerCase();
+    }
+}
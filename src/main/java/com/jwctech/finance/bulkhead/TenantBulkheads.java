@@ -0,0 +1,220 @@
+package com.jwctech.finance.bulkhead;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-business concurrency limits, one fair semaphore per business and {@link OperationWeight}. A request that finds
+ * no free permit waits in a short bounded queue and is otherwise rejected with {@link TenantSaturatedException}, so
+ * one busy business holds at most its own permits' worth of request threads and pooled connections.
+ * <p>
+ * Bulkheads live in a {@link ConcurrentHashMap} and are pinned there only through its per-bin locks, so businesses
+ * never contend on a shared lock. A bulkhead nobody holds or waits on is dropped, together with its meters, once it
+ * has been idle for the eviction period.
+ */
+@Component
+public class TenantBulkheads {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<OperationWeight, Limits> limits = new EnumMap<>(OperationWeight.class);
+    private final Map<OperationWeight, Timer> waitTimers = new EnumMap<>(OperationWeight.class);
+    private final long idleEvictionNanos;
+    private final ConcurrentHashMap<Long, TenantBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public TenantBulkheads(MeterRegistry meterRegistry,
+                           @Value("${finance.bulkheads.light.max-concurrent:6}") int lightMaxConcurrent,
+                           @Value("${finance.bulkheads.light.max-queued:12}") int lightMaxQueued,
+                           @Value("${finance.bulkheads.light.max-wait:500ms}") Duration lightMaxWait,
+                           @Value("${finance.bulkheads.light.retry-after:1s}") Duration lightRetryAfter,
+                           @Value("${finance.bulkheads.heavy.max-concurrent:2}") int heavyMaxConcurrent,
+                           @Value("${finance.bulkheads.heavy.max-queued:2}") int heavyMaxQueued,
+                           @Value("${finance.bulkheads.heavy.max-wait:2s}") Duration heavyMaxWait,
+                           @Value("${finance.bulkheads.heavy.retry-after:10s}") Duration heavyRetryAfter,
+                           @Value("${finance.bulkheads.idle-eviction:10m}") Duration idleEviction) {
+        this.meterRegistry = meterRegistry;
+        this.limits.put(OperationWeight.LIGHT,
+                new Limits(lightMaxConcurrent, lightMaxQueued, lightMaxWait, lightRetryAfter));
+        this.limits.put(OperationWeight.HEAVY,
+                new Limits(heavyMaxConcurrent, heavyMaxQueued, heavyMaxWait, heavyRetryAfter));
+        for (OperationWeight weight : OperationWeight.values()) {
+            waitTimers.put(weight, Timer.builder("finance.bulkhead.wait")
+                    .description("Time requests spent queued for a business bulkhead permit")
+                    .tag("weight", weight.tagValue())
+                    .register(meterRegistry));
+        }
+        this.idleEvictionNanos = idleEviction.toNanos();
+    }
+
+    /**
+     * Takes a permit for the business, waiting up to the compartment's maximum wait if its queue has room.
+     *
+     * @throws TenantSaturatedException if no permit became available
+     */
+    public Permit acquire(Long businessId, OperationWeight weight) {
+        TenantBulkhead bulkhead = bulkheads.compute(businessId, (id, existing) -> {
+            TenantBulkhead pinned = existing != null ? existing : create(id);
+            pinned.users++;
+            return pinned;
+        });
+        Compartment compartment = bulkhead.compartments.get(weight);
+        Limits compartmentLimits = limits.get(weight);
+
+        boolean acquired = false;
+        try {
+            acquired = tryAcquire(compartment, compartmentLimits, waitTimers.get(weight));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!acquired) {
+                unpin(businessId);
+            }
+        }
+        if (!acquired) {
+            compartment.rejected.incrementAndGet();
+            throw new TenantSaturatedException(weight, compartmentLimits.retryAfter());
+        }
+        return new Permit(businessId, compartment);
+    }
+
+    /**
+     * Drops bulkheads that have been idle for the eviction period, and their meters.
+     */
+    @Scheduled(fixedDelayString = "${finance.bulkheads.eviction-interval:1m}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Long businessId : bulkheads.keySet()) {
+            // Meters are removed under the same bin lock that creates them, so a bulkhead recreated for the business
+            // right after can never pick up the evicted one's meters.
+            bulkheads.computeIfPresent(businessId, (id, bulkhead) -> {
+                if (bulkhead.users == 0 && now - bulkhead.lastReleasedNanos >= idleEvictionNanos) {
+                    bulkhead.meters.forEach(meterRegistry::remove);
+                    return null;
+                }
+                return bulkhead;
+            });
+        }
+    }
+
+    private static boolean tryAcquire(Compartment compartment, Limits limits, Timer waitTimer)
+            throws InterruptedException {
+        // A zero-timeout tryAcquire honours the fair ordering; the untimed one would barge past queued requests.
+        if (compartment.permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+            return true;
+        }
+        try {
+            if (compartment.queued.incrementAndGet() > limits.maxQueued()) {
+                return false;
+            }
+            long started = System.nanoTime();
+            boolean acquired = compartment.permits.tryAcquire(limits.maxWait().toNanos(), TimeUnit.NANOSECONDS);
+            if (acquired) {
+                waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+            return acquired;
+        } finally {
+            compartment.queued.decrementAndGet();
+        }
+    }
+
+    private void unpin(Long businessId) {
+        bulkheads.computeIfPresent(businessId, (id, bulkhead) -> {
+            bulkhead.users--;
+            bulkhead.lastReleasedNanos = System.nanoTime();
+            return bulkhead;
+        });
+    }
+
+    private TenantBulkhead create(Long businessId) {
+        TenantBulkhead bulkhead = new TenantBulkhead();
+        for (OperationWeight weight : OperationWeight.values()) {
+            Compartment compartment = new Compartment(limits.get(weight).maxConcurrent());
+            bulkhead.compartments.put(weight, compartment);
+            Tags tags = Tags.of("business", businessId.toString(), "weight", weight.tagValue());
+            bulkhead.meters.add(Gauge.builder("finance.bulkhead.saturation", compartment, Compartment::saturation)
+                    .description("Share of the business's permits in use")
+                    .tags(tags)
+                    .register(meterRegistry));
+            bulkhead.meters.add(Gauge.builder("finance.bulkhead.queued", compartment,
+                            value -> value.queued.get())
+                    .description("Requests of the business waiting for a permit")
+                    .tags(tags)
+                    .register(meterRegistry));
+            bulkhead.meters.add(FunctionCounter.builder("finance.bulkhead.rejected", compartment,
+                            value -> value.rejected.get())
+                    .description("Requests of the business rejected for lack of a permit")
+                    .tags(tags)
+                    .register(meterRegistry));
+        }
+        return bulkhead;
+    }
+
+    /**
+     * A held permit. Releasing is idempotent, so every completion path of a request may release it.
+     */
+    public final class Permit {
+
+        private final Long businessId;
+        private final Compartment compartment;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Long businessId, Compartment compartment) {
+            this.businessId = businessId;
+            this.compartment = compartment;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                compartment.permits.release();
+                unpin(businessId);
+            }
+        }
+    }
+
+    private record Limits(int maxConcurrent, int maxQueued, Duration maxWait, Duration retryAfter) {
+    }
+
+    private static final class TenantBulkhead {
+
+        private final Map<OperationWeight, Compartment> compartments = new EnumMap<>(OperationWeight.class);
+        private final List<Meter> meters = new ArrayList<>();
+        // Both only change inside the map's compute functions, under the bin lock of this business.
+        private int users;
+        private long lastReleasedNanos = System.nanoTime();
+    }
+
+    private static final class Compartment {
+
+        private final int maxConcurrent;
+        private final Semaphore permits;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicLong rejected = new AtomicLong();
+
+        private Compartment(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+            this.permits = new Semaphore(maxConcurrent, true);
+        }
+
+        private double saturation() {
+            return (double) (maxConcurrent - permits.availablePermits()) / maxConcurrent;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.jwctech.finance.bulkhead;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+/**
+ * A business has no permit left in a compartment and its queue is full or the wait timed out. Resolves to 429 with a
+ * {@code Retry-After} header.
+ */
+public class TenantSaturatedException extends ResponseStatusException {
+
+    private final Duration retryAfter;
+
+    public TenantSaturatedException(OperationWeight weight, Duration retryAfter) {
+        super(HttpStatus.TOO_MANY_REQUESTS, "Too many concurrent " + weight.tagValue() + " requests for this business.");
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfter.toSeconds())));
+        return headers;
+    }
+}
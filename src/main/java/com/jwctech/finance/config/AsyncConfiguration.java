@@ -0,0 +1,69 @@
+package com.jwctech.finance.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class AsyncConfiguration {
+
+    @Bean
+    public ThreadPoolTaskExecutor importTaskExecutor(@Value("${finance.imports.concurrency:2}") int concurrency,
+                                                     @Value("${finance.imports.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("statement-import-");
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Purges run one at a time; each is a long sequence of short transactions and gains nothing from parallelism.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor businessDeletionTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("business-deletion-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor fingerprintBackfillTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("fingerprint-backfill-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor taxReportTaskExecutor(@Value("${finance.tax-reports.concurrency:2}") int concurrency,
+                                                        @Value("${finance.tax-reports.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("tax-report-");
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * Shared by every running report for its month slices. Each slice holds a database connection while it runs, so
+     * the parallelism also bounds how much of the pool reports can take at tax time.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool taxReportForkJoinPool(@Value("${finance.tax-reports.parallelism:4}") int parallelism) {
+        return new ForkJoinPool(parallelism);
+    }
+}
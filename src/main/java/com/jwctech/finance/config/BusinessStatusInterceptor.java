@@ -0,0 +1,42 @@
+package com.jwctech.finance.config;
+
+import com.jwctech.finance.services.BusinessDeletionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Rejects every request scoped to a business that is being deleted, before any handler touches its data.
+ */
+@Component
+public class BusinessStatusInterceptor implements HandlerInterceptor {
+
+    private final BusinessDeletionService businessDeletionService;
+
+    public BusinessStatusInterceptor(BusinessDeletionService businessDeletionService) {
+        this.businessDeletionService = businessDeletionService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables instanceof Map<?, ?> map && map.get("businessId") instanceof String value) {
+            Long businessId;
+            try {
+                businessId = Long.valueOf(value);
+            } catch (NumberFormatException e) {
+                return true;
+            }
+            if (businessDeletionService.isDeleting(businessId)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Business is being deleted.");
+            }
+        }
+        return true;
+    }
+}
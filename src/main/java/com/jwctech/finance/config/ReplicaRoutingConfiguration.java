@@ -0,0 +1,86 @@
+package com.jwctech.finance.config;
+
+import com.jwctech.finance.routing.ReadWriteRoutingDataSource;
+import com.jwctech.finance.routing.RecentBusinessWrites;
+import com.jwctech.finance.routing.ReplicaHealth;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Replaces Boot's single pool with a primary and a replica pool behind a {@link ReadWriteRoutingDataSource}. The
+ * primary keeps the {@code spring.datasource.*} settings; the replica is configured under
+ * {@code finance.datasource.replica.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "finance.datasource.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("finance.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${finance.datasource.replica.url}") String url,
+                                              @Value("${finance.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${finance.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public ReplicaHealth replicaHealth(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                       @Value("${finance.datasource.replica.health-check-interval:5s}") Duration interval) {
+        return new ReplicaHealth(replicaDataSource, interval);
+    }
+
+    /**
+     * The lazy proxy defers choosing a pool until the first statement, after the transaction's read-only flag is
+     * known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaHealth replicaHealth,
+                                 RecentBusinessWrites recentBusinessWrites) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+                primaryDataSource, replicaDataSource, replicaHealth, recentBusinessWrites));
+    }
+
+    /**
+     * Hibernate otherwise holds a session's connection until the session closes, and with open-in-view a session spans
+     * the request: a write following a read-only transaction would reuse the replica connection. Releasing after each
+     * transaction lets every transaction pick its own route.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,94 @@
+package com.jwctech.finance.config;
+
+import com.jwctech.finance.bulkhead.HeavyOperation;
+import com.jwctech.finance.bulkhead.LongLivedOperation;
+import com.jwctech.finance.bulkhead.OperationWeight;
+import com.jwctech.finance.bulkhead.TenantBulkheads;
+import com.jwctech.finance.bulkhead.TenantBulkheads.Permit;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Runs every business-scoped request under a permit of that business's bulkhead. The permit is held until the
+ * response is complete, which for streamed responses is after the async part has finished writing; only
+ * {@link LongLivedOperation}s give it back as soon as they go async.
+ */
+@Component
+public class TenantBulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = TenantBulkheadInterceptor.class.getName() + ".permit";
+
+    private final TenantBulkheads tenantBulkheads;
+
+    public TenantBulkheadInterceptor(TenantBulkheads tenantBulkheads) {
+        this.tenantBulkheads = tenantBulkheads;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The async dispatch that completes a streamed response still holds the permit of the original dispatch.
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables instanceof Map<?, ?> map && map.get("businessId") instanceof String value) {
+            Long businessId;
+            try {
+                businessId = Long.valueOf(value);
+            } catch (NumberFormatException e) {
+                return true;
+            }
+            OperationWeight weight = handler instanceof HandlerMethod method
+                    && method.hasMethodAnnotation(HeavyOperation.class)
+                    ? OperationWeight.HEAVY
+                    : OperationWeight.LIGHT;
+            request.setAttribute(PERMIT_ATTRIBUTE, tenantBulkheads.acquire(businessId, weight));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method && method.hasMethodAnnotation(LongLivedOperation.class)
+                && request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            permit.release();
+            return;
+        }
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            // Covers async requests that time out or fail without dispatching back through the interceptor chain.
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    permit.release();
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!request.isAsyncStarted() && request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            permit.release();
+        }
+    }
+}
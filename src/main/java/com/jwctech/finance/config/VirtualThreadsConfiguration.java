@@ -0,0 +1,29 @@
+package com.jwctech.finance.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Guards the virtual-threads profile: on a pre-21 runtime Spring Boot silently ignores
+ * {@code spring.threads.virtual.enabled}, which would leave the smaller servlet backlog and pool settings of the
+ * profile in place without the threads they were sized for.
+ */
+@Slf4j
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfiguration implements InitializingBean {
+
+    private static final int MINIMUM_JAVA_VERSION = 21;
+
+    @Override
+    public void afterPropertiesSet() {
+        int feature = Runtime.version().feature();
+        if (feature < MINIMUM_JAVA_VERSION) {
+            throw new IllegalStateException("The virtual-threads profile requires Java " + MINIMUM_JAVA_VERSION
+                    + " or later; this runtime is Java " + feature + ".");
+        }
+        log.info("Running request handling and async work on virtual threads");
+    }
+}
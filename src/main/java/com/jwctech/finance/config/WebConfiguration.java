@@ -0,0 +1,32 @@
+package com.jwctech.finance.config;
+
+import com.jwctech.finance.money.Money;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final BusinessStatusInterceptor businessStatusInterceptor;
+    private final TenantBulkheadInterceptor tenantBulkheadInterceptor;
+
+    public WebConfiguration(BusinessStatusInterceptor businessStatusInterceptor,
+                            TenantBulkheadInterceptor tenantBulkheadInterceptor) {
+        this.businessStatusInterceptor = businessStatusInterceptor;
+        this.tenantBulkheadInterceptor = tenantBulkheadInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Requests for a business being deleted are turned away before they take one of its bulkhead permits.
+        registry.addInterceptor(businessStatusInterceptor).addPathPatterns("/api/businesses/*/**");
+        registry.addInterceptor(tenantBulkheadInterceptor).addPathPatterns("/api/businesses/*/**");
+    }
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, Money.class, text -> Money.parse(text.trim()));
+    }
+}
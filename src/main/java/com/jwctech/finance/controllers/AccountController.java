@@ -1,9 +1,13 @@
 package com.jwctech.finance.controllers;
 
+import com.jwctech.finance.dto.AccountBalanceDto;
 import com.jwctech.finance.dto.AccountDto;
+import com.jwctech.finance.services.AccountBalanceService;
 import com.jwctech.finance.services.AccountService;
+import com.jwctech.finance.services.BusinessVersionService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,8 +15,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -20,14 +27,22 @@ import java.util.List;
 public class AccountController {
 
     private final AccountService accountService;
+    private final AccountBalanceService accountBalanceService;
+    private final BusinessVersionService businessVersionService;
 
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService,
+                             AccountBalanceService accountBalanceService,
+                             BusinessVersionService businessVersionService) {
         this.accountService = accountService;
+        this.accountBalanceService = accountBalanceService;
+        this.businessVersionService = businessVersionService;
     }
 
     @GetMapping
-    public List<AccountDto> getAccounts(@PathVariable Long businessId) {
-        return accountService.getAccounts(businessId);
+    public List<AccountDto> getAccounts(@PathVariable Long businessId,
+                                        WebRequest request) {
+        return businessVersionService.readIfModified(businessId, request,
+                () -> accountService.getAccounts(businessId));
     }
 
     @GetMapping("/{accountId}")
@@ -35,6 +50,14 @@ public class AccountController {
         return accountService.getAccount(businessId, accountId);
     }
 
+    @GetMapping("/{accountId}/balance")
+    public AccountBalanceDto getBalance(@PathVariable Long businessId,
+                                        @PathVariable Long accountId,
+                                        @RequestParam(required = false)
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return accountBalanceService.getBalance(businessId, accountId, asOf);
+    }
+
     @PostMapping
     public ResponseEntity<AccountDto> createAccount(@PathVariable Long businessId,
                                                     @Valid @RequestBody CreateAccountRequest request) {
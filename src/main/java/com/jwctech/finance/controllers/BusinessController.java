@@ -1,6 +1,8 @@
 package com.jwctech.finance.controllers;
 
+import com.jwctech.finance.dto.BusinessDeletionJobDto;
 import com.jwctech.finance.dto.BusinessDto;
+import com.jwctech.finance.services.BusinessDeletionService;
 import com.jwctech.finance.services.BusinessService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -21,9 +24,11 @@ import java.util.List;
 public class BusinessController {
 
     private final BusinessService businessService;
+    private final BusinessDeletionService businessDeletionService;
 
-    public BusinessController(BusinessService businessService) {
+    public BusinessController(BusinessService businessService, BusinessDeletionService businessDeletionService) {
         this.businessService = businessService;
+        this.businessDeletionService = businessDeletionService;
     }
 
     @GetMapping
@@ -38,9 +43,11 @@ public class BusinessController {
     }
 
     @DeleteMapping("/{businessId}")
-    public ResponseEntity<Void> deleteBusiness(@PathVariable Long businessId) {
-        businessService.deleteBusiness(businessId);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<BusinessDeletionJobDto> deleteBusiness(@PathVariable Long businessId) {
+        BusinessDeletionJobDto job = businessDeletionService.deleteBusiness(businessId);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/business-deletions/" + job.id()))
+                .body(job);
     }
 
     public record CreateBusinessRequest(@NotBlank String name, String taxId) {
@@ -0,0 +1,26 @@
+package com.jwctech.finance.controllers;
+
+import com.jwctech.finance.dto.BusinessDeletionJobDto;
+import com.jwctech.finance.services.BusinessDeletionService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/business-deletions")
+public class BusinessDeletionController {
+
+    private final BusinessDeletionService businessDeletionService;
+
+    public BusinessDeletionController(BusinessDeletionService businessDeletionService) {
+        this.businessDeletionService = businessDeletionService;
+    }
+
+    @GetMapping("/{jobId}")
+    public BusinessDeletionJobDto getDeletion(@PathVariable UUID jobId) {
+        return businessDeletionService.getDeletion(jobId);
+    }
+}
@@ -0,0 +1,107 @@
+package com.jwctech.finance.controllers;
+
+import com.jwctech.finance.dto.CategorizationRuleDto;
+import com.jwctech.finance.dto.CategorizationRuleMatchDto;
+import com.jwctech.finance.dto.CategorizationRuleSplitDto;
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.services.BusinessVersionService;
+import com.jwctech.finance.services.CategorizationRuleService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/businesses/{businessId}/categorization-rules")
+public class CategorizationRuleController {
+
+    private final CategorizationRuleService categorizationRuleService;
+    private final BusinessVersionService businessVersionService;
+
+    public CategorizationRuleController(CategorizationRuleService categorizationRuleService,
+                                        BusinessVersionService businessVersionService) {
+        this.categorizationRuleService = categorizationRuleService;
+        this.businessVersionService = businessVersionService;
+    }
+
+    @GetMapping
+    public List<CategorizationRuleDto> getRules(@PathVariable Long businessId,
+                                                WebRequest request) {
+        return businessVersionService.readIfModified(businessId, request,
+                () -> categorizationRuleService.getRules(businessId));
+    }
+
+    @PostMapping
+    public ResponseEntity<CategorizationRuleDto> createRule(@PathVariable Long businessId,
+                                                            @Valid @RequestBody RuleRequest request) {
+        CategorizationRuleDto savedRule = categorizationRuleService.createRule(businessId, toServiceRequest(request));
+        return ResponseEntity.status(HttpStatus.CREATED).body(savedRule);
+    }
+
+    @PutMapping("/{ruleId}")
+    public CategorizationRuleDto updateRule(@PathVariable Long businessId,
+                                            @PathVariable Long ruleId,
+                                            @Valid @RequestBody RuleRequest request) {
+        return categorizationRuleService.updateRule(businessId, ruleId, toServiceRequest(request));
+    }
+
+    @DeleteMapping("/{ruleId}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long businessId, @PathVariable Long ruleId) {
+        categorizationRuleService.deleteRule(businessId, ruleId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Dry run: which rule, vendor and splits an imported row with these values would get.
+     */
+    @GetMapping("/match")
+    public CategorizationRuleMatchDto match(@PathVariable Long businessId,
+                                           @RequestParam(required = false) String payee,
+                                           @RequestParam(required = false) Money amount,
+                                           @RequestParam(required = false) Long accountId) {
+        return categorizationRuleService.match(businessId, payee, amount, accountId);
+    }
+
+    private CategorizationRuleService.RuleRequest toServiceRequest(RuleRequest request) {
+        return new CategorizationRuleService.RuleRequest(
+                request.name(),
+                request.priority(),
+                request.payeeMatchType(),
+                request.payeePattern(),
+                request.minAmount(),
+                request.maxAmount(),
+                request.accountId(),
+                request.vendorId(),
+                request.splits(),
+                request.active()
+        );
+    }
+
+    public record RuleRequest(
+            @NotBlank String name,
+            Integer priority,
+            String payeeMatchType,
+            String payeePattern,
+            Money minAmount,
+            Money maxAmount,
+            Long accountId,
+            Long vendorId,
+            @NotEmpty List<@NotNull CategorizationRuleSplitDto> splits,
+            Boolean active
+    ) {
+    }
+}
@@ -1,11 +1,14 @@
 package com.jwctech.finance.controllers;
 
 import com.jwctech.finance.dto.CategoryDto;
+import com.jwctech.finance.dto.CategoryTreeDto;
 import com.jwctech.finance.entities.CategoryKind;
+import com.jwctech.finance.services.BusinessVersionService;
 import com.jwctech.finance.services.CategoryService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,8 +16,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -22,16 +28,36 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final BusinessVersionService businessVersionService;
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService,
+                              BusinessVersionService businessVersionService) {
         this.categoryService = categoryService;
+        this.businessVersionService = businessVersionService;
     }
 
     @GetMapping
-    public List<CategoryDto> getCategories(@PathVariable Long businessId) {
+    public List<CategoryDto> getCategories(@PathVariable Long businessId,
+                                           WebRequest request) {
+        if (request.checkNotModified(businessVersionService.referenceDataEtag(businessId))) {
+            return null;
+        }
         return categoryService.getCategories(businessId);
     }
 
+    /**
+     * Tagged with the business version rather than the reference data's, since the totals move with every ledger
+     * write.
+     */
+    @GetMapping("/tree")
+    public CategoryTreeDto getCategoryTree(@PathVariable Long businessId,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                           WebRequest request) {
+        return businessVersionService.readIfModified(businessId, request,
+                () -> categoryService.getCategoryTree(businessId, from, to));
+    }
+
     @PostMapping
     public ResponseEntity<CategoryDto> createCategory(@PathVariable Long businessId,
                                                       @Valid @RequestBody CreateCategoryRequest request) {
@@ -0,0 +1,45 @@
+package com.jwctech.finance.controllers;
+
+import com.jwctech.finance.bulkhead.LongLivedOperation;
+import com.jwctech.finance.dto.ChangeBatchDto;
+import com.jwctech.finance.services.ChangeLogService;
+import com.jwctech.finance.services.ChangeStreamService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/businesses/{businessId}")
+public class ChangeLogController {
+
+    private final ChangeLogService changeLogService;
+    private final ChangeStreamService changeStreamService;
+
+    public ChangeLogController(ChangeLogService changeLogService, ChangeStreamService changeStreamService) {
+        this.changeLogService = changeLogService;
+        this.changeStreamService = changeStreamService;
+    }
+
+    @GetMapping("/changes")
+    public ChangeBatchDto getChanges(@PathVariable Long businessId,
+                                     @RequestParam(required = false) Long since,
+                                     @RequestParam(required = false) Integer limit) {
+        return changeLogService.getChanges(businessId, since, limit);
+    }
+
+    /**
+     * A reconnecting browser sends the id of the last event it received, which takes precedence over {@code since}.
+     */
+    @LongLivedOperation
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@PathVariable Long businessId,
+                                    @RequestParam(required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeStreamService.subscribe(businessId, lastEventId != null ? lastEventId : since);
+    }
+}
@@ -0,0 +1,66 @@
+package com.jwctech.finance.controllers;
+
+import com.jwctech.finance.bulkhead.HeavyOperation;
+import com.jwctech.finance.dto.ReconciliationDto;
+import com.jwctech.finance.dto.ReconciliationLineDto;
+import com.jwctech.finance.services.ReconciliationService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/businesses/{businessId}")
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+
+    public ReconciliationController(ReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    @HeavyOperation
+    @PostMapping(value = "/accounts/{accountId}/reconciliations", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ReconciliationDto> reconcile(@PathVariable Long businessId,
+                                                       @PathVariable Long accountId,
+                                                       @RequestParam("file") MultipartFile file,
+                                                       @RequestParam(required = false) String format,
+                                                       @RequestParam
+                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate periodStart,
+                                                       @RequestParam
+                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate periodEnd) {
+        ReconciliationDto reconciliation = reconciliationService.reconcile(businessId, accountId, file, format,
+                periodStart, periodEnd);
+        return ResponseEntity.created(URI.create("/api/businesses/" + businessId + "/reconciliations/"
+                        + reconciliation.id()))
+                .body(reconciliation);
+    }
+
+    @GetMapping("/accounts/{accountId}/reconciliations")
+    public List<ReconciliationDto> getReconciliations(@PathVariable Long businessId, @PathVariable Long accountId) {
+        return reconciliationService.getReconciliations(businessId, accountId);
+    }
+
+    @GetMapping("/reconciliations/{reconciliationId}")
+    public ReconciliationDto getReconciliation(@PathVariable Long businessId, @PathVariable Long reconciliationId) {
+        return reconciliationService.getReconciliation(businessId, reconciliationId);
+    }
+
+    @GetMapping("/reconciliations/{reconciliationId}/unmatched-lines")
+    public List<ReconciliationLineDto> getUnmatchedLines(@PathVariable Long businessId,
+                                                         @PathVariable Long reconciliationId,
+                                                         @RequestParam(required = false) Integer offset,
+                                                         @RequestParam(required = false) Integer limit) {
+        return reconciliationService.getUnmatchedLines(businessId, reconciliationId, offset, limit);
+    }
+}
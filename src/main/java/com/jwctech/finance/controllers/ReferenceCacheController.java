@@ -0,0 +1,23 @@
+package com.jwctech.finance.controllers;
+
+import com.jwctech.finance.dto.ReferenceCacheStatsDto;
+import com.jwctech.finance.services.ReferenceDataCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/reference-cache")
+public class ReferenceCacheController {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    public ReferenceCacheController(ReferenceDataCache referenceDataCache) {
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @GetMapping("/stats")
+    public ReferenceCacheStatsDto getStats() {
+        return referenceDataCache.stats();
+    }
+}
@@ -0,0 +1,40 @@
+package com.jwctech.finance.controllers;
+
+import com.jwctech.finance.bulkhead.HeavyOperation;
+import com.jwctech.finance.dto.ProfitAndLossDto;
+import com.jwctech.finance.services.ReportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/businesses/{businessId}/reports")
+public class ReportController {
+
+    private final ReportService reportService;
+
+    public ReportController(ReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    @GetMapping("/profit-and-loss")
+    public ProfitAndLossDto getProfitAndLoss(@PathVariable Long businessId,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return reportService.getProfitAndLoss(businessId, from, to);
+    }
+
+    @HeavyOperation
+    @PostMapping("/category-rollups/rebuild")
+    public ResponseEntity<Void> rebuildCategoryRollups(@PathVariable Long businessId) {
+        reportService.rebuildCategoryRollups(businessId);
+        return ResponseEntity.noContent().build();
+    }
+}
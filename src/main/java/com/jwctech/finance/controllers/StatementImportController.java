@@ -0,0 +1,53 @@
+package com.jwctech.finance.controllers;
+
+import com.jwctech.finance.bulkhead.HeavyOperation;
+import com.jwctech.finance.dto.ImportJobDto;
+import com.jwctech.finance.services.DuplicatePolicy;
+import com.jwctech.finance.services.StatementImportService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/businesses/{businessId}")
+public class StatementImportController {
+
+    private final StatementImportService statementImportService;
+
+    public StatementImportController(StatementImportService statementImportService) {
+        this.statementImportService = statementImportService;
+    }
+
+    /**
+     * Rows that repeat a transaction already on the account are skipped by default, so re-importing an overlapping
+     * statement only adds what is new; {@code duplicates=flag} or {@code force} writes them anyway.
+     */
+    @HeavyOperation
+    @PostMapping(value = "/accounts/{accountId}/imports", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDto> startImport(@PathVariable Long businessId,
+                                                    @PathVariable Long accountId,
+                                                    @RequestParam("file") MultipartFile file,
+                                                    @RequestParam(required = false) String format,
+                                                    @RequestParam(required = false) Long defaultCategoryId,
+                                                    @RequestParam(required = false) String duplicates) {
+        ImportJobDto job = statementImportService.startImport(businessId, accountId, file, format, defaultCategoryId,
+                DuplicatePolicy.fromString(duplicates, DuplicatePolicy.SKIP));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/businesses/" + businessId + "/imports/" + job.id()))
+                .body(job);
+    }
+
+    @GetMapping("/imports/{jobId}")
+    public ImportJobDto getImport(@PathVariable Long businessId, @PathVariable UUID jobId) {
+        return statementImportService.getImport(businessId, jobId);
+    }
+}
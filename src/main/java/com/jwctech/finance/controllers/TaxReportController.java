@@ -0,0 +1,43 @@
+package com.jwctech.finance.controllers;
+
+import com.jwctech.finance.dto.TaxReportDto;
+import com.jwctech.finance.dto.TaxReportJobDto;
+import com.jwctech.finance.services.TaxReportService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/businesses/{businessId}/tax-reports")
+public class TaxReportController {
+
+    private final TaxReportService taxReportService;
+
+    public TaxReportController(TaxReportService taxReportService) {
+        this.taxReportService = taxReportService;
+    }
+
+    @PostMapping("/{taxYear}")
+    public ResponseEntity<TaxReportJobDto> requestReport(@PathVariable Long businessId, @PathVariable int taxYear) {
+        TaxReportJobDto job = taxReportService.requestReport(businessId, taxYear);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/businesses/" + businessId + "/tax-reports/jobs/" + job.id()))
+                .body(job);
+    }
+
+    @GetMapping("/{taxYear}")
+    public TaxReportDto getReport(@PathVariable Long businessId, @PathVariable int taxYear) {
+        return taxReportService.getReport(businessId, taxYear);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public TaxReportJobDto getJob(@PathVariable Long businessId, @PathVariable UUID jobId) {
+        return taxReportService.getJob(businessId, jobId);
+    }
+}
@@ -1,21 +1,38 @@
 package com.jwctech.finance.controllers;
 
+import com.jwctech.finance.bulkhead.HeavyOperation;
+import com.jwctech.finance.dto.BatchTransactionsDto;
 import com.jwctech.finance.dto.TransactionDto;
+import com.jwctech.finance.dto.TransactionPageDto;
+import com.jwctech.finance.dto.TransactionSearchResultDto;
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.services.BatchMode;
+import com.jwctech.finance.services.BusinessVersionService;
+import com.jwctech.finance.services.DuplicatePolicy;
+import com.jwctech.finance.services.ExportFormat;
+import com.jwctech.finance.services.TransactionExportService;
+import com.jwctech.finance.services.TransactionSearchService;
 import com.jwctech.finance.services.TransactionService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -24,31 +41,158 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionSearchService transactionSearchService;
+    private final BusinessVersionService businessVersionService;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+                                 TransactionExportService transactionExportService,
+                                 TransactionSearchService transactionSearchService,
+                                 BusinessVersionService businessVersionService) {
         this.transactionService = transactionService;
+        this.transactionExportService = transactionExportService;
+        this.transactionSearchService = transactionSearchService;
+        this.businessVersionService = businessVersionService;
     }
 
+    @HeavyOperation
     @GetMapping("/transactions")
-    public List<TransactionDto> getTransactionsForBusiness(@PathVariable Long businessId) {
-        return transactionService.getTransactionsForBusiness(businessId);
+    public List<TransactionDto> getTransactionsForBusiness(@PathVariable Long businessId,
+                                                           @RequestParam(required = false)
+                                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                           LocalDate from,
+                                                           @RequestParam(required = false)
+                                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                           LocalDate to,
+                                                           WebRequest request) {
+        return businessVersionService.readIfModified(businessId, request,
+                () -> transactionService.getTransactionsForBusiness(businessId, from, to));
     }
 
+    @HeavyOperation
     @GetMapping("/accounts/{accountId}/transactions")
     public List<TransactionDto> getTransactionsForAccount(@PathVariable Long businessId,
-                                                           @PathVariable Long accountId) {
-        return transactionService.getTransactionsForAccount(businessId, accountId);
+                                                           @PathVariable Long accountId,
+                                                           @RequestParam(required = false)
+                                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                           LocalDate from,
+                                                           @RequestParam(required = false)
+                                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                           LocalDate to,
+                                                           WebRequest request) {
+        return businessVersionService.readIfModified(businessId, request,
+                () -> transactionService.getTransactionsForAccount(businessId, accountId, from, to));
     }
 
+    @GetMapping("/transactions/page")
+    public TransactionPageDto getTransactionPageForBusiness(@PathVariable Long businessId,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit,
+                                                            WebRequest request) {
+        return businessVersionService.readIfModified(businessId, request,
+                () -> transactionService.getTransactionPageForBusiness(businessId, cursor, limit));
+    }
+
+    @GetMapping("/transactions/search")
+    public TransactionSearchResultDto searchTransactions(@PathVariable Long businessId,
+                                                         @RequestParam(required = false) String q,
+                                                         @RequestParam(required = false) Integer offset,
+                                                         @RequestParam(required = false) Integer limit) {
+        return transactionSearchService.search(businessId, q, offset, limit);
+    }
+
+    /**
+     * The format comes from {@code format} or else from the {@code Accept} header, defaulting to CSV. {@code from} and
+     * {@code to} optionally bound the posting dates exported.
+     */
+    @HeavyOperation
+    @GetMapping("/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@PathVariable Long businessId,
+                                                                    @RequestParam(required = false) String format,
+                                                                    @RequestParam(required = false)
+                                                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                                    LocalDate from,
+                                                                    @RequestParam(required = false)
+                                                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                                    LocalDate to,
+                                                                    @RequestHeader HttpHeaders headers) {
+        ExportFormat exportFormat = ExportFormat.negotiate(format, headers.getAccept());
+        transactionExportService.ensureExportable(businessId, from, to);
+
+        StreamingResponseBody body = outputStream ->
+                transactionExportService.exportBusiness(businessId, from, to, exportFormat, outputStream);
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("business-" + businessId + "-transactions." + exportFormat.extension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+
+    @GetMapping("/accounts/{accountId}/transactions/page")
+    public TransactionPageDto getTransactionPageForAccount(@PathVariable Long businessId,
+                                                           @PathVariable Long accountId,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer limit,
+                                                           WebRequest request) {
+        return businessVersionService.readIfModified(businessId, request,
+                () -> transactionService.getTransactionPageForAccount(businessId, accountId, cursor, limit));
+    }
+
+    /**
+     * A likely duplicate of an existing transaction is written and flagged unless {@code duplicates} says otherwise:
+     * {@code skip} answers 409 instead, {@code force} writes it without looking.
+     */
     @PostMapping("/accounts/{accountId}/transactions")
     public ResponseEntity<TransactionDto> createTransaction(@PathVariable Long businessId,
                                                             @PathVariable Long accountId,
+                                                            @RequestParam(required = false) String duplicates,
                                                             @Valid @RequestBody CreateTransactionRequest request) {
         if (request.splits() == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one split is required.");
         }
 
-        TransactionDto savedTransaction = transactionService.createTransaction(new TransactionService.CreateTransactionRequest(
+        TransactionDto savedTransaction = transactionService.createTransaction(
+                toServiceRequest(businessId, accountId, request),
+                DuplicatePolicy.fromString(duplicates, DuplicatePolicy.FLAG));
+        return ResponseEntity.status(HttpStatus.CREATED).body(savedTransaction);
+    }
+
+    /**
+     * Items are validated individually by the service rather than with {@code @Valid}, so one bad item can be reported
+     * alongside the others instead of rejecting the whole request.
+     */
+    @HeavyOperation
+    @PostMapping("/transactions:batch")
+    public ResponseEntity<BatchTransactionsDto> createTransactions(@PathVariable Long businessId,
+                                                                   @RequestBody BatchCreateTransactionsRequest request) {
+        List<TransactionService.CreateTransactionRequest> items = request.transactions() == null
+                ? List.of()
+                : request.transactions().stream()
+                .map(item -> item != null ? toServiceRequest(businessId, item.accountId(), item) : null)
+                .toList();
+
+        BatchTransactionsDto result = transactionService.createTransactions(businessId,
+                BatchMode.fromString(request.mode()),
+                DuplicatePolicy.fromString(request.duplicates(), DuplicatePolicy.FLAG),
+                items);
+        HttpStatus status;
+        if (result.created() == result.submitted()) {
+            status = HttpStatus.CREATED;
+        } else if (result.created() > 0) {
+            status = HttpStatus.MULTI_STATUS;
+        } else {
+            // Nothing failed if every item was a skipped duplicate; the request simply had nothing new.
+            status = result.failed() == 0 ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_ENTITY;
+        }
+        return ResponseEntity.status(status).body(result);
+    }
+
+    private TransactionService.CreateTransactionRequest toServiceRequest(Long businessId,
+                                                                         Long accountId,
+                                                                         CreateTransactionRequest request) {
+        return new TransactionService.CreateTransactionRequest(
                 businessId,
                 accountId,
                 request.businessId(),
@@ -58,15 +202,14 @@ public class TransactionController {
                 request.postedAt(),
                 request.amount(),
                 request.vendorId(),
-                request.splits().stream()
-                        .map(split -> new TransactionService.CreateTransactionSplitRequest(
+                request.splits() == null ? null : request.splits().stream()
+                        .map(split -> split == null ? null : new TransactionService.CreateTransactionSplitRequest(
                                 split.categoryId(),
                                 split.amount(),
                                 split.memo()
                         ))
                         .toList()
-        ));
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedTransaction);
+        );
     }
 
     public record CreateTransactionRequest(
@@ -75,15 +218,22 @@ public class TransactionController {
             @NotBlank String payee,
             String memo,
             @NotNull LocalDate postedAt,
-            @NotNull BigDecimal amount,
+            @NotNull Money amount,
             Long vendorId,
             @NotNull @Valid List<CreateTransactionSplitRequest> splits
     ) {
     }
 
+    public record BatchCreateTransactionsRequest(
+            String mode,
+            String duplicates,
+            List<CreateTransactionRequest> transactions
+    ) {
+    }
+
     public record CreateTransactionSplitRequest(
             @NotNull Long categoryId,
-            @NotNull BigDecimal amount,
+            @NotNull Money amount,
             String memo
     ) {
     }
@@ -1,6 +1,7 @@
 package com.jwctech.finance.controllers;
 
 import com.jwctech.finance.dto.VendorDto;
+import com.jwctech.finance.services.BusinessVersionService;
 import com.jwctech.finance.services.VendorService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,13 +23,20 @@ import java.util.List;
 public class VendorController {
 
     private final VendorService vendorService;
+    private final BusinessVersionService businessVersionService;
 
-    public VendorController(VendorService vendorService) {
+    public VendorController(VendorService vendorService,
+                            BusinessVersionService businessVersionService) {
         this.vendorService = vendorService;
+        this.businessVersionService = businessVersionService;
     }
 
     @GetMapping
-    public List<VendorDto> getVendors(@PathVariable Long businessId) {
+    public List<VendorDto> getVendors(@PathVariable Long businessId,
+                                      WebRequest request) {
+        if (request.checkNotModified(businessVersionService.referenceDataEtag(businessId))) {
+            return null;
+        }
         return vendorService.getVendors(businessId);
     }
 
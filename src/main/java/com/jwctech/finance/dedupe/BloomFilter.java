@@ -0,0 +1,91 @@
+package com.jwctech.finance.dedupe;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A set of {@link TransactionFingerprint}s that answers "certainly absent" or "maybe present". Fingerprints are
+ * already uniformly distributed, so the probe positions come straight from their two halves by double hashing rather
+ * than from further hash functions.
+ * <p>
+ * Sized for a capacity and false-positive rate up front; past its capacity the false-positive rate climbs, which
+ * {@link #isSaturated()} reports so the owner can rebuild a larger one. Adds and lookups are safe from any thread.
+ */
+public final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int probes;
+    private final long capacity;
+    private final AtomicLong added = new AtomicLong();
+
+    public BloomFilter(long capacity, double falsePositiveRate) {
+        if (capacity < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Bloom filter needs a positive capacity and a rate between 0 and 1.");
+        }
+        long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bits = (long) wordCount * 64;
+        this.probes = Math.max(1, (int) Math.round((double) bits / capacity * LN2));
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adding a fingerprint again changes nothing and does not count towards the capacity.
+     */
+    public void add(long fingerprint) {
+        int low = (int) fingerprint;
+        int high = (int) (fingerprint >>> 32);
+        boolean changed = false;
+        for (int i = 0; i < probes; i++) {
+            long bit = position(low, high, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0) {
+                if (words.compareAndSet(word, current, current | mask)) {
+                    changed = true;
+                    break;
+                }
+                current = words.get(word);
+            }
+        }
+        if (changed) {
+            added.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return false if the fingerprint was certainly never added
+     */
+    public boolean mightContain(long fingerprint) {
+        int low = (int) fingerprint;
+        int high = (int) (fingerprint >>> 32);
+        for (int i = 0; i < probes; i++) {
+            long bit = position(low, high, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isSaturated() {
+        return added.get() > capacity;
+    }
+
+    /**
+     * Approximate heap footprint in bytes.
+     */
+    public long weight() {
+        return bits / 8;
+    }
+
+    private long position(int low, int high, int probe) {
+        long combined = (long) low + (long) probe * high;
+        return Math.floorMod(combined, bits);
+    }
+}
@@ -0,0 +1,41 @@
+package com.jwctech.finance.dedupe;
+
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.services.rules.PayeeNormalizer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+
+/**
+ * Identifies a posting well enough to recognise it when a statement delivers it again: the first 64 bits of a
+ * SHA-256 over the account, posting date, amount and {@linkplain PayeeNormalizer normalized} payee. Two rows with the
+ * same fingerprint are very likely the same bank transaction; rows that differ in any of the four never collide in
+ * practice.
+ */
+public final class TransactionFingerprint {
+
+    private TransactionFingerprint() {
+    }
+
+    public static long of(Long accountId, LocalDate postedAt, Money amount, String payee) {
+        MessageDigest digest = sha256();
+        digest.update(ByteBuffer.allocate(3 * Long.BYTES)
+                .putLong(accountId)
+                .putLong(postedAt.toEpochDay())
+                .putLong(amount.minorUnits())
+                .array());
+        digest.update(PayeeNormalizer.normalize(payee).getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+}
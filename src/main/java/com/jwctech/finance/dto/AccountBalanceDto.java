@@ -0,0 +1,12 @@
+package com.jwctech.finance.dto;
+
+import com.jwctech.finance.money.Money;
+
+import java.time.LocalDate;
+
+public record AccountBalanceDto(
+        Long accountId,
+        LocalDate asOf,
+        Money balance
+) {
+}
@@ -1,9 +1,12 @@
 package com.jwctech.finance.dto;
 
+import com.jwctech.finance.money.Money;
+
 public record AccountDto(
         Long id,
         String name,
         String accountType,
-        Long businessId
+        Long businessId,
+        Money balance
 ) {
 }
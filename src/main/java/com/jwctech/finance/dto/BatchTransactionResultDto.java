@@ -0,0 +1,17 @@
+package com.jwctech.finance.dto;
+
+/**
+ * @param duplicateOf the existing transaction this item likely duplicates, for skipped and flagged items
+ */
+public record BatchTransactionResultDto(
+        int index,
+        String status,
+        Long transactionId,
+        Long duplicateOf,
+        String error
+) {
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+    public static final String NOT_CREATED = "NOT_CREATED";
+    public static final String SKIPPED = "SKIPPED";
+}
@@ -0,0 +1,17 @@
+package com.jwctech.finance.dto;
+
+import com.jwctech.finance.services.BatchMode;
+import com.jwctech.finance.services.DuplicatePolicy;
+
+import java.util.List;
+
+public record BatchTransactionsDto(
+        BatchMode mode,
+        DuplicatePolicy duplicates,
+        int submitted,
+        int created,
+        int skipped,
+        int failed,
+        List<BatchTransactionResultDto> results
+) {
+}
@@ -0,0 +1,17 @@
+package com.jwctech.finance.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record BusinessDeletionJobDto(
+        UUID id,
+        Long businessId,
+        String status,
+        String phase,
+        long rowsDeleted,
+        String failureReason,
+        Instant createdAt,
+        Instant startedAt,
+        Instant finishedAt
+) {
+}
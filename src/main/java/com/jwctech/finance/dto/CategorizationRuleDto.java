@@ -0,0 +1,25 @@
+package com.jwctech.finance.dto;
+
+import com.jwctech.finance.entities.PayeeMatchType;
+import com.jwctech.finance.money.Money;
+
+import java.time.Instant;
+import java.util.List;
+
+public record CategorizationRuleDto(
+        Long id,
+        Long businessId,
+        String name,
+        int priority,
+        PayeeMatchType payeeMatchType,
+        String payeePattern,
+        Money minAmount,
+        Money maxAmount,
+        Long accountId,
+        Long vendorId,
+        List<CategorizationRuleSplitDto> splits,
+        boolean active,
+        Instant createdAt,
+        Instant updatedAt
+) {
+}
@@ -0,0 +1,13 @@
+package com.jwctech.finance.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of running a business's rules against one payee; {@code ruleId} is null when no rule matched.
+ */
+public record CategorizationRuleMatchDto(
+        Long ruleId,
+        Long vendorId,
+        List<TransactionSplitDto> splits
+) {
+}
@@ -0,0 +1,9 @@
+package com.jwctech.finance.dto;
+
+import java.math.BigDecimal;
+
+public record CategorizationRuleSplitDto(
+        Long categoryId,
+        BigDecimal percentage
+) {
+}
@@ -0,0 +1,12 @@
+package com.jwctech.finance.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record CategoryTreeDto(
+        Long businessId,
+        LocalDate from,
+        LocalDate to,
+        List<CategoryTreeNodeDto> roots
+) {
+}
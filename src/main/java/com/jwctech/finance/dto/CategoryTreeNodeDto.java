@@ -0,0 +1,22 @@
+package com.jwctech.finance.dto;
+
+import com.jwctech.finance.entities.CategoryKind;
+import com.jwctech.finance.money.Money;
+
+import java.util.List;
+
+/**
+ * A category with the split totals of its whole subtree and, separately, of the category itself.
+ */
+public record CategoryTreeNodeDto(
+        Long id,
+        String name,
+        CategoryKind kind,
+        boolean active,
+        Money total,
+        long splitCount,
+        Money ownTotal,
+        long ownSplitCount,
+        List<CategoryTreeNodeDto> children
+) {
+}
@@ -0,0 +1,16 @@
+package com.jwctech.finance.dto;
+
+import java.util.List;
+
+/**
+ * @param next    the sequence to ask for changes after next time; equal to {@code since} if nothing changed
+ * @param hasMore whether more changes may already be waiting after {@code next}
+ */
+public record ChangeBatchDto(
+        Long businessId,
+        long since,
+        long next,
+        boolean hasMore,
+        List<ChangeDto> changes
+) {
+}
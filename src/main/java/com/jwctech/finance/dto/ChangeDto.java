@@ -0,0 +1,20 @@
+package com.jwctech.finance.dto;
+
+import com.jwctech.finance.entities.ChangeEntity;
+import com.jwctech.finance.entities.ChangeOperation;
+
+/**
+ * One entry of a business's change log.
+ *
+ * @param sequence the business version of the commit that made the change
+ * @param data     the entity's current state for upserts, as its listing endpoint returns it; {@code null} for deletes
+ *                 and for entities a later change has removed
+ */
+public record ChangeDto(
+        long sequence,
+        ChangeEntity entity,
+        Long id,
+        ChangeOperation operation,
+        Object data
+) {
+}
@@ -0,0 +1,26 @@
+package com.jwctech.finance.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record ImportJobDto(
+        UUID id,
+        Long businessId,
+        Long accountId,
+        String fileName,
+        String format,
+        String status,
+        String duplicates,
+        long rowsRead,
+        long rowsImported,
+        long rowsSkipped,
+        long rowsFlagged,
+        long rowsFailed,
+        String failureReason,
+        List<ImportRowErrorDto> errors,
+        Instant createdAt,
+        Instant startedAt,
+        Instant finishedAt
+) {
+}
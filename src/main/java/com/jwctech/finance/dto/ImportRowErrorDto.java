@@ -0,0 +1,7 @@
+package com.jwctech.finance.dto;
+
+public record ImportRowErrorDto(
+        long lineNumber,
+        String message
+) {
+}
@@ -0,0 +1,18 @@
+package com.jwctech.finance.dto;
+
+import com.jwctech.finance.money.Money;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record ProfitAndLossDto(
+        Long businessId,
+        LocalDate from,
+        LocalDate to,
+        Money income,
+        Money expense,
+        Money netIncome,
+        List<ProfitAndLossCategoryDto> categories,
+        List<ProfitAndLossMonthDto> months
+) {
+}
@@ -0,0 +1,13 @@
+package com.jwctech.finance.dto;
+
+import com.jwctech.finance.money.Money;
+
+import java.time.YearMonth;
+
+public record ProfitAndLossMonthDto(
+        YearMonth month,
+        Money income,
+        Money expense,
+        Money netIncome
+) {
+}
@@ -0,0 +1,28 @@
+package com.jwctech.finance.dto;
+
+import com.jwctech.finance.money.Money;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Outcome of reconciling one statement. {@code transactionsOutstanding} counts transactions dated inside the period
+ * that are still uncleared afterwards.
+ */
+public record ReconciliationDto(
+        Long id,
+        Long businessId,
+        Long accountId,
+        LocalDate periodStart,
+        LocalDate periodEnd,
+        String fileName,
+        long linesRead,
+        long linesRejected,
+        long linesMatched,
+        long linesUnmatched,
+        long transactionsOutstanding,
+        Money statementTotal,
+        Money clearedTotal,
+        Instant createdAt
+) {
+}
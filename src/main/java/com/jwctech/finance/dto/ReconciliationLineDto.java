@@ -0,0 +1,13 @@
+package com.jwctech.finance.dto;
+
+import com.jwctech.finance.money.Money;
+
+import java.time.LocalDate;
+
+public record ReconciliationLineDto(
+        long lineNumber,
+        LocalDate postedAt,
+        Money amount,
+        String payee
+) {
+}
@@ -0,0 +1,14 @@
+package com.jwctech.finance.dto;
+
+public record ReferenceCacheStatsDto(
+        long businesses,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long loadCount,
+        long loadFailureCount,
+        double averageLoadMillis,
+        long evictionCount,
+        long evictionWeight
+) {
+}
@@ -0,0 +1,23 @@
+package com.jwctech.finance.dto;
+
+import com.jwctech.finance.money.Money;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A stored tax-year report. {@code upToDate} is false once the business has changed since the report was generated.
+ */
+public record TaxReportDto(
+        Long businessId,
+        int taxYear,
+        long businessVersion,
+        boolean upToDate,
+        Instant generatedAt,
+        Money income,
+        Money expense,
+        Money net,
+        List<TaxReportKindTotalDto> kinds,
+        List<TaxReportLineDto> categories
+) {
+}
@@ -0,0 +1,17 @@
+package com.jwctech.finance.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record TaxReportJobDto(
+        UUID id,
+        Long businessId,
+        int taxYear,
+        String status,
+        int monthsAggregated,
+        String failureReason,
+        Instant createdAt,
+        Instant startedAt,
+        Instant finishedAt
+) {
+}
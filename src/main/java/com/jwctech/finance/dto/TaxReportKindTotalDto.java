@@ -0,0 +1,11 @@
+package com.jwctech.finance.dto;
+
+import com.jwctech.finance.entities.CategoryKind;
+import com.jwctech.finance.money.Money;
+
+public record TaxReportKindTotalDto(
+        CategoryKind kind,
+        Money total,
+        long splitCount
+) {
+}
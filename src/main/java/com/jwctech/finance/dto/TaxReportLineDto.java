@@ -0,0 +1,13 @@
+package com.jwctech.finance.dto;
+
+import com.jwctech.finance.entities.CategoryKind;
+import com.jwctech.finance.money.Money;
+
+public record TaxReportLineDto(
+        Long categoryId,
+        String name,
+        CategoryKind kind,
+        Money total,
+        long splitCount
+) {
+}
@@ -1,6 +1,7 @@
 package com.jwctech.finance.dto;
 
-import java.math.BigDecimal;
+import com.jwctech.finance.money.Money;
+
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
@@ -13,7 +14,9 @@ public record TransactionDto(
         String payee,
         String memo,
         LocalDate postedAt,
-        BigDecimal amount,
+        Money amount,
+        boolean cleared,
+        boolean possibleDuplicate,
         Long vendorId,
         String vendorName,
         List<TransactionSplitDto> splits,
@@ -0,0 +1,27 @@
+package com.jwctech.finance.dto;
+
+import com.jwctech.finance.money.Money;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record TransactionExportRow(
+        Long transactionId,
+        Long accountId,
+        String accountName,
+        Long vendorId,
+        String vendorName,
+        String payee,
+        String memo,
+        LocalDate postedAt,
+        Money amount,
+        boolean cleared,
+        boolean possibleDuplicate,
+        Instant createdAt,
+        Instant updatedAt,
+        Long splitId,
+        Long categoryId,
+        Money splitAmount,
+        String splitMemo
+) {
+}
@@ -0,0 +1,24 @@
+package com.jwctech.finance.dto;
+
+import com.jwctech.finance.money.Money;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record TransactionHeaderRow(
+        Long id,
+        Long businessId,
+        Long accountId,
+        String accountName,
+        String payee,
+        String memo,
+        LocalDate postedAt,
+        Money amount,
+        boolean cleared,
+        boolean possibleDuplicate,
+        Long vendorId,
+        String vendorName,
+        Instant createdAt,
+        Instant updatedAt
+) {
+}
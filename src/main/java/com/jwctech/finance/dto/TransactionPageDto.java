@@ -0,0 +1,9 @@
+package com.jwctech.finance.dto;
+
+import java.util.List;
+
+public record TransactionPageDto(
+        List<TransactionDto> transactions,
+        String nextCursor
+) {
+}
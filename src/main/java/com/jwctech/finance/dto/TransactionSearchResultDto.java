@@ -0,0 +1,12 @@
+package com.jwctech.finance.dto;
+
+import java.util.List;
+
+public record TransactionSearchResultDto(
+        String query,
+        int total,
+        int offset,
+        int limit,
+        List<TransactionDto> transactions
+) {
+}
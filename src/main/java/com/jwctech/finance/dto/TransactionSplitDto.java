@@ -1,10 +1,10 @@
 package com.jwctech.finance.dto;
 
-import java.math.BigDecimal;
+import com.jwctech.finance.money.Money;
 
 public record TransactionSplitDto(
         Long categoryId,
-        BigDecimal amount,
+        Money amount,
         String memo
 ) {
 }
@@ -0,0 +1,11 @@
+package com.jwctech.finance.dto;
+
+import com.jwctech.finance.money.Money;
+
+public record TransactionSplitRow(
+        Long transactionId,
+        Long categoryId,
+        Money amount,
+        String memo
+) {
+}
@@ -23,6 +23,9 @@ public class Business {
     @Column(name = "tax_id")
     private String taxId;
 
+    @Column(nullable = false, length = 16)
+    private String status = BusinessStatus.ACTIVE.name();
+
     public Business() {
     }
 
@@ -0,0 +1,6 @@
+package com.jwctech.finance.entities;
+
+public enum BusinessStatus {
+    ACTIVE,
+    DELETING
+}
@@ -0,0 +1,105 @@
+package com.jwctech.finance.entities;
+
+import com.jwctech.finance.money.Money;
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Entity
+@Table(name = "categorization_rules")
+public class CategorizationRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "business_id", nullable = false)
+    private Business business;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private int priority;
+
+    @Column(name = "payee_match_type", length = 16)
+    private String payeeMatchType;
+
+    @Column(name = "payee_pattern")
+    private String payeePattern;
+
+    @Column(name = "min_amount")
+    private Money minAmount;
+
+    @Column(name = "max_amount")
+    private Money maxAmount;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id")
+    private Account account;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "vendor_id")
+    private Vendor vendor;
+
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OrderBy("id ASC")
+    @OneToMany(mappedBy = "rule", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<CategorizationRuleSplit> splits = new ArrayList<>();
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    public void onCreate() {
+        Instant now = Instant.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    public void onUpdate() {
+        this.updatedAt = Instant.now();
+    }
+
+    public void addSplit(CategorizationRuleSplit split) {
+        split.setRule(this);
+        split.setBusinessId(business != null ? business.getId() : null);
+        splits.add(split);
+    }
+
+    public void clearSplits() {
+        splits.forEach(split -> split.setRule(null));
+        splits.clear();
+    }
+
+    public CategorizationRule() {
+    }
+}
@@ -0,0 +1,13 @@
+package com.jwctech.finance.entities;
+
+/**
+ * Kinds of rows the change log tracks. A transaction's splits are only ever written with it, so a change to either is
+ * logged as a change to the transaction.
+ */
+public enum ChangeEntity {
+    ACCOUNT,
+    CATEGORY,
+    VENDOR,
+    RULE,
+    TRANSACTION
+}
@@ -0,0 +1,8 @@
+package com.jwctech.finance.entities;
+
+public enum ChangeOperation {
+    /** The entity was created or updated; the change carries its current state. */
+    UPSERT,
+    /** The entity no longer exists. */
+    DELETE
+}
@@ -0,0 +1,19 @@
+package com.jwctech.finance.entities;
+
+import java.util.Arrays;
+
+public enum PayeeMatchType {
+    CONTAINS,
+    PREFIX,
+    REGEX;
+
+    public static PayeeMatchType fromString(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Payee match type must not be blank.");
+        }
+        return Arrays.stream(values())
+                .filter(type -> type.name().equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown payee match type: " + value));
+    }
+}
@@ -1,5 +1,6 @@
 package com.jwctech.finance.entities;
 
+import com.jwctech.finance.money.Money;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -15,7 +16,6 @@ import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.Data;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -51,8 +51,22 @@ public class Transaction {
     @Column(name = "posted_at", nullable = false)
     private LocalDate postedAt;
 
-    @Column(nullable = false, precision = 19, scale = 4)
-    private BigDecimal amount;
+    @Column(nullable = false)
+    private Money amount;
+
+    // Set when a statement reconciliation matched the transaction; reconciliations never touch the amount or splits.
+    @Column(nullable = false)
+    private boolean cleared;
+
+    @Column(name = "reconciliation_id")
+    private Long reconciliationId;
+
+    @Column
+    private Long fingerprint;
+
+    // Set when the transaction was written although it looked like one already on the account.
+    @Column(name = "possible_duplicate", nullable = false)
+    private boolean possibleDuplicate;
 
     @OneToMany(mappedBy = "transaction", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<TransactionSplit> splits = new ArrayList<>();
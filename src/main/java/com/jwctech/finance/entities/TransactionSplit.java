@@ -1,5 +1,6 @@
 package com.jwctech.finance.entities;
 
+import com.jwctech.finance.money.Money;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -11,7 +12,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import lombok.Data;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Data
 @Entity
@@ -26,12 +27,20 @@ public class TransactionSplit {
     @JoinColumn(name = "transaction_id", nullable = false)
     private Transaction transaction;
 
+    // Copied from the transaction: the splits table is partitioned by posting date and read per business without
+    // joining through transactions.
+    @Column(name = "business_id", nullable = false)
+    private Long businessId;
+
+    @Column(name = "posted_at", nullable = false)
+    private LocalDate postedAt;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
-    @Column(nullable = false, precision = 19, scale = 4)
-    private BigDecimal amount;
+    @Column(nullable = false)
+    private Money amount;
 
     @Column
     private String memo;
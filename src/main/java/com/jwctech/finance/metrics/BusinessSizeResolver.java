@@ -0,0 +1,49 @@
+package com.jwctech.finance.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Buckets businesses by ledger size so latency percentiles of a 1M-transaction business are not averaged with those
+ * of an empty one. Sizes come from the maintained account_balances counts and are cached briefly.
+ */
+@Component
+public class BusinessSizeResolver {
+
+    private static final long[] BOUNDARIES = {1_000, 10_000, 100_000, 1_000_000};
+    private static final String[] BUCKETS = {"<1k", "1k-10k", "10k-100k", "100k-1m", ">=1m"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<Long, String> buckets = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .build();
+
+    public BusinessSizeResolver(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public String bucketFor(Long businessId) {
+        if (businessId == null) {
+            return RequestMetrics.NO_BUSINESS;
+        }
+        return buckets.get(businessId, this::load);
+    }
+
+    private String load(Long businessId) {
+        Long transactions = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(transaction_count), 0) FROM account_balances WHERE business_id = ?",
+                Long.class, businessId);
+        long count = transactions != null ? transactions : 0L;
+        for (int i = 0; i < BOUNDARIES.length; i++) {
+            if (count < BOUNDARIES[i]) {
+                return BUCKETS[i];
+            }
+        }
+        return BUCKETS[BUCKETS.length - 1];
+    }
+}
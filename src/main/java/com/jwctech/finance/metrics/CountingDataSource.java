@@ -0,0 +1,149 @@
+package com.jwctech.finance.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps connections so every executed statement, and optionally every row read through a result set, is attributed
+ * to the current {@link RequestMetrics}, covering Hibernate and JdbcTemplate alike. Outside a request the proxies
+ * only delegate.
+ */
+class CountingDataSource extends DelegatingDataSource {
+
+    private final boolean countRows;
+
+    CountingDataSource(DataSource targetDataSource, boolean countRows) {
+        super(targetDataSource);
+        this.countRows = countRows;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return wrap(Connection.class, connection, new ConnectionHandler(connection, countRows));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        return wrap(Connection.class, connection, new ConnectionHandler(connection, countRows));
+    }
+
+    private static <T> T wrap(Class<T> type, T target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private abstract static class DelegatingHandler implements InvocationHandler {
+        private final Object target;
+
+        DelegatingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // Identity semantics: drivers and Hibernate keep statements in hash-based registries.
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            return afterInvoke(method, args, result);
+        }
+
+        abstract Object afterInvoke(Method method, Object[] args, Object result);
+    }
+
+    private static final class ConnectionHandler extends DelegatingHandler {
+        private final boolean countRows;
+
+        ConnectionHandler(Connection connection, boolean countRows) {
+            super(connection);
+            this.countRows = countRows;
+        }
+
+        @Override
+        Object afterInvoke(Method method, Object[] args, Object result) {
+            String name = method.getName();
+            if (result instanceof CallableStatement statement && name.equals("prepareCall")) {
+                return wrap(CallableStatement.class, statement,
+                        new StatementHandler(statement, (String) args[0], countRows));
+            }
+            if (result instanceof PreparedStatement statement && name.equals("prepareStatement")) {
+                return wrap(PreparedStatement.class, statement,
+                        new StatementHandler(statement, (String) args[0], countRows));
+            }
+            if (result instanceof Statement statement && name.equals("createStatement")) {
+                return wrap(Statement.class, statement, new StatementHandler(statement, null, countRows));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler extends DelegatingHandler {
+        private final String preparedSql;
+        private final boolean countRows;
+
+        StatementHandler(Statement statement, String preparedSql, boolean countRows) {
+            super(statement);
+            this.preparedSql = preparedSql;
+            this.countRows = countRows;
+        }
+
+        @Override
+        Object afterInvoke(Method method, Object[] args, Object result) {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                RequestMetrics metrics = RequestMetrics.current();
+                if (metrics != null) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                    metrics.recordStatement(name.endsWith("Batch") ? "[batch] " + sql : sql);
+                }
+            }
+            // A reflective call per row is too much to pay on every ledger scan, so rows are only counted on request.
+            if (countRows
+                    && result instanceof ResultSet resultSet
+                    && (name.equals("executeQuery") || name.equals("getResultSet") || name.equals("getGeneratedKeys"))) {
+                return wrap(ResultSet.class, resultSet, new ResultSetHandler(resultSet));
+            }
+            return result;
+        }
+    }
+
+    private static final class ResultSetHandler extends DelegatingHandler {
+        ResultSetHandler(ResultSet resultSet) {
+            super(resultSet);
+        }
+
+        @Override
+        Object afterInvoke(Method method, Object[] args, Object result) {
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                RequestMetrics metrics = RequestMetrics.current();
+                if (metrics != null) {
+                    metrics.recordRow();
+                }
+            }
+            return result;
+        }
+    }
+}
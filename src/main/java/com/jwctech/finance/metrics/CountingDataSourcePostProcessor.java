@@ -0,0 +1,34 @@
+package com.jwctech.finance.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes every physical {@link DataSource} bean through {@link CountingDataSource}. Pool metrics still find the Hikari
+ * pool because {@code DelegatingDataSource} supports {@code unwrap}. Proxies and routers over other beans are left
+ * alone so each statement is counted once.
+ */
+@Component
+class CountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final boolean countRows;
+
+    CountingDataSourcePostProcessor(@Value("${finance.metrics.sql.count-rows:false}") boolean countRows) {
+        this.countRows = countRows;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource
+                && !(bean instanceof DelegatingDataSource)
+                && !(bean instanceof AbstractRoutingDataSource)) {
+            return new CountingDataSource(dataSource, countRows);
+        }
+        return bean;
+    }
+}
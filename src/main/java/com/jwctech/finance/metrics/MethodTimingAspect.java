@@ -0,0 +1,47 @@
+package com.jwctech.finance.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public controller method, tagged with the business size bucket of the current request. Service methods
+ * are left alone: they run far more often than endpoints, many of them inside loops, and a timer sample on each would
+ * cost more than most of them do. Latencies are published as histogram buckets only, so percentiles are computed
+ * across instances by the metrics backend rather than per instance here.
+ */
+@Aspect
+@Component
+public class MethodTimingAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    public MethodTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.jwctech.finance.controllers..*(..))")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("finance.method")
+                    .description("Controller method latency")
+                    .tag("layer", "controller")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("business.size", RequestMetrics.currentBusinessSize())
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.jwctech.finance.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-request measurement state, bound to the request thread for the duration of the servlet filter chain.
+ * Work that hops threads (async imports, streaming exports) is not attributed to the request.
+ */
+public final class RequestMetrics {
+
+    /** Business size tag used when a request is not scoped to a business. */
+    public static final String NO_BUSINESS = "none";
+
+    private static final int MAX_RECORDED_STATEMENTS = 200;
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private final String businessSize;
+    private final List<String> statements = new ArrayList<>();
+    private int statementCount;
+    private long rowCount;
+
+    private RequestMetrics(String businessSize) {
+        this.businessSize = businessSize;
+    }
+
+    static RequestMetrics begin(String businessSize) {
+        RequestMetrics metrics = new RequestMetrics(businessSize);
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    /** The business size bucket of the current request, or {@link #NO_BUSINESS} outside a business-scoped request. */
+    public static String currentBusinessSize() {
+        RequestMetrics metrics = CURRENT.get();
+        return metrics != null ? metrics.businessSize : NO_BUSINESS;
+    }
+
+    void recordStatement(String sql) {
+        statementCount++;
+        if (statements.size() < MAX_RECORDED_STATEMENTS) {
+            statements.add(sql);
+        }
+    }
+
+    void recordRow() {
+        rowCount++;
+    }
+
+    public String getBusinessSize() {
+        return businessSize;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public List<String> getStatements() {
+        return Collections.unmodifiableList(statements);
+    }
+}
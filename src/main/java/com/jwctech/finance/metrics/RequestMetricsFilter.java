@@ -0,0 +1,121 @@
+package com.jwctech.finance.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Counts SQL statements, and fetched rows when row counting is on, per API request, publishes them as distribution
+ * summaries tagged by route and business size, and logs requests that exceed the statement budget together with their
+ * statements. Like the latency timers, the summaries publish histogram buckets only, so percentiles are computed
+ * across instances by the metrics backend.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Pattern BUSINESS_PATH = Pattern.compile("^/api/businesses/(\\d+)(/|$)");
+
+    // Without bounds a summary's histogram carries every default bucket up to Long.MAX_VALUE, a few hundred per
+    // series. A request runs from one statement to a few thousand (a full batch create) and reads up to millions of
+    // rows (a full export).
+    private static final double MAX_EXPECTED_STATEMENTS = 10_000;
+    private static final double MAX_EXPECTED_ROWS = 10_000_000;
+
+    private final MeterRegistry meterRegistry;
+    private final BusinessSizeResolver businessSizeResolver;
+    private final int statementBudget;
+    private final boolean countRows;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry,
+                                BusinessSizeResolver businessSizeResolver,
+                                @Value("${finance.metrics.sql.statement-budget:50}") int statementBudget,
+                                @Value("${finance.metrics.sql.count-rows:false}") boolean countRows) {
+        this.meterRegistry = meterRegistry;
+        this.businessSizeResolver = businessSizeResolver;
+        this.statementBudget = statementBudget;
+        this.countRows = countRows;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // Resolved before counting starts so the lookup is not charged to the request.
+        String businessSize = businessSizeResolver.bucketFor(businessId(request));
+        RequestMetrics metrics = RequestMetrics.begin(businessSize);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestMetrics.end();
+            record(request, metrics);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestMetrics metrics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("finance.http.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .tag("business.size", metrics.getBusinessSize())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(MAX_EXPECTED_STATEMENTS)
+                .register(meterRegistry)
+                .record(metrics.getStatementCount());
+        if (countRows) {
+            DistributionSummary.builder("finance.http.sql.rows")
+                    .description("Result set rows read per HTTP request")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .tag("business.size", metrics.getBusinessSize())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(MAX_EXPECTED_ROWS)
+                    .register(meterRegistry)
+                    .record(metrics.getRowCount());
+        }
+
+        if (metrics.getStatementCount() > statementBudget) {
+            log.warn("{} {} executed {} SQL statements (budget {}), {} rows:\n  {}",
+                    method, request.getRequestURI(), metrics.getStatementCount(), statementBudget,
+                    metrics.getRowCount(), String.join("\n  ", metrics.getStatements()));
+        }
+    }
+
+    private Long businessId(HttpServletRequest request) {
+        Matcher matcher = BUSINESS_PATH.matcher(request.getRequestURI());
+        if (!matcher.find()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(matcher.group(1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
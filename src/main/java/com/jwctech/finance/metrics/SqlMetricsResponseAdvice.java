@@ -0,0 +1,51 @@
+package com.jwctech.finance.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Outside production, reports the statement count so far on each response body, and the row count when rows are
+ * counted, which makes N+1 patterns visible straight from the browser's network tab.
+ */
+@Profile("!prod")
+@ControllerAdvice
+public class SqlMetricsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+
+    private final boolean countRows;
+
+    public SqlMetricsResponseAdvice(@Value("${finance.metrics.sql.count-rows:false}") boolean countRows) {
+        this.countRows = countRows;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            response.getHeaders().set(STATEMENTS_HEADER, Integer.toString(metrics.getStatementCount()));
+            if (countRows) {
+                response.getHeaders().set(ROWS_HEADER, Long.toString(metrics.getRowCount()));
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,110 @@
+package com.jwctech.finance.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.Function;
+
+/**
+ * An amount of money as a whole number of minor units (cents). Stored as {@code BIGINT}, serialized as a JSON number
+ * with two decimal places. Arithmetic is exact and fails on overflow rather than wrapping.
+ * <p>
+ * Hot summation paths should accumulate {@link #minorUnits()} in a primitive {@code long} and wrap the result once.
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * @throws ArithmeticException if the amount has more than two decimal places or does not fit
+     */
+    public static Money of(BigDecimal amount) {
+        return ofMinor(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    /**
+     * @throws NumberFormatException if the text is not a decimal number
+     * @throws ArithmeticException   if the amount has more than two decimal places or does not fit
+     */
+    public static Money parse(String text) {
+        return of(new BigDecimal(text));
+    }
+
+    public static Money sum(Iterable<Money> amounts) {
+        long total = 0;
+        for (Money amount : amounts) {
+            total = Math.addExact(total, amount.minorUnits);
+        }
+        return ofMinor(total);
+    }
+
+    public static <T> Money sumOf(Iterable<T> items, Function<? super T, Money> amount) {
+        long total = 0;
+        for (T item : items) {
+            total = Math.addExact(total, amount.apply(item).minorUnits);
+        }
+        return ofMinor(total);
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    public Money abs() {
+        return minorUnits < 0 ? negate() : this;
+    }
+
+    /**
+     * This amount times {@code parts / whole}, rounded half-even to a whole minor unit.
+     */
+    public Money share(long parts, long whole) {
+        long product;
+        try {
+            product = Math.multiplyExact(minorUnits, parts);
+        } catch (ArithmeticException e) {
+            return of(toBigDecimal().multiply(BigDecimal.valueOf(parts))
+                    .divide(BigDecimal.valueOf(whole), SCALE, RoundingMode.HALF_EVEN));
+        }
+        long quotient = product / whole;
+        long twiceRemainder = Math.abs(product % whole) * 2;
+        long absWhole = Math.abs(whole);
+        if (twiceRemainder > absWhole || (twiceRemainder == absWhole && (quotient & 1) != 0)) {
+            quotient += (product ^ whole) < 0 ? -1 : 1;
+        }
+        return ofMinor(quotient);
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
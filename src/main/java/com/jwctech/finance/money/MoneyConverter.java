@@ -0,0 +1,18 @@
+package com.jwctech.finance.money;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Money attribute) {
+        return attribute != null ? attribute.minorUnits() : null;
+    }
+
+    @Override
+    public Money convertToEntityAttribute(Long dbData) {
+        return dbData != null ? Money.ofMinor(dbData) : null;
+    }
+}
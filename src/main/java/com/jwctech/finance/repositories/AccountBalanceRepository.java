@@ -0,0 +1,200 @@
+package com.jwctech.finance.repositories;
+
+import com.jwctech.finance.dto.AccountDto;
+import com.jwctech.finance.money.Money;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class AccountBalanceRepository {
+
+    private static final String UPSERT_BALANCE_SQL = """
+            INSERT INTO account_balances (account_id, business_id, balance, transaction_count)
+            VALUES (?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE balance = balance + VALUES(balance),
+                                    transaction_count = transaction_count + VALUES(transaction_count)
+            """;
+
+    private static final String CREATE_BALANCE_IF_MISSING_SQL = """
+            INSERT INTO account_balances (account_id, business_id, balance, transaction_count)
+            SELECT id, business_id, 0, 0 FROM accounts WHERE id = ? AND business_id = ?
+            ON DUPLICATE KEY UPDATE balance = balance
+            """;
+
+    private static final String SHIFT_CHECKPOINTS_SQL = """
+            UPDATE account_balance_checkpoints
+            SET balance = balance + ?
+            WHERE account_id = ? AND period_end >= ?
+            """;
+
+    private static final String UPSERT_CHECKPOINT_SQL = """
+            INSERT INTO account_balance_checkpoints (account_id, period_end, business_id, balance)
+            VALUES (?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE balance = VALUES(balance)
+            """;
+
+    private static final String ACCOUNTS_WITH_BALANCES_SQL = """
+            SELECT a.id, a.name, a.account_type, a.business_id, COALESCE(b.balance, 0) AS balance
+            FROM accounts a
+            LEFT JOIN account_balances b ON b.account_id = a.id
+            WHERE a.business_id = ?
+            ORDER BY a.name ASC
+            """;
+
+    private static final String MONTHLY_NET_SQL = """
+            SELECT YEAR(posted_at) AS posted_year, MONTH(posted_at) AS posted_month, SUM(amount) AS net
+            FROM transactions
+            WHERE account_id = ? AND posted_at > ? AND posted_at <= ?
+            GROUP BY YEAR(posted_at), MONTH(posted_at)
+            ORDER BY posted_year, posted_month
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountBalanceRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Ensures the balance row exists if the account belongs to the business. The upsert also takes the row lock every
+     * ledger writer takes first, which keeps checkpoint materialization from interleaving with concurrent postings to
+     * the same account. It reads only through locks, so it can come before the transaction's first snapshot read.
+     */
+    public void createIfMissing(Long accountId, Long businessId) {
+        jdbcTemplate.update(CREATE_BALANCE_IF_MISSING_SQL, accountId, businessId);
+    }
+
+    public void applyBalanceDeltas(List<BalanceDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_BALANCE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                BalanceDelta delta = deltas.get(i);
+                ps.setLong(1, delta.accountId());
+                ps.setLong(2, delta.businessId());
+                ps.setLong(3, delta.amount().minorUnits());
+                ps.setLong(4, delta.transactionCount());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deltas.size();
+            }
+        });
+    }
+
+    public void applyCheckpointDeltas(List<CheckpointDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(SHIFT_CHECKPOINTS_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                CheckpointDelta delta = deltas.get(i);
+                ps.setLong(1, delta.amount().minorUnits());
+                ps.setLong(2, delta.accountId());
+                ps.setDate(3, Date.valueOf(delta.periodEnd()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deltas.size();
+            }
+        });
+    }
+
+    public Optional<Money> findBalance(Long accountId) {
+        return jdbcTemplate.query("SELECT balance FROM account_balances WHERE account_id = ?",
+                (rs, rowNum) -> Money.ofMinor(rs.getLong("balance")), accountId).stream().findFirst();
+    }
+
+    public Optional<Checkpoint> findLatestCheckpoint(Long accountId, LocalDate onOrBefore) {
+        return jdbcTemplate.query("""
+                        SELECT period_end, balance FROM account_balance_checkpoints
+                        WHERE account_id = ? AND period_end <= ?
+                        ORDER BY period_end DESC
+                        LIMIT 1
+                        """,
+                (rs, rowNum) -> new Checkpoint(rs.getDate("period_end").toLocalDate(),
+                        Money.ofMinor(rs.getLong("balance"))),
+                accountId, Date.valueOf(onOrBefore)).stream().findFirst();
+    }
+
+    public void saveCheckpoints(Long accountId, Long businessId, List<Checkpoint> checkpoints) {
+        if (checkpoints.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_CHECKPOINT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Checkpoint checkpoint = checkpoints.get(i);
+                ps.setLong(1, accountId);
+                ps.setDate(2, Date.valueOf(checkpoint.periodEnd()));
+                ps.setLong(3, businessId);
+                ps.setLong(4, checkpoint.balance().minorUnits());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return checkpoints.size();
+            }
+        });
+    }
+
+    public Optional<LocalDate> findEarliestPostedAt(Long accountId) {
+        LocalDate earliest = jdbcTemplate.queryForObject(
+                "SELECT MIN(posted_at) FROM transactions WHERE account_id = ?", LocalDate.class, accountId);
+        return Optional.ofNullable(earliest);
+    }
+
+    public List<MonthlyNet> findMonthlyNet(Long accountId, LocalDate afterExclusive, LocalDate throughInclusive) {
+        return jdbcTemplate.query(MONTHLY_NET_SQL,
+                (rs, rowNum) -> new MonthlyNet(
+                        YearMonth.of(rs.getInt("posted_year"), rs.getInt("posted_month")),
+                        Money.ofMinor(rs.getLong("net"))),
+                accountId, Date.valueOf(afterExclusive), Date.valueOf(throughInclusive));
+    }
+
+    public Money sumTransactions(Long accountId, LocalDate afterExclusive, LocalDate throughInclusive) {
+        Long sum = jdbcTemplate.queryForObject("""
+                        SELECT COALESCE(SUM(amount), 0) FROM transactions
+                        WHERE account_id = ? AND posted_at > ? AND posted_at <= ?
+                        """,
+                Long.class, accountId, Date.valueOf(afterExclusive), Date.valueOf(throughInclusive));
+        return sum != null ? Money.ofMinor(sum) : Money.ZERO;
+    }
+
+    public List<AccountDto> findAccountsWithBalances(Long businessId) {
+        return jdbcTemplate.query(ACCOUNTS_WITH_BALANCES_SQL,
+                (rs, rowNum) -> new AccountDto(
+                        rs.getLong("id"),
+                        rs.getString("name"),
+                        rs.getString("account_type"),
+                        rs.getLong("business_id"),
+                        Money.ofMinor(rs.getLong("balance"))),
+                businessId);
+    }
+
+    public record BalanceDelta(Long accountId, Long businessId, Money amount, long transactionCount) {
+    }
+
+    public record CheckpointDelta(Long accountId, LocalDate periodEnd, Money amount) {
+    }
+
+    public record Checkpoint(LocalDate periodEnd, Money balance) {
+    }
+
+    public record MonthlyNet(YearMonth month, Money net) {
+    }
+}
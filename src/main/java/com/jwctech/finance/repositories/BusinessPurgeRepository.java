@@ -0,0 +1,89 @@
+package com.jwctech.finance.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Set-based deletes of one business's rows, each bounded by a row limit so callers can commit in short chunks.
+ * Every method returns the number of rows it removed; zero means the step is finished.
+ */
+@Repository
+public class BusinessPurgeRepository {
+
+    /**
+     * Tables carrying their own business_id, deleted in this order before the ledger and reference rows they summarize
+     * or point at. Keep in sync with new migrations that add business-scoped tables.
+     */
+    public static final List<String> DERIVED_TABLES = List.of(
+            "category_daily_totals",
+            "category_closure",
+            "account_balance_checkpoints",
+            "account_balances",
+            "categorization_rule_splits",
+            "categorization_rules",
+            "tax_report_lines",
+            "tax_reports",
+            "reconciliation_unmatched_lines",
+            "reconciliations",
+            "business_changes",
+            "business_versions"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BusinessPurgeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int deleteFromDerivedTable(String table, Long businessId, int limit) {
+        if (!DERIVED_TABLES.contains(table)) {
+            throw new IllegalArgumentException("Not a business-scoped derived table: " + table);
+        }
+        return jdbcTemplate.update("DELETE FROM " + table + " WHERE business_id = ? LIMIT ?", businessId, limit);
+    }
+
+    /**
+     * Deletes the next {@code limit} transactions of the business together with their splits.
+     */
+    public int deleteTransactions(Long businessId, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM transactions WHERE business_id = ? ORDER BY id LIMIT ?", Long.class, businessId, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Object[] args = ids.toArray();
+        int splits = jdbcTemplate.update("DELETE FROM transaction_splits WHERE transaction_id IN (" + placeholders + ")", args);
+        return splits + jdbcTemplate.update("DELETE FROM transactions WHERE id IN (" + placeholders + ")", args);
+    }
+
+    public int deleteVendors(Long businessId, int limit) {
+        return jdbcTemplate.update("DELETE FROM vendors WHERE business_id = ? LIMIT ?", businessId, limit);
+    }
+
+    /**
+     * Clears parent links first so the self-referencing foreign key never blocks a chunk of category deletes.
+     */
+    public int detachCategoryParents(Long businessId, int limit) {
+        return jdbcTemplate.update("""
+                UPDATE categories SET parent_category_id = NULL
+                WHERE business_id = ? AND parent_category_id IS NOT NULL
+                LIMIT ?
+                """, businessId, limit);
+    }
+
+    public int deleteCategories(Long businessId, int limit) {
+        return jdbcTemplate.update("DELETE FROM categories WHERE business_id = ? LIMIT ?", businessId, limit);
+    }
+
+    public int deleteAccounts(Long businessId, int limit) {
+        return jdbcTemplate.update("DELETE FROM accounts WHERE business_id = ? LIMIT ?", businessId, limit);
+    }
+
+    public int deleteBusiness(Long businessId) {
+        return jdbcTemplate.update("DELETE FROM businesses WHERE id = ?", businessId);
+    }
+}
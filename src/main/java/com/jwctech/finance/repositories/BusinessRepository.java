@@ -1,10 +1,26 @@
 package com.jwctech.finance.repositories;
 
 import com.jwctech.finance.entities.Business;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface BusinessRepository extends JpaRepository<Business, Long> {
     boolean existsByNameIgnoreCase(String name);
+
+    List<Business> findByStatus(String status, Sort sort);
+
+    @Query("select b.status from Business b where b.id = :businessId")
+    Optional<String> findStatus(@Param("businessId") Long businessId);
+
+    @Modifying
+    @Query("update Business b set b.status = :to where b.id = :businessId and b.status = :from")
+    int updateStatus(@Param("businessId") Long businessId, @Param("from") String from, @Param("to") String to);
 }
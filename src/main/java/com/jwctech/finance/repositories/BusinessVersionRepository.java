@@ -0,0 +1,29 @@
+package com.jwctech.finance.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class BusinessVersionRepository {
+
+    private static final String BUMP_SQL = """
+            INSERT INTO business_versions (business_id, version)
+            VALUES (?, 1)
+            ON DUPLICATE KEY UPDATE version = version + 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BusinessVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void bump(Long businessId) {
+        jdbcTemplate.update(BUMP_SQL, businessId);
+    }
+
+    public long findVersion(Long businessId) {
+        return jdbcTemplate.query("SELECT version FROM business_versions WHERE business_id = ?",
+                (rs, rowNum) -> rs.getLong("version"), businessId).stream().findFirst().orElse(0L);
+    }
+}
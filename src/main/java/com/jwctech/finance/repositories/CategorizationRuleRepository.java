@@ -0,0 +1,17 @@
+package com.jwctech.finance.repositories;
+
+import com.jwctech.finance.entities.CategorizationRule;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CategorizationRuleRepository extends JpaRepository<CategorizationRule, Long> {
+
+    @EntityGraph(attributePaths = "splits")
+    List<CategorizationRule> findByBusiness_IdOrderByPriorityAscIdAsc(Long businessId);
+
+    @EntityGraph(attributePaths = "splits")
+    Optional<CategorizationRule> findByIdAndBusiness_Id(Long ruleId, Long businessId);
+}
@@ -0,0 +1,68 @@
+package com.jwctech.finance.repositories;
+
+import com.jwctech.finance.money.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public class CategoryClosureRepository {
+
+    private static final String INSERT_SELF_SQL = """
+            INSERT INTO category_closure (business_id, ancestor_id, descendant_id, depth)
+            VALUES (?, ?, ?, 0)
+            """;
+
+    // One level deeper than each of the parent's ancestors, the parent itself included.
+    private static final String INSERT_ANCESTORS_SQL = """
+            INSERT INTO category_closure (business_id, ancestor_id, descendant_id, depth)
+            SELECT cc.business_id, cc.ancestor_id, c.id, cc.depth + 1
+            FROM categories c
+            JOIN category_closure cc ON cc.descendant_id = c.parent_category_id
+            WHERE c.id = ?
+            """;
+
+    // Each daily total is counted once for its own category and once for every ancestor of it.
+    private static final String SUBTREE_TOTALS_SQL = """
+            SELECT cc.ancestor_id AS category_id,
+                   SUM(r.total) AS total,
+                   SUM(r.split_count) AS split_count,
+                   SUM(CASE WHEN cc.depth = 0 THEN r.total ELSE 0 END) AS own_total,
+                   SUM(CASE WHEN cc.depth = 0 THEN r.split_count ELSE 0 END) AS own_split_count
+            FROM category_closure cc
+            JOIN category_daily_totals r ON r.business_id = cc.business_id AND r.category_id = cc.descendant_id
+            WHERE cc.business_id = ? AND r.posted_on BETWEEN ? AND ?
+            GROUP BY cc.ancestor_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CategoryClosureRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Links a newly inserted category, which has no children yet, below its parent's ancestors.
+     */
+    public void insertLeaf(Long businessId, Long categoryId) {
+        jdbcTemplate.update(INSERT_SELF_SQL, businessId, categoryId, categoryId);
+        jdbcTemplate.update(INSERT_ANCESTORS_SQL, categoryId);
+    }
+
+    public List<SubtreeTotal> findSubtreeTotals(Long businessId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(SUBTREE_TOTALS_SQL,
+                (rs, rowNum) -> new SubtreeTotal(
+                        rs.getLong("category_id"),
+                        Money.ofMinor(rs.getLong("total")),
+                        rs.getLong("split_count"),
+                        Money.ofMinor(rs.getLong("own_total")),
+                        rs.getLong("own_split_count")),
+                businessId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public record SubtreeTotal(Long categoryId, Money total, long splitCount, Money ownTotal, long ownSplitCount) {
+    }
+}
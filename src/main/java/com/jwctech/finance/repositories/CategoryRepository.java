@@ -12,6 +12,4 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     boolean existsByNameIgnoreCaseAndBusiness_Id(String name, Long businessId);
 
     Optional<Category> findByIdAndBusiness_Id(Long id, Long businessId);
-
-    void deleteByBusiness_Id(Long businessId);
 }
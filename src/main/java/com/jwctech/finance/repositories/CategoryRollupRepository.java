@@ -0,0 +1,111 @@
+package com.jwctech.finance.repositories;
+
+import com.jwctech.finance.money.Money;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public class CategoryRollupRepository {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO category_daily_totals (business_id, category_id, posted_on, total, split_count)
+            VALUES (?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE total = total + VALUES(total), split_count = split_count + VALUES(split_count)
+            """;
+
+    private static final String REBUILD_SQL = """
+            INSERT INTO category_daily_totals (business_id, category_id, posted_on, total, split_count)
+            SELECT s.business_id, s.category_id, s.posted_at, SUM(s.amount), COUNT(*)
+            FROM transaction_splits s
+            WHERE s.business_id = ?
+            GROUP BY s.business_id, s.category_id, s.posted_at
+            """;
+
+    private static final String TOTALS_BY_CATEGORY_SQL = """
+            SELECT r.category_id, SUM(r.total) AS total, SUM(r.split_count) AS split_count
+            FROM category_daily_totals r
+            WHERE r.business_id = ? AND r.posted_on BETWEEN ? AND ?
+            GROUP BY r.category_id
+            """;
+
+    private static final String TOTALS_BY_MONTH_AND_KIND_SQL = """
+            SELECT YEAR(r.posted_on) AS posted_year, MONTH(r.posted_on) AS posted_month, c.kind, SUM(r.total) AS total
+            FROM category_daily_totals r
+            JOIN categories c ON c.id = r.category_id
+            WHERE r.business_id = ? AND r.posted_on BETWEEN ? AND ?
+            GROUP BY YEAR(r.posted_on), MONTH(r.posted_on), c.kind
+            ORDER BY posted_year, posted_month
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CategoryRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void applyDeltas(List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Delta delta = deltas.get(i);
+                ps.setLong(1, delta.businessId());
+                ps.setLong(2, delta.categoryId());
+                ps.setDate(3, Date.valueOf(delta.postedOn()));
+                ps.setLong(4, delta.total().minorUnits());
+                ps.setLong(5, delta.splitCount());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deltas.size();
+            }
+        });
+    }
+
+    public int rebuild(Long businessId) {
+        deleteByBusinessId(businessId);
+        return jdbcTemplate.update(REBUILD_SQL, businessId);
+    }
+
+    public void deleteByBusinessId(Long businessId) {
+        jdbcTemplate.update("DELETE FROM category_daily_totals WHERE business_id = ?", businessId);
+    }
+
+    public List<CategoryTotal> findTotalsByCategory(Long businessId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(TOTALS_BY_CATEGORY_SQL,
+                (rs, rowNum) -> new CategoryTotal(
+                        rs.getLong("category_id"),
+                        Money.ofMinor(rs.getLong("total")),
+                        rs.getLong("split_count")),
+                businessId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public List<MonthlyKindTotal> findTotalsByMonthAndKind(Long businessId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(TOTALS_BY_MONTH_AND_KIND_SQL,
+                (rs, rowNum) -> new MonthlyKindTotal(
+                        rs.getInt("posted_year"),
+                        rs.getInt("posted_month"),
+                        rs.getString("kind"),
+                        Money.ofMinor(rs.getLong("total"))),
+                businessId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public record Delta(Long businessId, Long categoryId, LocalDate postedOn, Money total, long splitCount) {
+    }
+
+    public record CategoryTotal(Long categoryId, Money total, long splitCount) {
+    }
+
+    public record MonthlyKindTotal(int year, int month, String kind, Money total) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.jwctech.finance.repositories;
+
+import com.jwctech.finance.entities.ChangeEntity;
+import com.jwctech.finance.entities.ChangeOperation;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public class ChangeLogRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO business_changes (business_id, version, entity_type, entity_id, operation, changed_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String CHANGES_AFTER_SQL = """
+            SELECT version, entity_type, entity_id, operation
+            FROM business_changes
+            WHERE business_id = ? AND version > ?
+            ORDER BY version, entity_type, entity_id
+            LIMIT ?
+            """;
+
+    private static final String CHANGES_AT_SQL = """
+            SELECT version, entity_type, entity_id, operation
+            FROM business_changes
+            WHERE business_id = ? AND version = ?
+            ORDER BY entity_type, entity_id
+            """;
+
+    private static final String COMPACTION_TARGETS_SQL = """
+            SELECT business_id, version, changes_compacted_version
+            FROM business_versions
+            WHERE version > changes_compacted_version
+            ORDER BY business_id
+            """;
+
+    // Walks only the rows logged since the last pass and probes the entity index for older rows they supersede.
+    private static final String SUPERSEDED_SQL = """
+            SELECT DISTINCT old.version, old.entity_type, old.entity_id
+            FROM business_changes recent
+            JOIN business_changes old
+              ON old.business_id = recent.business_id
+             AND old.entity_type = recent.entity_type
+             AND old.entity_id = recent.entity_id
+             AND old.version < recent.version
+            WHERE recent.business_id = ? AND recent.version > ? AND recent.version <= ?
+            LIMIT ?
+            """;
+
+    private static final String DELETE_SQL = """
+            DELETE FROM business_changes
+            WHERE business_id = ? AND version = ? AND entity_type = ? AND entity_id = ?
+            """;
+
+    private static final String MARK_COMPACTED_SQL = """
+            UPDATE business_versions SET changes_compacted_version = ?
+            WHERE business_id = ? AND changes_compacted_version < ?
+            """;
+
+    private static final RowMapper<ChangeRow> CHANGE_ROW_MAPPER = (rs, rowNum) -> new ChangeRow(
+            rs.getLong("version"),
+            ChangeEntity.valueOf(rs.getString("entity_type")),
+            rs.getLong("entity_id"),
+            ChangeOperation.valueOf(rs.getString("operation"))
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChangeLogRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void append(Long businessId, long version, List<NewChange> changes) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                NewChange change = changes.get(i);
+                ps.setLong(1, businessId);
+                ps.setLong(2, version);
+                ps.setString(3, change.entity().name());
+                ps.setLong(4, change.entityId());
+                ps.setString(5, change.operation().name());
+                ps.setTimestamp(6, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return changes.size();
+            }
+        });
+    }
+
+    public List<ChangeRow> findChangesAfter(Long businessId, long afterVersion, int limit) {
+        return jdbcTemplate.query(CHANGES_AFTER_SQL, CHANGE_ROW_MAPPER, businessId, afterVersion, limit);
+    }
+
+    public List<ChangeRow> findChangesAt(Long businessId, long version) {
+        return jdbcTemplate.query(CHANGES_AT_SQL, CHANGE_ROW_MAPPER, businessId, version);
+    }
+
+    public List<CompactionTarget> findCompactionTargets() {
+        return jdbcTemplate.query(COMPACTION_TARGETS_SQL, (rs, rowNum) -> new CompactionTarget(
+                rs.getLong("business_id"),
+                rs.getLong("version"),
+                rs.getLong("changes_compacted_version")
+        ));
+    }
+
+    /**
+     * @return up to {@code limit} rows that a row logged after {@code afterVersion} and up to {@code throughVersion}
+     * supersedes
+     */
+    public List<ChangeKey> findSuperseded(Long businessId, long afterVersion, long throughVersion, int limit) {
+        return jdbcTemplate.query(SUPERSEDED_SQL, (rs, rowNum) -> new ChangeKey(
+                rs.getLong("version"),
+                ChangeEntity.valueOf(rs.getString("entity_type")),
+                rs.getLong("entity_id")
+        ), businessId, afterVersion, throughVersion, limit);
+    }
+
+    public void delete(Long businessId, List<ChangeKey> changes) {
+        jdbcTemplate.batchUpdate(DELETE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ChangeKey change = changes.get(i);
+                ps.setLong(1, businessId);
+                ps.setLong(2, change.version());
+                ps.setString(3, change.entity().name());
+                ps.setLong(4, change.entityId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return changes.size();
+            }
+        });
+    }
+
+    public void markCompacted(Long businessId, long version) {
+        jdbcTemplate.update(MARK_COMPACTED_SQL, version, businessId, version);
+    }
+
+    public record NewChange(ChangeEntity entity, long entityId, ChangeOperation operation) {
+    }
+
+    /**
+     * @param version the business version of the commit that logged the change
+     */
+    public record ChangeRow(long version, ChangeEntity entity, long entityId, ChangeOperation operation) {
+    }
+
+    public record ChangeKey(long version, ChangeEntity entity, long entityId) {
+    }
+
+    public record CompactionTarget(Long businessId, long version, long compactedVersion) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.jwctech.finance.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Existence checks for the rows a ledger write refers to, standing in for the foreign keys the partitioned ledger
+ * tables cannot have.
+ */
+@Repository
+public class LedgerReferenceRepository {
+
+    private static final String EXISTING_SQL = """
+            SELECT id FROM %s WHERE business_id = ? AND id IN (%s)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerReferenceRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Set<Long> findExistingAccounts(Long businessId, Collection<Long> accountIds) {
+        return findExisting("accounts", businessId, accountIds);
+    }
+
+    public Set<Long> findExistingVendors(Long businessId, Collection<Long> vendorIds) {
+        return findExisting("vendors", businessId, vendorIds);
+    }
+
+    public Set<Long> findExistingCategories(Long businessId, Collection<Long> categoryIds) {
+        return findExisting("categories", businessId, categoryIds);
+    }
+
+    private Set<Long> findExisting(String table, Long businessId, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.add(businessId);
+        args.addAll(ids);
+        return new HashSet<>(jdbcTemplate.queryForList(
+                EXISTING_SQL.formatted(table, String.join(", ", Collections.nCopies(ids.size(), "?"))),
+                Long.class, args.toArray()));
+    }
+}
@@ -0,0 +1,216 @@
+package com.jwctech.finance.repositories;
+
+import com.jwctech.finance.dto.ReconciliationDto;
+import com.jwctech.finance.dto.ReconciliationLineDto;
+import com.jwctech.finance.money.Money;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class ReconciliationRepository {
+
+    // Served by the account keyset index; the window bounds also prune the yearly partitions on MySQL.
+    private static final String UNCLEARED_SQL = """
+            SELECT id, posted_at, amount, payee
+            FROM transactions
+            WHERE account_id = ? AND posted_at BETWEEN ? AND ? AND cleared = FALSE
+            ORDER BY posted_at, amount, id
+            """;
+
+    private static final String INSERT_RECONCILIATION_SQL = """
+            INSERT INTO reconciliations (business_id, account_id, period_start, period_end, file_name, lines_read,
+                                         lines_rejected, lines_matched, lines_unmatched, transactions_outstanding,
+                                         statement_total, cleared_total, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_UNMATCHED_LINE_SQL = """
+            INSERT INTO reconciliation_unmatched_lines (reconciliation_id, line_number, business_id, posted_at, amount,
+                                                        payee)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    // posted_at is part of the primary key on MySQL; giving it keeps each update to a single partition.
+    private static final String MARK_CLEARED_SQL = """
+            UPDATE transactions
+            SET cleared = TRUE, reconciliation_id = ?, updated_at = ?
+            WHERE id = ? AND posted_at = ? AND cleared = FALSE
+            """;
+
+    private static final String RECONCILIATION_COLUMNS = """
+            SELECT id, business_id, account_id, period_start, period_end, file_name, lines_read, lines_rejected,
+                   lines_matched, lines_unmatched, transactions_outstanding, statement_total, cleared_total, created_at
+            FROM reconciliations
+            """;
+
+    private static final RowMapper<ReconciliationDto> RECONCILIATION_MAPPER = (rs, rowNum) -> new ReconciliationDto(
+            rs.getLong("id"),
+            rs.getLong("business_id"),
+            rs.getLong("account_id"),
+            rs.getDate("period_start").toLocalDate(),
+            rs.getDate("period_end").toLocalDate(),
+            rs.getString("file_name"),
+            rs.getLong("lines_read"),
+            rs.getLong("lines_rejected"),
+            rs.getLong("lines_matched"),
+            rs.getLong("lines_unmatched"),
+            rs.getLong("transactions_outstanding"),
+            Money.ofMinor(rs.getLong("statement_total")),
+            Money.ofMinor(rs.getLong("cleared_total")),
+            rs.getTimestamp("created_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReconciliationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Uncleared transactions of the account posted in the window, ordered by posting date, then amount.
+     */
+    public List<UnclearedTransaction> findUncleared(Long accountId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(UNCLEARED_SQL,
+                (rs, rowNum) -> new UnclearedTransaction(
+                        rs.getLong("id"),
+                        rs.getDate("posted_at").toLocalDate(),
+                        Money.ofMinor(rs.getLong("amount")),
+                        rs.getString("payee")),
+                accountId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public long insert(NewReconciliation reconciliation) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_RECONCILIATION_SQL,
+                    Statement.RETURN_GENERATED_KEYS);
+            ps.setLong(1, reconciliation.businessId());
+            ps.setLong(2, reconciliation.accountId());
+            ps.setDate(3, Date.valueOf(reconciliation.periodStart()));
+            ps.setDate(4, Date.valueOf(reconciliation.periodEnd()));
+            ps.setString(5, reconciliation.fileName());
+            ps.setLong(6, reconciliation.linesRead());
+            ps.setLong(7, reconciliation.linesRejected());
+            ps.setLong(8, reconciliation.linesMatched());
+            ps.setLong(9, reconciliation.linesUnmatched());
+            ps.setLong(10, reconciliation.transactionsOutstanding());
+            ps.setLong(11, reconciliation.statementTotal().minorUnits());
+            ps.setLong(12, reconciliation.clearedTotal().minorUnits());
+            ps.setTimestamp(13, Timestamp.from(reconciliation.createdAt()));
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKeyAs(Number.class).longValue();
+    }
+
+    public void insertUnmatchedLines(long reconciliationId, Long businessId, List<ReconciliationLineDto> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_UNMATCHED_LINE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ReconciliationLineDto line = lines.get(i);
+                ps.setLong(1, reconciliationId);
+                ps.setLong(2, line.lineNumber());
+                ps.setLong(3, businessId);
+                ps.setDate(4, Date.valueOf(line.postedAt()));
+                ps.setLong(5, line.amount().minorUnits());
+                ps.setString(6, line.payee());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return lines.size();
+            }
+        });
+    }
+
+    /**
+     * Clears the transactions for the reconciliation.
+     *
+     * @return how many of them were still uncleared and are now cleared
+     */
+    public long markCleared(long reconciliationId, List<UnclearedTransaction> transactions) {
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        int[] updated = jdbcTemplate.batchUpdate(MARK_CLEARED_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                UnclearedTransaction transaction = transactions.get(i);
+                ps.setLong(1, reconciliationId);
+                ps.setTimestamp(2, now);
+                ps.setLong(3, transaction.id());
+                ps.setDate(4, Date.valueOf(transaction.postedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return transactions.size();
+            }
+        });
+        // Drivers that rewrite batches report SUCCESS_NO_INFO instead of row counts; trust those.
+        return Arrays.stream(updated).mapToLong(count -> count == Statement.SUCCESS_NO_INFO ? 1 : count).sum();
+    }
+
+    public Optional<ReconciliationDto> find(Long businessId, Long reconciliationId) {
+        return jdbcTemplate.query(RECONCILIATION_COLUMNS + "WHERE id = ? AND business_id = ?",
+                RECONCILIATION_MAPPER, reconciliationId, businessId).stream().findFirst();
+    }
+
+    public List<ReconciliationDto> findForAccount(Long accountId) {
+        return jdbcTemplate.query(RECONCILIATION_COLUMNS + "WHERE account_id = ? ORDER BY period_end DESC, id DESC",
+                RECONCILIATION_MAPPER, accountId);
+    }
+
+    public List<ReconciliationLineDto> findUnmatchedLines(long reconciliationId, int offset, int limit) {
+        return jdbcTemplate.query("""
+                        SELECT line_number, posted_at, amount, payee
+                        FROM reconciliation_unmatched_lines
+                        WHERE reconciliation_id = ?
+                        ORDER BY line_number
+                        LIMIT ? OFFSET ?
+                        """,
+                (rs, rowNum) -> new ReconciliationLineDto(
+                        rs.getLong("line_number"),
+                        rs.getDate("posted_at").toLocalDate(),
+                        Money.ofMinor(rs.getLong("amount")),
+                        rs.getString("payee")),
+                reconciliationId, limit, offset);
+    }
+
+    public record UnclearedTransaction(long id, LocalDate postedAt, Money amount, String payee) {
+    }
+
+    public record NewReconciliation(
+            Long businessId,
+            Long accountId,
+            LocalDate periodStart,
+            LocalDate periodEnd,
+            String fileName,
+            long linesRead,
+            long linesRejected,
+            long linesMatched,
+            long linesUnmatched,
+            long transactionsOutstanding,
+            Money statementTotal,
+            Money clearedTotal,
+            Instant createdAt
+    ) {
+    }
+}
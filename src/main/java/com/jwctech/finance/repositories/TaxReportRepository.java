@@ -0,0 +1,119 @@
+package com.jwctech.finance.repositories;
+
+import com.jwctech.finance.money.Money;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class TaxReportRepository {
+
+    private static final String UPSERT_REPORT_SQL = """
+            INSERT INTO tax_reports (business_id, tax_year, business_version, income, expense, net, generated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE business_version = VALUES(business_version),
+                                    income = VALUES(income),
+                                    expense = VALUES(expense),
+                                    net = VALUES(net),
+                                    generated_at = VALUES(generated_at)
+            """;
+
+    private static final String INSERT_LINE_SQL = """
+            INSERT INTO tax_report_lines (business_id, tax_year, category_id, category_name, kind, total, split_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaxReportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Replaces the stored report for the business and year. Call within a transaction.
+     */
+    public void save(StoredReport report, List<StoredLine> lines) {
+        jdbcTemplate.update(UPSERT_REPORT_SQL,
+                report.businessId(),
+                report.taxYear(),
+                report.businessVersion(),
+                report.income().minorUnits(),
+                report.expense().minorUnits(),
+                report.net().minorUnits(),
+                Timestamp.from(report.generatedAt()));
+        jdbcTemplate.update("DELETE FROM tax_report_lines WHERE business_id = ? AND tax_year = ?",
+                report.businessId(), report.taxYear());
+        jdbcTemplate.batchUpdate(INSERT_LINE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                StoredLine line = lines.get(i);
+                ps.setLong(1, report.businessId());
+                ps.setInt(2, report.taxYear());
+                ps.setLong(3, line.categoryId());
+                ps.setString(4, line.categoryName());
+                ps.setString(5, line.kind());
+                ps.setLong(6, line.total().minorUnits());
+                ps.setLong(7, line.splitCount());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return lines.size();
+            }
+        });
+    }
+
+    public Optional<StoredReport> findReport(Long businessId, int taxYear) {
+        return jdbcTemplate.query("""
+                        SELECT business_id, tax_year, business_version, income, expense, net, generated_at
+                        FROM tax_reports
+                        WHERE business_id = ? AND tax_year = ?
+                        """,
+                (rs, rowNum) -> new StoredReport(
+                        rs.getLong("business_id"),
+                        rs.getInt("tax_year"),
+                        rs.getLong("business_version"),
+                        Money.ofMinor(rs.getLong("income")),
+                        Money.ofMinor(rs.getLong("expense")),
+                        Money.ofMinor(rs.getLong("net")),
+                        rs.getTimestamp("generated_at").toInstant()),
+                businessId, taxYear).stream().findFirst();
+    }
+
+    public List<StoredLine> findLines(Long businessId, int taxYear) {
+        return jdbcTemplate.query("""
+                        SELECT category_id, category_name, kind, total, split_count
+                        FROM tax_report_lines
+                        WHERE business_id = ? AND tax_year = ?
+                        ORDER BY kind, category_name
+                        """,
+                (rs, rowNum) -> new StoredLine(
+                        rs.getLong("category_id"),
+                        rs.getString("category_name"),
+                        rs.getString("kind"),
+                        Money.ofMinor(rs.getLong("total")),
+                        rs.getLong("split_count")),
+                businessId, taxYear);
+    }
+
+    public record StoredReport(
+            Long businessId,
+            int taxYear,
+            long businessVersion,
+            Money income,
+            Money expense,
+            Money net,
+            Instant generatedAt
+    ) {
+    }
+
+    public record StoredLine(Long categoryId, String categoryName, String kind, Money total, long splitCount) {
+    }
+}
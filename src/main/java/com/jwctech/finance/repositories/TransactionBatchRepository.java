@@ -0,0 +1,147 @@
+package com.jwctech.finance.repositories;
+
+import com.jwctech.finance.dedupe.TransactionFingerprint;
+import com.jwctech.finance.money.Money;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC batch inserts for bulk ledger writes. Bypasses the persistence context entirely, so callers are
+ * responsible for validating references before handing rows over.
+ */
+@Repository
+public class TransactionBatchRepository {
+
+    private static final String INSERT_TRANSACTION_SQL = """
+            INSERT INTO transactions (business_id, account_id, vendor_id, payee, memo, posted_at, amount,
+                                      fingerprint, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_SPLIT_SQL = """
+            INSERT INTO transaction_splits (transaction_id, business_id, posted_at, category_id, amount, memo)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the transactions and their splits using two batched statements.
+     *
+     * @return the generated transaction ids, in the same order as {@code transactions}
+     */
+    public List<Long> insertAll(List<NewTransaction> transactions) {
+        if (transactions.isEmpty()) {
+            return List.of();
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_TRANSACTION_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        NewTransaction transaction = transactions.get(i);
+                        ps.setLong(1, transaction.businessId());
+                        ps.setLong(2, transaction.accountId());
+                        if (transaction.vendorId() != null) {
+                            ps.setLong(3, transaction.vendorId());
+                        } else {
+                            ps.setNull(3, Types.BIGINT);
+                        }
+                        ps.setString(4, transaction.payee());
+                        ps.setString(5, transaction.memo());
+                        ps.setDate(6, Date.valueOf(transaction.postedAt()));
+                        ps.setLong(7, transaction.amount().minorUnits());
+                        ps.setLong(8, TransactionFingerprint.of(transaction.accountId(), transaction.postedAt(),
+                                transaction.amount(), transaction.payee()));
+                        ps.setTimestamp(9, now);
+                        ps.setTimestamp(10, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return transactions.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != transactions.size()) {
+            throw new IllegalStateException("Expected " + transactions.size() + " generated keys but received "
+                    + keys.size() + ".");
+        }
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (Map<String, Object> key : keys) {
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+
+        List<PendingSplit> splits = new ArrayList<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            for (NewSplit split : transactions.get(i).splits()) {
+                splits.add(new PendingSplit(ids.get(i), transactions.get(i), split));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SPLIT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                PendingSplit pending = splits.get(i);
+                ps.setLong(1, pending.transactionId());
+                ps.setLong(2, pending.transaction().businessId());
+                ps.setDate(3, Date.valueOf(pending.transaction().postedAt()));
+                ps.setLong(4, pending.split().categoryId());
+                ps.setLong(5, pending.split().amount().minorUnits());
+                ps.setString(6, pending.split().memo());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return splits.size();
+            }
+        });
+
+        return ids;
+    }
+
+    public record NewTransaction(
+            Long businessId,
+            Long accountId,
+            Long vendorId,
+            String payee,
+            String memo,
+            LocalDate postedAt,
+            Money amount,
+            List<NewSplit> splits
+    ) {
+    }
+
+    public record NewSplit(
+            Long categoryId,
+            Money amount,
+            String memo
+    ) {
+    }
+
+    private record PendingSplit(Long transactionId, NewTransaction transaction, NewSplit split) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.jwctech.finance.repositories;
+
+import com.jwctech.finance.dedupe.TransactionFingerprint;
+import com.jwctech.finance.money.Money;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+@Repository
+public class TransactionFingerprintRepository {
+
+    private static final String COUNT_SQL = """
+            SELECT COUNT(*)
+            FROM transactions
+            WHERE account_id = ? AND fingerprint IS NOT NULL
+            """;
+
+    // Covered by idx_transactions_fingerprint.
+    private static final String FINGERPRINTS_SQL = """
+            SELECT fingerprint
+            FROM transactions
+            WHERE account_id = ? AND fingerprint IS NOT NULL
+            """;
+
+    // The date bounds let MySQL prune the yearly partitions it has to probe.
+    private static final String MATCHES_SQL = """
+            SELECT id, fingerprint
+            FROM transactions
+            WHERE account_id = ? AND posted_at BETWEEN ? AND ? AND fingerprint IN (%s)
+            ORDER BY id
+            """;
+
+    private static final String MARK_POSSIBLE_DUPLICATES_SQL = """
+            UPDATE transactions SET possible_duplicate = TRUE WHERE id IN (%s)
+            """;
+
+    private static final String UNFINGERPRINTED_SQL = """
+            SELECT id, account_id, posted_at, amount, payee
+            FROM transactions
+            WHERE id > ? AND fingerprint IS NULL
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String SET_FINGERPRINT_SQL = """
+            UPDATE transactions SET fingerprint = ? WHERE id = ? AND posted_at = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionFingerprintRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long countFingerprints(Long accountId) {
+        Long count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, accountId);
+        return count != null ? count : 0;
+    }
+
+    public void forEachFingerprint(Long accountId, LongConsumer consumer) {
+        RowCallbackHandler handler = rs -> consumer.accept(rs.getLong(1));
+        jdbcTemplate.query(FINGERPRINTS_SQL, handler, accountId);
+    }
+
+    /**
+     * @return existing transactions of the account with one of the fingerprints, oldest first
+     */
+    public List<FingerprintMatch> findMatches(Long accountId, LocalDate postedFrom, LocalDate postedTo,
+                                              Collection<Long> fingerprints) {
+        if (fingerprints.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>(fingerprints.size() + 3);
+        args.add(accountId);
+        args.add(Date.valueOf(postedFrom));
+        args.add(Date.valueOf(postedTo));
+        args.addAll(fingerprints);
+        return jdbcTemplate.query(MATCHES_SQL.formatted(placeholders(fingerprints.size())),
+                (rs, rowNum) -> new FingerprintMatch(rs.getLong("id"), rs.getLong("fingerprint")),
+                args.toArray());
+    }
+
+    public void markPossibleDuplicates(List<Long> transactionIds) {
+        if (transactionIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(MARK_POSSIBLE_DUPLICATES_SQL.formatted(placeholders(transactionIds.size())),
+                transactionIds.toArray());
+    }
+
+    /**
+     * Computes fingerprints for up to {@code limit} rows written before fingerprints existed.
+     *
+     * @return the highest id processed, or {@code afterId} if no such rows are left
+     */
+    public long fingerprintAfter(long afterId, int limit) {
+        List<Unfingerprinted> rows = jdbcTemplate.query(UNFINGERPRINTED_SQL,
+                (rs, rowNum) -> new Unfingerprinted(
+                        rs.getLong("id"),
+                        TransactionFingerprint.of(rs.getLong("account_id"), rs.getDate("posted_at").toLocalDate(),
+                                Money.ofMinor(rs.getLong("amount")), rs.getString("payee")),
+                        rs.getDate("posted_at").toLocalDate()),
+                afterId, limit);
+        if (rows.isEmpty()) {
+            return afterId;
+        }
+        jdbcTemplate.batchUpdate(SET_FINGERPRINT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Unfingerprinted row = rows.get(i);
+                ps.setLong(1, row.fingerprint());
+                ps.setLong(2, row.id());
+                ps.setDate(3, Date.valueOf(row.postedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+        return rows.get(rows.size() - 1).id();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    public record FingerprintMatch(long transactionId, long fingerprint) {
+    }
+
+    private record Unfingerprinted(long id, long fingerprint, LocalDate postedAt) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.jwctech.finance.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Yearly {@code RANGE COLUMNS (posted_at)} partitions of the ledger tables. Partition {@code pYYYY} holds the rows
+ * posted in that year; {@code pmax} catches everything after the newest year.
+ */
+@Repository
+public class TransactionPartitionRepository {
+
+    public static final String MAXVALUE_PARTITION = "pmax";
+
+    private static final String PARTITIONS_SQL = """
+            SELECT partition_name
+            FROM information_schema.partitions
+            WHERE table_schema = DATABASE() AND table_name = ? AND partition_name IS NOT NULL
+            ORDER BY partition_ordinal_position
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Partition names of the table in range order, empty when the table is not partitioned.
+     */
+    public List<String> findPartitionNames(String table) {
+        return jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, table);
+    }
+
+    /**
+     * Splits the year off the front of {@code pmax}. Rows already in {@code pmax} for that year are moved, so this is
+     * cheap only while the year has no rows yet, which is why partitions are kept created ahead of time.
+     */
+    public void addYearPartition(String table, int year) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION " + MAXVALUE_PARTITION + " INTO ("
+                + "PARTITION p" + year + " VALUES LESS THAN ('" + (year + 1) + "-01-01'), "
+                + "PARTITION " + MAXVALUE_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+    }
+}
@@ -1,18 +1,177 @@
 package com.jwctech.finance.repositories;
 
+import com.jwctech.finance.dto.TransactionExportRow;
+import com.jwctech.finance.dto.TransactionHeaderRow;
+import com.jwctech.finance.dto.TransactionSplitRow;
 import com.jwctech.finance.entities.Transaction;
-import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
-    @EntityGraph(attributePaths = {"account", "vendor", "splits", "splits.category"})
-    List<Transaction> findByBusiness_IdOrderByPostedAtDescCreatedAtDesc(Long businessId);
+    // Listing reads project straight into rows: no managed entities, no proxies and no dirty-checking snapshots, and
+    // splits come back in their own query instead of repeating the transaction columns once per split.
+    //
+    // Full listings and the export take a posting date range so MySQL only opens the yearly partitions it covers;
+    // callers without bounds pass EARLIEST_POSTED and LATEST_POSTED and read every partition. Keyset page lookups
+    // have no natural lower bound and scan the partitions down to the page they stop at. Splits carry their
+    // transaction's business and posting date, so split reads take the date range of the headers already loaded and
+    // filter on it directly, without joining back to transactions.
 
-    @EntityGraph(attributePaths = {"account", "vendor", "splits", "splits.category"})
-    List<Transaction> findByAccount_IdAndBusiness_IdOrderByPostedAtDescCreatedAtDesc(Long accountId, Long businessId);
+    // The range of MySQL's DATE type.
+    LocalDate EARLIEST_POSTED = LocalDate.of(1000, 1, 1);
+    LocalDate LATEST_POSTED = LocalDate.of(9999, 12, 31);
 
-    void deleteByBusiness_Id(Long businessId);
+    @Query("""
+            select new com.jwctech.finance.dto.TransactionHeaderRow(
+                t.id, t.business.id, a.id, a.name, t.payee, t.memo, t.postedAt, t.amount, t.cleared,
+                t.possibleDuplicate, v.id, v.name, t.createdAt, t.updatedAt)
+            from Transaction t
+            join t.account a
+            left join t.vendor v
+            where t.business.id = :businessId and t.postedAt between :postedFrom and :postedTo
+            order by t.postedAt desc, t.createdAt desc, t.id desc
+            """)
+    List<TransactionHeaderRow> findHeadersForBusiness(@Param("businessId") Long businessId,
+                                                      @Param("postedFrom") LocalDate postedFrom,
+                                                      @Param("postedTo") LocalDate postedTo);
+
+    @Query("""
+            select new com.jwctech.finance.dto.TransactionHeaderRow(
+                t.id, t.business.id, a.id, a.name, t.payee, t.memo, t.postedAt, t.amount, t.cleared,
+                t.possibleDuplicate, v.id, v.name, t.createdAt, t.updatedAt)
+            from Transaction t
+            join t.account a
+            left join t.vendor v
+            where a.id = :accountId and t.business.id = :businessId
+              and t.postedAt between :postedFrom and :postedTo
+            order by t.postedAt desc, t.createdAt desc, t.id desc
+            """)
+    List<TransactionHeaderRow> findHeadersForAccount(@Param("accountId") Long accountId,
+                                                     @Param("businessId") Long businessId,
+                                                     @Param("postedFrom") LocalDate postedFrom,
+                                                     @Param("postedTo") LocalDate postedTo);
+
+    @Query("""
+            select new com.jwctech.finance.dto.TransactionHeaderRow(
+                t.id, t.business.id, a.id, a.name, t.payee, t.memo, t.postedAt, t.amount, t.cleared,
+                t.possibleDuplicate, v.id, v.name, t.createdAt, t.updatedAt)
+            from Transaction t
+            join t.account a
+            left join t.vendor v
+            where t.id in :ids
+            """)
+    List<TransactionHeaderRow> findHeadersByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new com.jwctech.finance.dto.TransactionSplitRow(s.transaction.id, s.category.id, s.amount, s.memo)
+            from TransactionSplit s
+            where s.businessId = :businessId and s.postedAt between :postedFrom and :postedTo
+            order by s.transaction.id, s.id
+            """)
+    List<TransactionSplitRow> findSplitRowsForBusiness(@Param("businessId") Long businessId,
+                                                       @Param("postedFrom") LocalDate postedFrom,
+                                                       @Param("postedTo") LocalDate postedTo);
+
+    @Query("""
+            select new com.jwctech.finance.dto.TransactionSplitRow(s.transaction.id, s.category.id, s.amount, s.memo)
+            from TransactionSplit s
+            where s.businessId = :businessId and s.transaction.account.id = :accountId
+              and s.postedAt between :postedFrom and :postedTo
+            order by s.transaction.id, s.id
+            """)
+    List<TransactionSplitRow> findSplitRowsForAccount(@Param("accountId") Long accountId,
+                                                      @Param("businessId") Long businessId,
+                                                      @Param("postedFrom") LocalDate postedFrom,
+                                                      @Param("postedTo") LocalDate postedTo);
+
+    @Query("""
+            select new com.jwctech.finance.dto.TransactionSplitRow(s.transaction.id, s.category.id, s.amount, s.memo)
+            from TransactionSplit s
+            where s.transaction.id in :transactionIds and s.postedAt between :postedFrom and :postedTo
+            order by s.transaction.id, s.id
+            """)
+    List<TransactionSplitRow> findSplitRowsByTransactionIdIn(@Param("transactionIds") Collection<Long> transactionIds,
+                                                             @Param("postedFrom") LocalDate postedFrom,
+                                                             @Param("postedTo") LocalDate postedTo);
+
+    @Query("""
+            select t.id from Transaction t
+            where t.business.id = :businessId
+            order by t.postedAt desc, t.createdAt desc, t.id desc
+            """)
+    List<Long> findFirstPageIdsForBusiness(@Param("businessId") Long businessId, Limit limit);
+
+    @Query("""
+            select t.id from Transaction t
+            where t.business.id = :businessId
+              and t.postedAt <= :postedAt
+              and (t.postedAt < :postedAt
+                   or (t.postedAt = :postedAt
+                       and (t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id))))
+            order by t.postedAt desc, t.createdAt desc, t.id desc
+            """)
+    List<Long> findPageIdsForBusinessAfter(@Param("businessId") Long businessId,
+                                           @Param("postedAt") LocalDate postedAt,
+                                           @Param("createdAt") Instant createdAt,
+                                           @Param("id") Long id,
+                                           Limit limit);
+
+    @Query("""
+            select t.id from Transaction t
+            where t.account.id = :accountId and t.business.id = :businessId
+            order by t.postedAt desc, t.createdAt desc, t.id desc
+            """)
+    List<Long> findFirstPageIdsForAccount(@Param("accountId") Long accountId,
+                                          @Param("businessId") Long businessId,
+                                          Limit limit);
+
+    @Query("""
+            select t.id from Transaction t
+            where t.account.id = :accountId and t.business.id = :businessId
+              and t.postedAt <= :postedAt
+              and (t.postedAt < :postedAt
+                   or (t.postedAt = :postedAt
+                       and (t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id))))
+            order by t.postedAt desc, t.createdAt desc, t.id desc
+            """)
+    List<Long> findPageIdsForAccountAfter(@Param("accountId") Long accountId,
+                                          @Param("businessId") Long businessId,
+                                          @Param("postedAt") LocalDate postedAt,
+                                          @Param("createdAt") Instant createdAt,
+                                          @Param("id") Long id,
+                                          Limit limit);
+
+    // Integer.MIN_VALUE asks Connector/J for a forward-only, row-by-row streaming result set.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            select new com.jwctech.finance.dto.TransactionExportRow(
+                t.id, a.id, a.name, v.id, v.name, t.payee, t.memo, t.postedAt, t.amount, t.cleared,
+                t.possibleDuplicate, t.createdAt, t.updatedAt,
+                s.id, s.category.id, s.amount, s.memo)
+            from Transaction t
+            join t.account a
+            left join t.vendor v
+            left join t.splits s on s.postedAt = t.postedAt and s.postedAt between :postedFrom and :postedTo
+            where t.business.id = :businessId and t.postedAt between :postedFrom and :postedTo
+            order by t.postedAt desc, t.createdAt desc, t.id desc, s.id asc
+            """)
+    Stream<TransactionExportRow> streamExportRowsForBusiness(@Param("businessId") Long businessId,
+                                                             @Param("postedFrom") LocalDate postedFrom,
+                                                             @Param("postedTo") LocalDate postedTo);
 }
@@ -0,0 +1,67 @@
+package com.jwctech.finance.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public class TransactionSearchRepository {
+
+    private static final String TRANSACTION_TEXT_SQL = """
+            SELECT id, posted_at, payee, memo
+            FROM transactions
+            WHERE business_id = ? AND id > ?
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String SPLIT_MEMOS_SQL = """
+            SELECT s.transaction_id, s.memo
+            FROM transaction_splits s
+            WHERE s.business_id = ? AND s.transaction_id BETWEEN ? AND ?
+              AND s.posted_at BETWEEN ? AND ? AND s.memo IS NOT NULL
+            ORDER BY s.transaction_id, s.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the next {@code limit} transactions of the business with an id above {@code afterId}, in id order.
+     */
+    public List<TransactionText> findTransactionTextAfter(Long businessId, long afterId, int limit) {
+        return jdbcTemplate.query(TRANSACTION_TEXT_SQL,
+                (rs, rowNum) -> new TransactionText(
+                        rs.getLong("id"),
+                        rs.getDate("posted_at").toLocalDate(),
+                        rs.getString("payee"),
+                        rs.getString("memo")),
+                businessId, afterId, limit);
+    }
+
+    /**
+     * Split memos of the business's transactions in an id range. The posting-date bounds of those transactions let
+     * MySQL prune the partitions the range cannot touch.
+     */
+    public List<SplitMemo> findSplitMemos(Long businessId,
+                                          long fromTransactionId,
+                                          long toTransactionId,
+                                          LocalDate postedFrom,
+                                          LocalDate postedTo) {
+        return jdbcTemplate.query(SPLIT_MEMOS_SQL,
+                (rs, rowNum) -> new SplitMemo(rs.getLong("transaction_id"), rs.getString("memo")),
+                businessId, fromTransactionId, toTransactionId, Date.valueOf(postedFrom), Date.valueOf(postedTo));
+    }
+
+    public record TransactionText(long id, LocalDate postedAt, String payee, String memo) {
+    }
+
+    public record SplitMemo(long transactionId, String memo) {
+    }
+}
@@ -0,0 +1,6 @@
+package com.jwctech.finance.routing;
+
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
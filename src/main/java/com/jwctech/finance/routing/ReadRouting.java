@@ -0,0 +1,31 @@
+package com.jwctech.finance.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins read-only work to the primary. Used by loaders of caches that later follow the ledger through commit events
+ * or invalidations: a snapshot taken from a lagging replica would miss commits those events already reported.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PRIMARY_PINNED.get();
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_PINNED.remove();
+            }
+        }
+    }
+
+    static boolean isPrimaryPinned() {
+        return PRIMARY_PINNED.get() != null;
+    }
+}
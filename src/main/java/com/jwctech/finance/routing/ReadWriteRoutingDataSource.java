@@ -0,0 +1,86 @@
+package com.jwctech.finance.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. Reads stay on the primary while
+ * the replica is down, while a {@link ReadRouting#onPrimary} block runs, and for a short window after the request's
+ * business committed a write.
+ * <p>
+ * The route is decided when a connection is first needed, so this must sit behind a
+ * {@code LazyConnectionDataSourceProxy}: transaction managers ask for a connection before publishing the
+ * transaction's read-only flag.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaHealth replicaHealth;
+    private final RecentBusinessWrites recentBusinessWrites;
+
+    public ReadWriteRoutingDataSource(DataSource primary,
+                                      DataSource replica,
+                                      ReplicaHealth replicaHealth,
+                                      RecentBusinessWrites recentBusinessWrites) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaHealth = replicaHealth;
+        this.recentBusinessWrites = recentBusinessWrites;
+        setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() != DataSourceRoute.REPLICA) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            replicaHealth.markDown(e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    protected DataSourceRoute determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReadRouting.isPrimaryPinned()
+                || !replicaHealth.isUp()) {
+            return DataSourceRoute.PRIMARY;
+        }
+        Long businessId = currentBusinessId();
+        if (businessId != null && recentBusinessWrites.isRecent(businessId)) {
+            return DataSourceRoute.PRIMARY;
+        }
+        return DataSourceRoute.REPLICA;
+    }
+
+    private Long currentBusinessId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object variables = attributes.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (variables instanceof Map<?, ?> map && map.get("businessId") instanceof String value) {
+            try {
+                return Long.valueOf(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
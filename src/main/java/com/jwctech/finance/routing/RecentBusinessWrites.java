@@ -0,0 +1,34 @@
+package com.jwctech.finance.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Businesses that committed a write within the read-your-writes window. Their read-only work stays on the primary
+ * until the replica has had time to catch up. The window is tracked per process, so it only protects clients whose
+ * requests reach the instance that took their write.
+ */
+@Component
+public class RecentBusinessWrites {
+
+    private final Cache<Long, Boolean> recentWrites;
+
+    public RecentBusinessWrites(@Value("${finance.datasource.replica.read-your-writes-window:5s}") Duration window) {
+        this.recentWrites = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void recordWrite(Long businessId) {
+        recentWrites.put(businessId, Boolean.TRUE);
+    }
+
+    public boolean isRecent(Long businessId) {
+        return recentWrites.getIfPresent(businessId) != null;
+    }
+}
@@ -0,0 +1,86 @@
+package com.jwctech.finance.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically validates a replica connection. While the replica is down every read is routed to the primary; a
+ * failed connection attempt on the read path marks it down immediately instead of waiting for the next check.
+ */
+@Slf4j
+public class ReplicaHealth implements HealthIndicator, AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource replica;
+    private final Duration interval;
+    private ScheduledExecutorService scheduler;
+    private volatile boolean up = true;
+    private volatile String lastFailure;
+    private volatile Instant lastChecked;
+
+    public ReplicaHealth(DataSource replica, Duration interval) {
+        this.replica = replica;
+        this.interval = interval;
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public void check() {
+        try (Connection connection = replica.getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                throw new IllegalStateException("Replica connection failed validation.");
+            }
+            if (!up) {
+                log.info("Replica is reachable again; resuming read routing");
+            }
+            up = true;
+            lastFailure = null;
+        } catch (Exception e) {
+            markDown(e);
+        } finally {
+            lastChecked = Instant.now();
+        }
+    }
+
+    public boolean isUp() {
+        return up;
+    }
+
+    void markDown(Exception cause) {
+        if (up) {
+            log.warn("Replica is unavailable; routing all reads to the primary", cause);
+        }
+        up = false;
+        lastFailure = cause.getMessage();
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = up ? Health.up() : Health.down().withDetail("error", String.valueOf(lastFailure));
+        return builder.withDetail("lastChecked", String.valueOf(lastChecked)).build();
+    }
+}
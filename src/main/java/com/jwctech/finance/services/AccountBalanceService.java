@@ -0,0 +1,174 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.dto.AccountBalanceDto;
+import com.jwctech.finance.entities.Transaction;
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.repositories.AccountBalanceRepository;
+import com.jwctech.finance.repositories.AccountBalanceRepository.BalanceDelta;
+import com.jwctech.finance.repositories.AccountBalanceRepository.Checkpoint;
+import com.jwctech.finance.repositories.AccountBalanceRepository.CheckpointDelta;
+import com.jwctech.finance.repositories.AccountBalanceRepository.MonthlyNet;
+import com.jwctech.finance.repositories.AccountRepository;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewTransaction;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Running balances per account: a current balance row plus month-end checkpoints, so a balance as of any date is one
+ * indexed checkpoint lookup plus a sum over at most one month of transactions.
+ */
+@Service
+public class AccountBalanceService {
+
+    private final AccountBalanceRepository accountBalanceRepository;
+    private final AccountRepository accountRepository;
+
+    public AccountBalanceService(AccountBalanceRepository accountBalanceRepository,
+                                 AccountRepository accountRepository) {
+        this.accountBalanceRepository = accountBalanceRepository;
+        this.accountRepository = accountRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransaction(Transaction transaction) {
+        apply(List.of(new Posting(transaction.getAccount().getId(), transaction.getBusiness().getId(),
+                transaction.getPostedAt(), transaction.getAmount())));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordNewTransactions(Collection<NewTransaction> transactions) {
+        apply(transactions.stream()
+                .map(transaction -> new Posting(transaction.accountId(), transaction.businessId(),
+                        transaction.postedAt(), transaction.amount()))
+                .toList());
+    }
+
+    @Transactional
+    public AccountBalanceDto getBalance(Long businessId, Long accountId, LocalDate asOf) {
+        if (asOf != null) {
+            // Lock before the first read: under REPEATABLE READ that read fixes the snapshot, and checkpoints
+            // materialized from a snapshot older than the lock would miss postings committed in between.
+            accountBalanceRepository.createIfMissing(accountId, businessId);
+        }
+        if (accountRepository.findByIdAndBusiness_Id(accountId, businessId).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found for this business.");
+        }
+        if (asOf == null) {
+            Money current = accountBalanceRepository.findBalance(accountId).orElse(Money.ZERO);
+            return new AccountBalanceDto(accountId, null, current);
+        }
+
+        LocalDate target = checkpointFor(asOf);
+        Optional<Checkpoint> checkpoint = accountBalanceRepository.findLatestCheckpoint(accountId, target);
+        if (checkpoint.isEmpty() || checkpoint.get().periodEnd().isBefore(target)) {
+            checkpoint = materializeCheckpoints(accountId, businessId, target, checkpoint);
+        }
+
+        // Without a checkpoint no transaction is dated on or before the target month end.
+        Money base = checkpoint.map(Checkpoint::balance).orElse(Money.ZERO);
+        LocalDate after = checkpoint.map(Checkpoint::periodEnd).orElse(target);
+        Money balance = after.isBefore(asOf)
+                ? base.plus(accountBalanceRepository.sumTransactions(accountId, after, asOf))
+                : base;
+        return new AccountBalanceDto(accountId, asOf, balance);
+    }
+
+    private LocalDate checkpointFor(LocalDate asOf) {
+        YearMonth month = YearMonth.from(asOf);
+        LocalDate target = asOf.equals(month.atEndOfMonth()) ? asOf : month.minusMonths(1).atEndOfMonth();
+        LocalDate lastClosedMonth = YearMonth.now().minusMonths(1).atEndOfMonth();
+        return target.isAfter(lastClosedMonth) ? lastClosedMonth : target;
+    }
+
+    private Optional<Checkpoint> materializeCheckpoints(Long accountId, Long businessId, LocalDate target,
+                                                        Optional<Checkpoint> latest) {
+        LocalDate from;
+        long running;
+        if (latest.isPresent()) {
+            from = latest.get().periodEnd();
+            running = latest.get().balance().minorUnits();
+        } else {
+            Optional<LocalDate> earliest = accountBalanceRepository.findEarliestPostedAt(accountId);
+            if (earliest.isEmpty() || earliest.get().isAfter(target)) {
+                return Optional.empty();
+            }
+            from = YearMonth.from(earliest.get()).minusMonths(1).atEndOfMonth();
+            running = 0;
+        }
+
+        Map<YearMonth, Money> netByMonth = accountBalanceRepository.findMonthlyNet(accountId, from, target)
+                .stream()
+                .collect(Collectors.toMap(MonthlyNet::month, MonthlyNet::net));
+        List<Checkpoint> created = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from).plusMonths(1);
+             !month.atEndOfMonth().isAfter(target);
+             month = month.plusMonths(1)) {
+            running = Math.addExact(running, netByMonth.getOrDefault(month, Money.ZERO).minorUnits());
+            created.add(new Checkpoint(month.atEndOfMonth(), Money.ofMinor(running)));
+        }
+        accountBalanceRepository.saveCheckpoints(accountId, businessId, created);
+        return created.isEmpty() ? latest : Optional.of(created.get(created.size() - 1));
+    }
+
+    private void apply(List<Posting> postings) {
+        Map<Long, BalanceAccumulator> balances = new TreeMap<>();
+        Map<CheckpointKey, long[]> checkpoints = new TreeMap<>(Comparator
+                .comparing(CheckpointKey::accountId)
+                .thenComparing(CheckpointKey::periodEnd));
+        for (Posting posting : postings) {
+            BalanceAccumulator balance = balances.computeIfAbsent(posting.accountId(),
+                    accountId -> new BalanceAccumulator(posting.businessId()));
+            balance.total = Math.addExact(balance.total, posting.amount().minorUnits());
+            balance.count++;
+            // Checkpoints only exist at month ends, so every checkpoint on or after the posting date is on or after
+            // the end of the posting's month.
+            long[] checkpoint = checkpoints.computeIfAbsent(
+                    new CheckpointKey(posting.accountId(), YearMonth.from(posting.postedAt()).atEndOfMonth()),
+                    key -> new long[1]);
+            checkpoint[0] = Math.addExact(checkpoint[0], posting.amount().minorUnits());
+        }
+
+        // Balance rows first: they are the per-account lock that orders writers against checkpoint materialization.
+        accountBalanceRepository.applyBalanceDeltas(balances.entrySet()
+                .stream()
+                .map(entry -> new BalanceDelta(entry.getKey(), entry.getValue().businessId,
+                        Money.ofMinor(entry.getValue().total), entry.getValue().count))
+                .toList());
+        accountBalanceRepository.applyCheckpointDeltas(checkpoints.entrySet()
+                .stream()
+                .map(entry -> new CheckpointDelta(entry.getKey().accountId(), entry.getKey().periodEnd(),
+                        Money.ofMinor(entry.getValue()[0])))
+                .toList());
+    }
+
+    private record Posting(Long accountId, Long businessId, LocalDate postedAt, Money amount) {
+    }
+
+    private static final class BalanceAccumulator {
+
+        private final Long businessId;
+        private long total;
+        private long count;
+
+        private BalanceAccumulator(Long businessId) {
+            this.businessId = businessId;
+        }
+    }
+
+    private record CheckpointKey(Long accountId, LocalDate periodEnd) {
+    }
+}
@@ -3,42 +3,56 @@ package com.jwctech.finance.services;
 import com.jwctech.finance.dto.AccountDto;
 import com.jwctech.finance.entities.Account;
 import com.jwctech.finance.entities.Business;
+import com.jwctech.finance.entities.ChangeEntity;
+import com.jwctech.finance.entities.ChangeOperation;
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.repositories.AccountBalanceRepository;
 import com.jwctech.finance.repositories.AccountRepository;
 import com.jwctech.finance.repositories.BusinessRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class AccountService {
 
     private final AccountRepository accountRepository;
     private final BusinessRepository businessRepository;
+    private final AccountBalanceRepository accountBalanceRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final BusinessVersionService businessVersionService;
 
-    public AccountService(AccountRepository accountRepository, BusinessRepository businessRepository) {
+    public AccountService(AccountRepository accountRepository,
+                          BusinessRepository businessRepository,
+                          AccountBalanceRepository accountBalanceRepository,
+                          ReferenceDataCache referenceDataCache,
+                          BusinessVersionService businessVersionService) {
         this.accountRepository = accountRepository;
         this.businessRepository = businessRepository;
+        this.accountBalanceRepository = accountBalanceRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.businessVersionService = businessVersionService;
     }
 
+    @Transactional(readOnly = true)
     public List<AccountDto> getAccounts(Long businessId) {
         if (!businessRepository.existsById(businessId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found.");
         }
-        return accountRepository.findByBusiness_IdOrderByNameAsc(businessId)
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return accountBalanceRepository.findAccountsWithBalances(businessId);
     }
 
+    @Transactional(readOnly = true)
     public AccountDto getAccount(Long businessId, Long accountId) {
         Account account = accountRepository.findByIdAndBusiness_Id(accountId, businessId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found."));
-        return toDto(account);
+        return toDto(account, accountBalanceRepository.findBalance(accountId).orElse(Money.ZERO));
     }
 
+    @Transactional
     public AccountDto createAccount(Long businessId, String name, String accountType) {
         Business business = businessRepository.findById(businessId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found."));
@@ -59,16 +73,21 @@ public class AccountService {
         account.setBusiness(business);
 
         Account savedAccount = accountRepository.save(account);
-        return toDto(savedAccount);
+        accountBalanceRepository.createIfMissing(savedAccount.getId(), businessId);
+        referenceDataCache.invalidate(businessId);
+        businessVersionService.recordChange(businessId, ChangeEntity.ACCOUNT, ChangeOperation.UPSERT,
+                List.of(savedAccount.getId()));
+        return toDto(savedAccount, Money.ZERO);
     }
 
-    private AccountDto toDto(Account account) {
+    private AccountDto toDto(Account account, Money balance) {
         Long businessId = account.getBusiness() != null ? account.getBusiness().getId() : null;
         return new AccountDto(
                 account.getId(),
                 account.getName(),
                 account.getAccountType(),
-                businessId
+                businessId,
+                balance
         );
     }
 }
@@ -0,0 +1,25 @@
+package com.jwctech.finance.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+
+public enum BatchMode {
+    /** Nothing is written unless every item is valid. */
+    ALL_OR_NOTHING,
+    /** Valid items are written; invalid ones are reported and skipped. */
+    BEST_EFFORT;
+
+    public static BatchMode fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return ALL_OR_NOTHING;
+        }
+        String normalized = value.trim().replace('-', '_');
+        return Arrays.stream(values())
+                .filter(mode -> mode.name().equalsIgnoreCase(normalized))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown batch mode: " + value));
+    }
+}
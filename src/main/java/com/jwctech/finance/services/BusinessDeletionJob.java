@@ -0,0 +1,90 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.dto.BusinessDeletionJobDto;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one business purge. Updated by the deletion worker and read by status polls.
+ */
+public class BusinessDeletionJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final UUID id = UUID.randomUUID();
+    private final Long businessId;
+    private final Instant createdAt = Instant.now();
+    private final AtomicLong rowsDeleted = new AtomicLong();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile String phase;
+    private volatile String failureReason;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    public BusinessDeletionJob(Long businessId) {
+        this.businessId = businessId;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Long getBusinessId() {
+        return businessId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void markRunning() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    public void markPhase(String phase) {
+        this.phase = phase;
+    }
+
+    public void markCompleted() {
+        phase = null;
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    public void markFailed(String reason) {
+        failureReason = reason;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    public void recordDeleted(int count) {
+        rowsDeleted.addAndGet(count);
+    }
+
+    public BusinessDeletionJobDto toDto() {
+        return new BusinessDeletionJobDto(
+                id,
+                businessId,
+                status.name(),
+                phase,
+                rowsDeleted.get(),
+                failureReason,
+                createdAt,
+                startedAt,
+                finishedAt
+        );
+    }
+}
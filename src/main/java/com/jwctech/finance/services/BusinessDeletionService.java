@@ -0,0 +1,216 @@
+package com.jwctech.finance.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jwctech.finance.dto.BusinessDeletionJobDto;
+import com.jwctech.finance.entities.Business;
+import com.jwctech.finance.entities.BusinessStatus;
+import com.jwctech.finance.repositories.BusinessPurgeRepository;
+import com.jwctech.finance.repositories.BusinessRepository;
+import com.jwctech.finance.routing.ReadRouting;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+
+/**
+ * Deletes businesses in the background. A business is first flipped to {@link BusinessStatus#DELETING}, which makes
+ * every business-scoped request fail fast, and its rows are then removed table by table in short committed chunks so
+ * no single transaction holds locks or undo for the whole ledger. Purges interrupted by a restart resume on startup.
+ * <p>
+ * Other instances learn of the flip from the persisted status, which each caches for {@code status-cache-ttl}. The
+ * purge waits that long before it starts, and drains the ledger again until a pass finds nothing, so rows committed by
+ * writers that passed their check just before the flip do not outlive it.
+ */
+@Slf4j
+@Service
+public class BusinessDeletionService {
+
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+    private final BusinessRepository businessRepository;
+    private final BusinessPurgeRepository businessPurgeRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final TransactionSearchService transactionSearchService;
+    private final CategorizationRuleService categorizationRuleService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor deletionTaskExecutor;
+    private final int chunkSize;
+    private final Duration statusCacheTtl;
+    private final Cache<Long, Boolean> persistedDeleting;
+    private final Map<UUID, BusinessDeletionJob> jobs = new ConcurrentHashMap<>();
+    private final Set<Long> deletingBusinessIds = ConcurrentHashMap.newKeySet();
+
+    public BusinessDeletionService(BusinessRepository businessRepository,
+                                   BusinessPurgeRepository businessPurgeRepository,
+                                   ReferenceDataCache referenceDataCache,
+                                   TransactionSearchService transactionSearchService,
+                                   CategorizationRuleService categorizationRuleService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Qualifier("businessDeletionTaskExecutor") TaskExecutor deletionTaskExecutor,
+                                   @Value("${finance.deletions.chunk-size:5000}") int chunkSize,
+                                   @Value("${finance.deletions.status-cache-ttl:2s}") Duration statusCacheTtl) {
+        this.businessRepository = businessRepository;
+        this.businessPurgeRepository = businessPurgeRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.transactionSearchService = transactionSearchService;
+        this.categorizationRuleService = categorizationRuleService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deletionTaskExecutor = deletionTaskExecutor;
+        this.chunkSize = chunkSize;
+        this.statusCacheTtl = statusCacheTtl;
+        this.persistedDeleting = Caffeine.newBuilder()
+                .expireAfterWrite(statusCacheTtl)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public BusinessDeletionJobDto deleteBusiness(Long businessId) {
+        Integer updated = transactionTemplate.execute(status -> businessRepository.updateStatus(
+                businessId, BusinessStatus.ACTIVE.name(), BusinessStatus.DELETING.name()));
+        if (updated == null || updated == 0) {
+            Business business = businessRepository.findById(businessId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found."));
+            boolean inProgress = jobs.values().stream().anyMatch(job -> job.getBusinessId().equals(businessId)
+                    && job.getFinishedAt() == null);
+            if (inProgress || !BusinessStatus.DELETING.name().equals(business.getStatus())) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Business is already being deleted.");
+            }
+            // A previous purge failed part way; chunks are idempotent, so simply run it again.
+            deletingBusinessIds.add(businessId);
+            return submit(businessId).toDto();
+        }
+        deletingBusinessIds.add(businessId);
+        referenceDataCache.invalidate(businessId);
+        transactionSearchService.invalidate(businessId);
+        categorizationRuleService.invalidate(businessId);
+        return submit(businessId).toDto();
+    }
+
+    public BusinessDeletionJobDto getDeletion(UUID jobId) {
+        BusinessDeletionJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Business deletion not found.");
+        }
+        return job.toDto();
+    }
+
+    /**
+     * Whether the business is being deleted by this or any other instance. Deletions started elsewhere are seen
+     * within {@code status-cache-ttl}, read from the primary so a lagging replica cannot hide them.
+     */
+    public boolean isDeleting(Long businessId) {
+        return deletingBusinessIds.contains(businessId)
+                || persistedDeleting.get(businessId, id -> ReadRouting.onPrimary(() -> businessRepository.findStatus(id)
+                        .map(BusinessStatus.DELETING.name()::equals)
+                        .orElse(false)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedDeletions() {
+        for (Business business : businessRepository.findByStatus(BusinessStatus.DELETING.name(), Sort.by("id"))) {
+            log.info("Resuming deletion of business {}", business.getId());
+            deletingBusinessIds.add(business.getId());
+            submit(business.getId());
+        }
+    }
+
+    private BusinessDeletionJob submit(Long businessId) {
+        BusinessDeletionJob job = new BusinessDeletionJob(businessId);
+        evictFinishedJobs();
+        jobs.put(job.getId(), job);
+        // The business stays DELETING if the worker never runs; the next startup picks it up again.
+        deletionTaskExecutor.execute(() -> purge(job));
+        return job;
+    }
+
+    private void purge(BusinessDeletionJob job) {
+        Long businessId = job.getBusinessId();
+        job.markRunning();
+        try {
+            job.markPhase("waiting");
+            Thread.sleep(statusCacheTtl.toMillis());
+            long drained;
+            do {
+                drained = drainLedger(job, businessId);
+            } while (drained > 0);
+            drain(job, "vendors", () -> businessPurgeRepository.deleteVendors(businessId, chunkSize));
+            drain(job, "categories", () -> businessPurgeRepository.detachCategoryParents(businessId, chunkSize), false);
+            drain(job, "categories", () -> businessPurgeRepository.deleteCategories(businessId, chunkSize));
+            drain(job, "accounts", () -> businessPurgeRepository.deleteAccounts(businessId, chunkSize));
+            job.markPhase("businesses");
+            Integer deleted = transactionTemplate.execute(status -> businessPurgeRepository.deleteBusiness(businessId));
+            job.recordDeleted(deleted != null ? deleted : 0);
+
+            deletingBusinessIds.remove(businessId);
+            persistedDeleting.invalidate(businessId);
+            referenceDataCache.invalidate(businessId);
+            transactionSearchService.invalidate(businessId);
+            categorizationRuleService.invalidate(businessId);
+            job.markCompleted();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.markFailed("Interrupted");
+        } catch (Exception e) {
+            log.error("Deletion of business {} failed", businessId, e);
+            job.markFailed(e.getMessage());
+        }
+    }
+
+    /**
+     * Drains the transactions and every table derived from them, derived tables first so no foreign key blocks a
+     * chunk, and returns how many rows went.
+     */
+    private long drainLedger(BusinessDeletionJob job, Long businessId) {
+        long deleted = 0;
+        for (String table : BusinessPurgeRepository.DERIVED_TABLES) {
+            deleted += drain(job, table,
+                    () -> businessPurgeRepository.deleteFromDerivedTable(table, businessId, chunkSize));
+        }
+        deleted += drain(job, "transactions", () -> businessPurgeRepository.deleteTransactions(businessId, chunkSize));
+        return deleted;
+    }
+
+    private long drain(BusinessDeletionJob job, String phase, IntSupplier chunk) {
+        return drain(job, phase, chunk, true);
+    }
+
+    /**
+     * Runs {@code chunk} in its own transaction until it reports no more affected rows, and returns their total.
+     */
+    private long drain(BusinessDeletionJob job, String phase, IntSupplier chunk, boolean countsDeletedRows) {
+        job.markPhase(phase);
+        long total = 0;
+        int affected;
+        do {
+            Integer result = transactionTemplate.execute(status -> chunk.getAsInt());
+            affected = result != null ? result : 0;
+            total += affected;
+            if (countsDeletedRows) {
+                job.recordDeleted(affected);
+            }
+        } while (affected > 0);
+        return total;
+    }
+
+    private void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,41 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.dto.CategoryDto;
+import com.jwctech.finance.dto.VendorDto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of one business's accounts, categories and vendors. Lists are ordered by name; the maps index
+ * the same entries by id. {@code version} is the business's change version read before the entries were.
+ */
+public record BusinessReferenceData(
+        Long businessId,
+        long version,
+        Map<Long, AccountEntry> accountsById,
+        List<CategoryDto> categories,
+        Map<Long, CategoryDto> categoriesById,
+        List<VendorDto> vendors,
+        Map<Long, VendorDto> vendorsById
+) {
+
+    public AccountEntry account(Long accountId) {
+        return accountId != null ? accountsById.get(accountId) : null;
+    }
+
+    public CategoryDto category(Long categoryId) {
+        return categoryId != null ? categoriesById.get(categoryId) : null;
+    }
+
+    public VendorDto vendor(Long vendorId) {
+        return vendorId != null ? vendorsById.get(vendorId) : null;
+    }
+
+    int size() {
+        return accountsById.size() + categoriesById.size() + vendorsById.size();
+    }
+
+    public record AccountEntry(Long id, String name, String accountType) {
+    }
+}
@@ -2,19 +2,21 @@ package com.jwctech.finance.services;
 
 import com.jwctech.finance.dto.BusinessDto;
 import com.jwctech.finance.entities.Business;
+import com.jwctech.finance.entities.BusinessStatus;
 import com.jwctech.finance.entities.Category;
 import com.jwctech.finance.entities.CategoryKind;
-import com.jwctech.finance.repositories.AccountRepository;
+import com.jwctech.finance.entities.ChangeEntity;
+import com.jwctech.finance.entities.ChangeOperation;
 import com.jwctech.finance.repositories.BusinessRepository;
+import com.jwctech.finance.repositories.CategoryClosureRepository;
 import com.jwctech.finance.repositories.CategoryRepository;
-import com.jwctech.finance.repositories.TransactionRepository;
-import com.jwctech.finance.repositories.VendorRepository;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -24,24 +26,21 @@ public class BusinessService {
 
     private final BusinessRepository businessRepository;
     private final CategoryRepository categoryRepository;
-    private final AccountRepository accountRepository;
-    private final VendorRepository vendorRepository;
-    private final TransactionRepository transactionRepository;
+    private final BusinessVersionService businessVersionService;
+    private final CategoryClosureRepository categoryClosureRepository;
 
     public BusinessService(BusinessRepository businessRepository,
                            CategoryRepository categoryRepository,
-                           AccountRepository accountRepository,
-                           VendorRepository vendorRepository,
-                           TransactionRepository transactionRepository) {
+                           BusinessVersionService businessVersionService,
+                           CategoryClosureRepository categoryClosureRepository) {
         this.businessRepository = businessRepository;
         this.categoryRepository = categoryRepository;
-        this.accountRepository = accountRepository;
-        this.vendorRepository = vendorRepository;
-        this.transactionRepository = transactionRepository;
+        this.businessVersionService = businessVersionService;
+        this.categoryClosureRepository = categoryClosureRepository;
     }
 
     public List<BusinessDto> getBusinesses() {
-        return businessRepository.findAll(Sort.by(Sort.Direction.ASC, "name"))
+        return businessRepository.findByStatus(BusinessStatus.ACTIVE.name(), Sort.by(Sort.Direction.ASC, "name"))
                 .stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
@@ -63,30 +62,24 @@ public class BusinessService {
         }
 
         Business savedBusiness = businessRepository.save(business);
-        createDefaultCategories(savedBusiness);
+        List<Long> categoryIds = createDefaultCategories(savedBusiness);
+        businessVersionService.recordChange(savedBusiness.getId(), ChangeEntity.CATEGORY, ChangeOperation.UPSERT,
+                categoryIds);
         return toDto(savedBusiness);
     }
 
-    @Transactional
-    public void deleteBusiness(Long businessId) {
-        Business business = businessRepository.findById(businessId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found."));
-
-        transactionRepository.deleteByBusiness_Id(businessId);
-        accountRepository.deleteByBusiness_Id(businessId);
-        vendorRepository.deleteByBusiness_Id(businessId);
-        categoryRepository.deleteByBusiness_Id(businessId);
-        businessRepository.delete(business);
-    }
-
-    private void createDefaultCategories(Business business) {
+    private List<Long> createDefaultCategories(Business business) {
+        List<Long> categoryIds = new ArrayList<>(DEFAULT_CATEGORY_DEFINITIONS.size());
         DEFAULT_CATEGORY_DEFINITIONS.forEach((name, kind) -> {
             Category category = new Category();
             category.setBusiness(business);
             category.setName(name);
             category.setKind(kind.name());
-            categoryRepository.save(category);
+            Category savedCategory = categoryRepository.save(category);
+            categoryClosureRepository.insertLeaf(business.getId(), savedCategory.getId());
+            categoryIds.add(savedCategory.getId());
         });
+        return categoryIds;
     }
 
     private BusinessDto toDto(Business business) {
@@ -0,0 +1,156 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.entities.ChangeEntity;
+import com.jwctech.finance.entities.ChangeOperation;
+import com.jwctech.finance.repositories.BusinessVersionRepository;
+import com.jwctech.finance.repositories.ChangeLogRepository;
+import com.jwctech.finance.repositories.ChangeLogRepository.NewChange;
+import com.jwctech.finance.routing.RecentBusinessWrites;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Monotonic per-business change version, bumped by every write to a business's accounts, categories, vendors,
+ * transactions or rules. Listing endpoints serve it as their ETag, so an unchanged reload costs one primary-key lookup.
+ * <p>
+ * Writes that name the entities they touched also append them to the business's change log, stamped with the version
+ * their commit produces. The version row stays locked from the bump to the commit, so one business's commits get
+ * their versions, and become visible, strictly in order: a reader that has seen version {@code n} has seen every
+ * change up to it.
+ */
+@Service
+public class BusinessVersionService {
+
+    private final BusinessVersionRepository businessVersionRepository;
+    private final ChangeLogRepository changeLogRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final RecentBusinessWrites recentBusinessWrites;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BusinessVersionService(BusinessVersionRepository businessVersionRepository,
+                                  ChangeLogRepository changeLogRepository,
+                                  ReferenceDataCache referenceDataCache,
+                                  RecentBusinessWrites recentBusinessWrites,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.businessVersionRepository = businessVersionRepository;
+        this.changeLogRepository = changeLogRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.recentBusinessWrites = recentBusinessWrites;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Bumps the business's version as the last statement before the surrounding transaction commits. The new version
+     * becomes visible together with the data it describes, and the version row stays locked only for the commit
+     * however long the rest of the transaction runs. Repeated calls in one transaction bump once. Once committed,
+     * the business's reads stay on the primary for the replica's read-your-writes window.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(Long businessId) {
+        pendingChanges().computeIfAbsent(businessId, id -> new LinkedHashMap<>());
+    }
+
+    /**
+     * Like {@link #recordChange(Long)}, and also logs the entities for the change log. An entity logged twice in one
+     * transaction keeps its last operation.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(Long businessId, ChangeEntity entity, ChangeOperation operation, Collection<Long> entityIds) {
+        Map<EntityKey, ChangeOperation> changes = pendingChanges().computeIfAbsent(businessId,
+                id -> new LinkedHashMap<>());
+        for (Long entityId : entityIds) {
+            EntityKey key = new EntityKey(entity, entityId);
+            changes.remove(key);
+            changes.put(key, operation);
+        }
+    }
+
+    private Map<Long, Map<EntityKey, ChangeOperation>> pendingChanges() {
+        @SuppressWarnings("unchecked")
+        Map<Long, Map<EntityKey, ChangeOperation>> pending =
+                (Map<Long, Map<EntityKey, ChangeOperation>>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            // Ascending ids, so transactions touching several businesses lock version rows in one order.
+            Map<Long, Map<EntityKey, ChangeOperation>> changesByBusiness = new TreeMap<>();
+            Map<Long, Long> loggedVersions = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(this, changesByBusiness);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    changesByBusiness.forEach((businessId, changes) -> {
+                        businessVersionRepository.bump(businessId);
+                        if (!changes.isEmpty()) {
+                            long version = businessVersionRepository.findVersion(businessId);
+                            changeLogRepository.append(businessId, version, changes.entrySet()
+                                    .stream()
+                                    .map(change -> new NewChange(change.getKey().entity(), change.getKey().id(),
+                                            change.getValue()))
+                                    .toList());
+                            loggedVersions.put(businessId, version);
+                        }
+                    });
+                }
+
+                @Override
+                public void afterCommit() {
+                    changesByBusiness.keySet().forEach(recentBusinessWrites::recordWrite);
+                    loggedVersions.forEach((businessId, version) ->
+                            eventPublisher.publishEvent(new ChangesCommittedEvent(businessId, version)));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BusinessVersionService.this);
+                }
+            });
+            pending = changesByBusiness;
+        }
+        return pending;
+    }
+
+    /**
+     * Answers a conditional read of data loaded from the database: {@code null}, with the response marked not
+     * modified, if the client's ETag still matches the business's version, else whatever {@code loader} returns. The
+     * version and the data come from one read-only transaction, so from one node: a version read from the primary
+     * would tag replica data that may predate it, and clients would keep revalidating that stale copy until the next
+     * write. Reading the version first means a write committing in between only costs the client one extra reload.
+     */
+    @Transactional(readOnly = true)
+    public <T> T readIfModified(Long businessId, WebRequest request, Supplier<T> loader) {
+        if (request.checkNotModified(toEtag(businessVersionRepository.findVersion(businessId)))) {
+            return null;
+        }
+        return loader.get();
+    }
+
+    /**
+     * ETag for responses served from the {@link ReferenceDataCache}. A snapshot can be loaded just before a write
+     * commits and evicted just after, so it is tagged with the version it was loaded at rather than the current one.
+     * A cache hit needs no query at all.
+     */
+    public String referenceDataEtag(Long businessId) {
+        return toEtag(referenceDataCache.get(businessId).version());
+    }
+
+    /**
+     * Weak, because one version is served as JSON, Smile or CBOR, compressed or not; the servlet container also
+     * refuses to compress a response that carries a strong ETag.
+     */
+    private String toEtag(long version) {
+        return "W/\"" + version + "\"";
+    }
+
+    private record EntityKey(ChangeEntity entity, long id) {
+    }
+}
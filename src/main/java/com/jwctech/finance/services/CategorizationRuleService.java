@@ -0,0 +1,392 @@
+package com.jwctech.finance.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jwctech.finance.dto.CategorizationRuleDto;
+import com.jwctech.finance.dto.CategorizationRuleMatchDto;
+import com.jwctech.finance.dto.CategorizationRuleSplitDto;
+import com.jwctech.finance.dto.TransactionSplitDto;
+import com.jwctech.finance.entities.Business;
+import com.jwctech.finance.entities.CategorizationRule;
+import com.jwctech.finance.entities.CategorizationRuleSplit;
+import com.jwctech.finance.entities.ChangeEntity;
+import com.jwctech.finance.entities.ChangeOperation;
+import com.jwctech.finance.entities.PayeeMatchType;
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.repositories.AccountRepository;
+import com.jwctech.finance.repositories.BusinessRepository;
+import com.jwctech.finance.repositories.CategorizationRuleRepository;
+import com.jwctech.finance.repositories.CategoryRepository;
+import com.jwctech.finance.repositories.VendorRepository;
+import com.jwctech.finance.routing.ReadRouting;
+import com.jwctech.finance.services.rules.CompiledRuleSet;
+import com.jwctech.finance.services.rules.RuleDefinition;
+import com.jwctech.finance.services.rules.RuleMatch;
+import com.jwctech.finance.services.rules.RuleSplit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Per-business categorization rules. Each business's active rules are compiled into a {@link CompiledRuleSet} on
+ * first use and kept until a rule of that business changes, so imports classify rows without touching the database.
+ */
+@Service
+public class CategorizationRuleService implements MeterBinder {
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_PATTERN_LENGTH = 255;
+    private static final int MAX_SPLITS = 20;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final CategorizationRuleRepository categorizationRuleRepository;
+    private final BusinessRepository businessRepository;
+    private final AccountRepository accountRepository;
+    private final CategoryRepository categoryRepository;
+    private final VendorRepository vendorRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final BusinessVersionService businessVersionService;
+    private final TransactionTemplate readTransactionTemplate;
+    private final Cache<Long, CompiledRuleSet> ruleSets;
+
+    public CategorizationRuleService(CategorizationRuleRepository categorizationRuleRepository,
+                                     BusinessRepository businessRepository,
+                                     AccountRepository accountRepository,
+                                     CategoryRepository categoryRepository,
+                                     VendorRepository vendorRepository,
+                                     ReferenceDataCache referenceDataCache,
+                                     BusinessVersionService businessVersionService,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${finance.rules.maximum-weight:25000000}") long maximumWeight) {
+        this.categorizationRuleRepository = categorizationRuleRepository;
+        this.businessRepository = businessRepository;
+        this.accountRepository = accountRepository;
+        this.categoryRepository = categoryRepository;
+        this.vendorRepository = vendorRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.businessVersionService = businessVersionService;
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setReadOnly(true);
+        // Weighted by automaton size, which grows with the total length of a business's patterns.
+        this.ruleSets = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Long businessId, CompiledRuleSet ruleSet) ->
+                        (int) Math.min(Integer.MAX_VALUE, ruleSet.weight()))
+                .recordStats()
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategorizationRuleDto> getRules(Long businessId) {
+        if (!businessRepository.existsById(businessId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found.");
+        }
+        return categorizationRuleRepository.findByBusiness_IdOrderByPriorityAscIdAsc(businessId)
+                .stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    @Transactional
+    public CategorizationRuleDto createRule(Long businessId, RuleRequest request) {
+        Business business = businessRepository.findById(businessId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found."));
+
+        CategorizationRule rule = new CategorizationRule();
+        rule.setBusiness(business);
+        apply(rule, businessId, request);
+        CategorizationRule savedRule = categorizationRuleRepository.save(rule);
+        invalidate(businessId);
+        businessVersionService.recordChange(businessId, ChangeEntity.RULE, ChangeOperation.UPSERT,
+                List.of(savedRule.getId()));
+        return toDto(savedRule);
+    }
+
+    @Transactional
+    public CategorizationRuleDto updateRule(Long businessId, Long ruleId, RuleRequest request) {
+        CategorizationRule rule = findRule(businessId, ruleId);
+        apply(rule, businessId, request);
+        CategorizationRule savedRule = categorizationRuleRepository.saveAndFlush(rule);
+        invalidate(businessId);
+        businessVersionService.recordChange(businessId, ChangeEntity.RULE, ChangeOperation.UPSERT,
+                List.of(savedRule.getId()));
+        return toDto(savedRule);
+    }
+
+    @Transactional
+    public void deleteRule(Long businessId, Long ruleId) {
+        categorizationRuleRepository.delete(findRule(businessId, ruleId));
+        invalidate(businessId);
+        businessVersionService.recordChange(businessId, ChangeEntity.RULE, ChangeOperation.DELETE, List.of(ruleId));
+    }
+
+    /**
+     * Runs the business's rules against one row, as an import would.
+     */
+    public CategorizationRuleMatchDto match(Long businessId, String payee, Money amount, Long accountId) {
+        if (payee == null || payee.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Payee is required.");
+        }
+        if (amount == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Transaction amount is required.");
+        }
+        RuleMatch match = ruleSet(businessId).match(payee, amount, accountId);
+        if (match == null) {
+            return new CategorizationRuleMatchDto(null, null, List.of());
+        }
+        return new CategorizationRuleMatchDto(
+                match.ruleId(),
+                match.vendorId(),
+                match.allocate(amount).stream()
+                        .map(split -> new TransactionSplitDto(split.categoryId(), split.amount(), split.memo()))
+                        .toList());
+    }
+
+    /**
+     * Returns the business's compiled active rules, compiling them on a miss.
+     *
+     * @throws ResponseStatusException 404 if the business does not exist; the miss is not cached
+     */
+    public CompiledRuleSet ruleSet(Long businessId) {
+        // Invalidated on rule writes only: compile from the primary so a replica lag cannot outlive the write.
+        return ruleSets.get(businessId, id -> ReadRouting.onPrimary(() -> load(id)));
+    }
+
+    /**
+     * Drops the business's compiled rules now and again once the surrounding transaction completes, for the same
+     * reason as {@link ReferenceDataCache#invalidate}.
+     */
+    public void invalidate(Long businessId) {
+        ruleSets.invalidate(businessId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ruleSets.invalidate(businessId);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, ruleSets, "categorization-rules");
+    }
+
+    private CompiledRuleSet load(Long businessId) {
+        return readTransactionTemplate.execute(status -> {
+            if (!businessRepository.existsById(businessId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found.");
+            }
+            return CompiledRuleSet.compile(categorizationRuleRepository.findByBusiness_IdOrderByPriorityAscIdAsc(businessId)
+                    .stream()
+                    .filter(CategorizationRule::isActive)
+                    .map(this::toDefinition)
+                    .toList());
+        });
+    }
+
+    private CategorizationRule findRule(Long businessId, Long ruleId) {
+        return categorizationRuleRepository.findByIdAndBusiness_Id(ruleId, businessId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Categorization rule not found for this business."));
+    }
+
+    private void apply(CategorizationRule rule, Long businessId, RuleRequest request) {
+        String name = trimToNull(request.name());
+        if (name == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rule name is required.");
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Rule name must be at most " + MAX_NAME_LENGTH + " characters.");
+        }
+
+        PayeeMatchType matchType = null;
+        String pattern = request.payeePattern();
+        boolean hasPattern = pattern != null && !pattern.isBlank();
+        if (request.payeeMatchType() != null && !request.payeeMatchType().isBlank()) {
+            try {
+                matchType = PayeeMatchType.fromString(request.payeeMatchType());
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+        }
+        if ((matchType != null) != hasPattern) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Payee match type and payee pattern must be given together.");
+        }
+        if (hasPattern) {
+            pattern = matchType == PayeeMatchType.REGEX ? pattern : pattern.trim();
+            if (pattern.length() > MAX_PATTERN_LENGTH) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Payee pattern must be at most " + MAX_PATTERN_LENGTH + " characters.");
+            }
+            if (matchType == PayeeMatchType.REGEX) {
+                try {
+                    Pattern.compile(pattern);
+                } catch (PatternSyntaxException e) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid payee regex: " + e.getDescription());
+                }
+            } else if (pattern.chars().noneMatch(Character::isLetterOrDigit)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Payee pattern must contain a letter or digit.");
+            }
+        } else {
+            pattern = null;
+        }
+
+        if (request.minAmount() != null && request.maxAmount() != null
+                && request.minAmount().compareTo(request.maxAmount()) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Minimum amount must not exceed maximum amount.");
+        }
+
+        BusinessReferenceData referenceData = referenceDataCache.get(businessId,
+                data -> referencesKnown(request, data));
+        if (request.accountId() != null && referenceData.account(request.accountId()) == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Account not found for this business.");
+        }
+        if (request.vendorId() != null && referenceData.vendor(request.vendorId()) == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Vendor not found for this business.");
+        }
+
+        List<CategorizationRuleSplitDto> splits = request.splits();
+        if (splits == null || splits.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one split is required.");
+        }
+        if (splits.size() > MAX_SPLITS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A rule can have at most " + MAX_SPLITS + " splits.");
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        Set<Long> categoryIds = new HashSet<>();
+        for (CategorizationRuleSplitDto split : splits) {
+            if (split == null || split.categoryId() == null || split.percentage() == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Split category and percentage are required.");
+            }
+            if (referenceData.category(split.categoryId()) == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Split category not found for this business.");
+            }
+            if (!categoryIds.add(split.categoryId())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Split categories must be distinct.");
+            }
+            if (split.percentage().signum() <= 0 || split.percentage().scale() > 4) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Split percentages must be positive with at most four decimal places.");
+            }
+            total = total.add(split.percentage());
+        }
+        if (total.compareTo(HUNDRED) != 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Split percentages must add up to 100.");
+        }
+
+        rule.setName(name);
+        rule.setPriority(request.priority() != null ? request.priority() : 0);
+        rule.setPayeeMatchType(matchType != null ? matchType.name() : null);
+        rule.setPayeePattern(pattern);
+        rule.setMinAmount(request.minAmount());
+        rule.setMaxAmount(request.maxAmount());
+        rule.setAccount(request.accountId() != null ? accountRepository.getReferenceById(request.accountId()) : null);
+        rule.setVendor(request.vendorId() != null ? vendorRepository.getReferenceById(request.vendorId()) : null);
+        rule.setActive(request.active() != null ? request.active() : true);
+        rule.clearSplits();
+        for (CategorizationRuleSplitDto split : splits) {
+            CategorizationRuleSplit ruleSplit = new CategorizationRuleSplit();
+            ruleSplit.setCategory(categoryRepository.getReferenceById(split.categoryId()));
+            ruleSplit.setPercentage(split.percentage());
+            rule.addSplit(ruleSplit);
+        }
+    }
+
+    private RuleDefinition toDefinition(CategorizationRule rule) {
+        return new RuleDefinition(
+                rule.getId(),
+                rule.getPriority(),
+                rule.getPayeeMatchType() != null ? PayeeMatchType.fromString(rule.getPayeeMatchType()) : null,
+                rule.getPayeePattern(),
+                rule.getMinAmount(),
+                rule.getMaxAmount(),
+                rule.getAccount() != null ? rule.getAccount().getId() : null,
+                rule.getVendor() != null ? rule.getVendor().getId() : null,
+                rule.getSplits().stream()
+                        .map(split -> RuleSplit.ofPercentage(split.getCategory().getId(), split.getPercentage()))
+                        .toList()
+        );
+    }
+
+    // Whether the snapshot holds every account, vendor and category the rule names.
+    private static boolean referencesKnown(RuleRequest request, BusinessReferenceData referenceData) {
+        if (request.accountId() != null && referenceData.account(request.accountId()) == null) {
+            return false;
+        }
+        if (request.vendorId() != null && referenceData.vendor(request.vendorId()) == null) {
+            return false;
+        }
+        if (request.splits() != null) {
+            for (CategorizationRuleSplitDto split : request.splits()) {
+                if (split != null && split.categoryId() != null && referenceData.category(split.categoryId()) == null) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private CategorizationRuleDto toDto(CategorizationRule rule) {
+        return new CategorizationRuleDto(
+                rule.getId(),
+                rule.getBusiness() != null ? rule.getBusiness().getId() : null,
+                rule.getName(),
+                rule.getPriority(),
+                rule.getPayeeMatchType() != null ? PayeeMatchType.fromString(rule.getPayeeMatchType()) : null,
+                rule.getPayeePattern(),
+                rule.getMinAmount(),
+                rule.getMaxAmount(),
+                rule.getAccount() != null ? rule.getAccount().getId() : null,
+                rule.getVendor() != null ? rule.getVendor().getId() : null,
+                rule.getSplits().stream()
+                        .map(split -> new CategorizationRuleSplitDto(split.getCategory().getId(), split.getPercentage()))
+                        .toList(),
+                rule.isActive(),
+                rule.getCreatedAt(),
+                rule.getUpdatedAt()
+        );
+    }
+
+    private String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    public record RuleRequest(
+            String name,
+            Integer priority,
+            String payeeMatchType,
+            String payeePattern,
+            Money minAmount,
+            Money maxAmount,
+            Long accountId,
+            Long vendorId,
+            List<CategorizationRuleSplitDto> splits,
+            Boolean active
+    ) {
+    }
+}
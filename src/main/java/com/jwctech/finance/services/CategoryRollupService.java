@@ -0,0 +1,84 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.entities.Transaction;
+import com.jwctech.finance.entities.TransactionSplit;
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.repositories.CategoryRollupRepository;
+import com.jwctech.finance.repositories.CategoryRollupRepository.Delta;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewSplit;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewTransaction;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps category_daily_totals in step with ledger writes. Callers must already be inside the transaction that
+ * writes the splits so the rollup commits or rolls back with them.
+ */
+@Service
+public class CategoryRollupService {
+
+    private static final Comparator<Delta> LOCK_ORDER = Comparator
+            .comparing(Delta::businessId)
+            .thenComparing(Delta::categoryId)
+            .thenComparing(Delta::postedOn);
+
+    private final CategoryRollupRepository categoryRollupRepository;
+
+    public CategoryRollupService(CategoryRollupRepository categoryRollupRepository) {
+        this.categoryRollupRepository = categoryRollupRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransaction(Transaction transaction) {
+        Map<Key, Accumulator> totals = new HashMap<>();
+        for (TransactionSplit split : transaction.getSplits()) {
+            add(totals, transaction.getBusiness().getId(), split.getCategory().getId(), transaction.getPostedAt(),
+                    split.getAmount());
+        }
+        apply(totals);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordNewTransactions(Collection<NewTransaction> transactions) {
+        Map<Key, Accumulator> totals = new HashMap<>();
+        for (NewTransaction transaction : transactions) {
+            for (NewSplit split : transaction.splits()) {
+                add(totals, transaction.businessId(), split.categoryId(), transaction.postedAt(), split.amount());
+            }
+        }
+        apply(totals);
+    }
+
+    private void add(Map<Key, Accumulator> totals, Long businessId, Long categoryId, LocalDate postedOn, Money amount) {
+        Accumulator accumulator = totals.computeIfAbsent(new Key(businessId, categoryId, postedOn), key -> new Accumulator());
+        accumulator.total = Math.addExact(accumulator.total, amount.minorUnits());
+        accumulator.count++;
+    }
+
+    private void apply(Map<Key, Accumulator> totals) {
+        // Upsert in a stable key order so concurrent writers take row locks in the same sequence.
+        List<Delta> deltas = totals.entrySet()
+                .stream()
+                .map(entry -> new Delta(entry.getKey().businessId(), entry.getKey().categoryId(),
+                        entry.getKey().postedOn(), Money.ofMinor(entry.getValue().total), entry.getValue().count))
+                .sorted(LOCK_ORDER)
+                .toList();
+        categoryRollupRepository.applyDeltas(deltas);
+    }
+
+    private record Key(Long businessId, Long categoryId, LocalDate postedOn) {
+    }
+
+    private static final class Accumulator {
+        private long total;
+        private long count;
+    }
+}
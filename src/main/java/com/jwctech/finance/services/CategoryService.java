@@ -1,16 +1,29 @@
 package com.jwctech.finance.services;
 
 import com.jwctech.finance.dto.CategoryDto;
+import com.jwctech.finance.dto.CategoryTreeDto;
+import com.jwctech.finance.dto.CategoryTreeNodeDto;
 import com.jwctech.finance.entities.Business;
 import com.jwctech.finance.entities.Category;
 import com.jwctech.finance.entities.CategoryKind;
+import com.jwctech.finance.entities.ChangeEntity;
+import com.jwctech.finance.entities.ChangeOperation;
+import com.jwctech.finance.money.Money;
 import com.jwctech.finance.repositories.BusinessRepository;
+import com.jwctech.finance.repositories.CategoryClosureRepository;
+import com.jwctech.finance.repositories.CategoryClosureRepository.SubtreeTotal;
 import com.jwctech.finance.repositories.CategoryRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,22 +31,64 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final BusinessRepository businessRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final BusinessVersionService businessVersionService;
+    private final CategoryClosureRepository categoryClosureRepository;
 
-    public CategoryService(CategoryRepository categoryRepository, BusinessRepository businessRepository) {
+    public CategoryService(CategoryRepository categoryRepository,
+                           BusinessRepository businessRepository,
+                           ReferenceDataCache referenceDataCache,
+                           BusinessVersionService businessVersionService,
+                           CategoryClosureRepository categoryClosureRepository) {
         this.categoryRepository = categoryRepository;
         this.businessRepository = businessRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.businessVersionService = businessVersionService;
+        this.categoryClosureRepository = categoryClosureRepository;
     }
 
     public List<CategoryDto> getCategories(Long businessId) {
+        return referenceDataCache.get(businessId).categories();
+    }
+
+    /**
+     * The whole category hierarchy with split totals per node for a date range. The categories come from the
+     * reference data snapshot and every node's subtree total from one grouped join over the closure table, so the
+     * tree costs a single query however deep it is.
+     */
+    @Transactional(readOnly = true)
+    public CategoryTreeDto getCategoryTree(Long businessId, LocalDate from, LocalDate to) {
         if (!businessRepository.existsById(businessId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found.");
         }
-        return categoryRepository.findByBusiness_IdOrderByNameAsc(businessId)
+        if (from == null || to == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start and end dates are required.");
+        }
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start date must not be after the end date.");
+        }
+
+        Map<Long, SubtreeTotal> totals = categoryClosureRepository.findSubtreeTotals(businessId, from, to)
                 .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toMap(SubtreeTotal::categoryId, Function.identity()));
+
+        // The snapshot lists categories by name, so every child list comes out in name order too.
+        BusinessReferenceData referenceData = referenceDataCache.get(businessId);
+        Map<Long, List<CategoryDto>> children = new HashMap<>();
+        List<CategoryDto> roots = new ArrayList<>();
+        for (CategoryDto category : referenceData.categories()) {
+            if (category.parentCategoryId() != null && referenceData.category(category.parentCategoryId()) != null) {
+                children.computeIfAbsent(category.parentCategoryId(), id -> new ArrayList<>()).add(category);
+            } else {
+                roots.add(category);
+            }
+        }
+        return new CategoryTreeDto(businessId, from, to, roots.stream()
+                .map(root -> toTreeNode(root, children, totals))
+                .toList());
     }
 
+    @Transactional
     public CategoryDto createCategory(Long businessId,
                                       String name,
                                       String description,
@@ -54,9 +109,12 @@ public class CategoryService {
 
         Category parentCategory = null;
         if (parentCategoryId != null) {
-            parentCategory = categoryRepository.findByIdAndBusiness_Id(parentCategoryId, businessId)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                            "Parent category not found for this business."));
+            if (referenceDataCache.get(businessId, data -> data.category(parentCategoryId) != null)
+                    .category(parentCategoryId) == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Parent category not found for this business.");
+            }
+            parentCategory = categoryRepository.getReferenceById(parentCategoryId);
         }
 
         Category category = new Category();
@@ -72,9 +130,33 @@ public class CategoryService {
         category.setActive(active != null ? active : true);
 
         Category savedCategory = categoryRepository.save(category);
+        categoryClosureRepository.insertLeaf(businessId, savedCategory.getId());
+        referenceDataCache.invalidate(businessId);
+        businessVersionService.recordChange(businessId, ChangeEntity.CATEGORY, ChangeOperation.UPSERT,
+                List.of(savedCategory.getId()));
         return toDto(savedCategory);
     }
 
+    private CategoryTreeNodeDto toTreeNode(CategoryDto category,
+                                           Map<Long, List<CategoryDto>> children,
+                                           Map<Long, SubtreeTotal> totals) {
+        SubtreeTotal total = totals.get(category.id());
+        return new CategoryTreeNodeDto(
+                category.id(),
+                category.name(),
+                category.kind(),
+                category.active(),
+                total != null ? total.total() : Money.ZERO,
+                total != null ? total.splitCount() : 0,
+                total != null ? total.ownTotal() : Money.ZERO,
+                total != null ? total.ownSplitCount() : 0,
+                children.getOrDefault(category.id(), List.of())
+                        .stream()
+                        .map(child -> toTreeNode(child, children, totals))
+                        .toList()
+        );
+    }
+
     private CategoryDto toDto(Category category) {
         Long businessId = category.getBusiness() != null ? category.getBusiness().getId() : null;
 
@@ -0,0 +1,204 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.dto.AccountDto;
+import com.jwctech.finance.dto.CategorizationRuleDto;
+import com.jwctech.finance.dto.ChangeBatchDto;
+import com.jwctech.finance.dto.ChangeDto;
+import com.jwctech.finance.dto.TransactionDto;
+import com.jwctech.finance.entities.ChangeEntity;
+import com.jwctech.finance.entities.ChangeOperation;
+import com.jwctech.finance.repositories.BusinessRepository;
+import com.jwctech.finance.repositories.ChangeLogRepository;
+import com.jwctech.finance.repositories.ChangeLogRepository.ChangeKey;
+import com.jwctech.finance.repositories.ChangeLogRepository.ChangeRow;
+import com.jwctech.finance.repositories.ChangeLogRepository.CompactionTarget;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads a business's change log for clients that sync incrementally, and compacts it.
+ * <p>
+ * The log stores only which entity changed, how, and at which business version; upserts are filled in with the
+ * entity's current state when read. Compaction may therefore drop every row an entity has except its latest without
+ * a client ever noticing: replaying from any sequence, including zero, still ends in the current state. Delete rows
+ * are never superseded, so they are kept, one per deleted entity.
+ */
+@Slf4j
+@Service
+public class ChangeLogService {
+
+    private static final int DEFAULT_LIMIT = 500;
+    private static final int MAX_LIMIT = 5_000;
+
+    private final BusinessRepository businessRepository;
+    private final ChangeLogRepository changeLogRepository;
+    private final TransactionService transactionService;
+    private final AccountService accountService;
+    private final CategorizationRuleService categorizationRuleService;
+    private final ReferenceDataCache referenceDataCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int compactionChunkSize;
+
+    public ChangeLogService(BusinessRepository businessRepository,
+                            ChangeLogRepository changeLogRepository,
+                            TransactionService transactionService,
+                            AccountService accountService,
+                            CategorizationRuleService categorizationRuleService,
+                            ReferenceDataCache referenceDataCache,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${finance.changes.compaction-chunk-size:5000}") int compactionChunkSize) {
+        this.businessRepository = businessRepository;
+        this.changeLogRepository = changeLogRepository;
+        this.transactionService = transactionService;
+        this.accountService = accountService;
+        this.categorizationRuleService = categorizationRuleService;
+        this.referenceDataCache = referenceDataCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.compactionChunkSize = compactionChunkSize;
+    }
+
+    /**
+     * Returns the changes committed after {@code since}, oldest first. A commit's changes are never split across
+     * batches, so a batch may exceed {@code limit} when a single commit does.
+     */
+    @Transactional(readOnly = true)
+    public ChangeBatchDto getChanges(Long businessId, Long since, Integer limit) {
+        long after = since != null ? since : 0;
+        if (after < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Sequence must not be negative.");
+        }
+        int resolvedLimit = limit != null ? limit : DEFAULT_LIMIT;
+        if (resolvedLimit < 1 || resolvedLimit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        if (!businessRepository.existsById(businessId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found.");
+        }
+
+        List<ChangeRow> rows = changeLogRepository.findChangesAfter(businessId, after, resolvedLimit + 1);
+        boolean hasMore = rows.size() > resolvedLimit;
+        if (hasMore) {
+            long cutVersion = rows.get(resolvedLimit).version();
+            rows = rows.subList(0, resolvedLimit);
+            if (rows.get(0).version() == cutVersion) {
+                rows = changeLogRepository.findChangesAt(businessId, cutVersion);
+            } else if (rows.get(rows.size() - 1).version() == cutVersion) {
+                int end = rows.size();
+                while (rows.get(end - 1).version() == cutVersion) {
+                    end--;
+                }
+                rows = rows.subList(0, end);
+            }
+        }
+
+        Map<ChangeEntity, Map<Long, Object>> current = loadCurrent(businessId, rows);
+        List<ChangeDto> changes = new ArrayList<>(rows.size());
+        for (ChangeRow row : rows) {
+            Object data = row.operation() == ChangeOperation.UPSERT
+                    ? current.getOrDefault(row.entity(), Map.of()).get(row.entityId())
+                    : null;
+            changes.add(new ChangeDto(row.version(), row.entity(), row.entityId(), row.operation(), data));
+        }
+        long next = rows.isEmpty() ? after : rows.get(rows.size() - 1).version();
+        return new ChangeBatchDto(businessId, after, next, hasMore, changes);
+    }
+
+    /**
+     * Removes log rows superseded by a later row for the same entity, looking only at what was logged since the
+     * previous pass.
+     */
+    @Scheduled(cron = "${finance.changes.compaction-cron:0 45 3 * * *}")
+    public void compact() {
+        for (CompactionTarget target : changeLogRepository.findCompactionTargets()) {
+            try {
+                compact(target);
+            } catch (RuntimeException e) {
+                log.error("Could not compact the change log of business {}", target.businessId(), e);
+            }
+        }
+    }
+
+    private void compact(CompactionTarget target) {
+        long removed = 0;
+        List<ChangeKey> superseded;
+        do {
+            superseded = transactionTemplate.execute(status -> {
+                List<ChangeKey> keys = changeLogRepository.findSuperseded(target.businessId(),
+                        target.compactedVersion(), target.version(), compactionChunkSize);
+                changeLogRepository.delete(target.businessId(), keys);
+                return keys;
+            });
+            removed += superseded.size();
+        } while (superseded.size() == compactionChunkSize);
+        transactionTemplate.executeWithoutResult(status ->
+                changeLogRepository.markCompacted(target.businessId(), target.version()));
+        if (removed > 0) {
+            log.info("Compacted {} change log rows of business {} through version {}", removed,
+                    target.businessId(), target.version());
+        }
+    }
+
+    private Map<ChangeEntity, Map<Long, Object>> loadCurrent(Long businessId, List<ChangeRow> rows) {
+        Map<ChangeEntity, List<Long>> upserts = new EnumMap<>(ChangeEntity.class);
+        long newestVersion = 0;
+        for (ChangeRow row : rows) {
+            if (row.operation() == ChangeOperation.UPSERT) {
+                upserts.computeIfAbsent(row.entity(), entity -> new ArrayList<>()).add(row.entityId());
+                newestVersion = Math.max(newestVersion, row.version());
+            }
+        }
+
+        Map<ChangeEntity, Map<Long, Object>> current = new EnumMap<>(ChangeEntity.class);
+        if (upserts.containsKey(ChangeEntity.TRANSACTION)) {
+            current.put(ChangeEntity.TRANSACTION, transactionService
+                    .getTransactionsByIds(upserts.get(ChangeEntity.TRANSACTION).stream().distinct().toList())
+                    .stream()
+                    .collect(Collectors.toMap(TransactionDto::id, Function.identity())));
+        }
+        if (upserts.containsKey(ChangeEntity.ACCOUNT)) {
+            current.put(ChangeEntity.ACCOUNT, accountService.getAccounts(businessId)
+                    .stream()
+                    .collect(Collectors.toMap(AccountDto::id, Function.identity())));
+        }
+        if (upserts.containsKey(ChangeEntity.RULE)) {
+            current.put(ChangeEntity.RULE, categorizationRuleService.getRules(businessId)
+                    .stream()
+                    .collect(Collectors.toMap(CategorizationRuleDto::id, Function.identity())));
+        }
+        if (upserts.containsKey(ChangeEntity.CATEGORY) || upserts.containsKey(ChangeEntity.VENDOR)) {
+            // A snapshot loaded while these changes were still committing could predate them.
+            BusinessReferenceData referenceData = referenceDataCache.get(businessId);
+            if (referenceData.version() < newestVersion) {
+                referenceDataCache.invalidate(businessId);
+                referenceData = referenceDataCache.get(businessId);
+            }
+            Map<Long, Object> categories = new HashMap<>();
+            for (Long id : upserts.getOrDefault(ChangeEntity.CATEGORY, List.of())) {
+                categories.put(id, referenceData.category(id));
+            }
+            Map<Long, Object> vendors = new HashMap<>();
+            for (Long id : upserts.getOrDefault(ChangeEntity.VENDOR, List.of())) {
+                vendors.put(id, referenceData.vendor(id));
+            }
+            current.put(ChangeEntity.CATEGORY, categories);
+            current.put(ChangeEntity.VENDOR, vendors);
+        }
+        return current;
+    }
+}
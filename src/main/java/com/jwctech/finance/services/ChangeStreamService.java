@@ -0,0 +1,172 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.dto.ChangeBatchDto;
+import com.jwctech.finance.repositories.BusinessRepository;
+import com.jwctech.finance.routing.ReadRouting;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tails business change logs over Server-Sent Events. Each stream replays the log from the client's sequence and then
+ * follows it: a commit on this instance signals the business's streams right away, and the heartbeat signals every
+ * stream so commits made on other instances arrive within one interval. Streams only ever read the log, so a signal
+ * that finds nothing new costs a single indexed query, and signals arriving while a stream is being drained collapse
+ * into one more pass.
+ */
+@Slf4j
+@Service
+public class ChangeStreamService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final BusinessRepository businessRepository;
+    private final ChangeLogService changeLogService;
+    private final TaskExecutor taskExecutor;
+    private final Duration streamTimeout;
+    private final int maxStreamsPerBusiness;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    public ChangeStreamService(BusinessRepository businessRepository,
+                               ChangeLogService changeLogService,
+                               @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                               @Value("${finance.changes.stream-timeout:30m}") Duration streamTimeout,
+                               @Value("${finance.changes.max-streams-per-business:20}") int maxStreamsPerBusiness) {
+        this.businessRepository = businessRepository;
+        this.changeLogService = changeLogService;
+        this.taskExecutor = taskExecutor;
+        this.streamTimeout = streamTimeout;
+        this.maxStreamsPerBusiness = maxStreamsPerBusiness;
+    }
+
+    public SseEmitter subscribe(Long businessId, Long since) {
+        long after = since != null ? since : 0;
+        if (after < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Sequence must not be negative.");
+        }
+        if (!businessRepository.existsById(businessId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found.");
+        }
+
+        Subscriber subscriber = new Subscriber(businessId, new SseEmitter(streamTimeout.toMillis()), after);
+        subscribers.compute(businessId, (id, streams) -> {
+            Set<Subscriber> current = streams != null ? streams : ConcurrentHashMap.newKeySet();
+            if (current.size() >= maxStreamsPerBusiness) {
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                        "Too many open change streams for this business.");
+            }
+            current.add(subscriber);
+            return current;
+        });
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+        signal(subscriber);
+        return subscriber.emitter;
+    }
+
+    @EventListener
+    public void onChangesCommitted(ChangesCommittedEvent event) {
+        Set<Subscriber> streams = subscribers.get(event.businessId());
+        if (streams != null) {
+            streams.forEach(this::signal);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${finance.changes.heartbeat-interval:15s}")
+    public void heartbeat() {
+        for (Set<Subscriber> streams : subscribers.values()) {
+            for (Subscriber subscriber : streams) {
+                try {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    remove(subscriber);
+                    continue;
+                }
+                signal(subscriber);
+            }
+        }
+    }
+
+    private void signal(Subscriber subscriber) {
+        subscriber.dirty.set(true);
+        if (subscriber.draining.compareAndSet(false, true)) {
+            taskExecutor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (subscriber.dirty.getAndSet(false)) {
+                ChangeBatchDto batch;
+                do {
+                    // A replica may not have the commit that signalled yet.
+                    batch = ReadRouting.onPrimary(() -> changeLogService.getChanges(subscriber.businessId,
+                            subscriber.position, BATCH_SIZE));
+                    if (!batch.changes().isEmpty()) {
+                        subscriber.emitter.send(SseEmitter.event()
+                                .id(Long.toString(batch.next()))
+                                .name("changes")
+                                .data(batch));
+                        subscriber.position = batch.next();
+                    }
+                } while (batch.hasMore());
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(subscriber);
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Closing change stream of business {}", subscriber.businessId, e);
+            remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // A signal that arrived after the last check but before the flag was cleared would otherwise be lost.
+        if (subscriber.dirty.get() && subscribed(subscriber)) {
+            signal(subscriber);
+        }
+    }
+
+    private boolean subscribed(Subscriber subscriber) {
+        Set<Subscriber> streams = subscribers.get(subscriber.businessId);
+        return streams != null && streams.contains(subscriber);
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.businessId, (id, streams) -> {
+            streams.remove(subscriber);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    private static final class Subscriber {
+
+        private final Long businessId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long position;
+
+        private Subscriber(Long businessId, SseEmitter emitter, long position) {
+            this.businessId = businessId;
+            this.emitter = emitter;
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.jwctech.finance.services;
+
+/**
+ * Published after a commit that logged changes for a business.
+ *
+ * @param version the business version the commit's change log rows are stamped with
+ */
+public record ChangesCommittedEvent(Long businessId, long version) {
+}
@@ -0,0 +1,181 @@
+package com.jwctech.finance.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jwctech.finance.dedupe.BloomFilter;
+import com.jwctech.finance.dedupe.TransactionFingerprint;
+import com.jwctech.finance.repositories.AccountBalanceRepository;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewTransaction;
+import com.jwctech.finance.repositories.TransactionFingerprintRepository;
+import com.jwctech.finance.repositories.TransactionFingerprintRepository.FingerprintMatch;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finds incoming transactions that repeat one already on their account, by {@link TransactionFingerprint}.
+ * <p>
+ * Each account's fingerprints are summarized in an in-memory {@link BloomFilter}, loaded on first use and fed by every
+ * write afterwards. A row the filter has certainly never seen is new without touching the database; the rest are
+ * confirmed with one indexed lookup per account and batch. Matching is by count: a batch repeating a fingerprint that
+ * exists once only has its first occurrence reported, so legitimately identical postings on one day survive a
+ * re-import of an overlapping statement.
+ */
+@Service
+public class DuplicateDetector implements MeterBinder {
+
+    private static final long MIN_CAPACITY = 1_024;
+
+    private final TransactionFingerprintRepository transactionFingerprintRepository;
+    private final AccountBalanceRepository accountBalanceRepository;
+    private final double falsePositiveRate;
+    private final Cache<Long, BloomFilter> filters;
+    private final LongAdder filtered = new LongAdder();
+    private final LongAdder probed = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+
+    public DuplicateDetector(TransactionFingerprintRepository transactionFingerprintRepository,
+                             AccountBalanceRepository accountBalanceRepository,
+                             @Value("${finance.duplicates.false-positive-rate:0.01}") double falsePositiveRate,
+                             @Value("${finance.duplicates.maximum-weight:67108864}") long maximumWeight,
+                             @Value("${finance.duplicates.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.transactionFingerprintRepository = transactionFingerprintRepository;
+        this.accountBalanceRepository = accountBalanceRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filters = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Long accountId, BloomFilter filter) -> (int) Math.min(Integer.MAX_VALUE, filter.weight()))
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Must run in the transaction that writes the rows. Takes each account's balance row lock first, so concurrent
+     * writers to one account check and insert one after the other.
+     *
+     * @return for every transaction, the id of the existing transaction it likely duplicates, or {@code null}
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Long> findDuplicates(List<NewTransaction> transactions) {
+        Long[] duplicateOf = new Long[transactions.size()];
+        Map<Long, List<Integer>> byAccount = new TreeMap<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            byAccount.computeIfAbsent(transactions.get(i).accountId(), accountId -> new ArrayList<>()).add(i);
+        }
+
+        for (Map.Entry<Long, List<Integer>> entry : byAccount.entrySet()) {
+            Long accountId = entry.getKey();
+            accountBalanceRepository.createIfMissing(accountId, transactions.get(entry.getValue().get(0)).businessId());
+            BloomFilter filter = filters.get(accountId, this::load);
+
+            long[] fingerprints = new long[transactions.size()];
+            List<Integer> candidates = new ArrayList<>();
+            Set<Long> candidateFingerprints = new LinkedHashSet<>();
+            LocalDate postedFrom = LocalDate.MAX;
+            LocalDate postedTo = LocalDate.MIN;
+            for (int i : entry.getValue()) {
+                NewTransaction transaction = transactions.get(i);
+                fingerprints[i] = fingerprint(transaction);
+                if (!filter.mightContain(fingerprints[i])) {
+                    filtered.increment();
+                    continue;
+                }
+                candidates.add(i);
+                candidateFingerprints.add(fingerprints[i]);
+                postedFrom = transaction.postedAt().isBefore(postedFrom) ? transaction.postedAt() : postedFrom;
+                postedTo = transaction.postedAt().isAfter(postedTo) ? transaction.postedAt() : postedTo;
+            }
+
+            if (!candidates.isEmpty()) {
+                Map<Long, ArrayDeque<Long>> existing = new HashMap<>();
+                for (FingerprintMatch match : transactionFingerprintRepository.findMatches(accountId, postedFrom,
+                        postedTo, candidateFingerprints)) {
+                    existing.computeIfAbsent(match.fingerprint(), fingerprint -> new ArrayDeque<>())
+                            .add(match.transactionId());
+                }
+                for (int i : candidates) {
+                    ArrayDeque<Long> ids = existing.get(fingerprints[i]);
+                    duplicateOf[i] = ids != null ? ids.poll() : null;
+                    (duplicateOf[i] != null ? duplicates : probed).increment();
+                }
+            }
+
+            // Added before commit: a writer that takes the account lock after this one commits must already see
+            // these rows in the filter. Rows that end up skipped or rolled back only cost a later lookup.
+            for (int i : entry.getValue()) {
+                filter.add(fingerprints[i]);
+            }
+            if (filter.isSaturated()) {
+                filters.invalidate(accountId);
+            }
+        }
+        return Arrays.asList(duplicateOf);
+    }
+
+    /**
+     * Adds committed transactions to their accounts' filters if loaded. {@code computeIfPresent} waits for an
+     * in-flight load of the same account, so a commit that the load's snapshot missed is still applied to it. This also
+     * covers writes that skipped the check, such as {@link DuplicatePolicy#FORCE} ones.
+     */
+    @TransactionalEventListener
+    public void onTransactionsCreated(TransactionsCreatedEvent event) {
+        for (NewTransaction transaction : event.transactions()) {
+            filters.asMap().computeIfPresent(transaction.accountId(), (accountId, filter) -> {
+                filter.add(fingerprint(transaction));
+                return filter.isSaturated() ? null : filter;
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        filters.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, filters, "duplicate-filters");
+        FunctionCounter.builder("finance.duplicates.checked", filtered, LongAdder::sum)
+                .description("Incoming transactions checked for duplicates, by how the check ended")
+                .tag("outcome", "filtered")
+                .register(registry);
+        FunctionCounter.builder("finance.duplicates.checked", probed, LongAdder::sum)
+                .tag("outcome", "probed")
+                .register(registry);
+        FunctionCounter.builder("finance.duplicates.checked", duplicates, LongAdder::sum)
+                .tag("outcome", "duplicate")
+                .register(registry);
+    }
+
+    private BloomFilter load(Long accountId) {
+        // Sized with headroom so a growing account is not rebuilt after every few imports.
+        long existing = transactionFingerprintRepository.countFingerprints(accountId);
+        BloomFilter filter = new BloomFilter(Math.max(MIN_CAPACITY, existing * 2), falsePositiveRate);
+        transactionFingerprintRepository.forEachFingerprint(accountId, filter::add);
+        return filter;
+    }
+
+    private static long fingerprint(NewTransaction transaction) {
+        return TransactionFingerprint.of(transaction.accountId(), transaction.postedAt(), transaction.amount(),
+                transaction.payee());
+    }
+}
@@ -0,0 +1,31 @@
+package com.jwctech.finance.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+
+/**
+ * What to do with an incoming transaction that looks like one already on its account: same posting date, amount and
+ * normalized payee.
+ */
+public enum DuplicatePolicy {
+    /** The likely duplicate is not written. */
+    SKIP,
+    /** The likely duplicate is written and marked as a possible duplicate for review. */
+    FLAG,
+    /** The transaction is written as given, without looking for duplicates. */
+    FORCE;
+
+    public static DuplicatePolicy fromString(String value, DuplicatePolicy defaultPolicy) {
+        if (value == null || value.isBlank()) {
+            return defaultPolicy;
+        }
+        String normalized = value.trim();
+        return Arrays.stream(values())
+                .filter(policy -> policy.name().equalsIgnoreCase(normalized))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown duplicate policy: " + value));
+    }
+}
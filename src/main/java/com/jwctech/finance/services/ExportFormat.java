@@ -0,0 +1,64 @@
+package com.jwctech.finance.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public enum ExportFormat {
+    CSV("csv", new MediaType("text", "csv")),
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON),
+    SMILE("smile", new MediaType("application", "x-jackson-smile"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * An explicit {@code format} wins; otherwise the first acceptable media type that names a format exactly, so a
+     * browser's wildcard {@code Accept} still gets the CSV default.
+     */
+    public static ExportFormat negotiate(String format, List<MediaType> acceptable) {
+        if (format != null && !format.isBlank()) {
+            return fromString(format);
+        }
+        List<MediaType> sorted = new ArrayList<>(acceptable);
+        MimeTypeUtils.sortBySpecificity(sorted);
+        for (MediaType mediaType : sorted) {
+            for (ExportFormat candidate : values()) {
+                if (!mediaType.isWildcardType() && !mediaType.isWildcardSubtype()
+                        && candidate.mediaType.equalsTypeAndSubtype(mediaType)) {
+                    return candidate;
+                }
+            }
+        }
+        return CSV;
+    }
+
+    public static ExportFormat fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        return Arrays.stream(values())
+                .filter(format -> format.name().equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown export format: " + value));
+    }
+}
@@ -0,0 +1,84 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.entities.ChangeEntity;
+import com.jwctech.finance.entities.ChangeOperation;
+import com.jwctech.finance.entities.Transaction;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewSplit;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewTransaction;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single entry point for the derived tables that must commit atomically with ledger writes. Also publishes
+ * {@link TransactionsCreatedEvent} for in-memory projections that follow the ledger after commit.
+ */
+@Service
+public class LedgerProjectionService {
+
+    private final CategoryRollupService categoryRollupService;
+    private final AccountBalanceService accountBalanceService;
+    private final BusinessVersionService businessVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LedgerProjectionService(CategoryRollupService categoryRollupService,
+                                   AccountBalanceService accountBalanceService,
+                                   BusinessVersionService businessVersionService,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.categoryRollupService = categoryRollupService;
+        this.accountBalanceService = accountBalanceService;
+        this.businessVersionService = businessVersionService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void transactionCreated(Transaction transaction) {
+        accountBalanceService.recordTransaction(transaction);
+        categoryRollupService.recordTransaction(transaction);
+        businessVersionService.recordChange(transaction.getBusiness().getId(), ChangeEntity.TRANSACTION,
+                ChangeOperation.UPSERT, List.of(transaction.getId()));
+
+        List<NewSplit> splits = transaction.getSplits()
+                .stream()
+                .map(split -> new NewSplit(split.getCategory().getId(), split.getAmount(), split.getMemo()))
+                .toList();
+        NewTransaction created = new NewTransaction(
+                transaction.getBusiness().getId(),
+                transaction.getAccount().getId(),
+                transaction.getVendor() != null ? transaction.getVendor().getId() : null,
+                transaction.getPayee(),
+                transaction.getMemo(),
+                transaction.getPostedAt(),
+                transaction.getAmount(),
+                splits);
+        eventPublisher.publishEvent(new TransactionsCreatedEvent(created.businessId(),
+                List.of(transaction.getId()), List.of(created)));
+    }
+
+    /**
+     * @param transactionIds the generated ids, in the same order as {@code transactions}
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void transactionsInserted(List<NewTransaction> transactions, List<Long> transactionIds) {
+        accountBalanceService.recordNewTransactions(transactions);
+        categoryRollupService.recordNewTransactions(transactions);
+
+        Map<Long, TransactionsCreatedEvent> events = new LinkedHashMap<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            NewTransaction transaction = transactions.get(i);
+            TransactionsCreatedEvent event = events.computeIfAbsent(transaction.businessId(),
+                    businessId -> new TransactionsCreatedEvent(businessId, new ArrayList<>(), new ArrayList<>()));
+            event.transactionIds().add(transactionIds.get(i));
+            event.transactions().add(transaction);
+        }
+        events.values().forEach(event -> businessVersionService.recordChange(event.businessId(),
+                ChangeEntity.TRANSACTION, ChangeOperation.UPSERT, event.transactionIds()));
+        events.values().forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,80 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.repositories.AccountBalanceRepository;
+import com.jwctech.finance.repositories.LedgerReferenceRepository;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewSplit;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewTransaction;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Does the job of the ledger's foreign keys, which MySQL does not allow on partitioned tables. Write paths validate
+ * requests against the {@link ReferenceDataCache} snapshot first; this check repeats that against the primary inside
+ * the write transaction, so neither a stale snapshot nor a JDBC batch insert can leave rows pointing at an account,
+ * vendor or category that is gone.
+ * <p>
+ * Each account's balance row lock is taken first, in account order as {@link DuplicateDetector} does, so the check
+ * and the insert are not interleaved with another write to the same account. Accounts, vendors and categories are
+ * only deleted together with their business, after {@link BusinessDeletionService} has fenced off new writes.
+ */
+@Service
+public class LedgerReferenceGuard {
+
+    private final LedgerReferenceRepository ledgerReferenceRepository;
+    private final AccountBalanceRepository accountBalanceRepository;
+
+    public LedgerReferenceGuard(LedgerReferenceRepository ledgerReferenceRepository,
+                                AccountBalanceRepository accountBalanceRepository) {
+        this.ledgerReferenceRepository = ledgerReferenceRepository;
+        this.accountBalanceRepository = accountBalanceRepository;
+    }
+
+    /**
+     * Must run in the transaction that writes the rows, which all belong to one business.
+     *
+     * @throws ResponseStatusException with {@code 409} if a referenced account, vendor or category no longer exists
+     *                                 for the business
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void confirm(List<NewTransaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        Long businessId = transactions.get(0).businessId();
+        Set<Long> accountIds = new TreeSet<>();
+        Set<Long> vendorIds = new TreeSet<>();
+        Set<Long> categoryIds = new TreeSet<>();
+        for (NewTransaction transaction : transactions) {
+            if (!businessId.equals(transaction.businessId())) {
+                throw new IllegalArgumentException("Ledger writes must belong to a single business.");
+            }
+            accountIds.add(transaction.accountId());
+            if (transaction.vendorId() != null) {
+                vendorIds.add(transaction.vendorId());
+            }
+            for (NewSplit split : transaction.splits()) {
+                categoryIds.add(split.categoryId());
+            }
+        }
+
+        for (Long accountId : accountIds) {
+            accountBalanceRepository.createIfMissing(accountId, businessId);
+        }
+        if (!ledgerReferenceRepository.findExistingAccounts(businessId, accountIds).containsAll(accountIds)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Account no longer exists for this business.");
+        }
+        if (!ledgerReferenceRepository.findExistingVendors(businessId, vendorIds).containsAll(vendorIds)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Vendor no longer exists for this business.");
+        }
+        if (!ledgerReferenceRepository.findExistingCategories(businessId, categoryIds).containsAll(categoryIds)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Category no longer exists for this business.");
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.dto.ReconciliationDto;
+import com.jwctech.finance.dto.ReconciliationLineDto;
+import com.jwctech.finance.entities.ChangeEntity;
+import com.jwctech.finance.entities.ChangeOperation;
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.repositories.AccountBalanceRepository;
+import com.jwctech.finance.repositories.ReconciliationRepository;
+import com.jwctech.finance.repositories.ReconciliationRepository.NewReconciliation;
+import com.jwctech.finance.repositories.ReconciliationRepository.UnclearedTransaction;
+import com.jwctech.finance.services.imports.StatementFormat;
+import com.jwctech.finance.services.imports.StatementFormatException;
+import com.jwctech.finance.services.imports.StatementReader;
+import com.jwctech.finance.services.imports.StatementRow;
+import com.jwctech.finance.services.reconciliation.LedgerEntry;
+import com.jwctech.finance.services.reconciliation.ReconciliationMatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reconciles bank statements against an account's ledger. The account's uncleared transactions in the statement
+ * window are loaded once, matched in memory by {@link ReconciliationMatcher}, and the matched ones are marked cleared
+ * in the same transaction that stores the reconciliation and its unmatched lines.
+ */
+@Slf4j
+@Service
+public class ReconciliationService {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1_000;
+    private static final int MAX_PAYEE_LENGTH = 255;
+
+    private final ReferenceDataCache referenceDataCache;
+    private final ReconciliationRepository reconciliationRepository;
+    private final AccountBalanceRepository accountBalanceRepository;
+    private final BusinessVersionService businessVersionService;
+    private final TransactionTemplate transactionTemplate;
+    private final ReconciliationMatcher matcher;
+    private final int maxLines;
+    private final int maxPeriodDays;
+
+    public ReconciliationService(ReferenceDataCache referenceDataCache,
+                                 ReconciliationRepository reconciliationRepository,
+                                 AccountBalanceRepository accountBalanceRepository,
+                                 BusinessVersionService businessVersionService,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${finance.reconciliation.date-tolerance-days:3}") int dateToleranceDays,
+                                 @Value("${finance.reconciliation.amount-tolerance:0.00}") BigDecimal amountTolerance,
+                                 @Value("${finance.reconciliation.minimum-score:0.5}") double minimumScore,
+                                 @Value("${finance.reconciliation.max-lines:200000}") int maxLines,
+                                 @Value("${finance.reconciliation.max-period-days:366}") int maxPeriodDays) {
+        this.referenceDataCache = referenceDataCache;
+        this.reconciliationRepository = reconciliationRepository;
+        this.accountBalanceRepository = accountBalanceRepository;
+        this.businessVersionService = businessVersionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.matcher = new ReconciliationMatcher(dateToleranceDays, Money.of(amountTolerance), minimumScore);
+        this.maxLines = maxLines;
+        this.maxPeriodDays = maxPeriodDays;
+    }
+
+    public ReconciliationDto reconcile(Long businessId,
+                                       Long accountId,
+                                       MultipartFile file,
+                                       String format,
+                                       LocalDate periodStart,
+                                       LocalDate periodEnd) {
+        ensureAccountExistsForBusiness(accountId, businessId);
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A statement file is required.");
+        }
+        if (periodStart == null || periodEnd == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Statement period start and end are required.");
+        }
+        if (periodStart.isAfter(periodEnd)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Statement period start must not be after its end.");
+        }
+        if (ChronoUnit.DAYS.between(periodStart, periodEnd) >= maxPeriodDays) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Statement periods are limited to " + maxPeriodDays + " days.");
+        }
+
+        StatementFormat statementFormat;
+        try {
+            statementFormat = format != null && !format.isBlank()
+                    ? StatementFormat.fromString(format)
+                    : StatementFormat.fromFilename(file.getOriginalFilename());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        long started = System.nanoTime();
+        StatementLines statement = readStatement(file, statementFormat);
+        ReconciliationDto reconciliation = transactionTemplate.execute(status ->
+                reconcile(businessId, accountId, file.getOriginalFilename(), periodStart, periodEnd, statement));
+        log.info("Reconciled {} statement lines for account {} in {} ms: {} matched, {} unmatched",
+                reconciliation.linesRead(), accountId, (System.nanoTime() - started) / 1_000_000,
+                reconciliation.linesMatched(), reconciliation.linesUnmatched());
+        return reconciliation;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReconciliationDto> getReconciliations(Long businessId, Long accountId) {
+        ensureAccountExistsForBusiness(accountId, businessId);
+        return reconciliationRepository.findForAccount(accountId);
+    }
+
+    @Transactional(readOnly = true)
+    public ReconciliationDto getReconciliation(Long businessId, Long reconciliationId) {
+        return reconciliationRepository.find(businessId, reconciliationId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reconciliation not found."));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReconciliationLineDto> getUnmatchedLines(Long businessId,
+                                                         Long reconciliationId,
+                                                         Integer offset,
+                                                         Integer limit) {
+        int resolvedOffset = offset != null ? offset : 0;
+        if (resolvedOffset < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Offset must not be negative.");
+        }
+        int resolvedLimit = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (resolvedLimit < 1 || resolvedLimit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        ReconciliationDto reconciliation = getReconciliation(businessId, reconciliationId);
+        return reconciliationRepository.findUnmatchedLines(reconciliation.id(), resolvedOffset, resolvedLimit);
+    }
+
+    private ReconciliationDto reconcile(Long businessId,
+                                        Long accountId,
+                                        String fileName,
+                                        LocalDate periodStart,
+                                        LocalDate periodEnd,
+                                        StatementLines statement) {
+        // The balance row lock orders this against concurrent postings and reconciliations of the same account.
+        accountBalanceRepository.createIfMissing(accountId, businessId);
+
+        // Lines near the period edges may match transactions just outside it, by up to the date tolerance.
+        List<UnclearedTransaction> uncleared = reconciliationRepository.findUncleared(accountId,
+                periodStart.minusDays(matcher.dateToleranceDays()), periodEnd.plusDays(matcher.dateToleranceDays()));
+        List<LedgerEntry> ledger = new ArrayList<>(uncleared.size());
+        for (UnclearedTransaction transaction : uncleared) {
+            ledger.add(new LedgerEntry(transaction.id(), transaction.postedAt(), transaction.amount(),
+                    transaction.payee()));
+        }
+        int[] matches = matcher.match(ledger, statement.rows());
+
+        boolean[] cleared = new boolean[uncleared.size()];
+        List<UnclearedTransaction> toClear = new ArrayList<>();
+        List<ReconciliationLineDto> unmatched = new ArrayList<>();
+        long statementTotal = 0;
+        long clearedTotal = 0;
+        for (int line = 0; line < matches.length; line++) {
+            StatementRow row = statement.rows().get(line);
+            statementTotal = Math.addExact(statementTotal, row.amount().minorUnits());
+            if (matches[line] == ReconciliationMatcher.UNMATCHED) {
+                unmatched.add(new ReconciliationLineDto(row.lineNumber(), row.postedAt(), row.amount(),
+                        truncate(row.payee() != null ? row.payee() : row.memo())));
+            } else {
+                UnclearedTransaction transaction = uncleared.get(matches[line]);
+                cleared[matches[line]] = true;
+                toClear.add(transaction);
+                clearedTotal = Math.addExact(clearedTotal, transaction.amount().minorUnits());
+            }
+        }
+        long outstanding = 0;
+        for (int i = 0; i < uncleared.size(); i++) {
+            LocalDate postedAt = uncleared.get(i).postedAt();
+            if (!cleared[i] && !postedAt.isBefore(periodStart) && !postedAt.isAfter(periodEnd)) {
+                outstanding++;
+            }
+        }
+
+        NewReconciliation reconciliation = new NewReconciliation(
+                businessId,
+                accountId,
+                periodStart,
+                periodEnd,
+                fileName,
+                statement.rows().size() + statement.rejected(),
+                statement.rejected(),
+                toClear.size(),
+                unmatched.size(),
+                outstanding,
+                Money.ofMinor(statementTotal),
+                Money.ofMinor(clearedTotal),
+                Instant.now()
+        );
+        long reconciliationId = reconciliationRepository.insert(reconciliation);
+        reconciliationRepository.insertUnmatchedLines(reconciliationId, businessId, unmatched);
+        if (reconciliationRepository.markCleared(reconciliationId, toClear) != toClear.size()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Transactions of this account were cleared concurrently; retry the reconciliation.");
+        }
+        if (!toClear.isEmpty()) {
+            businessVersionService.recordChange(businessId, ChangeEntity.TRANSACTION, ChangeOperation.UPSERT,
+                    toClear.stream().map(UnclearedTransaction::id).toList());
+        }
+
+        return new ReconciliationDto(
+                reconciliationId,
+                businessId,
+                accountId,
+                periodStart,
+                periodEnd,
+                fileName,
+                reconciliation.linesRead(),
+                reconciliation.linesRejected(),
+                reconciliation.linesMatched(),
+                reconciliation.linesUnmatched(),
+                reconciliation.transactionsOutstanding(),
+                reconciliation.statementTotal(),
+                reconciliation.clearedTotal(),
+                reconciliation.createdAt()
+        );
+    }
+
+    /**
+     * Reads the whole statement; malformed rows and rows without a date or amount are counted and left out.
+     */
+    private StatementLines readStatement(MultipartFile file, StatementFormat format) {
+        List<StatementRow> rows = new ArrayList<>();
+        long rejected = 0;
+        try (StatementReader reader = format.open(new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)))) {
+            while (true) {
+                StatementRow row;
+                try {
+                    row = reader.next();
+                } catch (StatementFormatException e) {
+                    rejected++;
+                    continue;
+                }
+                if (row == null) {
+                    break;
+                }
+                if (row.postedAt() == null || row.amount() == null) {
+                    rejected++;
+                    continue;
+                }
+                if (rows.size() == maxLines) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Statements are limited to " + maxLines + " lines.");
+                }
+                rows.add(row);
+            }
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read statement file.", e);
+        }
+        return new StatementLines(rows, rejected);
+    }
+
+    private void ensureAccountExistsForBusiness(Long accountId, Long businessId) {
+        if (referenceDataCache.get(businessId, data -> data.account(accountId) != null).account(accountId) == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found for this business.");
+        }
+    }
+
+    private String truncate(String payee) {
+        return payee != null && payee.length() > MAX_PAYEE_LENGTH ? payee.substring(0, MAX_PAYEE_LENGTH) : payee;
+    }
+
+    private record StatementLines(List<StatementRow> rows, long rejected) {
+    }
+}
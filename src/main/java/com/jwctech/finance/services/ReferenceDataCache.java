@@ -0,0 +1,203 @@
+package com.jwctech.finance.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.jwctech.finance.dto.CategoryDto;
+import com.jwctech.finance.dto.ReferenceCacheStatsDto;
+import com.jwctech.finance.dto.VendorDto;
+import com.jwctech.finance.entities.Account;
+import com.jwctech.finance.entities.Category;
+import com.jwctech.finance.entities.CategoryKind;
+import com.jwctech.finance.entities.Vendor;
+import com.jwctech.finance.repositories.AccountRepository;
+import com.jwctech.finance.repositories.BusinessRepository;
+import com.jwctech.finance.repositories.BusinessVersionRepository;
+import com.jwctech.finance.repositories.CategoryRepository;
+import com.jwctech.finance.repositories.VendorRepository;
+import com.jwctech.finance.routing.ReadRouting;
+import com.jwctech.finance.services.BusinessReferenceData.AccountEntry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-process cache of {@link BusinessReferenceData} snapshots, so write-path validation and the category and
+ * vendor listings do not go to the database on every request.
+ */
+@Service
+public class ReferenceDataCache implements MeterBinder {
+
+    private final BusinessRepository businessRepository;
+    private final BusinessVersionRepository businessVersionRepository;
+    private final AccountRepository accountRepository;
+    private final CategoryRepository categoryRepository;
+    private final VendorRepository vendorRepository;
+    private final TransactionTemplate readTransactionTemplate;
+    private final Cache<Long, BusinessReferenceData> cache;
+
+    public ReferenceDataCache(BusinessRepository businessRepository,
+                              BusinessVersionRepository businessVersionRepository,
+                              AccountRepository accountRepository,
+                              CategoryRepository categoryRepository,
+                              VendorRepository vendorRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${finance.reference-cache.maximum-entries:200000}") long maximumEntries,
+                              @Value("${finance.reference-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.businessRepository = businessRepository;
+        this.businessVersionRepository = businessVersionRepository;
+        this.accountRepository = accountRepository;
+        this.categoryRepository = categoryRepository;
+        this.vendorRepository = vendorRepository;
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setReadOnly(true);
+        // Weighted by entry count so a handful of very large businesses cannot crowd out the heap.
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumEntries)
+                .weigher((Long businessId, BusinessReferenceData data) -> data.size() + 1)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the snapshot for a business, loading it on a miss.
+     *
+     * @throws ResponseStatusException 404 if the business does not exist; the miss is not cached
+     */
+    public BusinessReferenceData get(Long businessId) {
+        // Snapshots are only refreshed by invalidation, so they must never be loaded from a lagging replica.
+        return cache.get(businessId, id -> ReadRouting.onPrimary(() -> load(id)));
+    }
+
+    /**
+     * Returns the snapshot for a business, reloading it once from the primary if the cached one fails
+     * {@code hasReferences}. Invalidation is local to this instance, so a snapshot can predate accounts, categories
+     * and vendors created through another one; write-path validation uses this before rejecting an id as unknown.
+     *
+     * @throws ResponseStatusException 404 if the business does not exist; the miss is not cached
+     */
+    public BusinessReferenceData get(Long businessId, Predicate<BusinessReferenceData> hasReferences) {
+        BusinessReferenceData data = get(businessId);
+        if (hasReferences.test(data)) {
+            return data;
+        }
+        // Only drop the snapshot that was checked, not a newer one another thread has loaded meanwhile.
+        cache.asMap().remove(businessId, data);
+        return get(businessId);
+    }
+
+    /**
+     * Drops the business's snapshot now and again once the surrounding transaction completes. The second eviction
+     * discards any snapshot loaded by a concurrent reader before the write committed; an in-flight load of the same
+     * key finishes before the eviction applies, so it cannot survive it.
+     */
+    public void invalidate(Long businessId) {
+        cache.invalidate(businessId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(businessId);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "reference-data");
+    }
+
+    public ReferenceCacheStatsDto stats() {
+        CacheStats stats = cache.stats();
+        return new ReferenceCacheStatsDto(
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.loadCount(),
+                stats.loadFailureCount(),
+                stats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1),
+                stats.evictionCount(),
+                stats.evictionWeight()
+        );
+    }
+
+    private BusinessReferenceData load(Long businessId) {
+        return readTransactionTemplate.execute(status -> {
+            if (!businessRepository.existsById(businessId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found.");
+            }
+
+            long version = businessVersionRepository.findVersion(businessId);
+            Map<Long, AccountEntry> accounts = new LinkedHashMap<>();
+            for (Account account : accountRepository.findByBusiness_IdOrderByNameAsc(businessId)) {
+                accounts.put(account.getId(), new AccountEntry(account.getId(), account.getName(), account.getAccountType()));
+            }
+            Map<Long, CategoryDto> categories = new LinkedHashMap<>();
+            for (Category category : categoryRepository.findByBusiness_IdOrderByNameAsc(businessId)) {
+                categories.put(category.getId(), toCategoryDto(category, businessId));
+            }
+            Map<Long, VendorDto> vendors = new LinkedHashMap<>();
+            for (Vendor vendor : vendorRepository.findByBusiness_IdOrderByNameAsc(businessId)) {
+                vendors.put(vendor.getId(), toVendorDto(vendor, businessId));
+            }
+
+            return new BusinessReferenceData(
+                    businessId,
+                    version,
+                    Collections.unmodifiableMap(accounts),
+                    List.copyOf(categories.values()),
+                    Collections.unmodifiableMap(categories),
+                    List.copyOf(vendors.values()),
+                    Collections.unmodifiableMap(vendors)
+            );
+        });
+    }
+
+    private CategoryDto toCategoryDto(Category category, Long businessId) {
+        Long parentCategoryId = category.getParentCategory() != null
+                ? category.getParentCategory().getId()
+                : null;
+        return new CategoryDto(
+                category.getId(),
+                category.getName(),
+                category.getDescription(),
+                businessId,
+                parentCategoryId,
+                category.getKind() != null ? CategoryKind.fromString(category.getKind()) : CategoryKind.OTHER,
+                category.isActive()
+        );
+    }
+
+    private VendorDto toVendorDto(Vendor vendor, Long businessId) {
+        return new VendorDto(
+                vendor.getId(),
+                businessId,
+                vendor.getName(),
+                vendor.getContactName(),
+                vendor.getEmail(),
+                vendor.getPhone(),
+                vendor.isActive(),
+                vendor.getCreatedAt(),
+                vendor.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,114 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.dto.ProfitAndLossCategoryDto;
+import com.jwctech.finance.dto.ProfitAndLossDto;
+import com.jwctech.finance.dto.ProfitAndLossMonthDto;
+import com.jwctech.finance.entities.Category;
+import com.jwctech.finance.entities.CategoryKind;
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.repositories.BusinessRepository;
+import com.jwctech.finance.repositories.CategoryRepository;
+import com.jwctech.finance.repositories.CategoryRollupRepository;
+import com.jwctech.finance.repositories.CategoryRollupRepository.CategoryTotal;
+import com.jwctech.finance.repositories.CategoryRollupRepository.MonthlyKindTotal;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ReportService {
+
+    private final BusinessRepository businessRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryRollupRepository categoryRollupRepository;
+
+    public ReportService(BusinessRepository businessRepository,
+                         CategoryRepository categoryRepository,
+                         CategoryRollupRepository categoryRollupRepository) {
+        this.businessRepository = businessRepository;
+        this.categoryRepository = categoryRepository;
+        this.categoryRollupRepository = categoryRollupRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public ProfitAndLossDto getProfitAndLoss(Long businessId, LocalDate from, LocalDate to) {
+        if (!businessRepository.existsById(businessId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found.");
+        }
+        if (from == null || to == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Report start and end dates are required.");
+        }
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Report start date must not be after its end date.");
+        }
+
+        Map<Long, Category> categoriesById = categoryRepository.findByBusiness_IdOrderByNameAsc(businessId)
+                .stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        long income = 0;
+        long expense = 0;
+        List<ProfitAndLossCategoryDto> categories = new ArrayList<>();
+        for (CategoryTotal total : categoryRollupRepository.findTotalsByCategory(businessId, from, to)) {
+            Category category = categoriesById.get(total.categoryId());
+            CategoryKind kind = category != null ? CategoryKind.fromString(category.getKind()) : CategoryKind.OTHER;
+            if (kind == CategoryKind.INCOME) {
+                income = Math.addExact(income, total.total().minorUnits());
+            } else if (kind == CategoryKind.EXPENSE) {
+                expense = Math.addExact(expense, total.total().minorUnits());
+            }
+            categories.add(new ProfitAndLossCategoryDto(
+                    total.categoryId(),
+                    category != null ? category.getName() : null,
+                    kind,
+                    total.total(),
+                    total.splitCount()
+            ));
+        }
+        categories.sort(Comparator.comparing(ProfitAndLossCategoryDto::kind)
+                .thenComparing(ProfitAndLossCategoryDto::name, Comparator.nullsLast(String::compareToIgnoreCase)));
+
+        Map<YearMonth, long[]> monthly = new TreeMap<>();
+        for (MonthlyKindTotal total : categoryRollupRepository.findTotalsByMonthAndKind(businessId, from, to)) {
+            long[] incomeAndExpense = monthly.computeIfAbsent(YearMonth.of(total.year(), total.month()),
+                    month -> new long[2]);
+            CategoryKind kind = CategoryKind.fromString(total.kind());
+            if (kind == CategoryKind.INCOME) {
+                incomeAndExpense[0] = Math.addExact(incomeAndExpense[0], total.total().minorUnits());
+            } else if (kind == CategoryKind.EXPENSE) {
+                incomeAndExpense[1] = Math.addExact(incomeAndExpense[1], total.total().minorUnits());
+            }
+        }
+        List<ProfitAndLossMonthDto> months = monthly.entrySet()
+                .stream()
+                .map(entry -> new ProfitAndLossMonthDto(
+                        entry.getKey(),
+                        Money.ofMinor(entry.getValue()[0]),
+                        Money.ofMinor(entry.getValue()[1]),
+                        Money.ofMinor(Math.addExact(entry.getValue()[0], entry.getValue()[1]))))
+                .collect(Collectors.toList());
+
+        // Split amounts are signed (outflows negative), so net income is the plain sum of both kinds.
+        return new ProfitAndLossDto(businessId, from, to, Money.ofMinor(income), Money.ofMinor(expense),
+                Money.ofMinor(Math.addExact(income, expense)), categories, months);
+    }
+
+    @Transactional
+    public void rebuildCategoryRollups(Long businessId) {
+        if (!businessRepository.existsById(businessId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found.");
+        }
+        categoryRollupRepository.rebuild(businessId);
+    }
+}
@@ -0,0 +1,308 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.dto.CategoryDto;
+import com.jwctech.finance.dto.ImportJobDto;
+import com.jwctech.finance.dto.VendorDto;
+import com.jwctech.finance.repositories.TransactionBatchRepository;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewSplit;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewTransaction;
+import com.jwctech.finance.repositories.TransactionFingerprintRepository;
+import com.jwctech.finance.services.imports.ImportJob;
+import com.jwctech.finance.services.imports.StatementFormat;
+import com.jwctech.finance.services.imports.StatementFormatException;
+import com.jwctech.finance.services.imports.StatementReader;
+import com.jwctech.finance.services.imports.StatementRow;
+import com.jwctech.finance.services.rules.CompiledRuleSet;
+import com.jwctech.finance.services.rules.RuleMatch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+public class StatementImportService {
+
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+    private static final int MAX_PAYEE_LENGTH = 255;
+
+    private final ReferenceDataCache referenceDataCache;
+    private final CategorizationRuleService categorizationRuleService;
+    private final BusinessDeletionService businessDeletionService;
+    private final TransactionBatchRepository transactionBatchRepository;
+    private final LedgerProjectionService ledgerProjectionService;
+    private final DuplicateDetector duplicateDetector;
+    private final TransactionFingerprintRepository transactionFingerprintRepository;
+    private final LedgerReferenceGuard ledgerReferenceGuard;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor importTaskExecutor;
+    private final int chunkSize;
+    private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public StatementImportService(ReferenceDataCache referenceDataCache,
+                                  CategorizationRuleService categorizationRuleService,
+                                  BusinessDeletionService businessDeletionService,
+                                  TransactionBatchRepository transactionBatchRepository,
+                                  LedgerProjectionService ledgerProjectionService,
+                                  DuplicateDetector duplicateDetector,
+                                  TransactionFingerprintRepository transactionFingerprintRepository,
+                                  LedgerReferenceGuard ledgerReferenceGuard,
+                                  PlatformTransactionManager transactionManager,
+                                  @Qualifier("importTaskExecutor") TaskExecutor importTaskExecutor,
+                                  @Value("${finance.imports.chunk-size:5000}") int chunkSize) {
+        this.referenceDataCache = referenceDataCache;
+        this.categorizationRuleService = categorizationRuleService;
+        this.businessDeletionService = businessDeletionService;
+        this.transactionBatchRepository = transactionBatchRepository;
+        this.ledgerProjectionService = ledgerProjectionService;
+        this.duplicateDetector = duplicateDetector;
+        this.transactionFingerprintRepository = transactionFingerprintRepository;
+        this.ledgerReferenceGuard = ledgerReferenceGuard;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importTaskExecutor = importTaskExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportJobDto startImport(Long businessId,
+                                    Long accountId,
+                                    MultipartFile file,
+                                    String format,
+                                    Long defaultCategoryId,
+                                    DuplicatePolicy duplicates) {
+        BusinessReferenceData referenceData = referenceDataCache.get(businessId, data -> data.account(accountId) != null
+                && (defaultCategoryId == null || data.category(defaultCategoryId) != null));
+        if (referenceData.account(accountId) == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found for this business.");
+        }
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A statement file is required.");
+        }
+        if (defaultCategoryId != null && referenceData.category(defaultCategoryId) == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Default category not found for this business.");
+        }
+
+        StatementFormat statementFormat;
+        try {
+            statementFormat = format != null && !format.isBlank()
+                    ? StatementFormat.fromString(format)
+                    : StatementFormat.fromFilename(file.getOriginalFilename());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        // The multipart upload is removed when the request completes, so buffer it for the worker.
+        Path statementPath;
+        try {
+            statementPath = Files.createTempFile("statement-import-", "." + statementFormat.name().toLowerCase(Locale.ROOT));
+            file.transferTo(statementPath);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Could not buffer statement file.", e);
+        }
+
+        ImportJob job = new ImportJob(businessId, accountId, file.getOriginalFilename(), statementFormat, duplicates);
+        evictFinishedJobs();
+        jobs.put(job.getId(), job);
+        try {
+            importTaskExecutor.execute(() -> runImport(job, statementPath, defaultCategoryId));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            deleteQuietly(statementPath);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many imports are queued; retry later.");
+        }
+        return job.toDto();
+    }
+
+    public ImportJobDto getImport(Long businessId, UUID jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null || !job.getBusinessId().equals(businessId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Import not found.");
+        }
+        return job.toDto();
+    }
+
+    private void runImport(ImportJob job, Path statementPath, Long defaultCategoryId) {
+        job.markRunning();
+        try (StatementReader reader = job.getFormat().open(Files.newBufferedReader(statementPath, StandardCharsets.UTF_8))) {
+            ImportLookups lookups = loadLookups(job.getBusinessId());
+            List<NewTransaction> chunk = new ArrayList<>(chunkSize);
+            while (true) {
+                StatementRow row;
+                try {
+                    row = reader.next();
+                } catch (StatementFormatException e) {
+                    job.recordRead();
+                    job.recordError(e.getLineNumber(), e.getMessage());
+                    continue;
+                }
+                if (row == null) {
+                    break;
+                }
+                job.recordRead();
+
+                NewTransaction transaction = toNewTransaction(job, row, lookups, defaultCategoryId);
+                if (transaction != null) {
+                    chunk.add(transaction);
+                    if (chunk.size() >= chunkSize) {
+                        writeChunk(job, chunk);
+                    }
+                }
+            }
+            writeChunk(job, chunk);
+            job.markCompleted();
+        } catch (Exception e) {
+            log.error("Statement import {} for business {} failed", job.getId(), job.getBusinessId(), e);
+            job.markFailed(e.getMessage());
+        } finally {
+            deleteQuietly(statementPath);
+        }
+    }
+
+    private NewTransaction toNewTransaction(ImportJob job, StatementRow row, ImportLookups lookups, Long defaultCategoryId) {
+        String payee = row.payee() != null ? row.payee() : row.memo();
+        if (payee == null) {
+            job.recordError(row.lineNumber(), "Payee is required.");
+            return null;
+        }
+        if (payee.length() > MAX_PAYEE_LENGTH) {
+            job.recordError(row.lineNumber(), "Payee must be at most " + MAX_PAYEE_LENGTH + " characters.");
+            return null;
+        }
+        if (row.amount() == null) {
+            job.recordError(row.lineNumber(), "Transaction amount is required.");
+            return null;
+        }
+
+        // Values given on the row win over categorization rules, which win over the import's default category.
+        RuleMatch match = row.category() == null || row.vendor() == null
+                ? lookups.rules().match(payee, row.amount(), job.getAccountId())
+                : null;
+
+        List<NewSplit> splits;
+        if (row.category() != null) {
+            Long categoryId = lookups.categories().get(lookupKey(row.category()));
+            if (categoryId == null) {
+                job.recordError(row.lineNumber(), "Category not found for this business: " + row.category());
+                return null;
+            }
+            splits = List.of(new NewSplit(categoryId, row.amount(), null));
+        } else if (match != null) {
+            splits = match.allocate(row.amount());
+        } else if (defaultCategoryId != null) {
+            splits = List.of(new NewSplit(defaultCategoryId, row.amount(), null));
+        } else {
+            job.recordError(row.lineNumber(), "Split category is required.");
+            return null;
+        }
+
+        Long vendorId = match != null ? match.vendorId() : null;
+        if (row.vendor() != null) {
+            vendorId = lookups.vendors().get(lookupKey(row.vendor()));
+            if (vendorId == null) {
+                job.recordError(row.lineNumber(), "Vendor not found for this business: " + row.vendor());
+                return null;
+            }
+        }
+
+        return new NewTransaction(
+                job.getBusinessId(),
+                job.getAccountId(),
+                vendorId,
+                payee,
+                row.payee() != null ? row.memo() : null,
+                row.postedAt(),
+                row.amount(),
+                splits
+        );
+    }
+
+    private void writeChunk(ImportJob job, List<NewTransaction> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        if (businessDeletionService.isDeleting(job.getBusinessId())) {
+            throw new IllegalStateException("Business is being deleted.");
+        }
+        DuplicatePolicy duplicates = job.getDuplicates();
+        int[] skippedAndFlagged = transactionTemplate.execute(status -> {
+            ledgerReferenceGuard.confirm(chunk);
+            List<Long> duplicateOf = duplicates != DuplicatePolicy.FORCE
+                    ? duplicateDetector.findDuplicates(chunk)
+                    : Collections.nCopies(chunk.size(), null);
+            List<NewTransaction> inserted = new ArrayList<>(chunk.size());
+            List<Integer> flagged = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                if (duplicateOf.get(i) == null) {
+                    inserted.add(chunk.get(i));
+                } else if (duplicates == DuplicatePolicy.FLAG) {
+                    flagged.add(inserted.size());
+                    inserted.add(chunk.get(i));
+                }
+            }
+            List<Long> ids = transactionBatchRepository.insertAll(inserted);
+            transactionFingerprintRepository.markPossibleDuplicates(flagged.stream().map(ids::get).toList());
+            ledgerProjectionService.transactionsInserted(inserted, ids);
+            return new int[]{chunk.size() - inserted.size(), flagged.size()};
+        });
+        job.recordImported(chunk.size() - skippedAndFlagged[0]);
+        job.recordSkipped(skippedAndFlagged[0]);
+        job.recordFlagged(skippedAndFlagged[1]);
+        chunk.clear();
+    }
+
+    private ImportLookups loadLookups(Long businessId) {
+        BusinessReferenceData referenceData = referenceDataCache.get(businessId);
+        Map<String, Long> categories = new HashMap<>();
+        for (CategoryDto category : referenceData.categories()) {
+            categories.put(lookupKey(category.name()), category.id());
+            categories.putIfAbsent(category.id().toString(), category.id());
+        }
+        Map<String, Long> vendors = new HashMap<>();
+        for (VendorDto vendor : referenceData.vendors()) {
+            vendors.put(lookupKey(vendor.name()), vendor.id());
+            vendors.putIfAbsent(vendor.id().toString(), vendor.id());
+        }
+        return new ImportLookups(categories, vendors, categorizationRuleService.ruleSet(businessId));
+    }
+
+    private String lookupKey(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete buffered statement {}", path, e);
+        }
+    }
+
+    private record ImportLookups(Map<String, Long> categories, Map<String, Long> vendors, CompiledRuleSet rules) {
+    }
+}
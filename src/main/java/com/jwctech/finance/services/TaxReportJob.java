@@ -0,0 +1,90 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.dto.TaxReportJobDto;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of one tax-year report. Updated by the report worker and its month slices, read by status polls.
+ */
+public class TaxReportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final UUID id = UUID.randomUUID();
+    private final Long businessId;
+    private final int taxYear;
+    private final Instant createdAt = Instant.now();
+    private final AtomicInteger monthsAggregated = new AtomicInteger();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile String failureReason;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    public TaxReportJob(Long businessId, int taxYear) {
+        this.businessId = businessId;
+        this.taxYear = taxYear;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Long getBusinessId() {
+        return businessId;
+    }
+
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void markRunning() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    public void markCompleted() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    public void markFailed(String reason) {
+        failureReason = reason;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    public void recordMonthAggregated() {
+        monthsAggregated.incrementAndGet();
+    }
+
+    public TaxReportJobDto toDto() {
+        return new TaxReportJobDto(
+                id,
+                businessId,
+                taxYear,
+                status.name(),
+                monthsAggregated.get(),
+                failureReason,
+                createdAt,
+                startedAt,
+                finishedAt
+        );
+    }
+}
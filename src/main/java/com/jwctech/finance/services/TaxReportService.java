@@ -0,0 +1,256 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.dto.CategoryDto;
+import com.jwctech.finance.dto.TaxReportDto;
+import com.jwctech.finance.dto.TaxReportJobDto;
+import com.jwctech.finance.dto.TaxReportKindTotalDto;
+import com.jwctech.finance.dto.TaxReportLineDto;
+import com.jwctech.finance.entities.CategoryKind;
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.repositories.BusinessVersionRepository;
+import com.jwctech.finance.repositories.CategoryRollupRepository;
+import com.jwctech.finance.repositories.CategoryRollupRepository.CategoryTotal;
+import com.jwctech.finance.repositories.TaxReportRepository;
+import com.jwctech.finance.repositories.TaxReportRepository.StoredLine;
+import com.jwctech.finance.repositories.TaxReportRepository.StoredReport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Year-end (Schedule C) reports, generated in the background and stored so repeated requests are served from the
+ * stored copy. A year is aggregated as twelve monthly slices of the daily category rollups, run in parallel on a
+ * bounded fork/join pool. At most one job per business and year runs at a time; requests arriving meanwhile join it.
+ */
+@Slf4j
+@Service
+public class TaxReportService {
+
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+    private static final int FIRST_TAX_YEAR = 1900;
+
+    private final ReferenceDataCache referenceDataCache;
+    private final BusinessVersionRepository businessVersionRepository;
+    private final CategoryRollupRepository categoryRollupRepository;
+    private final TaxReportRepository taxReportRepository;
+    private final BusinessDeletionService businessDeletionService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taxReportTaskExecutor;
+    private final ForkJoinPool taxReportForkJoinPool;
+    private final Map<UUID, TaxReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<ReportKey, TaxReportJob> activeJobs = new ConcurrentHashMap<>();
+
+    public TaxReportService(ReferenceDataCache referenceDataCache,
+                            BusinessVersionRepository businessVersionRepository,
+                            CategoryRollupRepository categoryRollupRepository,
+                            TaxReportRepository taxReportRepository,
+                            BusinessDeletionService businessDeletionService,
+                            PlatformTransactionManager transactionManager,
+                            @Qualifier("taxReportTaskExecutor") TaskExecutor taxReportTaskExecutor,
+                            @Qualifier("taxReportForkJoinPool") ForkJoinPool taxReportForkJoinPool) {
+        this.referenceDataCache = referenceDataCache;
+        this.businessVersionRepository = businessVersionRepository;
+        this.categoryRollupRepository = categoryRollupRepository;
+        this.taxReportRepository = taxReportRepository;
+        this.businessDeletionService = businessDeletionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taxReportTaskExecutor = taxReportTaskExecutor;
+        this.taxReportForkJoinPool = taxReportForkJoinPool;
+    }
+
+    /**
+     * Starts generating the report, or returns the job already generating it. If the stored report is still current
+     * the returned job is already completed and nothing is run.
+     */
+    public TaxReportJobDto requestReport(Long businessId, int taxYear) {
+        validateTaxYear(taxYear);
+        referenceDataCache.get(businessId);
+
+        ReportKey key = new ReportKey(businessId, taxYear);
+        TaxReportJob active = activeJobs.get(key);
+        if (active != null) {
+            return active.toDto();
+        }
+
+        evictFinishedJobs();
+        TaxReportJob job = new TaxReportJob(businessId, taxYear);
+        Optional<StoredReport> stored = taxReportRepository.findReport(businessId, taxYear);
+        if (stored.isPresent() && stored.get().businessVersion() == businessVersionRepository.findVersion(businessId)) {
+            job.markCompleted();
+            jobs.put(job.getId(), job);
+            return job.toDto();
+        }
+
+        active = activeJobs.putIfAbsent(key, job);
+        if (active != null) {
+            return active.toDto();
+        }
+        jobs.put(job.getId(), job);
+        try {
+            taxReportTaskExecutor.execute(() -> generate(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            activeJobs.remove(key, job);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many reports are queued; retry later.");
+        }
+        return job.toDto();
+    }
+
+    public TaxReportJobDto getJob(Long businessId, UUID jobId) {
+        TaxReportJob job = jobs.get(jobId);
+        if (job == null || !job.getBusinessId().equals(businessId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Tax report job not found.");
+        }
+        return job.toDto();
+    }
+
+    @Transactional(readOnly = true)
+    public TaxReportDto getReport(Long businessId, int taxYear) {
+        validateTaxYear(taxYear);
+        StoredReport report = taxReportRepository.findReport(businessId, taxYear)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "No tax report has been generated for this business and year."));
+
+        Map<CategoryKind, TaxReportKindTotalDto> kinds = new EnumMap<>(CategoryKind.class);
+        List<TaxReportLineDto> categories = new ArrayList<>();
+        for (StoredLine line : taxReportRepository.findLines(businessId, taxYear)) {
+            CategoryKind kind = CategoryKind.fromString(line.kind());
+            categories.add(new TaxReportLineDto(line.categoryId(), line.categoryName(), kind, line.total(),
+                    line.splitCount()));
+            kinds.merge(kind, new TaxReportKindTotalDto(kind, line.total(), line.splitCount()),
+                    (left, right) -> new TaxReportKindTotalDto(kind, left.total().plus(right.total()),
+                            left.splitCount() + right.splitCount()));
+        }
+        return new TaxReportDto(
+                businessId,
+                taxYear,
+                report.businessVersion(),
+                report.businessVersion() == businessVersionRepository.findVersion(businessId),
+                report.generatedAt(),
+                report.income(),
+                report.expense(),
+                report.net(),
+                List.copyOf(kinds.values()),
+                categories
+        );
+    }
+
+    private void generate(TaxReportJob job) {
+        Long businessId = job.getBusinessId();
+        job.markRunning();
+        try {
+            // Read before the slices, so a write racing with them leaves the stored report visibly out of date.
+            long version = businessVersionRepository.findVersion(businessId);
+            Map<Long, CategoryTotal> totals = taxReportForkJoinPool.invoke(
+                    new MonthSlices(job, YearMonth.of(job.getTaxYear(), 1), 12));
+
+            BusinessReferenceData referenceData = referenceDataCache.get(businessId);
+            long income = 0;
+            long expense = 0;
+            List<StoredLine> lines = new ArrayList<>(totals.size());
+            for (CategoryTotal total : totals.values()) {
+                CategoryDto category = referenceData.category(total.categoryId());
+                CategoryKind kind = category != null && category.kind() != null ? category.kind() : CategoryKind.OTHER;
+                if (kind == CategoryKind.INCOME) {
+                    income = Math.addExact(income, total.total().minorUnits());
+                } else if (kind == CategoryKind.EXPENSE) {
+                    expense = Math.addExact(expense, total.total().minorUnits());
+                }
+                lines.add(new StoredLine(total.categoryId(), category != null ? category.name() : null, kind.name(),
+                        total.total(), total.splitCount()));
+            }
+
+            if (businessDeletionService.isDeleting(businessId)) {
+                throw new IllegalStateException("Business is being deleted.");
+            }
+            // Split amounts are signed (outflows negative), so net income is the plain sum of both kinds.
+            StoredReport report = new StoredReport(businessId, job.getTaxYear(), version, Money.ofMinor(income),
+                    Money.ofMinor(expense), Money.ofMinor(Math.addExact(income, expense)), Instant.now());
+            transactionTemplate.executeWithoutResult(status -> taxReportRepository.save(report, lines));
+            job.markCompleted();
+        } catch (Exception e) {
+            log.error("Tax report {} for business {} failed", job.getTaxYear(), businessId, e);
+            job.markFailed(e.getMessage());
+        } finally {
+            activeJobs.remove(new ReportKey(businessId, job.getTaxYear()), job);
+        }
+    }
+
+    private void validateTaxYear(int taxYear) {
+        int currentYear = Year.now().getValue();
+        if (taxYear < FIRST_TAX_YEAR || taxYear > currentYear) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Tax year must be between " + FIRST_TAX_YEAR + " and " + currentYear + ".");
+        }
+    }
+
+    private void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private static Map<Long, CategoryTotal> merge(Map<Long, CategoryTotal> left, Map<Long, CategoryTotal> right) {
+        right.forEach((categoryId, total) -> left.merge(categoryId, total, (a, b) ->
+                new CategoryTotal(categoryId, a.total().plus(b.total()), a.splitCount() + b.splitCount())));
+        return left;
+    }
+
+    private record ReportKey(Long businessId, int taxYear) {
+    }
+
+    /**
+     * Totals per category over {@code months} consecutive months, halved until each task covers a single month.
+     */
+    private final class MonthSlices extends RecursiveTask<Map<Long, CategoryTotal>> {
+
+        private final TaxReportJob job;
+        private final YearMonth first;
+        private final int months;
+
+        private MonthSlices(TaxReportJob job, YearMonth first, int months) {
+            this.job = job;
+            this.first = first;
+            this.months = months;
+        }
+
+        @Override
+        protected Map<Long, CategoryTotal> compute() {
+            if (months == 1) {
+                Map<Long, CategoryTotal> totals = new HashMap<>();
+                for (CategoryTotal total : categoryRollupRepository.findTotalsByCategory(job.getBusinessId(),
+                        first.atDay(1), first.atEndOfMonth())) {
+                    totals.put(total.categoryId(), total);
+                }
+                job.recordMonthAggregated();
+                return totals;
+            }
+            int half = months / 2;
+            MonthSlices earlier = new MonthSlices(job, first, half);
+            earlier.fork();
+            Map<Long, CategoryTotal> later = new MonthSlices(job, first.plusMonths(half), months - half).compute();
+            return merge(earlier.join(), later);
+        }
+    }
+}
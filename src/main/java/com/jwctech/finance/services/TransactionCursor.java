@@ -0,0 +1,44 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.dto.TransactionDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in the (posted_at DESC, created_at DESC, id DESC) ordering used by transaction listings.
+ */
+public record TransactionCursor(LocalDate postedAt, Instant createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TransactionCursor of(TransactionDto transaction) {
+        return new TransactionCursor(transaction.postedAt(), transaction.createdAt(), transaction.id());
+    }
+
+    public static TransactionCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value.trim()), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Unexpected cursor shape.");
+            }
+            return new TransactionCursor(LocalDate.parse(parts[0]), Instant.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor.");
+        }
+    }
+
+    public String encode() {
+        String raw = postedAt + SEPARATOR + createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,217 @@
+package com.jwctech.finance.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.jwctech.finance.dto.TransactionDto;
+import com.jwctech.finance.dto.TransactionExportRow;
+import com.jwctech.finance.dto.TransactionSplitDto;
+import com.jwctech.finance.repositories.BusinessRepository;
+import com.jwctech.finance.repositories.TransactionRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@Service
+public class TransactionExportService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int FLUSH_EVERY_ROWS = 1_000;
+
+    private static final String CSV_HEADER = String.join(",",
+            "transaction_id", "posted_at", "account_id", "account_name", "payee", "memo", "amount",
+            "vendor_id", "vendor_name", "split_id", "category_id", "split_amount", "split_memo",
+            "created_at", "updated_at");
+
+    private final TransactionRepository transactionRepository;
+    private final BusinessRepository businessRepository;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectWriter smileWriter;
+
+    public TransactionExportService(TransactionRepository transactionRepository,
+                                    BusinessRepository businessRepository,
+                                    ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.businessRepository = businessRepository;
+        this.ndjsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        // One generator writes the whole export, so each property name is written once and referred back to after.
+        this.smileWriter = objectMapper.copyWith(SmileFactory.builder()
+                        .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                        .build())
+                .writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Checked before the response starts, while a failure can still become an error status.
+     */
+    public void ensureExportable(Long businessId, LocalDate from, LocalDate to) {
+        if (!businessRepository.existsById(businessId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found.");
+        }
+        TransactionService.ensureValidRange(from, to);
+    }
+
+    /**
+     * Exports transactions posted between {@code from} and {@code to}, both inclusive and both optional. Without
+     * bounds every yearly partition of the ledger is read.
+     */
+    @Transactional(readOnly = true)
+    public void exportBusiness(Long businessId, LocalDate from, LocalDate to, ExportFormat format,
+                               OutputStream outputStream) throws IOException {
+        try (Stream<TransactionExportRow> rows = transactionRepository.streamExportRowsForBusiness(businessId,
+                from != null ? from : TransactionRepository.EARLIEST_POSTED,
+                to != null ? to : TransactionRepository.LATEST_POSTED)) {
+            switch (format) {
+                case CSV -> writeCsv(rows.iterator(), outputStream);
+                case NDJSON -> writeNdjson(businessId, rows.iterator(), outputStream);
+                case SMILE -> writeSmile(businessId, rows.iterator(), outputStream);
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<TransactionExportRow> rows, OutputStream outputStream) throws IOException {
+        Writer writer = textWriter(outputStream);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        int written = 0;
+        while (rows.hasNext()) {
+            TransactionExportRow row = rows.next();
+            writer.write(csvLine(row));
+            if (++written % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Long businessId, Iterator<TransactionExportRow> rows, OutputStream outputStream)
+            throws IOException {
+        Writer writer = textWriter(outputStream);
+        writeTransactions(businessId, rows, transaction -> {
+            ndjsonWriter.writeValue(writer, transaction);
+            writer.write('\n');
+        }, writer::flush);
+        writer.flush();
+    }
+
+    private void writeSmile(Long businessId, Iterator<TransactionExportRow> rows, OutputStream outputStream)
+            throws IOException {
+        OutputStream buffered = new BufferedOutputStream(outputStream, WRITE_BUFFER_SIZE);
+        try (SequenceWriter values = smileWriter.writeValues(buffered)) {
+            writeTransactions(businessId, rows, values::write, values::flush);
+        }
+        buffered.flush();
+    }
+
+    private void writeTransactions(Long businessId,
+                                   Iterator<TransactionExportRow> rows,
+                                   TransactionSink sink,
+                                   Flushable flushable) throws IOException {
+        // Rows arrive ordered by transaction, so a transaction's splits are always consecutive.
+        TransactionExportRow current = null;
+        List<TransactionSplitDto> splits = new ArrayList<>();
+        int written = 0;
+        while (rows.hasNext()) {
+            TransactionExportRow row = rows.next();
+            if (current != null && !Objects.equals(current.transactionId(), row.transactionId())) {
+                sink.write(toTransaction(businessId, current, splits));
+                splits = new ArrayList<>();
+                if (++written % FLUSH_EVERY_ROWS == 0) {
+                    flushable.flush();
+                }
+            }
+            current = row;
+            if (row.splitId() != null) {
+                splits.add(new TransactionSplitDto(row.categoryId(), row.splitAmount(), row.splitMemo()));
+            }
+        }
+        if (current != null) {
+            sink.write(toTransaction(businessId, current, splits));
+        }
+    }
+
+    private TransactionDto toTransaction(Long businessId, TransactionExportRow row, List<TransactionSplitDto> splits) {
+        return new TransactionDto(
+                row.transactionId(),
+                businessId,
+                row.accountId(),
+                row.accountName(),
+                row.payee(),
+                row.memo(),
+                row.postedAt(),
+                row.amount(),
+                row.cleared(),
+                row.possibleDuplicate(),
+                row.vendorId(),
+                row.vendorName(),
+                splits,
+                row.createdAt(),
+                row.updatedAt()
+        );
+    }
+
+    private Writer textWriter(OutputStream outputStream) {
+        return new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+    }
+
+    private String csvLine(TransactionExportRow row) {
+        return String.join(",",
+                csv(row.transactionId()),
+                csv(row.postedAt()),
+                csv(row.accountId()),
+                csv(row.accountName()),
+                csv(row.payee()),
+                csv(row.memo()),
+                csv(row.amount() != null ? row.amount().toString() : null),
+                csv(row.vendorId()),
+                csv(row.vendorName()),
+                csv(row.splitId()),
+                csv(row.categoryId()),
+                csv(row.splitAmount() != null ? row.splitAmount().toString() : null),
+                csv(row.splitMemo()),
+                csv(row.createdAt()),
+                csv(row.updatedAt())) + "\n";
+    }
+
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface TransactionSink {
+
+        void write(TransactionDto transaction) throws IOException;
+    }
+}
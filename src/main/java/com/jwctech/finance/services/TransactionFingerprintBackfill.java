@@ -0,0 +1,66 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.repositories.TransactionFingerprintRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fingerprints transactions written before fingerprints existed, in committed chunks on a background thread. Every
+ * write path fingerprints new rows itself, so once a pass finds nothing left there never will be again; a pass that
+ * did work drops the loaded duplicate filters, which were built without those rows.
+ */
+@Slf4j
+@Service
+public class TransactionFingerprintBackfill {
+
+    private final TransactionFingerprintRepository transactionFingerprintRepository;
+    private final DuplicateDetector duplicateDetector;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor backfillTaskExecutor;
+    private final int chunkSize;
+
+    public TransactionFingerprintBackfill(TransactionFingerprintRepository transactionFingerprintRepository,
+                                          DuplicateDetector duplicateDetector,
+                                          PlatformTransactionManager transactionManager,
+                                          @Qualifier("fingerprintBackfillTaskExecutor") TaskExecutor backfillTaskExecutor,
+                                          @Value("${finance.duplicates.backfill-chunk-size:5000}") int chunkSize) {
+        this.transactionFingerprintRepository = transactionFingerprintRepository;
+        this.duplicateDetector = duplicateDetector;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillTaskExecutor = backfillTaskExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        backfillTaskExecutor.execute(this::backfill);
+    }
+
+    private void backfill() {
+        long afterId = 0;
+        try {
+            while (true) {
+                long from = afterId;
+                Long lastId = transactionTemplate.execute(status ->
+                        transactionFingerprintRepository.fingerprintAfter(from, chunkSize));
+                if (lastId == null || lastId == from) {
+                    break;
+                }
+                afterId = lastId;
+            }
+        } catch (RuntimeException e) {
+            log.error("Fingerprint backfill stopped after transaction {}", afterId, e);
+        }
+        if (afterId > 0) {
+            log.info("Fingerprinted existing transactions up to id {}", afterId);
+            duplicateDetector.invalidateAll();
+        }
+    }
+}
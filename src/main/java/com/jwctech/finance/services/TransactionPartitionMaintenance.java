@@ -0,0 +1,88 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.repositories.TransactionPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Year;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps a yearly partition ready ahead of the calendar for both ledger tables, so new postings never land in the
+ * catch-all {@code pmax} partition and splitting a year off it never has rows to move. Does nothing unless the tables
+ * are actually partitioned, which only the MySQL migrations do.
+ */
+@Slf4j
+@Service
+public class TransactionPartitionMaintenance {
+
+    private static final List<String> PARTITIONED_TABLES = List.of("transactions", "transaction_splits");
+    private static final Pattern YEAR_PARTITION = Pattern.compile("p(\\d{4})");
+
+    private final TransactionPartitionRepository transactionPartitionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int yearsAhead;
+
+    public TransactionPartitionMaintenance(TransactionPartitionRepository transactionPartitionRepository,
+                                           JdbcTemplate jdbcTemplate,
+                                           @Value("${finance.partitions.years-ahead:1}") int yearsAhead) {
+        this.transactionPartitionRepository = transactionPartitionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.yearsAhead = yearsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+        ensurePartitions();
+    }
+
+    @Scheduled(cron = "${finance.partitions.maintenance-cron:0 15 3 * * *}")
+    public void ensurePartitions() {
+        if (!isMySql()) {
+            return;
+        }
+        int throughYear = Year.now().getValue() + yearsAhead;
+        for (String table : PARTITIONED_TABLES) {
+            try {
+                ensurePartitions(table, throughYear);
+            } catch (RuntimeException e) {
+                log.error("Could not extend partitions of {} through {}", table, throughYear, e);
+            }
+        }
+    }
+
+    private void ensurePartitions(String table, int throughYear) {
+        List<String> partitions = transactionPartitionRepository.findPartitionNames(table);
+        if (!partitions.contains(TransactionPartitionRepository.MAXVALUE_PARTITION)) {
+            return;
+        }
+        int newestYear = Integer.MIN_VALUE;
+        for (String partition : partitions) {
+            Matcher matcher = YEAR_PARTITION.matcher(partition);
+            if (matcher.matches()) {
+                newestYear = Math.max(newestYear, Integer.parseInt(matcher.group(1)));
+            }
+        }
+        if (newestYear == Integer.MIN_VALUE) {
+            return;
+        }
+        for (int year = newestYear + 1; year <= throughYear; year++) {
+            transactionPartitionRepository.addYearPartition(table, year);
+            log.info("Added partition p{} to {}", year, table);
+        }
+    }
+
+    private boolean isMySql() {
+        ConnectionCallback<String> productName = connection -> connection.getMetaData().getDatabaseProductName();
+        String product = jdbcTemplate.execute(productName);
+        return "MySQL".equalsIgnoreCase(product);
+    }
+}
@@ -0,0 +1,200 @@
+package com.jwctech.finance.services;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jwctech.finance.dto.TransactionDto;
+import com.jwctech.finance.dto.TransactionSearchResultDto;
+import com.jwctech.finance.repositories.BusinessRepository;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewSplit;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewTransaction;
+import com.jwctech.finance.repositories.TransactionSearchRepository;
+import com.jwctech.finance.repositories.TransactionSearchRepository.SplitMemo;
+import com.jwctech.finance.repositories.TransactionSearchRepository.TransactionText;
+import com.jwctech.finance.routing.ReadRouting;
+import com.jwctech.finance.services.search.SearchHits;
+import com.jwctech.finance.services.search.TransactionSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Payee and memo search over per-business {@link TransactionSearchIndex}es. An index is built from the database on
+ * the first search for its business, follows new transactions after they commit, and is evicted by total size or
+ * idleness. Commits on other instances reach it only through a rebuild, so it is also dropped {@code
+ * expire-after-write} after it was built.
+ */
+@Service
+public class TransactionSearchService implements MeterBinder {
+
+    private static final int DEFAULT_PAGE_SIZE = 25;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_OFFSET = 10_000;
+    private static final int LOAD_CHUNK_SIZE = 10_000;
+
+    private final BusinessRepository businessRepository;
+    private final TransactionSearchRepository transactionSearchRepository;
+    private final TransactionService transactionService;
+    private final TransactionTemplate readTransactionTemplate;
+    private final AsyncCache<Long, TransactionSearchIndex> indexes;
+
+    public TransactionSearchService(BusinessRepository businessRepository,
+                                    TransactionSearchRepository transactionSearchRepository,
+                                    TransactionService transactionService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${finance.search.maximum-weight:25000000}") long maximumWeight,
+                                    @Value("${finance.search.expire-after-access:30m}") Duration expireAfterAccess,
+                                    @Value("${finance.search.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.businessRepository = businessRepository;
+        this.transactionSearchRepository = transactionSearchRepository;
+        this.transactionService = transactionService;
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setReadOnly(true);
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Long businessId, TransactionSearchIndex index) ->
+                        (int) Math.min(Integer.MAX_VALUE, index.weigh()))
+                .expireAfterAccess(expireAfterAccess)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public TransactionSearchResultDto search(Long businessId, String query, Integer offset, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query is required.");
+        }
+        int resolvedOffset = offset != null ? offset : 0;
+        if (resolvedOffset < 0 || resolvedOffset > MAX_OFFSET) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Offset must be between 0 and " + MAX_OFFSET + ".");
+        }
+        int resolvedLimit = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (resolvedLimit < 1 || resolvedLimit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+
+        SearchHits hits = index(businessId).search(query, resolvedOffset, resolvedLimit);
+        List<TransactionDto> transactions = transactionService.getTransactionsByIds(hits.transactionIds());
+        return new TransactionSearchResultDto(query, hits.total(), resolvedOffset, resolvedLimit, transactions);
+    }
+
+    /**
+     * Adds committed transactions to their business's index if one is loaded or loading. Additions for an index still
+     * loading are queued on its future and applied by the loading thread once it completes, so the committing thread
+     * never waits for a load, and a commit that the load's snapshot missed is still applied.
+     * <p>
+     * The cache keeps the weight an index had when it was stored. Once additions have outgrown it the index is
+     * dropped and rebuilt by the next search, so its size is counted again; storing it anew would count it too but
+     * would also restart {@code expire-after-write}, and a busy business would then never pick up other instances'
+     * commits.
+     */
+    @TransactionalEventListener
+    public void onTransactionsCreated(TransactionsCreatedEvent event) {
+        CompletableFuture<TransactionSearchIndex> index = indexes.getIfPresent(event.businessId());
+        if (index == null) {
+            return;
+        }
+        index.thenAccept(loaded -> {
+            for (int i = 0; i < event.transactions().size(); i++) {
+                NewTransaction transaction = event.transactions().get(i);
+                loaded.add(event.transactionIds().get(i), transaction.postedAt(), transaction.payee(),
+                        transaction.memo(), transaction.splits().stream().map(NewSplit::memo).toList());
+            }
+            if (loaded.outgrewWeighing()) {
+                indexes.asMap().remove(event.businessId(), index);
+            }
+        });
+    }
+
+    public void invalidate(Long businessId) {
+        indexes.synchronous().invalidate(businessId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, indexes, "transaction-search");
+    }
+
+    /**
+     * Returns the business's index, loading it on the calling thread if no other thread already is.
+     */
+    private TransactionSearchIndex index(Long businessId) {
+        CompletableFuture<TransactionSearchIndex> created = new CompletableFuture<>();
+        CompletableFuture<TransactionSearchIndex> index = indexes.asMap().putIfAbsent(businessId, created);
+        if (index == null) {
+            try {
+                // The index follows commit events from the moment it exists, so its base snapshot must come from the
+                // primary.
+                created.complete(ReadRouting.onPrimary(() -> load(businessId)));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+                throw e;
+            }
+            index = created;
+        }
+        try {
+            return index.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private TransactionSearchIndex load(Long businessId) {
+        return readTransactionTemplate.execute(status -> {
+            if (!businessRepository.existsById(businessId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found.");
+            }
+
+            TransactionSearchIndex index = new TransactionSearchIndex();
+            long afterId = 0;
+            List<TransactionText> chunk;
+            do {
+                chunk = transactionSearchRepository.findTransactionTextAfter(businessId, afterId, LOAD_CHUNK_SIZE);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                long firstId = chunk.get(0).id();
+                long lastId = chunk.get(chunk.size() - 1).id();
+                LocalDate postedFrom = LocalDate.MAX;
+                LocalDate postedTo = LocalDate.MIN;
+                for (TransactionText transaction : chunk) {
+                    postedFrom = transaction.postedAt().isBefore(postedFrom) ? transaction.postedAt() : postedFrom;
+                    postedTo = transaction.postedAt().isAfter(postedTo) ? transaction.postedAt() : postedTo;
+                }
+                List<SplitMemo> splitMemos = transactionSearchRepository.findSplitMemos(businessId, firstId, lastId,
+                        postedFrom, postedTo);
+
+                // Both lists are ordered by transaction id, so each transaction's split memos are a contiguous run.
+                int next = 0;
+                for (TransactionText transaction : chunk) {
+                    List<String> memos = new ArrayList<>();
+                    while (next < splitMemos.size() && splitMemos.get(next).transactionId() == transaction.id()) {
+                        memos.add(splitMemos.get(next++).memo());
+                    }
+                    index.add(transaction.id(), transaction.postedAt(), transaction.payee(), transaction.memo(), memos);
+                }
+                afterId = lastId;
+            } while (chunk.size() == LOAD_CHUNK_SIZE);
+            index.markLoaded();
+            return index;
+        });
+    }
+}
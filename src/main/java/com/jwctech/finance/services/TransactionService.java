@@ -1,72 +1,327 @@
 package com.jwctech.finance.services;
 
+import com.jwctech.finance.dedupe.TransactionFingerprint;
+import com.jwctech.finance.dto.BatchTransactionResultDto;
+import com.jwctech.finance.dto.BatchTransactionsDto;
 import com.jwctech.finance.dto.TransactionDto;
+import com.jwctech.finance.dto.TransactionHeaderRow;
+import com.jwctech.finance.dto.TransactionPageDto;
 import com.jwctech.finance.dto.TransactionSplitDto;
-import com.jwctech.finance.entities.Account;
-import com.jwctech.finance.entities.Business;
-import com.jwctech.finance.entities.Category;
+import com.jwctech.finance.dto.TransactionSplitRow;
+import com.jwctech.finance.dto.VendorDto;
 import com.jwctech.finance.entities.Transaction;
 import com.jwctech.finance.entities.TransactionSplit;
-import com.jwctech.finance.entities.Vendor;
+import com.jwctech.finance.money.Money;
 import com.jwctech.finance.repositories.AccountRepository;
 import com.jwctech.finance.repositories.BusinessRepository;
 import com.jwctech.finance.repositories.CategoryRepository;
+import com.jwctech.finance.repositories.TransactionBatchRepository;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewSplit;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewTransaction;
+import com.jwctech.finance.repositories.TransactionFingerprintRepository;
 import com.jwctech.finance.repositories.TransactionRepository;
 import com.jwctech.finance.repositories.VendorRepository;
+import com.jwctech.finance.services.BusinessReferenceData.AccountEntry;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class TransactionService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 5000;
+    private static final int MAX_PAYEE_LENGTH = 255;
+
     private final TransactionRepository transactionRepository;
+    private final TransactionBatchRepository transactionBatchRepository;
     private final AccountRepository accountRepository;
     private final BusinessRepository businessRepository;
     private final CategoryRepository categoryRepository;
     private final VendorRepository vendorRepository;
+    private final LedgerProjectionService ledgerProjectionService;
+    private final ReferenceDataCache referenceDataCache;
+    private final DuplicateDetector duplicateDetector;
+    private final TransactionFingerprintRepository transactionFingerprintRepository;
+    private final LedgerReferenceGuard ledgerReferenceGuard;
 
     public TransactionService(TransactionRepository transactionRepository,
+                              TransactionBatchRepository transactionBatchRepository,
                               AccountRepository accountRepository,
                               BusinessRepository businessRepository,
                               CategoryRepository categoryRepository,
-                              VendorRepository vendorRepository) {
+                              VendorRepository vendorRepository,
+                              LedgerProjectionService ledgerProjectionService,
+                              ReferenceDataCache referenceDataCache,
+                              DuplicateDetector duplicateDetector,
+                              TransactionFingerprintRepository transactionFingerprintRepository,
+                              LedgerReferenceGuard ledgerReferenceGuard) {
         this.transactionRepository = transactionRepository;
+        this.transactionBatchRepository = transactionBatchRepository;
         this.accountRepository = accountRepository;
         this.businessRepository = businessRepository;
         this.categoryRepository = categoryRepository;
         this.vendorRepository = vendorRepository;
+        this.ledgerProjectionService = ledgerProjectionService;
+        this.referenceDataCache = referenceDataCache;
+        this.duplicateDetector = duplicateDetector;
+        this.transactionFingerprintRepository = transactionFingerprintRepository;
+        this.ledgerReferenceGuard = ledgerReferenceGuard;
     }
 
+    /**
+     * Lists transactions posted between {@code from} and {@code to}, both inclusive and both optional. Without bounds
+     * every yearly partition of the ledger is read.
+     */
     @Transactional(readOnly = true)
-    public List<TransactionDto> getTransactionsForBusiness(Long businessId) {
+    public List<TransactionDto> getTransactionsForBusiness(Long businessId, LocalDate from, LocalDate to) {
         if (!businessRepository.existsById(businessId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found.");
         }
-        return transactionRepository.findByBusiness_IdOrderByPostedAtDescCreatedAtDesc(businessId)
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        ensureValidRange(from, to);
+        List<TransactionHeaderRow> headers = transactionRepository.findHeadersForBusiness(businessId,
+                from != null ? from : TransactionRepository.EARLIEST_POSTED,
+                to != null ? to : TransactionRepository.LATEST_POSTED);
+        if (headers.isEmpty()) {
+            return List.of();
+        }
+        // Headers come newest first, so the splits' date range is that of the last and first header.
+        return toDtos(headers, transactionRepository.findSplitRowsForBusiness(businessId,
+                headers.get(headers.size() - 1).postedAt(), headers.get(0).postedAt()));
+    }
+
+    /**
+     * Lists the account's transactions posted between {@code from} and {@code to}, both inclusive and both optional.
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionDto> getTransactionsForAccount(Long businessId, Long accountId, LocalDate from,
+                                                          LocalDate to) {
+        ensureAccountExistsForBusiness(accountId, businessId);
+        ensureValidRange(from, to);
+        List<TransactionHeaderRow> headers = transactionRepository.findHeadersForAccount(accountId, businessId,
+                from != null ? from : TransactionRepository.EARLIEST_POSTED,
+                to != null ? to : TransactionRepository.LATEST_POSTED);
+        if (headers.isEmpty()) {
+            return List.of();
+        }
+        return toDtos(headers, transactionRepository.findSplitRowsForAccount(accountId, businessId,
+                headers.get(headers.size() - 1).postedAt(), headers.get(0).postedAt()));
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionPageDto getTransactionPageForBusiness(Long businessId, String cursor, Integer limit) {
+        if (!businessRepository.existsById(businessId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found.");
+        }
+        TransactionCursor after = TransactionCursor.decode(cursor);
+        int pageSize = resolvePageSize(limit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<Long> ids = after == null
+                ? transactionRepository.findFirstPageIdsForBusiness(businessId, fetchLimit)
+                : transactionRepository.findPageIdsForBusinessAfter(businessId,
+                after.postedAt(), after.createdAt(), after.id(), fetchLimit);
+        return toPage(ids, pageSize);
     }
 
     @Transactional(readOnly = true)
-    public List<TransactionDto> getTransactionsForAccount(Long businessId, Long accountId) {
+    public TransactionPageDto getTransactionPageForAccount(Long businessId, Long accountId, String cursor, Integer limit) {
         ensureAccountExistsForBusiness(accountId, businessId);
-        return transactionRepository.findByAccount_IdAndBusiness_IdOrderByPostedAtDescCreatedAtDesc(accountId, businessId)
+        TransactionCursor after = TransactionCursor.decode(cursor);
+        int pageSize = resolvePageSize(limit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<Long> ids = after == null
+                ? transactionRepository.findFirstPageIdsForAccount(accountId, businessId, fetchLimit)
+                : transactionRepository.findPageIdsForAccountAfter(accountId, businessId,
+                after.postedAt(), after.createdAt(), after.id(), fetchLimit);
+        return toPage(ids, pageSize);
+    }
+
+    /**
+     * Loads the given transactions in the order of {@code ids}, skipping any that no longer exist.
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionDto> getTransactionsByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TransactionHeaderRow> headersById = transactionRepository.findHeadersByIdIn(ids)
                 .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toMap(TransactionHeaderRow::id, Function.identity()));
+        List<TransactionHeaderRow> headers = ids.stream()
+                .map(headersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        if (headers.isEmpty()) {
+            return List.of();
+        }
+        LocalDate postedFrom = headers.get(0).postedAt();
+        LocalDate postedTo = postedFrom;
+        for (TransactionHeaderRow header : headers) {
+            postedFrom = header.postedAt().isBefore(postedFrom) ? header.postedAt() : postedFrom;
+            postedTo = header.postedAt().isAfter(postedTo) ? header.postedAt() : postedTo;
+        }
+        return toDtos(headers, transactionRepository.findSplitRowsByTransactionIdIn(ids, postedFrom, postedTo));
     }
 
+    /**
+     * @throws ResponseStatusException with {@code 409} if the transaction likely duplicates an existing one and
+     *                                 {@code duplicates} is {@link DuplicatePolicy#SKIP}
+     */
     @Transactional
-    public TransactionDto createTransaction(CreateTransactionRequest request) {
+    public TransactionDto createTransaction(CreateTransactionRequest request, DuplicatePolicy duplicates) {
+        // Ownership checks run against the cached snapshot; entities are only referenced by id, so validation and
+        // the insert itself cost no extra selects.
+        BusinessReferenceData referenceData = referenceDataCache.get(request.pathBusinessId(),
+                data -> referencesKnown(request, data));
+        NewTransaction validated = toNewTransaction(request, referenceData);
+        ledgerReferenceGuard.confirm(List.of(validated));
+        Long duplicateOf = duplicates != DuplicatePolicy.FORCE
+                ? duplicateDetector.findDuplicates(List.of(validated)).get(0)
+                : null;
+        if (duplicateOf != null && duplicates == DuplicatePolicy.SKIP) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Transaction likely duplicates transaction " + duplicateOf + ".");
+        }
+        AccountEntry accountEntry = referenceData.account(validated.accountId());
+        VendorDto vendorEntry = referenceData.vendor(validated.vendorId());
+
+        Transaction transaction = new Transaction();
+        transaction.setBusiness(businessRepository.getReferenceById(validated.businessId()));
+        transaction.setAccount(accountRepository.getReferenceById(validated.accountId()));
+        transaction.setVendor(validated.vendorId() != null ? vendorRepository.getReferenceById(validated.vendorId()) : null);
+        transaction.setPayee(validated.payee());
+        transaction.setMemo(validated.memo());
+        transaction.setPostedAt(validated.postedAt());
+        transaction.setAmount(validated.amount());
+        transaction.setFingerprint(TransactionFingerprint.of(validated.accountId(), validated.postedAt(),
+                validated.amount(), validated.payee()));
+        transaction.setPossibleDuplicate(duplicateOf != null);
+
+        transaction.clearSplits();
+        for (NewSplit newSplit : validated.splits()) {
+            TransactionSplit split = new TransactionSplit();
+            split.setBusinessId(validated.businessId());
+            split.setPostedAt(validated.postedAt());
+            split.setCategory(categoryRepository.getReferenceById(newSplit.categoryId()));
+            split.setAmount(newSplit.amount());
+            split.setMemo(newSplit.memo());
+            transaction.addSplit(split);
+        }
+
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        ledgerProjectionService.transactionCreated(savedTransaction);
+        return toDto(savedTransaction, accountEntry.name(), vendorEntry != null ? vendorEntry.name() : null);
+    }
+
+    /**
+     * Creates up to {@value #MAX_BATCH_SIZE} transactions in one commit. Every item is validated against the
+     * business's reference snapshot first; valid items are then written with two batched inserts. In
+     * {@link BatchMode#ALL_OR_NOTHING} mode a single invalid item means nothing is written. Likely duplicates of
+     * existing transactions are not invalid: they are skipped, flagged or written as {@code duplicates} says.
+     */
+    @Transactional
+    public BatchTransactionsDto createTransactions(Long businessId,
+                                                   BatchMode mode,
+                                                   DuplicatePolicy duplicates,
+                                                   List<CreateTransactionRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one transaction is required.");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A batch may contain at most " + MAX_BATCH_SIZE + " transactions.");
+        }
+
+        BusinessReferenceData referenceData = referenceDataCache.get(businessId,
+                data -> requests.stream().allMatch(request -> referencesKnown(request, data)));
+        List<NewTransaction> accepted = new ArrayList<>(requests.size());
+        String[] errors = new String[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                accepted.add(toNewTransaction(requests.get(i), referenceData));
+            } catch (ResponseStatusException e) {
+                errors[i] = e.getReason();
+            }
+        }
+
+        boolean write = !accepted.isEmpty() && (mode == BatchMode.BEST_EFFORT || accepted.size() == requests.size());
+        if (write) {
+            ledgerReferenceGuard.confirm(accepted);
+        }
+        List<Long> duplicateOf = write && duplicates != DuplicatePolicy.FORCE
+                ? duplicateDetector.findDuplicates(accepted)
+                : Collections.nCopies(accepted.size(), null);
+        Iterator<Long> ids = Collections.emptyIterator();
+        if (write) {
+            List<NewTransaction> inserted = new ArrayList<>(accepted.size());
+            for (int i = 0; i < accepted.size(); i++) {
+                if (duplicateOf.get(i) == null || duplicates != DuplicatePolicy.SKIP) {
+                    inserted.add(accepted.get(i));
+                }
+            }
+            List<Long> insertedIds = transactionBatchRepository.insertAll(inserted);
+            if (duplicates == DuplicatePolicy.FLAG) {
+                List<Long> flagged = new ArrayList<>();
+                for (int i = 0; i < accepted.size(); i++) {
+                    if (duplicateOf.get(i) != null) {
+                        flagged.add(insertedIds.get(i));
+                    }
+                }
+                transactionFingerprintRepository.markPossibleDuplicates(flagged);
+            }
+            ledgerProjectionService.transactionsInserted(inserted, insertedIds);
+            ids = insertedIds.iterator();
+        }
+
+        List<BatchTransactionResultDto> results = new ArrayList<>(requests.size());
+        int created = 0;
+        int skipped = 0;
+        int next = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            if (errors[i] != null) {
+                results.add(new BatchTransactionResultDto(i, BatchTransactionResultDto.FAILED, null, null, errors[i]));
+                continue;
+            }
+            Long duplicate = duplicateOf.get(next++);
+            if (!write) {
+                results.add(new BatchTransactionResultDto(i, BatchTransactionResultDto.NOT_CREATED, null, null, null));
+            } else if (duplicate != null && duplicates == DuplicatePolicy.SKIP) {
+                results.add(new BatchTransactionResultDto(i, BatchTransactionResultDto.SKIPPED, null, duplicate, null));
+                skipped++;
+            } else {
+                results.add(new BatchTransactionResultDto(i, BatchTransactionResultDto.CREATED, ids.next(), duplicate,
+                        null));
+                created++;
+            }
+        }
+        return new BatchTransactionsDto(mode, duplicates, requests.size(), created, skipped,
+                requests.size() - accepted.size(), results);
+    }
+
+    /**
+     * Validates a create request against the business's reference snapshot and returns the row to insert.
+     *
+     * @throws ResponseStatusException describing the first problem found
+     */
+    private NewTransaction toNewTransaction(CreateTransactionRequest request, BusinessReferenceData referenceData) {
+        if (request == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Transaction is required.");
+        }
         if (!Objects.equals(request.businessId(), request.pathBusinessId())) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Business mismatch between path and payload.");
         }
@@ -87,63 +342,138 @@ public class TransactionService {
         if (trimmedPayee == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Payee is required.");
         }
-
-        Account account = accountRepository.findByIdAndBusiness_Id(request.accountId(), request.businessId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found for this business."));
-        Business business = account.getBusiness();
-
-        Vendor vendor = null;
-        if (request.vendorId() != null) {
-            vendor = vendorRepository.findByIdAndBusiness_Id(request.vendorId(), request.businessId())
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                            "Vendor not found for this business."));
+        if (trimmedPayee.length() > MAX_PAYEE_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Payee must be at most " + MAX_PAYEE_LENGTH + " characters.");
         }
 
-        Transaction transaction = new Transaction();
-        transaction.setBusiness(business);
-        transaction.setAccount(account);
-        transaction.setVendor(vendor);
-        transaction.setPayee(trimmedPayee);
-        transaction.setMemo(normalize(request.memo()));
-        transaction.setPostedAt(request.postedAt());
-        transaction.setAmount(request.amount());
+        if (referenceData.account(request.accountId()) == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found for this business.");
+        }
+        if (request.vendorId() != null && referenceData.vendor(request.vendorId()) == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Vendor not found for this business.");
+        }
 
-        transaction.clearSplits();
+        List<NewSplit> splits = new ArrayList<>(request.splits().size());
         for (CreateTransactionSplitRequest splitRequest : request.splits()) {
-            if (splitRequest.categoryId() == null) {
+            if (splitRequest == null || splitRequest.categoryId() == null) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Split category is required.");
             }
             if (splitRequest.amount() == null) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Split amount is required.");
             }
+            if (referenceData.category(splitRequest.categoryId()) == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Category not found for this business.");
+            }
+            splits.add(new NewSplit(splitRequest.categoryId(), splitRequest.amount(), normalize(splitRequest.memo())));
+        }
 
-            Category category = categoryRepository.findByIdAndBusiness_Id(splitRequest.categoryId(), request.businessId())
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                            "Category not found for this business."));
+        return new NewTransaction(
+                request.businessId(),
+                request.accountId(),
+                request.vendorId(),
+                trimmedPayee,
+                normalize(request.memo()),
+                request.postedAt(),
+                request.amount(),
+                splits
+        );
+    }
 
-            TransactionSplit split = new TransactionSplit();
-            split.setCategory(category);
-            split.setAmount(splitRequest.amount());
-            split.setMemo(normalize(splitRequest.memo()));
-            transaction.addSplit(split);
+    // Missing or malformed ids are left to toNewTransaction to reject; only ids absent from the snapshot count here.
+    private static boolean referencesKnown(CreateTransactionRequest request, BusinessReferenceData referenceData) {
+        if (request == null) {
+            return true;
         }
-
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        return toDto(savedTransaction);
+        if (request.accountId() != null && referenceData.account(request.accountId()) == null) {
+            return false;
+        }
+        if (request.vendorId() != null && referenceData.vendor(request.vendorId()) == null) {
+            return false;
+        }
+        if (request.splits() != null) {
+            for (CreateTransactionSplitRequest split : request.splits()) {
+                if (split != null && split.categoryId() != null && referenceData.category(split.categoryId()) == null) {
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 
     private void ensureAccountExistsForBusiness(Long accountId, Long businessId) {
-        if (!accountRepository.findByIdAndBusiness_Id(accountId, businessId).isPresent()) {
+        if (referenceDataCache.get(businessId, data -> data.account(accountId) != null).account(accountId) == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found for this business.");
         }
     }
 
-    private TransactionDto toDto(Transaction transaction) {
+    static void ensureValidRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start date must not be after the end date.");
+        }
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        return limit;
+    }
+
+    private TransactionPageDto toPage(List<Long> ids, int pageSize) {
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+        if (pageIds.isEmpty()) {
+            return new TransactionPageDto(List.of(), null);
+        }
+
+        // Second phase: load only this page's headers and splits, in keyset order.
+        List<TransactionDto> page = getTransactionsByIds(pageIds);
+        String nextCursor = hasMore && !page.isEmpty()
+                ? TransactionCursor.of(page.get(page.size() - 1)).encode()
+                : null;
+        return new TransactionPageDto(page, nextCursor);
+    }
+
+    private List<TransactionDto> toDtos(List<TransactionHeaderRow> headers, List<TransactionSplitRow> splitRows) {
+        // Split rows arrive ordered by transaction and split id, so every list is built already in order.
+        Map<Long, List<TransactionSplitDto>> splitsByTransaction = new HashMap<>(headers.size() * 4 / 3 + 1);
+        for (TransactionSplitRow row : splitRows) {
+            splitsByTransaction.computeIfAbsent(row.transactionId(), id -> new ArrayList<>())
+                    .add(new TransactionSplitDto(row.categoryId(), row.amount(), row.memo()));
+        }
+
+        List<TransactionDto> transactions = new ArrayList<>(headers.size());
+        for (TransactionHeaderRow header : headers) {
+            transactions.add(new TransactionDto(
+                    header.id(),
+                    header.businessId(),
+                    header.accountId(),
+                    header.accountName(),
+                    header.payee(),
+                    header.memo(),
+                    header.postedAt(),
+                    header.amount(),
+                    header.cleared(),
+                    header.possibleDuplicate(),
+                    header.vendorId(),
+                    header.vendorName(),
+                    splitsByTransaction.getOrDefault(header.id(), List.of()),
+                    header.createdAt(),
+                    header.updatedAt()
+            ));
+        }
+        return transactions;
+    }
+
+    private TransactionDto toDto(Transaction transaction, String accountName, String vendorName) {
         Long businessId = transaction.getBusiness() != null ? transaction.getBusiness().getId() : null;
         Long accountId = transaction.getAccount() != null ? transaction.getAccount().getId() : null;
-        String accountName = transaction.getAccount() != null ? transaction.getAccount().getName() : null;
         Long vendorId = transaction.getVendor() != null ? transaction.getVendor().getId() : null;
-        String vendorName = transaction.getVendor() != null ? transaction.getVendor().getName() : null;
 
         List<TransactionSplitDto> splits = transaction.getSplits()
                 .stream()
@@ -164,6 +494,8 @@ public class TransactionService {
                 transaction.getMemo(),
                 transaction.getPostedAt(),
                 transaction.getAmount(),
+                transaction.isCleared(),
+                transaction.isPossibleDuplicate(),
                 vendorId,
                 vendorName,
                 splits,
@@ -188,7 +520,7 @@ public class TransactionService {
             String payee,
             String memo,
             java.time.LocalDate postedAt,
-            BigDecimal amount,
+            Money amount,
             Long vendorId,
             List<CreateTransactionSplitRequest> splits
     ) {
@@ -196,7 +528,7 @@ public class TransactionService {
 
     public record CreateTransactionSplitRequest(
             Long categoryId,
-            BigDecimal amount,
+            Money amount,
             String memo
     ) {
     }
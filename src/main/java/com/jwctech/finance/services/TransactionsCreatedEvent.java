@@ -0,0 +1,12 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewTransaction;
+
+import java.util.List;
+
+/**
+ * Published inside the transaction that created ledger transactions for one business; {@code transactionIds} are in
+ * the same order as {@code transactions}. Listeners that maintain in-memory state should react after commit.
+ */
+public record TransactionsCreatedEvent(Long businessId, List<Long> transactionIds, List<NewTransaction> transactions) {
+}
@@ -2,6 +2,8 @@ package com.jwctech.finance.services;
 
 import com.jwctech.finance.dto.VendorDto;
 import com.jwctech.finance.entities.Business;
+import com.jwctech.finance.entities.ChangeEntity;
+import com.jwctech.finance.entities.ChangeOperation;
 import com.jwctech.finance.entities.Vendor;
 import com.jwctech.finance.repositories.BusinessRepository;
 import com.jwctech.finance.repositories.VendorRepository;
@@ -11,28 +13,27 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class VendorService {
 
     private final VendorRepository vendorRepository;
     private final BusinessRepository businessRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final BusinessVersionService businessVersionService;
 
-    public VendorService(VendorRepository vendorRepository, BusinessRepository businessRepository) {
+    public VendorService(VendorRepository vendorRepository,
+                         BusinessRepository businessRepository,
+                         ReferenceDataCache referenceDataCache,
+                         BusinessVersionService businessVersionService) {
         this.vendorRepository = vendorRepository;
         this.businessRepository = businessRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.businessVersionService = businessVersionService;
     }
 
-    @Transactional(readOnly = true)
     public List<VendorDto> getVendors(Long businessId) {
-        if (!businessRepository.existsById(businessId)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Business not found.");
-        }
-        return vendorRepository.findByBusiness_IdOrderByNameAsc(businessId)
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return referenceDataCache.get(businessId).vendors();
     }
 
     @Transactional
@@ -64,6 +65,9 @@ public class VendorService {
         vendor.setActive(active != null ? active : true);
 
         Vendor savedVendor = vendorRepository.save(vendor);
+        referenceDataCache.invalidate(businessId);
+        businessVersionService.recordChange(businessId, ChangeEntity.VENDOR, ChangeOperation.UPSERT,
+                List.of(savedVendor.getId()));
         return toDto(savedVendor);
     }
 
@@ -0,0 +1,178 @@
+package com.jwctech.finance.services.imports;
+
+import com.jwctech.finance.money.Money;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads a headed CSV statement one record at a time. Recognized columns (case-insensitive): date / posted_at,
+ * amount or debit + credit, payee / description / name, memo, category, vendor, id.
+ */
+class CsvStatementReader implements StatementReader {
+
+    private static final Map<String, String> COLUMN_ALIASES = Map.ofEntries(
+            Map.entry("date", "date"),
+            Map.entry("posted_at", "date"),
+            Map.entry("posted date", "date"),
+            Map.entry("transaction date", "date"),
+            Map.entry("amount", "amount"),
+            Map.entry("debit", "debit"),
+            Map.entry("credit", "credit"),
+            Map.entry("payee", "payee"),
+            Map.entry("description", "payee"),
+            Map.entry("name", "payee"),
+            Map.entry("memo", "memo"),
+            Map.entry("category", "category"),
+            Map.entry("vendor", "vendor"),
+            Map.entry("id", "id"),
+            Map.entry("reference", "id")
+    );
+
+    private final BufferedReader reader;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private Map<String, Integer> columns;
+    private long lineNumber = 0;
+    private long recordLineNumber = 0;
+
+    CsvStatementReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    @Override
+    public StatementRow next() throws IOException {
+        if (columns == null) {
+            columns = readHeader();
+            if (columns == null) {
+                return null;
+            }
+        }
+
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (isBlank(record));
+
+        long line = recordLineNumber;
+        LocalDate postedAt = StatementValues.parseDate(line, value(record, "date"));
+        Money amount = StatementValues.parseAmount(line, value(record, "amount"));
+        if (amount == null) {
+            Money debit = StatementValues.parseAmount(line, value(record, "debit"));
+            Money credit = StatementValues.parseAmount(line, value(record, "credit"));
+            if (debit == null && credit == null) {
+                throw new StatementFormatException(line, "Transaction amount is required.");
+            }
+            amount = (credit != null ? credit : Money.ZERO).minus(debit != null ? debit.abs() : Money.ZERO);
+        }
+
+        return new StatementRow(
+                line,
+                postedAt,
+                amount,
+                StatementValues.normalize(value(record, "payee")),
+                StatementValues.normalize(value(record, "memo")),
+                StatementValues.normalize(value(record, "category")),
+                StatementValues.normalize(value(record, "vendor")),
+                StatementValues.normalize(value(record, "id"))
+        );
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Map<String, Integer> readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null) {
+            return null;
+        }
+        Map<String, Integer> resolved = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String alias = COLUMN_ALIASES.get(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT));
+            if (alias != null) {
+                resolved.putIfAbsent(alias, i);
+            }
+        }
+        if (!resolved.containsKey("date")) {
+            throw new IllegalArgumentException("CSV header must include a date column.");
+        }
+        if (!resolved.containsKey("amount") && !resolved.containsKey("debit") && !resolved.containsKey("credit")) {
+            throw new IllegalArgumentException("CSV header must include an amount column.");
+        }
+        return resolved;
+    }
+
+    private String value(List<String> record, String column) {
+        Integer index = columns.get(column);
+        return index != null && index < record.size() ? record.get(index) : null;
+    }
+
+    private boolean isBlank(List<String> record) {
+        return record.stream().allMatch(String::isBlank);
+    }
+
+    private List<String> readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        recordLineNumber = lineNumber + 1;
+
+        boolean quoted = false;
+        boolean sawAny = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            sawAny = true;
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (following != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (ch == '\n') {
+                        lineNumber++;
+                    }
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\r') {
+                // swallowed; the record ends at the following \n
+            } else if (ch == '\n') {
+                lineNumber++;
+                fields.add(field.toString());
+                return new ArrayList<>(fields);
+            } else {
+                field.append(ch);
+            }
+        }
+
+        if (!sawAny) {
+            return null;
+        }
+        lineNumber++;
+        fields.add(field.toString());
+        return new ArrayList<>(fields);
+    }
+}
@@ -0,0 +1,146 @@
+package com.jwctech.finance.services.imports;
+
+import com.jwctech.finance.dto.ImportJobDto;
+import com.jwctech.finance.dto.ImportRowErrorDto;
+import com.jwctech.finance.services.DuplicatePolicy;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one statement import. Counters are updated by the worker thread and read by status polls.
+ */
+public class ImportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private static final int MAX_RECORDED_ERRORS = 1_000;
+
+    private final UUID id = UUID.randomUUID();
+    private final Long businessId;
+    private final Long accountId;
+    private final String fileName;
+    private final StatementFormat format;
+    private final DuplicatePolicy duplicates;
+    private final Instant createdAt = Instant.now();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsSkipped = new AtomicLong();
+    private final AtomicLong rowsFlagged = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+    private final Queue<ImportRowErrorDto> errors = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger recordedErrors = new AtomicInteger();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile String failureReason;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    public ImportJob(Long businessId,
+                     Long accountId,
+                     String fileName,
+                     StatementFormat format,
+                     DuplicatePolicy duplicates) {
+        this.businessId = businessId;
+        this.accountId = accountId;
+        this.fileName = fileName;
+        this.format = format;
+        this.duplicates = duplicates;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Long getBusinessId() {
+        return businessId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public StatementFormat getFormat() {
+        return format;
+    }
+
+    public DuplicatePolicy getDuplicates() {
+        return duplicates;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void markRunning() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    public void markCompleted() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    public void markFailed(String reason) {
+        failureReason = reason;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    public void recordRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    public void recordImported(int count) {
+        rowsImported.addAndGet(count);
+    }
+
+    public void recordSkipped(int count) {
+        rowsSkipped.addAndGet(count);
+    }
+
+    public void recordFlagged(int count) {
+        rowsFlagged.addAndGet(count);
+    }
+
+    public void recordError(long lineNumber, String message) {
+        rowsFailed.incrementAndGet();
+        if (recordedErrors.incrementAndGet() <= MAX_RECORDED_ERRORS) {
+            errors.add(new ImportRowErrorDto(lineNumber, message));
+        }
+    }
+
+    public ImportJobDto toDto() {
+        return new ImportJobDto(
+                id,
+                businessId,
+                accountId,
+                fileName,
+                format.name(),
+                status.name(),
+                duplicates.name(),
+                rowsRead.get(),
+                rowsImported.get(),
+                rowsSkipped.get(),
+                rowsFlagged.get(),
+                rowsFailed.get(),
+                failureReason,
+                List.copyOf(errors),
+                createdAt,
+                startedAt,
+                finishedAt
+        );
+    }
+}
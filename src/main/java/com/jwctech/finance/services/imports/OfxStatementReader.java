@@ -0,0 +1,147 @@
+package com.jwctech.finance.services.imports;
+
+import com.jwctech.finance.money.Money;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams {@code STMTTRN} records out of OFX 1.x (SGML) and 2.x (XML) files; QFX is OFX with extra Intuit headers.
+ * Leaf elements are not required to be closed, so a value runs until the next tag.
+ */
+class OfxStatementReader implements StatementReader {
+
+    private final BufferedReader reader;
+    private final StringBuilder buffer = new StringBuilder();
+    private final Map<String, String> current = new HashMap<>();
+    private boolean inTransaction = false;
+    private long lineNumber = 1;
+    private long transactionLineNumber = 0;
+    private int pending = -2;
+
+    OfxStatementReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    @Override
+    public StatementRow next() throws IOException {
+        String tag;
+        while ((tag = readTag()) != null) {
+            if (tag.equals("STMTTRN")) {
+                if (inTransaction) {
+                    try {
+                        return emit();
+                    } finally {
+                        startTransaction();
+                    }
+                }
+                startTransaction();
+            } else if (tag.equals("/STMTTRN") || tag.equals("/BANKTRANLIST")) {
+                if (inTransaction) {
+                    return emit();
+                }
+            } else if (inTransaction && !tag.startsWith("/")) {
+                String value = readValue();
+                if (value != null) {
+                    current.put(tag, value);
+                }
+            }
+        }
+        return inTransaction ? emit() : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void startTransaction() {
+        inTransaction = true;
+        transactionLineNumber = lineNumber;
+        current.clear();
+    }
+
+    private StatementRow emit() {
+        inTransaction = false;
+        long line = transactionLineNumber;
+
+        String posted = current.get("DTPOSTED");
+        if (posted == null || posted.length() < 8) {
+            throw new StatementFormatException(line, "Posted date is required.");
+        }
+        LocalDate postedAt = StatementValues.parseDate(line, posted.substring(0, 8));
+        Money amount = StatementValues.parseAmount(line, current.get("TRNAMT"));
+        if (amount == null) {
+            throw new StatementFormatException(line, "Transaction amount is required.");
+        }
+
+        return new StatementRow(
+                line,
+                postedAt,
+                amount,
+                StatementValues.normalize(current.get("NAME")),
+                StatementValues.normalize(current.get("MEMO")),
+                null,
+                null,
+                StatementValues.normalize(current.get("FITID"))
+        );
+    }
+
+    private String readTag() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '<') {
+            // skip headers and inter-element text
+        }
+        if (c == -1) {
+            return null;
+        }
+        buffer.setLength(0);
+        while ((c = read()) != -1 && c != '>') {
+            buffer.append((char) c);
+        }
+        return buffer.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    private String readValue() throws IOException {
+        buffer.setLength(0);
+        int c;
+        while ((c = read()) != -1 && c != '<') {
+            buffer.append((char) c);
+        }
+        if (c == '<') {
+            pending = '<';
+        }
+        String value = buffer.toString().trim();
+        return value.isEmpty() ? null : decodeEntities(value);
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        int c = reader.read();
+        if (c == '\n') {
+            lineNumber++;
+        }
+        return c;
+    }
+
+    private String decodeEntities(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&apos;", "'")
+                .replace("&nbsp;", " ")
+                .replace("&amp;", "&");
+    }
+}
@@ -0,0 +1,34 @@
+package com.jwctech.finance.services.imports;
+
+import java.io.Reader;
+import java.util.Arrays;
+
+public enum StatementFormat {
+    CSV,
+    OFX,
+    QFX;
+
+    public StatementReader open(Reader reader) {
+        return switch (this) {
+            case CSV -> new CsvStatementReader(reader);
+            case OFX, QFX -> new OfxStatementReader(reader);
+        };
+    }
+
+    public static StatementFormat fromString(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Statement format must not be blank.");
+        }
+        return Arrays.stream(values())
+                .filter(format -> format.name().equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown statement format: " + value));
+    }
+
+    public static StatementFormat fromFilename(String filename) {
+        if (filename == null || filename.lastIndexOf('.') < 0) {
+            throw new IllegalArgumentException("Cannot determine statement format from file name.");
+        }
+        return fromString(filename.substring(filename.lastIndexOf('.') + 1));
+    }
+}
@@ -0,0 +1,19 @@
+package com.jwctech.finance.services.imports;
+
+/**
+ * A single statement row could not be parsed. The reader has already consumed the row, so callers may record the
+ * error and keep reading.
+ */
+public class StatementFormatException extends RuntimeException {
+
+    private final long lineNumber;
+
+    public StatementFormatException(long lineNumber, String message) {
+        super(message);
+        this.lineNumber = lineNumber;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+}
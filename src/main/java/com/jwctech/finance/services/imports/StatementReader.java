@@ -0,0 +1,16 @@
+package com.jwctech.finance.services.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull-based, forward-only reader over a statement file. Implementations hold at most one row in memory.
+ */
+public interface StatementReader extends Closeable {
+
+    /**
+     * @return the next row, or {@code null} once the statement is exhausted
+     * @throws StatementFormatException if the next row is malformed; the row is skipped and reading may continue
+     */
+    StatementRow next() throws IOException;
+}
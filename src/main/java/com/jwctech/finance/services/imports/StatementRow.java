@@ -0,0 +1,17 @@
+package com.jwctech.finance.services.imports;
+
+import com.jwctech.finance.money.Money;
+
+import java.time.LocalDate;
+
+public record StatementRow(
+        long lineNumber,
+        LocalDate postedAt,
+        Money amount,
+        String payee,
+        String memo,
+        String category,
+        String vendor,
+        String externalId
+) {
+}
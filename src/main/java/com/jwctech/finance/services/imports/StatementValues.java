@@ -0,0 +1,68 @@
+package com.jwctech.finance.services.imports;
+
+import com.jwctech.finance.money.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+final class StatementValues {
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("M/d/yyyy"),
+            DateTimeFormatter.ofPattern("M/d/yy"),
+            DateTimeFormatter.BASIC_ISO_DATE
+    );
+
+    private StatementValues() {
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    static LocalDate parseDate(long lineNumber, String value) {
+        String text = normalize(value);
+        if (text == null) {
+            throw new StatementFormatException(lineNumber, "Posted date is required.");
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(text, format);
+            } catch (DateTimeParseException ignored) {
+                // try the next supported layout
+            }
+        }
+        throw new StatementFormatException(lineNumber, "Unrecognized date: " + text);
+    }
+
+    /**
+     * Amounts with more than two decimal places are rounded half-up to cents.
+     */
+    static Money parseAmount(long lineNumber, String value) {
+        String text = normalize(value);
+        if (text == null) {
+            return null;
+        }
+        boolean negative = false;
+        if (text.startsWith("(") && text.endsWith(")")) {
+            negative = true;
+            text = text.substring(1, text.length() - 1);
+        }
+        text = text.replace("$", "").replace(",", "").trim();
+        try {
+            BigDecimal amount = new BigDecimal(text).setScale(Money.SCALE, RoundingMode.HALF_UP);
+            return Money.of(negative ? amount.negate() : amount);
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new StatementFormatException(lineNumber, "Unrecognized amount: " + value.trim());
+        }
+    }
+}
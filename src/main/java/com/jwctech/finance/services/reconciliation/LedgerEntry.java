@@ -0,0 +1,11 @@
+package com.jwctech.finance.services.reconciliation;
+
+import com.jwctech.finance.money.Money;
+
+import java.time.LocalDate;
+
+/**
+ * An uncleared transaction a statement line may be matched to.
+ */
+public record LedgerEntry(long transactionId, LocalDate postedAt, Money amount, String payee) {
+}
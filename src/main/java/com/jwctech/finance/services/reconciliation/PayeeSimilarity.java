@@ -0,0 +1,66 @@
+package com.jwctech.finance.services.reconciliation;
+
+import com.jwctech.finance.services.rules.PayeeNormalizer;
+
+import java.util.Arrays;
+
+/**
+ * Fuzzy payee comparison: the Dice coefficient of the normalized payees' character trigrams. Statement payees are
+ * usually truncated, abbreviated or padded with reference numbers ("AMZN MKTP US*2K4" against "Amazon"), so whole
+ * words rarely agree while most trigrams of the shared part still do.
+ */
+final class PayeeSimilarity {
+
+    private static final long[] NONE = new long[0];
+
+    private PayeeSimilarity() {
+    }
+
+    /**
+     * Distinct trigrams of the normalized payee, each packed into a long and sorted. The payee is padded with a space
+     * on both sides so short payees and word boundaries still produce grams.
+     */
+    static long[] grams(String payee) {
+        String normalized = PayeeNormalizer.normalize(payee);
+        if (normalized.isEmpty()) {
+            return NONE;
+        }
+        String padded = " " + normalized + " ";
+        long[] grams = new long[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = (long) padded.charAt(i) << 32 | (long) padded.charAt(i + 1) << 16 | padded.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return distinct == grams.length ? grams : Arrays.copyOf(grams, distinct);
+    }
+
+    /**
+     * @return 0 when the payees share no trigram (or either is empty) up to 1 when their trigram sets are equal
+     */
+    static double score(long[] left, long[] right) {
+        if (left.length == 0 || right.length == 0) {
+            return 0;
+        }
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                shared++;
+                i++;
+                j++;
+            }
+        }
+        return 2.0 * shared / (left.length + right.length);
+    }
+}
@@ -0,0 +1,236 @@
+package com.jwctech.finance.services.reconciliation;
+
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.services.imports.StatementRow;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Matches statement lines one-to-one to the uncleared transactions of an account's statement window.
+ * <p>
+ * The first pass is a hash join on posting date and amount. An exact hit is accepted outright; payee similarity only
+ * decides between several transactions of the same day and amount. The lines left over go through a sort-merge join
+ * with both sides ordered by amount, then date: a cursor walks the ledger's amount runs inside the amount tolerance
+ * and binary-searches each run for the dates inside the date tolerance. The best candidate is taken if its score,
+ * which blends payee similarity with closeness in date and amount, reaches the minimum. Work grows with the two
+ * inputs and the candidates inside each tolerance window, never with the account's history outside the window.
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class ReconciliationMatcher {
+
+    public static final int UNMATCHED = -1;
+
+    private static final double PAYEE_WEIGHT = 0.5;
+    private static final double DATE_WEIGHT = 0.3;
+    private static final double AMOUNT_WEIGHT = 0.2;
+
+    private final int dateToleranceDays;
+    private final long amountTolerance;
+    private final double minimumScore;
+
+    public ReconciliationMatcher(int dateToleranceDays, Money amountTolerance, double minimumScore) {
+        if (dateToleranceDays < 0 || amountTolerance.signum() < 0) {
+            throw new IllegalArgumentException("Reconciliation tolerances must not be negative.");
+        }
+        this.dateToleranceDays = dateToleranceDays;
+        this.amountTolerance = amountTolerance.minorUnits();
+        this.minimumScore = minimumScore;
+    }
+
+    public int dateToleranceDays() {
+        return dateToleranceDays;
+    }
+
+    /**
+     * @param ledger uncleared transactions sorted by posting date, then amount
+     * @param lines  statement lines, each with a posting date and an amount
+     * @return for every line, the index in {@code ledger} of the transaction it clears, or {@link #UNMATCHED}
+     */
+    public int[] match(List<LedgerEntry> ledger, List<StatementRow> lines) {
+        Window window = new Window(ledger);
+        int[] matches = new int[lines.size()];
+        Arrays.fill(matches, UNMATCHED);
+        long[][] lineGrams = new long[lines.size()][];
+
+        matchExact(window, lines, lineGrams, matches);
+        matchWithinTolerance(window, lines, lineGrams, matches);
+        return matches;
+    }
+
+    private void matchExact(Window window, List<StatementRow> lines, long[][] lineGrams, int[] matches) {
+        // Entries of one day and amount are contiguous in the ledger's order, so each key maps to where its run starts.
+        Map<DayAmount, Integer> runStarts = new HashMap<>(window.size * 4 / 3 + 1);
+        for (int i = window.size - 1; i >= 0; i--) {
+            runStarts.put(new DayAmount(window.days[i], window.amounts[i]), i);
+        }
+
+        for (int line = 0; line < lines.size(); line++) {
+            int day = (int) lines.get(line).postedAt().toEpochDay();
+            long amount = lines.get(line).amount().minorUnits();
+            Integer start = runStarts.get(new DayAmount(day, amount));
+            if (start == null) {
+                continue;
+            }
+            int best = UNMATCHED;
+            double bestSimilarity = -1;
+            int candidates = 0;
+            for (int i = start; i < window.size && window.days[i] == day && window.amounts[i] == amount; i++) {
+                if (window.taken[i]) {
+                    continue;
+                }
+                candidates++;
+                if (best == UNMATCHED) {
+                    best = i;
+                }
+            }
+            if (candidates > 1) {
+                best = UNMATCHED;
+                for (int i = start; i < window.size && window.days[i] == day && window.amounts[i] == amount; i++) {
+                    if (!window.taken[i]) {
+                        double similarity = PayeeSimilarity.score(grams(lines, lineGrams, line), window.grams(i));
+                        if (similarity > bestSimilarity) {
+                            bestSimilarity = similarity;
+                            best = i;
+                        }
+                    }
+                }
+            }
+            if (best != UNMATCHED) {
+                window.taken[best] = true;
+                matches[line] = best;
+            }
+        }
+    }
+
+    private void matchWithinTolerance(Window window, List<StatementRow> lines, long[][] lineGrams, int[] matches) {
+        int[] entries = IntStream.range(0, window.size)
+                .filter(i -> !window.taken[i])
+                .boxed()
+                .sorted(Comparator.<Integer>comparingLong(i -> window.amounts[i]).thenComparingInt(i -> window.days[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        int[] pending = IntStream.range(0, lines.size())
+                .filter(line -> matches[line] == UNMATCHED)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingLong(line -> lines.get(line).amount().minorUnits())
+                        .thenComparing(line -> lines.get(line).postedAt()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        if (entries.length == 0 || pending.length == 0) {
+            return;
+        }
+
+        // runEnds[p] is the position just past the run of equal amounts that position p belongs to.
+        int[] runEnds = new int[entries.length];
+        for (int p = entries.length - 1; p >= 0; p--) {
+            runEnds[p] = p + 1 < entries.length && window.amounts[entries[p + 1]] == window.amounts[entries[p]]
+                    ? runEnds[p + 1]
+                    : p + 1;
+        }
+
+        int cursor = 0;
+        for (int line : pending) {
+            int day = (int) lines.get(line).postedAt().toEpochDay();
+            long amount = lines.get(line).amount().minorUnits();
+            // Lines come in ascending amount order, so the cursor only ever moves forward.
+            while (cursor < entries.length && window.amounts[entries[cursor]] < amount - amountTolerance) {
+                cursor++;
+            }
+
+            int best = UNMATCHED;
+            double bestScore = -1;
+            for (int run = cursor;
+                 run < entries.length && window.amounts[entries[run]] <= amount + amountTolerance;
+                 run = runEnds[run]) {
+                for (int p = lowerBoundByDay(window, entries, run, runEnds[run], day - dateToleranceDays);
+                     p < runEnds[run] && window.days[entries[p]] <= day + dateToleranceDays;
+                     p++) {
+                    int entry = entries[p];
+                    if (window.taken[entry]) {
+                        continue;
+                    }
+                    double score = score(window, entry, day, amount, grams(lines, lineGrams, line));
+                    if (score > bestScore) {
+                        bestScore = score;
+                        best = entry;
+                    }
+                }
+            }
+            if (best != UNMATCHED && bestScore >= minimumScore) {
+                window.taken[best] = true;
+                matches[line] = best;
+            }
+        }
+    }
+
+    private double score(Window window, int entry, int day, long amount, long[] lineGrams) {
+        double payee = PayeeSimilarity.score(lineGrams, window.grams(entry));
+        double date = 1.0 - (double) Math.abs(window.days[entry] - day) / (dateToleranceDays + 1);
+        double amountCloseness = 1.0 - (double) Math.abs(window.amounts[entry] - amount) / (amountTolerance + 1);
+        return PAYEE_WEIGHT * payee + DATE_WEIGHT * date + AMOUNT_WEIGHT * amountCloseness;
+    }
+
+    private static int lowerBoundByDay(Window window, int[] entries, int from, int to, int day) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (window.days[entries[middle]] < day) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static long[] grams(List<StatementRow> lines, long[][] lineGrams, int line) {
+        if (lineGrams[line] == null) {
+            StatementRow row = lines.get(line);
+            lineGrams[line] = PayeeSimilarity.grams(row.payee() != null ? row.payee() : row.memo());
+        }
+        return lineGrams[line];
+    }
+
+    private record DayAmount(int day, long amount) {
+    }
+
+    /**
+     * The ledger side in flat arrays, with payee trigrams computed only for entries that end up being scored.
+     */
+    private static final class Window {
+
+        private final List<LedgerEntry> entries;
+        private final int size;
+        private final int[] days;
+        private final long[] amounts;
+        private final boolean[] taken;
+        private final long[][] grams;
+
+        private Window(List<LedgerEntry> entries) {
+            this.entries = entries;
+            this.size = entries.size();
+            this.days = new int[size];
+            this.amounts = new long[size];
+            this.taken = new boolean[size];
+            this.grams = new long[size][];
+            for (int i = 0; i < size; i++) {
+                days[i] = (int) entries.get(i).postedAt().toEpochDay();
+                amounts[i] = entries.get(i).amount().minorUnits();
+            }
+        }
+
+        private long[] grams(int entry) {
+            if (grams[entry] == null) {
+                grams[entry] = PayeeSimilarity.grams(entries.get(entry).payee());
+            }
+            return grams[entry];
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.jwctech.finance.services.rules;
+
+import com.jwctech.finance.entities.PayeeMatchType;
+import com.jwctech.finance.money.Money;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A business's categorization rules compiled for matching many rows against. The first matching rule by priority,
+ * then id, wins.
+ * <p>
+ * Contains and prefix patterns are normalized with the payee and found in a single pass over it by a
+ * {@link PatternAutomaton}; only the rules whose pattern occurs are then checked for amount and account. Regex rules
+ * and rules without a payee condition are tried afterwards in rank order, and only while they could still beat the
+ * best automaton match. Instances are immutable and safe to share between threads.
+ */
+public final class CompiledRuleSet {
+
+    private static final CompiledRuleSet EMPTY = compile(List.of());
+
+    private final Rule[] rules;
+    private final PatternAutomaton automaton;
+    // Automaton pattern index to rule rank.
+    private final int[] patternRules;
+    // Ranks of the rules the automaton cannot select, ascending.
+    private final int[] scannedRules;
+
+    private CompiledRuleSet(Rule[] rules, PatternAutomaton automaton, int[] patternRules, int[] scannedRules) {
+        this.rules = rules;
+        this.automaton = automaton;
+        this.patternRules = patternRules;
+        this.scannedRules = scannedRules;
+    }
+
+    public static CompiledRuleSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @throws java.util.regex.PatternSyntaxException if a regex rule's pattern does not compile
+     */
+    public static CompiledRuleSet compile(List<RuleDefinition> definitions) {
+        List<RuleDefinition> ranked = new ArrayList<>(definitions);
+        ranked.sort(Comparator.comparingInt(RuleDefinition::priority).thenComparing(RuleDefinition::id));
+
+        Rule[] rules = new Rule[ranked.size()];
+        List<String> patterns = new ArrayList<>();
+        List<Integer> patternRules = new ArrayList<>();
+        List<Integer> scannedRules = new ArrayList<>();
+        for (int rank = 0; rank < rules.length; rank++) {
+            RuleDefinition definition = ranked.get(rank);
+            PayeeMatchType type = definition.payeeMatchType();
+            String normalized = type != null && type != PayeeMatchType.REGEX
+                    ? PayeeNormalizer.normalize(definition.payeePattern())
+                    : null;
+            Pattern regex = type == PayeeMatchType.REGEX
+                    ? Pattern.compile(definition.payeePattern(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)
+                    : null;
+            rules[rank] = new Rule(
+                    new RuleMatch(definition.id(), definition.vendorId(), List.copyOf(definition.splits())),
+                    type == PayeeMatchType.PREFIX,
+                    regex,
+                    definition.minAmount(),
+                    definition.maxAmount(),
+                    definition.accountId());
+
+            if (normalized != null && !normalized.isEmpty()) {
+                patterns.add(normalized);
+                patternRules.add(rank);
+            } else if (normalized == null) {
+                scannedRules.add(rank);
+            }
+            // A pattern with no letters or digits can never match a normalized payee, so its rule is dropped.
+        }
+        return new CompiledRuleSet(
+                rules,
+                new PatternAutomaton(patterns),
+                patternRules.stream().mapToInt(Integer::intValue).toArray(),
+                scannedRules.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Returns the highest-ranked rule matching the row, or null if none does. Regex patterns are matched against the
+     * payee as given, case-insensitively; contains and prefix patterns against its normalized form.
+     */
+    public RuleMatch match(String payee, Money amount, Long accountId) {
+        int best = rules.length;
+        if (patternRules.length > 0 && payee != null) {
+            String normalized = PayeeNormalizer.normalize(payee);
+            int state = PatternAutomaton.ROOT;
+            for (int i = 0; i < normalized.length(); i++) {
+                state = automaton.next(state, normalized.charAt(i));
+                for (int pattern : automaton.outputs(state)) {
+                    int rank = patternRules[pattern];
+                    if (rank >= best) {
+                        continue;
+                    }
+                    int length = automaton.pattern(pattern).length();
+                    int start = i + 1 - length;
+                    Rule rule = rules[rank];
+                    if ((rule.prefix() && start != 0)
+                            || (automaton.needsVerification(pattern)
+                            && !normalized.regionMatches(start, automaton.pattern(pattern), 0, length))
+                            || !rule.matchesAmountAndAccount(amount, accountId)) {
+                        continue;
+                    }
+                    best = rank;
+                }
+            }
+        }
+
+        for (int rank : scannedRules) {
+            if (rank >= best) {
+                break;
+            }
+            Rule rule = rules[rank];
+            if (rule.matchesAmountAndAccount(amount, accountId)
+                    && (rule.regex() == null || (payee != null && rule.regex().matcher(payee).find()))) {
+                best = rank;
+                break;
+            }
+        }
+        return best < rules.length ? rules[best].match() : null;
+    }
+
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * Approximate footprint in ints, dominated by the automaton's transition table.
+     */
+    public long weight() {
+        return (long) automaton.stateCount() * 40 + rules.length * 16L;
+    }
+
+    private record Rule(
+            RuleMatch match,
+            boolean prefix,
+            Pattern regex,
+            Money minAmount,
+            Money maxAmount,
+            Long accountId
+    ) {
+
+        boolean matchesAmountAndAccount(Money amount, Long rowAccountId) {
+            if (accountId != null && !accountId.equals(rowAccountId)) {
+                return false;
+            }
+            if (minAmount != null && (amount == null || amount.compareTo(minAmount) < 0)) {
+                return false;
+            }
+            return maxAmount == null || (amount != null && amount.compareTo(maxAmount) <= 0);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.jwctech.finance.services.rules;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton over normalized payee patterns, compiled to a dense transition table so scanning a payee is
+ * one array lookup per character whatever the number of patterns.
+ * <p>
+ * The alphabet is the 37 characters a normalized ASCII payee can contain plus one symbol that stands for every other
+ * character. Patterns containing such characters can therefore report false matches, which {@link #needsVerification}
+ * flags for the caller to confirm against the text.
+ */
+final class PatternAutomaton {
+
+    static final int ROOT = 0;
+
+    private static final int LETTERS = 26;
+    private static final int DIGITS = 10;
+    private static final int SPACE = LETTERS + DIGITS;
+    private static final int OTHER = SPACE + 1;
+    private static final int ALPHABET = OTHER + 1;
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    private final String[] patterns;
+    private final boolean[] needsVerification;
+    private final int[] transitions;
+    private final int[][] outputs;
+
+    /**
+     * @param patterns normalized, non-empty patterns; outputs report each pattern by its index in this list
+     */
+    PatternAutomaton(List<String> patterns) {
+        this.patterns = patterns.toArray(String[]::new);
+        this.needsVerification = new boolean[this.patterns.length];
+
+        int maxStates = 1;
+        for (String pattern : this.patterns) {
+            maxStates += pattern.length();
+        }
+        int[] table = new int[maxStates * ALPHABET];
+        Arrays.fill(table, -1);
+        int[][] stateOutputs = new int[maxStates][];
+        int stateCount = 1;
+
+        for (int index = 0; index < this.patterns.length; index++) {
+            String pattern = this.patterns[index];
+            int state = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                int symbol = symbol(pattern.charAt(i));
+                if (symbol == OTHER) {
+                    needsVerification[index] = true;
+                }
+                int next = table[state * ALPHABET + symbol];
+                if (next < 0) {
+                    next = stateCount++;
+                    table[state * ALPHABET + symbol] = next;
+                }
+                state = next;
+            }
+            stateOutputs[state] = append(stateOutputs[state], index);
+        }
+
+        // Breadth-first, so every state's failure target is complete before the state itself is filled in.
+        int[] failure = new int[stateCount];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < ALPHABET; symbol++) {
+            int next = table[symbol];
+            if (next < 0) {
+                table[symbol] = ROOT;
+            } else {
+                failure[next] = ROOT;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            int[] inherited = stateOutputs[failure[state]];
+            if (inherited != null) {
+                for (int index : inherited) {
+                    stateOutputs[state] = append(stateOutputs[state], index);
+                }
+            }
+            for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                int next = table[state * ALPHABET + symbol];
+                int fallback = table[failure[state] * ALPHABET + symbol];
+                if (next < 0) {
+                    table[state * ALPHABET + symbol] = fallback;
+                } else {
+                    failure[next] = fallback;
+                    queue.add(next);
+                }
+            }
+        }
+
+        this.transitions = Arrays.copyOf(table, stateCount * ALPHABET);
+        this.outputs = new int[stateCount][];
+        for (int state = 0; state < stateCount; state++) {
+            outputs[state] = stateOutputs[state] != null ? stateOutputs[state] : NO_OUTPUTS;
+        }
+    }
+
+    int next(int state, char c) {
+        return transitions[state * ALPHABET + symbol(c)];
+    }
+
+    /**
+     * Indexes of the patterns that end at {@code state}.
+     */
+    int[] outputs(int state) {
+        return outputs[state];
+    }
+
+    String pattern(int index) {
+        return patterns[index];
+    }
+
+    boolean needsVerification(int index) {
+        return needsVerification[index];
+    }
+
+    int stateCount() {
+        return outputs.length;
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= '0' && c <= '9') {
+            return LETTERS + c - '0';
+        }
+        return c == ' ' ? SPACE : OTHER;
+    }
+
+    private static int[] append(int[] values, int value) {
+        if (values == null) {
+            return new int[]{value};
+        }
+        int[] appended = Arrays.copyOf(values, values.length + 1);
+        appended[values.length] = value;
+        return appended;
+    }
+}
@@ -0,0 +1,23 @@
+package com.jwctech.finance.services.rules;
+
+import com.jwctech.finance.entities.PayeeMatchType;
+import com.jwctech.finance.money.Money;
+
+import java.util.List;
+
+/**
+ * One rule as compiled into a {@link CompiledRuleSet}. Every condition left null matches anything; amount bounds are
+ * inclusive and signed, so outflows need negative bounds.
+ */
+public record RuleDefinition(
+        Long id,
+        int priority,
+        PayeeMatchType payeeMatchType,
+        String payeePattern,
+        Money minAmount,
+        Money maxAmount,
+        Long accountId,
+        Long vendorId,
+        List<RuleSplit> splits
+) {
+}
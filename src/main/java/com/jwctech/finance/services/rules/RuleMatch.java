@@ -0,0 +1,26 @@
+package com.jwctech.finance.services.rules;
+
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewSplit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record RuleMatch(Long ruleId, Long vendorId, List<RuleSplit> splits) {
+
+    /**
+     * Splits {@code amount} across the rule's categories. Each share is rounded half-even to cents and the last split
+     * takes the remainder, so the splits always add up to the amount exactly.
+     */
+    public List<NewSplit> allocate(Money amount) {
+        List<NewSplit> allocated = new ArrayList<>(splits.size());
+        Money remaining = amount;
+        for (int i = 0; i < splits.size(); i++) {
+            RuleSplit split = splits.get(i);
+            Money share = i == splits.size() - 1 ? remaining : amount.share(split.millionths(), RuleSplit.WHOLE);
+            allocated.add(new NewSplit(split.categoryId(), share, null));
+            remaining = remaining.minus(share);
+        }
+        return allocated;
+    }
+}
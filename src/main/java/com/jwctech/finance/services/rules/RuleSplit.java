@@ -0,0 +1,16 @@
+package com.jwctech.finance.services.rules;
+
+import java.math.BigDecimal;
+
+/**
+ * Share of a matched amount assigned to one category, in millionths of the whole. Percentages are stored with four
+ * decimal places, so every valid percentage converts exactly.
+ */
+public record RuleSplit(Long categoryId, int millionths) {
+
+    public static final int WHOLE = 1_000_000;
+
+    public static RuleSplit ofPercentage(Long categoryId, BigDecimal percentage) {
+        return new RuleSplit(categoryId, percentage.movePointRight(4).intValueExact());
+    }
+}
@@ -0,0 +1,9 @@
+package com.jwctech.finance.services.search;
+
+import java.util.List;
+
+/**
+ * One page of ranked matches, best first, and the total number of matching transactions.
+ */
+public record SearchHits(int total, List<Long> transactionIds) {
+}
@@ -0,0 +1,338 @@
+package com.jwctech.finance.services.search;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over one business's transaction payees, memos and split memos.
+ * <p>
+ * Every distinct token maps to a postings list of {@code document << 2 | field} entries. Query terms of three or more
+ * characters also match every token that contains them, found through a trigram index over the token vocabulary, so
+ * substring search costs a few vocabulary lookups rather than a scan of the ledger. All terms of a query must match.
+ * Matches are ranked by field (payee over memo over split memo) and by whole-token over partial-token matches, then
+ * by posting date and id, newest first.
+ */
+public class TransactionSearchIndex {
+
+    private static final int PAYEE = 0;
+    private static final int MEMO = 1;
+    private static final int SPLIT_MEMO = 2;
+    private static final int[] FIELD_WEIGHTS = {4, 2, 1};
+    private static final int WHOLE_TOKEN_MULTIPLIER = 2;
+    private static final int MAX_QUERY_TERMS = 8;
+    // Rough cost of one binary-search probe relative to scanning one posting.
+    private static final int PROBE_COST = 32;
+    // Small indexes may grow by this many ints, rather than by a quarter of their weight, before they outgrow it.
+    private static final long MIN_UNWEIGHED_GROWTH = 16_384;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] transactionIds = new long[1024];
+    private int[] postedDays = new int[1024];
+    private int documentCount;
+    // Documents [0, loadedCount) were loaded in ascending id order; anything added later is appended unsorted.
+    private int loadedCount;
+    private final Map<String, Integer> tokenIds = new HashMap<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final List<IntList> postings = new ArrayList<>();
+    private final Map<String, IntList> tokenIdsByGram = new HashMap<>();
+    private long postingCount;
+    private long weighed;
+
+    /**
+     * Indexes one transaction. Documents are numbered in the order they are added, which keeps every postings list
+     * sorted by document. Transactions already covered by the initial load are ignored, which makes it safe to
+     * replay commits that raced with the load.
+     */
+    public void add(long transactionId, LocalDate postedAt, String payee, String memo, Collection<String> splitMemos) {
+        lock.writeLock().lock();
+        try {
+            if (loadedCount > 0
+                    && transactionId <= transactionIds[loadedCount - 1]
+                    && Arrays.binarySearch(transactionIds, 0, loadedCount, transactionId) >= 0) {
+                return;
+            }
+            int document = appendDocument(transactionId, postedAt);
+            index(document, PAYEE, SearchTokenizer.tokens(payee));
+            index(document, MEMO, SearchTokenizer.tokens(memo));
+            for (String splitMemo : splitMemos) {
+                index(document, SPLIT_MEMO, SearchTokenizer.tokens(splitMemo));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks everything added so far as the initial load. Loads must add transactions in ascending id order.
+     */
+    public void markLoaded() {
+        lock.writeLock().lock();
+        try {
+            loadedCount = documentCount;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchHits search(String query, int offset, int limit) {
+        List<String> terms = new ArrayList<>(SearchTokenizer.tokens(query));
+        if (terms.size() > MAX_QUERY_TERMS) {
+            terms = terms.subList(0, MAX_QUERY_TERMS);
+        }
+        if (terms.isEmpty()) {
+            return new SearchHits(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            List<TermMatch> matches = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                TermMatch match = match(term);
+                if (match.postingCount() == 0) {
+                    return new SearchHits(0, List.of());
+                }
+                matches.add(match);
+            }
+            // Rarest term first: it bounds the candidate set every other term only narrows.
+            matches.sort(Comparator.comparingLong(TermMatch::postingCount));
+
+            Map<Integer, Candidate> candidates = new HashMap<>();
+            for (int term = 0; term < matches.size(); term++) {
+                TermMatch match = matches.get(term);
+                if (term > 0 && (long) candidates.size() * PROBE_COST < match.postingCount()) {
+                    // Few candidates left against a common term: look each one up instead of walking the postings.
+                    for (Candidate candidate : candidates.values()) {
+                        for (TokenMatch token : match.tokens()) {
+                            IntList list = postings.get(token.tokenId());
+                            for (int i = list.lowerBound(candidate.document << 2);
+                                 i < list.size() && list.get(i) >>> 2 == candidate.document;
+                                 i++) {
+                                candidate.credit(term, FIELD_WEIGHTS[list.get(i) & 3] * token.multiplier());
+                            }
+                        }
+                    }
+                } else {
+                    for (TokenMatch token : match.tokens()) {
+                        IntList list = postings.get(token.tokenId());
+                        for (int i = 0; i < list.size(); i++) {
+                            int posting = list.get(i);
+                            int document = posting >>> 2;
+                            Candidate candidate = term == 0
+                                    ? candidates.computeIfAbsent(document, Candidate::new)
+                                    : candidates.get(document);
+                            if (candidate != null) {
+                                candidate.credit(term, FIELD_WEIGHTS[posting & 3] * token.multiplier());
+                            }
+                        }
+                    }
+                }
+                int matchedTerms = term + 1;
+                candidates.values().removeIf(candidate -> candidate.matchedTerms < matchedTerms);
+            }
+
+            return new SearchHits(candidates.size(), top(candidates.values(), offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate footprint in ints, used to bound the total size of all cached indexes. Caches weigh an entry only
+     * when it is stored, so the result is remembered and {@link #outgrewWeighing()} tells when later additions have
+     * made it stale.
+     */
+    public long weigh() {
+        lock.writeLock().lock();
+        try {
+            weighed = currentWeight();
+            return weighed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether additions since the last {@link #weigh()} have grown the index by more than a quarter of that weight,
+     * and by at least {@value #MIN_UNWEIGHED_GROWTH} ints.
+     */
+    public boolean outgrewWeighing() {
+        lock.readLock().lock();
+        try {
+            long growth = currentWeight() - weighed;
+            return growth > Math.max(weighed / 4, MIN_UNWEIGHED_GROWTH);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long currentWeight() {
+        return 3L * documentCount + 8L * tokens.size() + postingCount;
+    }
+
+    private List<Long> top(Collection<Candidate> candidates, int offset, int limit) {
+        Comparator<Candidate> ranking = Comparator.<Candidate>comparingInt(candidate -> candidate.score)
+                .thenComparingInt(candidate -> postedDays[candidate.document])
+                .thenComparingLong(candidate -> transactionIds[candidate.document])
+                .reversed();
+        int wanted = offset + limit;
+        // Worst-ranked on top, so only the best offset + limit candidates are ever kept.
+        PriorityQueue<Candidate> best = new PriorityQueue<>(Math.min(wanted, candidates.size()) + 1, ranking.reversed());
+        for (Candidate candidate : candidates) {
+            best.add(candidate);
+            if (best.size() > wanted) {
+                best.poll();
+            }
+        }
+        List<Candidate> ranked = new ArrayList<>(best);
+        ranked.sort(ranking);
+        List<Long> page = new ArrayList<>(Math.min(limit, Math.max(0, ranked.size() - offset)));
+        for (int i = offset; i < ranked.size(); i++) {
+            page.add(transactionIds[ranked.get(i).document]);
+        }
+        return page;
+    }
+
+    private TermMatch match(String term) {
+        List<TokenMatch> matched = new ArrayList<>();
+        long count = 0;
+        Integer exact = tokenIds.get(term);
+        if (exact != null) {
+            matched.add(new TokenMatch(exact, WHOLE_TOKEN_MULTIPLIER));
+            count += postings.get(exact).size();
+        }
+
+        IntList candidates = null;
+        for (String gram : SearchTokenizer.grams(term)) {
+            IntList withGram = tokenIdsByGram.get(gram);
+            if (withGram == null) {
+                return new TermMatch(matched, count);
+            }
+            if (candidates == null || withGram.size() < candidates.size()) {
+                candidates = withGram;
+            }
+        }
+        if (candidates != null) {
+            for (int i = 0; i < candidates.size(); i++) {
+                int tokenId = candidates.get(i);
+                if ((exact == null || tokenId != exact) && tokens.get(tokenId).contains(term)) {
+                    matched.add(new TokenMatch(tokenId, 1));
+                    count += postings.get(tokenId).size();
+                }
+            }
+        }
+        return new TermMatch(matched, count);
+    }
+
+    private int appendDocument(long transactionId, LocalDate postedAt) {
+        if (documentCount == transactionIds.length) {
+            transactionIds = Arrays.copyOf(transactionIds, documentCount * 2);
+            postedDays = Arrays.copyOf(postedDays, documentCount * 2);
+        }
+        transactionIds[documentCount] = transactionId;
+        postedDays[documentCount] = postedAt != null ? (int) postedAt.toEpochDay() : Integer.MIN_VALUE;
+        return documentCount++;
+    }
+
+    private void index(int document, int field, Set<String> fieldTokens) {
+        for (String token : fieldTokens) {
+            Integer tokenId = tokenIds.get(token);
+            if (tokenId == null) {
+                tokenId = tokens.size();
+                tokenIds.put(token, tokenId);
+                tokens.add(token);
+                postings.add(new IntList(2));
+                for (String gram : SearchTokenizer.grams(token)) {
+                    tokenIdsByGram.computeIfAbsent(gram, key -> new IntList(4)).add(tokenId);
+                }
+            }
+            postings.get(tokenId).add(document << 2 | field);
+            postingCount++;
+        }
+    }
+
+    private record TokenMatch(int tokenId, int multiplier) {
+    }
+
+    private record TermMatch(List<TokenMatch> tokens, long postingCount) {
+    }
+
+    private static final class Candidate {
+
+        private final int document;
+        private int score;
+        private int matchedTerms;
+        private int currentTerm = -1;
+        private int currentTermScore;
+
+        private Candidate(int document) {
+            this.document = document;
+        }
+
+        /**
+         * A term scores only its best posting per document, however many fields or tokens it matched.
+         */
+        private void credit(int term, int weight) {
+            if (term != currentTerm) {
+                currentTerm = term;
+                currentTermScore = weight;
+                score += weight;
+                matchedTerms++;
+            } else if (weight > currentTermScore) {
+                score += weight - currentTermScore;
+                currentTermScore = weight;
+            }
+        }
+    }
+
+    private static final class IntList {
+
+        private int[] values;
+        private int size;
+
+        private IntList(int capacity) {
+            this.values = new int[capacity];
+        }
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int get(int index) {
+            return values[index];
+        }
+
+        /**
+         * Index of the first value not less than {@code key}; the list must be sorted.
+         */
+        private int lowerBound(int key) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle] < key) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- Splits carry their transaction's business and posting date, so they can be partitioned and pruned by date and read
+-- per business without joining through transactions
+ALTER TABLE transaction_splits ADD COLUMN business_id BIGINT;
+ALTER TABLE transaction_splits ADD COLUMN posted_at DATE;
+
+UPDATE transaction_splits
+SET business_id = (SELECT t.business_id FROM transactions t WHERE t.id = transaction_splits.transaction_id),
+    posted_at = (SELECT t.posted_at FROM transactions t WHERE t.id = transaction_splits.transaction_id);
+
+ALTER TABLE transaction_splits MODIFY business_id BIGINT NOT NULL;
+ALTER TABLE transaction_splits MODIFY posted_at DATE NOT NULL;
+CREATE INDEX idx_splits_business_posted_at ON transaction_splits (business_id, posted_at);
@@ -0,0 +1,37 @@
+-- Statement reconciliation: each transaction is cleared by at most one reconciliation of its account
+ALTER TABLE transactions ADD COLUMN cleared BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE transactions ADD COLUMN reconciliation_id BIGINT;
+
+CREATE TABLE IF NOT EXISTS reconciliations (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    business_id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    file_name VARCHAR(255),
+    lines_read BIGINT NOT NULL,
+    lines_rejected BIGINT NOT NULL,
+    lines_matched BIGINT NOT NULL,
+    lines_unmatched BIGINT NOT NULL,
+    transactions_outstanding BIGINT NOT NULL,
+    statement_total BIGINT NOT NULL,
+    cleared_total BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_reconciliations_business FOREIGN KEY (business_id) REFERENCES businesses (id),
+    CONSTRAINT fk_reconciliations_account FOREIGN KEY (account_id) REFERENCES accounts (id)
+);
+CREATE INDEX idx_reconciliations_account ON reconciliations (account_id, period_end);
+
+-- Statement lines no transaction matched, kept for review
+CREATE TABLE IF NOT EXISTS reconciliation_unmatched_lines (
+    reconciliation_id BIGINT NOT NULL,
+    line_number BIGINT NOT NULL,
+    business_id BIGINT NOT NULL,
+    posted_at DATE NOT NULL,
+    amount BIGINT NOT NULL,
+    payee VARCHAR(255),
+    PRIMARY KEY (reconciliation_id, line_number),
+    CONSTRAINT fk_reconciliation_unmatched_lines_reconciliation
+        FOREIGN KEY (reconciliation_id) REFERENCES reconciliations (id),
+    CONSTRAINT fk_reconciliation_unmatched_lines_business FOREIGN KEY (business_id) REFERENCES businesses (id)
+);
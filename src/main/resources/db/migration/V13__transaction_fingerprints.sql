@@ -0,0 +1,6 @@
+-- Duplicate detection: a hash of account, posting date, amount and normalized payee. Rows written before this
+-- migration are fingerprinted by a background backfill at startup; possible_duplicate marks rows a caller chose to
+-- keep even though they look like an existing transaction.
+ALTER TABLE transactions ADD COLUMN fingerprint BIGINT;
+ALTER TABLE transactions ADD COLUMN possible_duplicate BOOLEAN NOT NULL DEFAULT FALSE;
+CREATE INDEX idx_transactions_fingerprint ON transactions (account_id, fingerprint);
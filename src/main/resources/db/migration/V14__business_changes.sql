@@ -0,0 +1,16 @@
+-- Per-business change log: one row per entity a commit touched, stamped with the business version that commit
+-- produced. Compaction removes rows superseded by a later row for the same entity; changes_compacted_version records
+-- how far it has got.
+CREATE TABLE IF NOT EXISTS business_changes (
+    business_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    operation VARCHAR(8) NOT NULL,
+    changed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (business_id, version, entity_type, entity_id),
+    CONSTRAINT fk_business_changes_business FOREIGN KEY (business_id) REFERENCES businesses (id)
+);
+CREATE INDEX idx_business_changes_entity ON business_changes (business_id, entity_type, entity_id, version);
+
+ALTER TABLE business_versions ADD COLUMN changes_compacted_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,26 @@
+-- Category hierarchy as a closure table: one row per (ancestor, descendant) pair, including each category paired with
+-- itself at depth 0, so a subtree is a single indexed lookup instead of a walk up parent links.
+CREATE TABLE IF NOT EXISTS category_closure (
+    business_id BIGINT NOT NULL,
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INT NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    CONSTRAINT fk_category_closure_business FOREIGN KEY (business_id) REFERENCES businesses (id),
+    CONSTRAINT fk_category_closure_ancestor FOREIGN KEY (ancestor_id) REFERENCES categories (id),
+    CONSTRAINT fk_category_closure_descendant FOREIGN KEY (descendant_id) REFERENCES categories (id)
+);
+CREATE INDEX idx_category_closure_descendant ON category_closure (descendant_id, depth);
+CREATE INDEX idx_category_closure_business ON category_closure (business_id, descendant_id, ancestor_id, depth);
+
+INSERT INTO category_closure (business_id, ancestor_id, descendant_id, depth)
+WITH RECURSIVE tree (business_id, ancestor_id, descendant_id, depth) AS (
+    SELECT c.business_id, c.id, c.id, 0
+    FROM categories c
+    UNION ALL
+    SELECT t.business_id, t.ancestor_id, c.id, t.depth + 1
+    FROM tree t
+    JOIN categories c ON c.parent_category_id = t.descendant_id
+)
+SELECT business_id, ancestor_id, descendant_id, depth
+FROM tree;
@@ -0,0 +1,49 @@
+-- Logs every account, category, vendor, rule and transaction written before the change log existed as an upsert, so
+-- a replay from zero ends in the current state. Each business's version is bumped once and the backfilled rows are
+-- stamped with the new version, so clients that already synced to the old one still receive them.
+INSERT INTO business_versions (business_id, version)
+SELECT b.id, 0
+FROM businesses b
+WHERE NOT EXISTS (SELECT 1 FROM business_versions v WHERE v.business_id = b.id);
+
+UPDATE business_versions SET version = version + 1;
+
+INSERT INTO business_changes (business_id, version, entity_type, entity_id, operation, changed_at)
+SELECT e.business_id, v.version, 'ACCOUNT', e.id, 'UPSERT', CURRENT_TIMESTAMP
+FROM accounts e
+JOIN business_versions v ON v.business_id = e.business_id
+WHERE NOT EXISTS (SELECT 1
+                  FROM business_changes c
+                  WHERE c.business_id = e.business_id AND c.entity_type = 'ACCOUNT' AND c.entity_id = e.id);
+
+INSERT INTO business_changes (business_id, version, entity_type, entity_id, operation, changed_at)
+SELECT e.business_id, v.version, 'CATEGORY', e.id, 'UPSERT', CURRENT_TIMESTAMP
+FROM categories e
+JOIN business_versions v ON v.business_id = e.business_id
+WHERE NOT EXISTS (SELECT 1
+                  FROM business_changes c
+                  WHERE c.business_id = e.business_id AND c.entity_type = 'CATEGORY' AND c.entity_id = e.id);
+
+INSERT INTO business_changes (business_id, version, entity_type, entity_id, operation, changed_at)
+SELECT e.business_id, v.version, 'VENDOR', e.id, 'UPSERT', CURRENT_TIMESTAMP
+FROM vendors e
+JOIN business_versions v ON v.business_id = e.business_id
+WHERE NOT EXISTS (SELECT 1
+                  FROM business_changes c
+                  WHERE c.business_id = e.business_id AND c.entity_type = 'VENDOR' AND c.entity_id = e.id);
+
+INSERT INTO business_changes (business_id, version, entity_type, entity_id, operation, changed_at)
+SELECT e.business_id, v.version, 'RULE', e.id, 'UPSERT', CURRENT_TIMESTAMP
+FROM categorization_rules e
+JOIN business_versions v ON v.business_id = e.business_id
+WHERE NOT EXISTS (SELECT 1
+                  FROM business_changes c
+                  WHERE c.business_id = e.business_id AND c.entity_type = 'RULE' AND c.entity_id = e.id);
+
+INSERT INTO business_changes (business_id, version, entity_type, entity_id, operation, changed_at)
+SELECT e.business_id, v.version, 'TRANSACTION', e.id, 'UPSERT', CURRENT_TIMESTAMP
+FROM transactions e
+JOIN business_versions v ON v.business_id = e.business_id
+WHERE NOT EXISTS (SELECT 1
+                  FROM business_changes c
+                  WHERE c.business_id = e.business_id AND c.entity_type = 'TRANSACTION' AND c.entity_id = e.id);
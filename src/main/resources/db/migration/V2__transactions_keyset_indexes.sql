@@ -0,0 +1,3 @@
+-- Composite indexes backing keyset pagination over (posted_at, created_at, id)
+CREATE INDEX idx_transactions_business_keyset ON transactions (business_id, posted_at, created_at, id);
+CREATE INDEX idx_transactions_account_keyset ON transactions (account_id, posted_at, created_at, id);
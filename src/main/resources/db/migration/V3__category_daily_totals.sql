@@ -0,0 +1,18 @@
+-- Per business/category/day rollup of split amounts, maintained alongside every ledger write
+CREATE TABLE IF NOT EXISTS category_daily_totals (
+    business_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    posted_on DATE NOT NULL,
+    total DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    split_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (business_id, category_id, posted_on),
+    CONSTRAINT fk_category_daily_totals_business FOREIGN KEY (business_id) REFERENCES businesses (id),
+    CONSTRAINT fk_category_daily_totals_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
+CREATE INDEX idx_category_daily_totals_business_day ON category_daily_totals (business_id, posted_on);
+
+INSERT INTO category_daily_totals (business_id, category_id, posted_on, total, split_count)
+SELECT t.business_id, s.category_id, t.posted_at, SUM(s.amount), COUNT(*)
+FROM transaction_splits s
+JOIN transactions t ON t.id = s.transaction_id
+GROUP BY t.business_id, s.category_id, t.posted_at;
@@ -0,0 +1,30 @@
+-- Current balance per account, kept up to date by every ledger write
+CREATE TABLE IF NOT EXISTS account_balances (
+    account_id BIGINT NOT NULL PRIMARY KEY,
+    business_id BIGINT NOT NULL,
+    balance DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT fk_account_balances_account FOREIGN KEY (account_id) REFERENCES accounts (id),
+    CONSTRAINT fk_account_balances_business FOREIGN KEY (business_id) REFERENCES businesses (id)
+);
+CREATE INDEX idx_account_balances_business ON account_balances (business_id);
+
+-- Month-end closing balance per account. Rows are materialized lazily by balance-as-of queries and adjusted in
+-- place when a transaction is written on or before their period end.
+CREATE TABLE IF NOT EXISTS account_balance_checkpoints (
+    account_id BIGINT NOT NULL,
+    period_end DATE NOT NULL,
+    business_id BIGINT NOT NULL,
+    balance DECIMAL(15, 2) NOT NULL,
+    PRIMARY KEY (account_id, period_end),
+    CONSTRAINT fk_balance_checkpoints_account FOREIGN KEY (account_id) REFERENCES accounts (id),
+    CONSTRAINT fk_balance_checkpoints_business FOREIGN KEY (business_id) REFERENCES businesses (id)
+);
+CREATE INDEX idx_balance_checkpoints_business ON account_balance_checkpoints (business_id);
+
+INSERT INTO account_balances (account_id, business_id, balance, transaction_count)
+SELECT a.id, a.business_id, COALESCE(SUM(t.amount), 0), COUNT(t.id)
+FROM accounts a
+LEFT JOIN transactions t ON t.account_id = a.id
+GROUP BY a.id, a.business_id;
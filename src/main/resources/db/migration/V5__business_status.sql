@@ -0,0 +1,3 @@
+-- Businesses are marked DELETING while a background purge removes their data in chunks
+ALTER TABLE businesses ADD COLUMN status VARCHAR(16) NOT NULL DEFAULT 'ACTIVE';
+CREATE INDEX idx_businesses_status ON businesses (status);
@@ -0,0 +1,33 @@
+-- Per-business rules that assign a vendor and split categories to imported rows by payee, amount and account
+CREATE TABLE IF NOT EXISTS categorization_rules (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    business_id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    priority INT NOT NULL DEFAULT 0,
+    payee_match_type VARCHAR(16),
+    payee_pattern VARCHAR(255),
+    min_amount DECIMAL(15, 2),
+    max_amount DECIMAL(15, 2),
+    account_id BIGINT,
+    vendor_id BIGINT,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT fk_categorization_rules_business FOREIGN KEY (business_id) REFERENCES businesses (id),
+    CONSTRAINT fk_categorization_rules_account FOREIGN KEY (account_id) REFERENCES accounts (id),
+    CONSTRAINT fk_categorization_rules_vendor FOREIGN KEY (vendor_id) REFERENCES vendors (id)
+);
+CREATE INDEX idx_categorization_rules_business ON categorization_rules (business_id);
+
+CREATE TABLE IF NOT EXISTS categorization_rule_splits (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    rule_id BIGINT NOT NULL,
+    business_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    percentage DECIMAL(7, 4) NOT NULL,
+    CONSTRAINT fk_categorization_rule_splits_rule FOREIGN KEY (rule_id) REFERENCES categorization_rules (id),
+    CONSTRAINT fk_categorization_rule_splits_business FOREIGN KEY (business_id) REFERENCES businesses (id),
+    CONSTRAINT fk_categorization_rule_splits_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
+CREATE INDEX idx_categorization_rule_splits_rule ON categorization_rule_splits (rule_id);
+CREATE INDEX idx_categorization_rule_splits_business ON categorization_rule_splits (business_id);
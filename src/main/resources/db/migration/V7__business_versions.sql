@@ -0,0 +1,6 @@
+-- Per-business change counter behind the ETags of listing endpoints; a missing row means version 0
+CREATE TABLE IF NOT EXISTS business_versions (
+    business_id BIGINT NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL,
+    CONSTRAINT fk_business_versions_business FOREIGN KEY (business_id) REFERENCES businesses (id)
+);
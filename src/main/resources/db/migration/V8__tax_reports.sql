@@ -0,0 +1,25 @@
+-- Finished tax-year reports, kept so repeated requests are served without re-aggregating the year
+CREATE TABLE IF NOT EXISTS tax_reports (
+    business_id BIGINT NOT NULL,
+    tax_year INT NOT NULL,
+    business_version BIGINT NOT NULL,
+    income DECIMAL(15, 2) NOT NULL,
+    expense DECIMAL(15, 2) NOT NULL,
+    net DECIMAL(15, 2) NOT NULL,
+    generated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (business_id, tax_year),
+    CONSTRAINT fk_tax_reports_business FOREIGN KEY (business_id) REFERENCES businesses (id)
+);
+
+CREATE TABLE IF NOT EXISTS tax_report_lines (
+    business_id BIGINT NOT NULL,
+    tax_year INT NOT NULL,
+    category_id BIGINT NOT NULL,
+    category_name VARCHAR(255),
+    kind VARCHAR(16) NOT NULL,
+    total DECIMAL(15, 2) NOT NULL,
+    split_count BIGINT NOT NULL,
+    PRIMARY KEY (business_id, tax_year, category_id),
+    CONSTRAINT fk_tax_report_lines_business FOREIGN KEY (business_id) REFERENCES businesses (id),
+    CONSTRAINT fk_tax_report_lines_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
@@ -0,0 +1,46 @@
+-- Money columns hold integer minor units (cents) instead of DECIMAL(15, 2). Each column is widened first so that
+-- scaling the largest DECIMAL(15, 2) value by 100 cannot overflow, then scaled, then narrowed to BIGINT.
+
+ALTER TABLE transactions MODIFY amount DECIMAL(19, 2) NOT NULL;
+UPDATE transactions SET amount = amount * 100;
+ALTER TABLE transactions MODIFY amount BIGINT NOT NULL;
+
+ALTER TABLE transaction_splits MODIFY amount DECIMAL(19, 2) NOT NULL;
+UPDATE transaction_splits SET amount = amount * 100;
+ALTER TABLE transaction_splits MODIFY amount BIGINT NOT NULL;
+
+ALTER TABLE category_daily_totals MODIFY total DECIMAL(19, 2) NOT NULL DEFAULT 0;
+UPDATE category_daily_totals SET total = total * 100;
+ALTER TABLE category_daily_totals MODIFY total BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE account_balances MODIFY balance DECIMAL(19, 2) NOT NULL DEFAULT 0;
+UPDATE account_balances SET balance = balance * 100;
+ALTER TABLE account_balances MODIFY balance BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE account_balance_checkpoints MODIFY balance DECIMAL(19, 2) NOT NULL;
+UPDATE account_balance_checkpoints SET balance = balance * 100;
+ALTER TABLE account_balance_checkpoints MODIFY balance BIGINT NOT NULL;
+
+ALTER TABLE categorization_rules MODIFY min_amount DECIMAL(19, 2) NULL;
+UPDATE categorization_rules SET min_amount = min_amount * 100 WHERE min_amount IS NOT NULL;
+ALTER TABLE categorization_rules MODIFY min_amount BIGINT NULL;
+
+ALTER TABLE categorization_rules MODIFY max_amount DECIMAL(19, 2) NULL;
+UPDATE categorization_rules SET max_amount = max_amount * 100 WHERE max_amount IS NOT NULL;
+ALTER TABLE categorization_rules MODIFY max_amount BIGINT NULL;
+
+ALTER TABLE tax_reports MODIFY income DECIMAL(19, 2) NOT NULL;
+UPDATE tax_reports SET income = income * 100;
+ALTER TABLE tax_reports MODIFY income BIGINT NOT NULL;
+
+ALTER TABLE tax_reports MODIFY expense DECIMAL(19, 2) NOT NULL;
+UPDATE tax_reports SET expense = expense * 100;
+ALTER TABLE tax_reports MODIFY expense BIGINT NOT NULL;
+
+ALTER TABLE tax_reports MODIFY net DECIMAL(19, 2) NOT NULL;
+UPDATE tax_reports SET net = net * 100;
+ALTER TABLE tax_reports MODIFY net BIGINT NOT NULL;
+
+ALTER TABLE tax_report_lines MODIFY total DECIMAL(19, 2) NOT NULL;
+UPDATE tax_report_lines SET total = total * 100;
+ALTER TABLE tax_report_lines MODIFY total BIGINT NOT NULL;
@@ -0,0 +1,72 @@
+package com.jwctech.finance.dedupe;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTests {
+
+    @Test
+    void everyAddedFingerprintIsReported() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        SplittableRandom random = new SplittableRandom(1);
+        long[] fingerprints = random.longs(10_000).toArray();
+        for (long fingerprint : fingerprints) {
+            filter.add(fingerprint);
+        }
+
+        for (long fingerprint : fingerprints) {
+            assertThat(filter.mightContain(fingerprint)).isTrue();
+        }
+    }
+
+    @Test
+    void aFullFilterKeepsCloseToItsFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        SplittableRandom random = new SplittableRandom(2);
+        random.longs(10_000).forEach(filter::add);
+
+        long falsePositives = random.longs(100_000).filter(filter::mightContain).count();
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.015);
+    }
+
+    @Test
+    void isSizedFromCapacityAndRateInWholeWords() {
+        // -10000 * ln(0.01) / ln(2)^2 = 95851 bits, rounded up to 1498 words of 64.
+        assertThat(new BloomFilter(10_000, 0.01).weight()).isEqualTo(1_498 * 8);
+        assertThat(new BloomFilter(10_000, 0.001).weight()).isGreaterThan(new BloomFilter(10_000, 0.01).weight());
+        assertThat(new BloomFilter(1, 0.5).weight()).isEqualTo(8);
+    }
+
+    @Test
+    void isSaturatedOnlyOncePastItsCapacity() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        SplittableRandom random = new SplittableRandom(3);
+        random.longs(100).forEach(filter::add);
+        assertThat(filter.isSaturated()).isFalse();
+
+        filter.add(random.nextLong());
+
+        assertThat(filter.isSaturated()).isTrue();
+    }
+
+    @Test
+    void addingAFingerprintAgainDoesNotCountTowardsTheCapacity() {
+        BloomFilter filter = new BloomFilter(1, 0.01);
+        filter.add(7L);
+        filter.add(7L);
+
+        assertThat(filter.isSaturated()).isFalse();
+    }
+
+    @Test
+    void rejectsImpossibleSizing() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
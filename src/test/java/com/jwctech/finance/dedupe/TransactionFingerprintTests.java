@@ -0,0 +1,44 @@
+package com.jwctech.finance.dedupe;
+
+import com.jwctech.finance.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fingerprints are stored with every transaction, so a change to how they are computed silently stops recognising
+ * duplicates of everything already written; the pinned value guards against that.
+ */
+class TransactionFingerprintTests {
+
+    private static final LocalDate POSTED_AT = LocalDate.of(2024, 3, 15);
+    private static final Money AMOUNT = Money.ofMinor(-12_345);
+
+    @Test
+    void theFingerprintOfAPostingNeverChanges() {
+        assertThat(TransactionFingerprint.of(42L, POSTED_AT, AMOUNT, "Coffee Shop")).isEqualTo(5336976547191671609L);
+    }
+
+    @Test
+    void payeesSpelledDifferentlyByCasePunctuationOrAccentsShareAFingerprint() {
+        long fingerprint = TransactionFingerprint.of(42L, POSTED_AT, AMOUNT, "Coffee Shop");
+
+        assertThat(TransactionFingerprint.of(42L, POSTED_AT, AMOUNT, "COFFEE SHOP")).isEqualTo(fingerprint);
+        assertThat(TransactionFingerprint.of(42L, POSTED_AT, AMOUNT, "  coffee-shop* ")).isEqualTo(fingerprint);
+        assertThat(TransactionFingerprint.of(42L, POSTED_AT, AMOUNT, "Coffée  Shop.")).isEqualTo(fingerprint);
+    }
+
+    @Test
+    void postingsDifferingInAnyFieldHaveDifferentFingerprints() {
+        long fingerprint = TransactionFingerprint.of(42L, POSTED_AT, AMOUNT, "Coffee Shop");
+
+        assertThat(TransactionFingerprint.of(43L, POSTED_AT, AMOUNT, "Coffee Shop")).isNotEqualTo(fingerprint);
+        assertThat(TransactionFingerprint.of(42L, POSTED_AT.plusDays(1), AMOUNT, "Coffee Shop")).isNotEqualTo(fingerprint);
+        assertThat(TransactionFingerprint.of(42L, POSTED_AT, Money.ofMinor(12_345), "Coffee Shop"))
+                .isNotEqualTo(fingerprint);
+        assertThat(TransactionFingerprint.of(42L, POSTED_AT, AMOUNT, "Coffee Shops")).isNotEqualTo(fingerprint);
+        assertThat(TransactionFingerprint.of(42L, POSTED_AT, AMOUNT, "CoffeeShop")).isNotEqualTo(fingerprint);
+    }
+}
@@ -0,0 +1,111 @@
+package com.jwctech.finance.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new SimpleModule()
+            .addSerializer(Money.class, new MoneyJsonComponent.Serializer())
+            .addDeserializer(Money.class, new MoneyJsonComponent.Deserializer()));
+
+    @Test
+    void sharesRoundHalfEvenToAWholeCent() {
+        assertThat(Money.ofMinor(5).share(1, 2)).isEqualTo(Money.ofMinor(2));
+        assertThat(Money.ofMinor(15).share(1, 2)).isEqualTo(Money.ofMinor(8));
+        assertThat(Money.ofMinor(-5).share(1, 2)).isEqualTo(Money.ofMinor(-2));
+        assertThat(Money.ofMinor(-15).share(1, 2)).isEqualTo(Money.ofMinor(-8));
+        assertThat(Money.ofMinor(100).share(1, 3)).isEqualTo(Money.ofMinor(33));
+        assertThat(Money.ofMinor(200).share(1, 3)).isEqualTo(Money.ofMinor(67));
+        assertThat(Money.ofMinor(-200).share(1, 3)).isEqualTo(Money.ofMinor(-67));
+    }
+
+    @Test
+    void sharesWithTheLastTakingTheRemainderAddUpToTheAmount() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int run = 0; run < 1_000; run++) {
+            Money amount = Money.ofMinor(random.nextLong(-1_000_000_00L, 1_000_000_00L));
+            long first = random.nextLong(1, 1_000_000);
+            long second = random.nextLong(0, 1_000_000 - first + 1);
+            List<Money> shares = List.of(amount.share(first, 1_000_000), amount.share(second, 1_000_000));
+            Money last = amount.minus(Money.sum(shares));
+
+            assertThat(Money.sum(shares).plus(last)).isEqualTo(amount);
+            assertThat(Math.abs(last.minorUnits() - expectedShare(amount, 1_000_000 - first - second, 1_000_000)))
+                    .isLessThanOrEqualTo(1);
+        }
+    }
+
+    @Test
+    void aShareWhoseProductOverflowsIsStillExact() {
+        Money largest = Money.ofMinor(Long.MAX_VALUE);
+
+        assertThat(largest.share(3, 4).minorUnits()).isEqualTo(expectedShare(largest, 3, 4));
+        assertThat(Money.ofMinor(Long.MIN_VALUE).share(999_999, 1_000_000).minorUnits())
+                .isEqualTo(expectedShare(Money.ofMinor(Long.MIN_VALUE), 999_999, 1_000_000));
+        assertThatThrownBy(() -> largest.share(2, 1)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void arithmeticFailsOnOverflowRatherThanWrapping() {
+        Money largest = Money.ofMinor(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> largest.plus(Money.ofMinor(1))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MIN_VALUE).minus(Money.ofMinor(1)))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MIN_VALUE).negate()).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.sum(List.of(largest, largest))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.parse("92233720368547758.08")).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void subCentAmountsAreRejected() {
+        assertThat(Money.parse("12.5")).isEqualTo(Money.ofMinor(1_250));
+        assertThat(Money.parse("12.500")).isEqualTo(Money.ofMinor(1_250));
+        assertThatThrownBy(() -> Money.parse("12.345")).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void amountsRoundTripThroughJsonAsNumbersWithTwoDecimals() throws Exception {
+        for (Money amount : List.of(Money.ZERO, Money.ofMinor(-1_250), Money.ofMinor(7), Money.ofMinor(Long.MAX_VALUE),
+                Money.ofMinor(Long.MIN_VALUE))) {
+            String json = objectMapper.writeValueAsString(amount);
+
+            assertThat(json).isEqualTo(amount.toBigDecimal().toPlainString());
+            assertThat(objectMapper.readValue(json, Money.class)).isEqualTo(amount);
+        }
+        assertThat(objectMapper.writeValueAsString(Money.ofMinor(-1_250))).isEqualTo("-12.50");
+    }
+
+    @Test
+    void jsonAmountsMayBeIntegersOrNumericStrings() throws Exception {
+        assertThat(objectMapper.readValue("12", Money.class)).isEqualTo(Money.ofMinor(1_200));
+        assertThat(objectMapper.readValue("\" -12.5 \"", Money.class)).isEqualTo(Money.ofMinor(-1_250));
+    }
+
+    @Test
+    void jsonAmountsWithSubCentsOrOutOfRangeAreRejected() {
+        assertThatThrownBy(() -> objectMapper.readValue("12.345", Money.class))
+                .isInstanceOf(InvalidFormatException.class);
+        assertThatThrownBy(() -> objectMapper.readValue("\"twelve\"", Money.class))
+                .isInstanceOf(InvalidFormatException.class);
+        assertThatThrownBy(() -> objectMapper.readValue("1e30", Money.class))
+                .isInstanceOf(InvalidFormatException.class);
+    }
+
+    private static long expectedShare(Money amount, long parts, long whole) {
+        return new BigDecimal(amount.minorUnits()).multiply(BigDecimal.valueOf(parts))
+                .divide(BigDecimal.valueOf(whole), 0, RoundingMode.HALF_EVEN)
+                .longValueExact();
+    }
+}
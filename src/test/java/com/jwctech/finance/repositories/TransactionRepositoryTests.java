@@ -0,0 +1,145 @@
+package com.jwctech.finance.repositories;
+
+import com.jwctech.finance.dto.TransactionHeaderRow;
+import com.jwctech.finance.entities.Account;
+import com.jwctech.finance.entities.Business;
+import com.jwctech.finance.entities.Transaction;
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.services.TransactionCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs transaction listings on an in-memory database with the schema generated from the entities.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class TransactionRepositoryTests {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 15);
+    private static final Instant NOON = Instant.parse("2024-03-15T12:00:00Z");
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Business business;
+    private Account account;
+    private final List<Transaction> written = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        business = new Business();
+        business.setName("Acme");
+        entityManager.persist(business);
+        account = new Account();
+        account.setName("Checking");
+        account.setBusiness(business);
+        entityManager.persist(account);
+
+        // Runs of equal posting dates, and inside them of equal creation times, so every tie-breaker is exercised.
+        write(DAY, NOON);
+        write(DAY, NOON);
+        write(DAY, NOON);
+        write(DAY, NOON.minusSeconds(1));
+        write(DAY, NOON.plusSeconds(1));
+        write(DAY.minusDays(1), NOON.plusSeconds(60));
+        write(DAY.minusDays(1), NOON.plusSeconds(60));
+        write(DAY.plusDays(1), NOON.minusSeconds(60));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pagesFollowPostingDateThenCreationTimeThenIdAllDescending() {
+        List<Long> expected = written.stream()
+                .sorted(Comparator.comparing(Transaction::getPostedAt)
+                        .thenComparing(Transaction::getCreatedAt)
+                        .thenComparing(Transaction::getId)
+                        .reversed())
+                .map(Transaction::getId)
+                .toList();
+
+        assertThat(transactionRepository.findFirstPageIdsForBusiness(business.getId(), Limit.of(100)))
+                .containsExactlyElementsOf(expected);
+        assertThat(pageThrough(2)).containsExactlyElementsOf(expected);
+        assertThat(pageThrough(3)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void accountPagesBreakTiesTheSameWay() {
+        List<Long> all = transactionRepository.findFirstPageIdsForBusiness(business.getId(), Limit.of(100));
+        Transaction third = entityManager.find(Transaction.class, all.get(2));
+        TransactionCursor after = TransactionCursor.decode(
+                new TransactionCursor(third.getPostedAt(), third.getCreatedAt(), third.getId()).encode());
+
+        assertThat(transactionRepository.findPageIdsForAccountAfter(account.getId(), business.getId(),
+                after.postedAt(), after.createdAt(), after.id(), Limit.of(100)))
+                .containsExactlyElementsOf(all.subList(3, all.size()));
+    }
+
+    @Test
+    void fullListingsKeepToTheirPostingDates() {
+        assertThat(transactionRepository.findHeadersForBusiness(business.getId(), DAY, DAY))
+                .extracting(TransactionHeaderRow::postedAt).hasSize(5).containsOnly(DAY);
+        assertThat(transactionRepository.findHeadersForAccount(account.getId(), business.getId(),
+                DAY.minusDays(1), DAY)).hasSize(7);
+        assertThat(transactionRepository.findHeadersForBusiness(business.getId(),
+                TransactionRepository.EARLIEST_POSTED, TransactionRepository.LATEST_POSTED)).hasSize(8);
+    }
+
+    /**
+     * Pages the way the service does, carrying only the encoded cursor of each page's last row to the next.
+     */
+    private List<Long> pageThrough(int pageSize) {
+        List<Long> ids = new ArrayList<>();
+        List<Long> page = transactionRepository.findFirstPageIdsForBusiness(business.getId(), Limit.of(pageSize));
+        while (!page.isEmpty()) {
+            ids.addAll(page);
+            Transaction last = entityManager.find(Transaction.class, page.get(page.size() - 1));
+            TransactionCursor after = TransactionCursor.decode(
+                    new TransactionCursor(last.getPostedAt(), last.getCreatedAt(), last.getId()).encode());
+            page = transactionRepository.findPageIdsForBusinessAfter(business.getId(), after.postedAt(),
+                    after.createdAt(), after.id(), Limit.of(pageSize));
+        }
+        return ids;
+    }
+
+    private void write(LocalDate postedAt, Instant createdAt) {
+        Transaction transaction = new Transaction();
+        transaction.setBusiness(business);
+        transaction.setAccount(account);
+        transaction.setPayee("Payee " + written.size());
+        transaction.setPostedAt(postedAt);
+        transaction.setAmount(Money.ofMinor(-100));
+        entityManager.persist(transaction);
+        entityManager.flush();
+        // created_at is set on persist and never updated through the entity, so ties are arranged directly.
+        jdbcTemplate.update("UPDATE transactions SET created_at = ? WHERE id = ?",
+                Timestamp.from(createdAt), transaction.getId());
+        transaction.setCreatedAt(createdAt);
+        written.add(transaction);
+    }
+}
@@ -0,0 +1,187 @@
+package com.jwctech.finance.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the router against two separate in-memory databases, each of which names itself in a marker table.
+ */
+class ReadWriteRoutingDataSourceTests {
+
+    private SwitchableDataSource replica;
+    private ReplicaHealth replicaHealth;
+    private RecentBusinessWrites recentBusinessWrites;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        route(Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransactionsUseThePrimary() {
+        assertThat(readWriteNode()).isEqualTo("primary");
+    }
+
+    @Test
+    void readsOfARecentlyWrittenBusinessStayOnThePrimary() {
+        bindBusiness("42");
+        recentBusinessWrites.recordWrite(42L);
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        bindBusiness("7");
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void aVersionReadInTheListingsTransactionComesFromTheListingsNode() {
+        bindBusiness("42");
+        String[] nodes = readOnly.execute(status -> {
+            String versionNode = node();
+            recentBusinessWrites.recordWrite(42L);
+            return new String[] {versionNode, node()};
+        });
+        assertThat(nodes).containsExactly("replica", "replica");
+    }
+
+    @Test
+    void aListingStaysOnThePrimaryWhenTheReadYourWritesWindowClosesMidTransaction() {
+        route(Duration.ofMillis(50));
+        bindBusiness("42");
+        recentBusinessWrites.recordWrite(42L);
+        String[] nodes = readOnly.execute(status -> {
+            String versionNode = node();
+            sleep(100);
+            return new String[] {versionNode, node()};
+        });
+        assertThat(nodes).containsExactly("primary", "primary");
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void pinnedReadsUseThePrimary() {
+        assertThat(ReadRouting.onPrimary(this::readOnlyNode)).isEqualTo("primary");
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaIsDown() {
+        replica.available = false;
+        replicaHealth.check();
+        assertThat(replicaHealth.isUp()).isFalse();
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        replica.available = true;
+        replicaHealth.check();
+        assertThat(replicaHealth.isUp()).isTrue();
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void aFailedReplicaConnectionFallsBackAndMarksTheReplicaDown() {
+        replica.available = false;
+        assertThat(readOnlyNode()).isEqualTo("primary");
+        assertThat(replicaHealth.isUp()).isFalse();
+        assertThat(replicaHealth.health().getStatus().getCode()).isEqualTo("DOWN");
+    }
+
+    private void route(Duration readYourWritesWindow) {
+        DataSource primary = database("primary");
+        replica = new SwitchableDataSource(database("replica"));
+        replicaHealth = new ReplicaHealth(replica, Duration.ofSeconds(5));
+        recentBusinessWrites = new RecentBusinessWrites(readYourWritesWindow);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, replicaHealth, recentBusinessWrites));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> node());
+    }
+
+    private String readWriteNode() {
+        return readWrite.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void bindBusiness(String businessId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("businessId", businessId));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static final class SwitchableDataSource extends DelegatingDataSource {
+
+        private volatile boolean available = true;
+
+        private SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!available) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.entities.Account;
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.repositories.AccountBalanceRepository;
+import com.jwctech.finance.repositories.AccountRepository;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewTransaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the balance service against an in-memory database holding just the ledger tables it reads, with every
+ * transaction at REPEATABLE READ as in production. H2 gives each statement a fresh view of rows it has not read yet,
+ * so the snapshot MySQL fixes at a transaction's first read is checked through the order of the service's calls.
+ */
+class AccountBalanceServiceTests {
+
+    private static final long BUSINESS_ID = 1L;
+    private static final long ACCOUNT_ID = 10L;
+
+    private JdbcTemplate jdbcTemplate;
+    private AccountBalanceRepository accountBalanceRepository;
+    private AccountRepository accountRepository;
+    private TransactionTemplate transactions;
+    private AccountBalanceService accountBalanceService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:balances-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE accounts (id BIGINT PRIMARY KEY, business_id BIGINT NOT NULL)");
+        jdbcTemplate.execute("""
+                CREATE TABLE transactions (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    account_id BIGINT NOT NULL,
+                    posted_at DATE NOT NULL,
+                    amount BIGINT NOT NULL
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE account_balances (
+                    account_id BIGINT PRIMARY KEY,
+                    business_id BIGINT NOT NULL,
+                    balance BIGINT NOT NULL,
+                    transaction_count BIGINT NOT NULL
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE account_balance_checkpoints (
+                    account_id BIGINT NOT NULL,
+                    period_end DATE NOT NULL,
+                    business_id BIGINT NOT NULL,
+                    balance BIGINT NOT NULL,
+                    PRIMARY KEY (account_id, period_end)
+                )
+                """);
+        jdbcTemplate.update("INSERT INTO accounts (id, business_id) VALUES (?, ?)", ACCOUNT_ID, BUSINESS_ID);
+
+        accountBalanceRepository = spy(new AccountBalanceRepository(jdbcTemplate));
+        accountRepository = mock(AccountRepository.class);
+        when(accountRepository.findByIdAndBusiness_Id(ACCOUNT_ID, BUSINESS_ID)).thenReturn(Optional.of(new Account()));
+        accountBalanceService = new AccountBalanceService(accountBalanceRepository, accountRepository);
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactions.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @Test
+    void aBalanceAsOfAMonthEndMaterializesItsCheckpoint() {
+        post(LocalDate.of(2024, 1, 15), 10_000);
+        post(LocalDate.of(2024, 3, 2), -2_500);
+
+        assertThat(balanceAsOf(LocalDate.of(2024, 3, 31))).isEqualTo(Money.ofMinor(7_500));
+        assertThat(checkpoint(LocalDate.of(2024, 2, 29))).isEqualTo(10_000);
+        assertThat(checkpoint(LocalDate.of(2024, 3, 31))).isEqualTo(7_500);
+    }
+
+    @Test
+    void aDatedBalanceLocksTheAccountBeforeItsFirstRead() {
+        post(LocalDate.of(2024, 1, 15), 10_000);
+
+        balanceAsOf(LocalDate.of(2024, 3, 31));
+
+        InOrder order = inOrder(accountBalanceRepository, accountRepository);
+        order.verify(accountBalanceRepository).createIfMissing(ACCOUNT_ID, BUSINESS_ID);
+        order.verify(accountRepository).findByIdAndBusiness_Id(ACCOUNT_ID, BUSINESS_ID);
+        order.verify(accountBalanceRepository).findLatestCheckpoint(ACCOUNT_ID, LocalDate.of(2024, 3, 31));
+        order.verify(accountBalanceRepository).findMonthlyNet(eq(ACCOUNT_ID), any(), eq(LocalDate.of(2024, 3, 31)));
+    }
+
+    @Test
+    void aBackDatedPostingRacingMaterializationEndsUpInTheCheckpoint() throws Exception {
+        post(LocalDate.of(2024, 1, 15), 10_000);
+
+        CountDownLatch posted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        FutureTask<Void> writer = new FutureTask<>(() -> {
+            transactions.executeWithoutResult(status -> {
+                insertPosting(LocalDate.of(2024, 2, 10), 5_000);
+                posted.countDown();
+                await(commit);
+            });
+            return null;
+        });
+        new Thread(writer).start();
+        assertThat(posted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        FutureTask<Money> reader = new FutureTask<>(() -> balanceAsOf(LocalDate.of(2024, 3, 31)));
+        new Thread(reader).start();
+        awaitBlockedSession();
+        commit.countDown();
+        writer.get(10, TimeUnit.SECONDS);
+
+        assertThat(reader.get(10, TimeUnit.SECONDS)).isEqualTo(Money.ofMinor(15_000));
+        assertThat(checkpoint(LocalDate.of(2024, 3, 31))).isEqualTo(15_000);
+        assertThat(balanceAsOf(LocalDate.of(2024, 3, 31))).isEqualTo(Money.ofMinor(15_000));
+    }
+
+    private Money balanceAsOf(LocalDate asOf) {
+        return transactions.execute(status -> accountBalanceService.getBalance(BUSINESS_ID, ACCOUNT_ID, asOf))
+                .balance();
+    }
+
+    private void post(LocalDate postedAt, long minorUnits) {
+        transactions.executeWithoutResult(status -> insertPosting(postedAt, minorUnits));
+    }
+
+    private void insertPosting(LocalDate postedAt, long minorUnits) {
+        jdbcTemplate.update("INSERT INTO transactions (account_id, posted_at, amount) VALUES (?, ?, ?)",
+                ACCOUNT_ID, postedAt, minorUnits);
+        accountBalanceService.recordNewTransactions(List.of(new NewTransaction(BUSINESS_ID, ACCOUNT_ID, null, "Payee",
+                null, postedAt, Money.ofMinor(minorUnits), List.of())));
+    }
+
+    private long checkpoint(LocalDate periodEnd) {
+        return jdbcTemplate.queryForObject(
+                "SELECT balance FROM account_balance_checkpoints WHERE account_id = ? AND period_end = ?",
+                Long.class, ACCOUNT_ID, periodEnd);
+    }
+
+    /**
+     * Waits until some session is blocked on another's lock, so the posting commits while the balance read is inside
+     * its transaction.
+     */
+    private void awaitBlockedSession() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS WHERE BLOCKER_ID IS NOT NULL", Integer.class) == 0) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.dedupe.TransactionFingerprint;
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.repositories.AccountBalanceRepository;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewTransaction;
+import com.jwctech.finance.repositories.TransactionFingerprintRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the detector against an in-memory database holding just the columns it reads.
+ */
+class DuplicateDetectorTests {
+
+    private static final long BUSINESS_ID = 1L;
+    private static final long ACCOUNT_ID = 10L;
+    private static final LocalDate POSTED_AT = LocalDate.of(2024, 3, 15);
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionFingerprintRepository transactionFingerprintRepository;
+    private DuplicateDetector duplicateDetector;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:duplicates-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE accounts (id BIGINT PRIMARY KEY, business_id BIGINT NOT NULL)");
+        jdbcTemplate.execute("""
+                CREATE TABLE transactions (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    account_id BIGINT NOT NULL,
+                    posted_at DATE NOT NULL,
+                    fingerprint BIGINT
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE account_balances (
+                    account_id BIGINT PRIMARY KEY,
+                    business_id BIGINT NOT NULL,
+                    balance BIGINT NOT NULL,
+                    transaction_count BIGINT NOT NULL
+                )
+                """);
+        jdbcTemplate.update("INSERT INTO accounts (id, business_id) VALUES (?, ?)", ACCOUNT_ID, BUSINESS_ID);
+
+        transactionFingerprintRepository = spy(new TransactionFingerprintRepository(jdbcTemplate));
+        duplicateDetector = new DuplicateDetector(transactionFingerprintRepository,
+                new AccountBalanceRepository(jdbcTemplate), 0.01, 1 << 20, Duration.ofMinutes(30));
+    }
+
+    @Test
+    void aRepeatedPostingIsReportedAsItsOriginal() {
+        long original = existing(transaction("Coffee Shop", -450));
+
+        assertThat(duplicateDetector.findDuplicates(List.of(transaction("COFFEE-SHOP", -450),
+                transaction("Coffee Shop", -451)))).containsExactly(original, null);
+    }
+
+    @Test
+    void identicalPostingsInABatchAreMatchedOneToOne() {
+        long first = existing(transaction("Coffee Shop", -450));
+        long second = existing(transaction("Coffee Shop", -450));
+
+        assertThat(duplicateDetector.findDuplicates(List.of(transaction("Coffee Shop", -450),
+                transaction("Coffee Shop", -450), transaction("Coffee Shop", -450))))
+                .containsExactly(first, second, null);
+    }
+
+    @Test
+    void postingsTheFilterHasNeverSeenSkipTheLookup() {
+        existing(transaction("Coffee Shop", -450));
+
+        assertThat(duplicateDetector.findDuplicates(List.of(transaction("Bookstore", -1_999)))).containsOnlyNulls();
+        verify(transactionFingerprintRepository, never()).findMatches(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void aCommittedWriteThatSkippedTheCheckIsStillFound() {
+        duplicateDetector.findDuplicates(List.of(transaction("Warm-up", -1)));
+        NewTransaction forced = transaction("Coffee Shop", -450);
+        long id = existing(forced);
+
+        duplicateDetector.onTransactionsCreated(new TransactionsCreatedEvent(BUSINESS_ID, List.of(id), List.of(forced)));
+
+        assertThat(duplicateDetector.findDuplicates(List.of(transaction("Coffee Shop", -450)))).containsExactly(id);
+    }
+
+    private long existing(NewTransaction transaction) {
+        jdbcTemplate.update("INSERT INTO transactions (account_id, posted_at, fingerprint) VALUES (?, ?, ?)",
+                transaction.accountId(), transaction.postedAt(), TransactionFingerprint.of(transaction.accountId(),
+                        transaction.postedAt(), transaction.amount(), transaction.payee()));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM transactions", Long.class);
+    }
+
+    private static NewTransaction transaction(String payee, long minorUnits) {
+        return new NewTransaction(BUSINESS_ID, ACCOUNT_ID, null, payee, null, POSTED_AT, Money.ofMinor(minorUnits),
+                List.of());
+    }
+}
@@ -0,0 +1,99 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.repositories.AccountBalanceRepository;
+import com.jwctech.finance.repositories.LedgerReferenceRepository;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewSplit;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewTransaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the guard against an in-memory database holding just the reference tables it reads.
+ */
+class LedgerReferenceGuardTests {
+
+    private static final long BUSINESS_ID = 1L;
+    private static final long OTHER_BUSINESS_ID = 2L;
+    private static final long ACCOUNT_ID = 10L;
+    private static final long VENDOR_ID = 20L;
+    private static final long CATEGORY_ID = 30L;
+    private static final long OTHER_CATEGORY_ID = 31L;
+
+    private JdbcTemplate jdbcTemplate;
+    private LedgerReferenceGuard ledgerReferenceGuard;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:references-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String table : List.of("accounts", "vendors", "categories")) {
+            jdbcTemplate.execute("CREATE TABLE " + table + " (id BIGINT PRIMARY KEY, business_id BIGINT NOT NULL)");
+        }
+        jdbcTemplate.execute("""
+                CREATE TABLE account_balances (
+                    account_id BIGINT PRIMARY KEY,
+                    business_id BIGINT NOT NULL,
+                    balance BIGINT NOT NULL,
+                    transaction_count BIGINT NOT NULL
+                )
+                """);
+        jdbcTemplate.update("INSERT INTO accounts (id, business_id) VALUES (?, ?)", ACCOUNT_ID, BUSINESS_ID);
+        jdbcTemplate.update("INSERT INTO vendors (id, business_id) VALUES (?, ?)", VENDOR_ID, BUSINESS_ID);
+        jdbcTemplate.update("INSERT INTO categories (id, business_id) VALUES (?, ?)", CATEGORY_ID, BUSINESS_ID);
+        jdbcTemplate.update("INSERT INTO categories (id, business_id) VALUES (?, ?)", OTHER_CATEGORY_ID,
+                OTHER_BUSINESS_ID);
+
+        ledgerReferenceGuard = new LedgerReferenceGuard(new LedgerReferenceRepository(jdbcTemplate),
+                new AccountBalanceRepository(jdbcTemplate));
+    }
+
+    @Test
+    void rowsReferringToExistingRowsPassAndLockTheirAccount() {
+        ledgerReferenceGuard.confirm(List.of(transaction(ACCOUNT_ID, VENDOR_ID, CATEGORY_ID),
+                transaction(ACCOUNT_ID, null, CATEGORY_ID)));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM account_balances WHERE account_id = ?",
+                Integer.class, ACCOUNT_ID)).isEqualTo(1);
+    }
+
+    @Test
+    void aDeletedAccountIsAConflict() {
+        jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", ACCOUNT_ID);
+
+        assertConflict(transaction(ACCOUNT_ID, null, CATEGORY_ID));
+    }
+
+    @Test
+    void aMissingVendorIsAConflict() {
+        assertConflict(transaction(ACCOUNT_ID, VENDOR_ID + 1, CATEGORY_ID));
+    }
+
+    @Test
+    void aCategoryOfAnotherBusinessIsAConflict() {
+        assertConflict(transaction(ACCOUNT_ID, null, OTHER_CATEGORY_ID));
+    }
+
+    private void assertConflict(NewTransaction transaction) {
+        assertThatThrownBy(() -> ledgerReferenceGuard.confirm(List.of(transaction)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    private static NewTransaction transaction(long accountId, Long vendorId, long categoryId) {
+        return new NewTransaction(BUSINESS_ID, accountId, vendorId, "Payee", null, LocalDate.of(2024, 3, 15),
+                Money.ofMinor(-500), List.of(new NewSplit(categoryId, Money.ofMinor(-500), null)));
+    }
+}
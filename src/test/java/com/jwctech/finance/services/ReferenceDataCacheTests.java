@@ -0,0 +1,86 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.entities.Account;
+import com.jwctech.finance.repositories.AccountRepository;
+import com.jwctech.finance.repositories.BusinessRepository;
+import com.jwctech.finance.repositories.BusinessVersionRepository;
+import com.jwctech.finance.repositories.CategoryRepository;
+import com.jwctech.finance.repositories.VendorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers reloading a snapshot that predates accounts created through another instance.
+ */
+class ReferenceDataCacheTests {
+
+    private static final long BUSINESS_ID = 1L;
+    private static final long ACCOUNT_ID = 10L;
+    private static final long NEW_ACCOUNT_ID = 11L;
+
+    private AccountRepository accountRepository;
+    private ReferenceDataCache referenceDataCache;
+
+    @BeforeEach
+    void setUp() {
+        BusinessRepository businessRepository = mock(BusinessRepository.class);
+        when(businessRepository.existsById(BUSINESS_ID)).thenReturn(true);
+        accountRepository = mock(AccountRepository.class);
+        referenceDataCache = new ReferenceDataCache(businessRepository, mock(BusinessVersionRepository.class),
+                accountRepository, mock(CategoryRepository.class), mock(VendorRepository.class),
+                mock(PlatformTransactionManager.class), 1000, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void aSnapshotMissingAnIdIsReloadedOnce() {
+        when(accountRepository.findByBusiness_IdOrderByNameAsc(BUSINESS_ID))
+                .thenReturn(List.of(account(ACCOUNT_ID)))
+                .thenReturn(List.of(account(ACCOUNT_ID), account(NEW_ACCOUNT_ID)));
+        referenceDataCache.get(BUSINESS_ID);
+
+        BusinessReferenceData referenceData = referenceDataCache.get(BUSINESS_ID,
+                data -> data.account(NEW_ACCOUNT_ID) != null);
+
+        assertThat(referenceData.account(NEW_ACCOUNT_ID)).isNotNull();
+        assertThat(referenceDataCache.get(BUSINESS_ID)).isSameAs(referenceData);
+        verify(accountRepository, times(2)).findByBusiness_IdOrderByNameAsc(BUSINESS_ID);
+    }
+
+    @Test
+    void aSnapshotHoldingEveryIdIsNotReloaded() {
+        when(accountRepository.findByBusiness_IdOrderByNameAsc(BUSINESS_ID)).thenReturn(List.of(account(ACCOUNT_ID)));
+        BusinessReferenceData cached = referenceDataCache.get(BUSINESS_ID);
+
+        assertThat(referenceDataCache.get(BUSINESS_ID, data -> data.account(ACCOUNT_ID) != null)).isSameAs(cached);
+        verify(accountRepository, times(1)).findByBusiness_IdOrderByNameAsc(BUSINESS_ID);
+    }
+
+    @Test
+    void anIdMissingAfterTheReloadStillComesBackMissing() {
+        when(accountRepository.findByBusiness_IdOrderByNameAsc(BUSINESS_ID)).thenReturn(List.of(account(ACCOUNT_ID)));
+
+        BusinessReferenceData referenceData = referenceDataCache.get(BUSINESS_ID,
+                data -> data.account(NEW_ACCOUNT_ID) != null);
+
+        assertThat(referenceData.account(NEW_ACCOUNT_ID)).isNull();
+        verify(accountRepository, times(2)).findByBusiness_IdOrderByNameAsc(BUSINESS_ID);
+    }
+
+    private Account account(long id) {
+        Account account = new Account();
+        account.setId(id);
+        account.setName("Account " + id);
+        account.setAccountType("CHECKING");
+        return account;
+    }
+}
@@ -0,0 +1,60 @@
+package com.jwctech.finance.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionCursorTests {
+
+    @Test
+    void aCursorSurvivesEncoding() {
+        TransactionCursor cursor = new TransactionCursor(LocalDate.of(2024, 3, 15),
+                Instant.parse("2024-03-15T12:34:56.123456Z"), 9_876_543_210L);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(TransactionCursor.decode(encoded)).isEqualTo(cursor);
+        assertThat(TransactionCursor.decode(" " + encoded + " ")).isEqualTo(cursor);
+    }
+
+    @Test
+    void aMissingCursorMeansTheFirstPage() {
+        assertThat(TransactionCursor.decode(null)).isNull();
+        assertThat(TransactionCursor.decode("  ")).isNull();
+    }
+
+    @Test
+    void tamperedCursorsAreBadRequests() {
+        String valid = new TransactionCursor(LocalDate.of(2024, 3, 15), Instant.parse("2024-03-15T12:00:00Z"), 42L)
+                .encode();
+
+        assertBadRequest(valid.substring(0, valid.length() - 3));
+        assertBadRequest(valid + "!");
+        assertBadRequest("not a cursor");
+        assertBadRequest(encode("2024-03-15|2024-03-15T12:00:00Z"));
+        assertBadRequest(encode("2024-03-15|2024-03-15T12:00:00Z|42|7"));
+        assertBadRequest(encode("2024-02-30|2024-03-15T12:00:00Z|42"));
+        assertBadRequest(encode("2024-03-15|yesterday|42"));
+        assertBadRequest(encode("2024-03-15|2024-03-15T12:00:00Z|forty-two"));
+        assertBadRequest(encode("2024-03-15|2024-03-15T12:00:00Z|"));
+    }
+
+    private static void assertBadRequest(String cursor) {
+        assertThatThrownBy(() -> TransactionCursor.decode(cursor))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,199 @@
+package com.jwctech.finance.services;
+
+import com.jwctech.finance.dto.BatchTransactionResultDto;
+import com.jwctech.finance.dto.BatchTransactionsDto;
+import com.jwctech.finance.dto.CategoryDto;
+import com.jwctech.finance.dto.TransactionDto;
+import com.jwctech.finance.entities.CategoryKind;
+import com.jwctech.finance.entities.Transaction;
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.repositories.AccountRepository;
+import com.jwctech.finance.repositories.BusinessRepository;
+import com.jwctech.finance.repositories.CategoryRepository;
+import com.jwctech.finance.repositories.TransactionBatchRepository;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewTransaction;
+import com.jwctech.finance.repositories.TransactionFingerprintRepository;
+import com.jwctech.finance.repositories.TransactionRepository;
+import com.jwctech.finance.repositories.VendorRepository;
+import com.jwctech.finance.services.BusinessReferenceData.AccountEntry;
+import com.jwctech.finance.services.TransactionService.CreateTransactionRequest;
+import com.jwctech.finance.services.TransactionService.CreateTransactionSplitRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks what each {@link DuplicatePolicy} does with the duplicates the detector reports, on the single and the batch
+ * create paths. The detector and repositories are mocks; which rows count as duplicates is covered by
+ * {@link DuplicateDetectorTests}.
+ */
+class TransactionServiceTests {
+
+    private static final long BUSINESS_ID = 1L;
+    private static final long ACCOUNT_ID = 10L;
+    private static final long CATEGORY_ID = 20L;
+
+    private TransactionRepository transactionRepository;
+    private TransactionBatchRepository transactionBatchRepository;
+    private DuplicateDetector duplicateDetector;
+    private TransactionFingerprintRepository transactionFingerprintRepository;
+    private LedgerReferenceGuard ledgerReferenceGuard;
+    private TransactionService transactionService;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository = mock(TransactionRepository.class);
+        when(transactionRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        transactionBatchRepository = mock(TransactionBatchRepository.class);
+        duplicateDetector = mock(DuplicateDetector.class);
+        transactionFingerprintRepository = mock(TransactionFingerprintRepository.class);
+        ledgerReferenceGuard = mock(LedgerReferenceGuard.class);
+        ReferenceDataCache referenceDataCache = mock(ReferenceDataCache.class);
+        CategoryDto category = new CategoryDto(CATEGORY_ID, "Meals", null, BUSINESS_ID, null, CategoryKind.EXPENSE, true);
+        BusinessReferenceData referenceData = new BusinessReferenceData(BUSINESS_ID, 1,
+                Map.of(ACCOUNT_ID, new AccountEntry(ACCOUNT_ID, "Checking", "CHECKING")),
+                List.of(category), Map.of(CATEGORY_ID, category), List.of(), Map.of());
+        when(referenceDataCache.get(BUSINESS_ID)).thenReturn(referenceData);
+        when(referenceDataCache.get(eq(BUSINESS_ID), any())).thenReturn(referenceData);
+        transactionService = new TransactionService(transactionRepository, transactionBatchRepository,
+                mock(AccountRepository.class), mock(BusinessRepository.class), mock(CategoryRepository.class),
+                mock(VendorRepository.class), mock(LedgerProjectionService.class), referenceDataCache,
+                duplicateDetector, transactionFingerprintRepository, ledgerReferenceGuard);
+    }
+
+    @Test
+    void aSingleDuplicateIsRejectedUnderSkip() {
+        when(duplicateDetector.findDuplicates(anyList())).thenReturn(Arrays.asList(99L));
+
+        assertThatThrownBy(() -> transactionService.createTransaction(request("Coffee"), DuplicatePolicy.SKIP))
+                .isInstanceOfSatisfying(ResponseStatusException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                    assertThat(e.getReason()).contains("99");
+                });
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void aSingleNewTransactionIsWrittenUnflaggedUnderSkip() {
+        when(duplicateDetector.findDuplicates(anyList())).thenReturn(Arrays.asList((Long) null));
+
+        TransactionDto created = transactionService.createTransaction(request("Coffee"), DuplicatePolicy.SKIP);
+
+        assertThat(created.possibleDuplicate()).isFalse();
+        verify(transactionRepository).save(any());
+    }
+
+    @Test
+    void aSingleDuplicateIsWrittenFlaggedUnderFlag() {
+        when(duplicateDetector.findDuplicates(anyList())).thenReturn(Arrays.asList(99L));
+
+        TransactionDto created = transactionService.createTransaction(request("Coffee"), DuplicatePolicy.FLAG);
+
+        assertThat(created.possibleDuplicate()).isTrue();
+        ArgumentCaptor<Transaction> saved = ArgumentCaptor.forClass(Transaction.class);
+        verify(transactionRepository).save(saved.capture());
+        assertThat(saved.getValue().isPossibleDuplicate()).isTrue();
+    }
+
+    @Test
+    void aSingleTransactionIsWrittenUncheckedUnderForce() {
+        TransactionDto created = transactionService.createTransaction(request("Coffee"), DuplicatePolicy.FORCE);
+
+        assertThat(created.possibleDuplicate()).isFalse();
+        verifyNoInteractions(duplicateDetector);
+        verify(transactionRepository).save(any());
+    }
+
+    @Test
+    void batchDuplicatesAreLeftOutAndReportedUnderSkip() {
+        when(duplicateDetector.findDuplicates(anyList())).thenReturn(Arrays.asList(null, 99L, null));
+        when(transactionBatchRepository.insertAll(anyList())).thenReturn(List.of(1001L, 1002L));
+
+        BatchTransactionsDto batch = createBatch(DuplicatePolicy.SKIP);
+
+        assertThat(inserted()).extracting(NewTransaction::payee).containsExactly("First", "Third");
+        assertThat(batch.created()).isEqualTo(2);
+        assertThat(batch.skipped()).isEqualTo(1);
+        assertThat(batch.results()).containsExactly(
+                new BatchTransactionResultDto(0, BatchTransactionResultDto.CREATED, 1001L, null, null),
+                new BatchTransactionResultDto(1, BatchTransactionResultDto.SKIPPED, null, 99L, null),
+                new BatchTransactionResultDto(2, BatchTransactionResultDto.CREATED, 1002L, null, null));
+        verify(transactionFingerprintRepository, never()).markPossibleDuplicates(anyList());
+    }
+
+    @Test
+    void batchDuplicatesAreWrittenAndFlaggedUnderFlag() {
+        when(duplicateDetector.findDuplicates(anyList())).thenReturn(Arrays.asList(null, 99L, null));
+        when(transactionBatchRepository.insertAll(anyList())).thenReturn(List.of(1001L, 1002L, 1003L));
+
+        BatchTransactionsDto batch = createBatch(DuplicatePolicy.FLAG);
+
+        assertThat(inserted()).extracting(NewTransaction::payee).containsExactly("First", "Second", "Third");
+        assertThat(batch.created()).isEqualTo(3);
+        assertThat(batch.skipped()).isZero();
+        assertThat(batch.results().get(1))
+                .isEqualTo(new BatchTransactionResultDto(1, BatchTransactionResultDto.CREATED, 1002L, 99L, null));
+        verify(transactionFingerprintRepository).markPossibleDuplicates(List.of(1002L));
+    }
+
+    @Test
+    void batchesAreWrittenUncheckedUnderForce() {
+        when(transactionBatchRepository.insertAll(anyList())).thenReturn(List.of(1001L, 1002L, 1003L));
+
+        BatchTransactionsDto batch = createBatch(DuplicatePolicy.FORCE);
+
+        assertThat(inserted()).hasSize(3);
+        assertThat(batch.created()).isEqualTo(3);
+        assertThat(batch.results()).extracting(BatchTransactionResultDto::duplicateOf).containsOnlyNulls();
+        verifyNoInteractions(duplicateDetector);
+        verify(transactionFingerprintRepository, never()).markPossibleDuplicates(anyList());
+    }
+
+    @Test
+    void nothingIsWrittenWhenAReferenceIsGoneFromThePrimary() {
+        doThrow(new ResponseStatusException(HttpStatus.CONFLICT)).when(ledgerReferenceGuard).confirm(anyList());
+
+        assertThatThrownBy(() -> transactionService.createTransaction(request("Coffee"), DuplicatePolicy.FORCE))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> createBatch(DuplicatePolicy.FORCE)).isInstanceOf(ResponseStatusException.class);
+        verify(transactionRepository, never()).save(any());
+        verify(transactionBatchRepository, never()).insertAll(anyList());
+    }
+
+    private BatchTransactionsDto createBatch(DuplicatePolicy duplicates) {
+        return transactionService.createTransactions(BUSINESS_ID, BatchMode.ALL_OR_NOTHING, duplicates,
+                List.of(request("First"), request("Second"), request("Third")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<NewTransaction> inserted() {
+        ArgumentCaptor<List<NewTransaction>> rows = ArgumentCaptor.forClass(List.class);
+        verify(transactionBatchRepository).insertAll(rows.capture());
+        return rows.getValue();
+    }
+
+    private static CreateTransactionRequest request(String payee) {
+        return new CreateTransactionRequest(BUSINESS_ID, ACCOUNT_ID, BUSINESS_ID, ACCOUNT_ID, payee, null,
+                LocalDate.of(2024, 3, 15), Money.ofMinor(-1_250), null,
+                List.of(new CreateTransactionSplitRequest(CATEGORY_ID, Money.ofMinor(-1_250), null)));
+    }
+}
@@ -0,0 +1,111 @@
+package com.jwctech.finance.services.imports;
+
+import com.jwctech.finance.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvStatementReaderTests {
+
+    @Test
+    void quotedFieldsKeepCommasNewlinesAndEscapedQuotes() throws IOException {
+        List<StatementRow> rows = readAll("""
+                Date,Amount,Description,Memo
+                2024-03-15,-12.50,"Joe's ""Best"" Coffee, Inc.","first line
+                second line"
+                2024-03-16,20.00,Refund,
+                """);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).payee()).isEqualTo("Joe's \"Best\" Coffee, Inc.");
+        assertThat(rows.get(0).memo()).isEqualTo("first line\nsecond line");
+        assertThat(rows.get(1).lineNumber()).isEqualTo(4);
+        assertThat(rows.get(1).memo()).isNull();
+    }
+
+    @Test
+    void headerAliasesDebitCreditColumnsAndCrlfAreUnderstood() throws IOException {
+        List<StatementRow> rows = readAll("\uFEFFPosted Date,Name,Debit,Credit,Reference\r\n"
+                + "3/15/2024,Coffee,4.50,,A1\r\n"
+                + "3/16/2024,Payroll,,\"1,000.00\",A2\r\n");
+
+        assertThat(rows).extracting(StatementRow::amount)
+                .containsExactly(Money.ofMinor(-450), Money.ofMinor(100_000));
+        assertThat(rows).extracting(StatementRow::postedAt)
+                .containsExactly(LocalDate.of(2024, 3, 15), LocalDate.of(2024, 3, 16));
+        assertThat(rows).extracting(StatementRow::externalId).containsExactly("A1", "A2");
+    }
+
+    @Test
+    void subCentAmountsAreRoundedHalfUp() throws IOException {
+        List<StatementRow> rows = readAll("""
+                date,amount
+                2024-03-15,12.345
+                2024-03-15,-12.345
+                2024-03-15,12.3449
+                2024-03-15,($0.005)
+                """);
+
+        assertThat(rows).extracting(StatementRow::amount).containsExactly(
+                Money.ofMinor(1_235), Money.ofMinor(-1_235), Money.ofMinor(1_234), Money.ofMinor(-1));
+    }
+
+    @Test
+    void aMalformedRowIsReportedWithItsLineAndReadingContinues() throws IOException {
+        try (CsvStatementReader reader = reader("""
+                date,amount,payee
+                2024-03-15,twelve,Coffee
+                yesterday,1.00,Coffee
+
+                2024-03-17,,Coffee
+                2024-03-18,3.00,Bookstore
+                """)) {
+            assertThatThrownBy(reader::next).isInstanceOfSatisfying(StatementFormatException.class,
+                    e -> assertThat(e.getLineNumber()).isEqualTo(2));
+            assertThatThrownBy(reader::next).isInstanceOfSatisfying(StatementFormatException.class,
+                    e -> assertThat(e.getLineNumber()).isEqualTo(3));
+            assertThatThrownBy(reader::next).isInstanceOfSatisfying(StatementFormatException.class,
+                    e -> assertThat(e.getLineNumber()).isEqualTo(5));
+
+            StatementRow row = reader.next();
+            assertThat(row.lineNumber()).isEqualTo(6);
+            assertThat(row.payee()).isEqualTo("Bookstore");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void aHeaderWithoutDateOrAmountIsRejected() {
+        assertThatThrownBy(() -> readAll("amount,payee\n1.00,Coffee\n")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> readAll("date,payee\n2024-03-15,Coffee\n"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void anEmptyFileHasNoRows() throws IOException {
+        assertThat(readAll("")).isEmpty();
+        assertThat(readAll("date,amount\n")).isEmpty();
+    }
+
+    private static List<StatementRow> readAll(String csv) throws IOException {
+        List<StatementRow> rows = new ArrayList<>();
+        try (CsvStatementReader reader = reader(csv)) {
+            StatementRow row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static CsvStatementReader reader(String csv) {
+        return new CsvStatementReader(new StringReader(csv));
+    }
+}
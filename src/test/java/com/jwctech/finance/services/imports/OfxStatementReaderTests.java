@@ -0,0 +1,134 @@
+package com.jwctech.finance.services.imports;
+
+import com.jwctech.finance.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OfxStatementReaderTests {
+
+    @Test
+    void sgmlTransactionsWithoutClosingTagsAreRead() throws IOException {
+        List<StatementRow> rows = readAll("""
+                OFXHEADER:100
+                DATA:OFXSGML
+                VERSION:102
+
+                <OFX>
+                <BANKMSGSRSV1><STMTTRNRS><STMTRS>
+                <BANKTRANLIST>
+                <DTSTART>20240301
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20240315120000[-5:EST]
+                <TRNAMT>-12.50
+                <FITID>2024031501
+                <NAME>Joe&apos;s Coffee &amp; Bagels
+                <MEMO>POS PURCHASE
+                <STMTTRN>
+                <TRNTYPE>CREDIT
+                <DTPOSTED>20240316
+                <TRNAMT>1000.00
+                <FITID>2024031601
+                <NAME>Payroll
+                </BANKTRANLIST>
+                <LEDGERBAL><BALAMT>987.50<DTASOF>20240331
+                </STMTRS></STMTTRNRS></BANKMSGSRSV1>
+                </OFX>
+                """);
+
+        assertThat(rows).hasSize(2);
+        StatementRow first = rows.get(0);
+        assertThat(first.postedAt()).isEqualTo(LocalDate.of(2024, 3, 15));
+        assertThat(first.amount()).isEqualTo(Money.ofMinor(-1_250));
+        assertThat(first.payee()).isEqualTo("Joe's Coffee & Bagels");
+        assertThat(first.memo()).isEqualTo("POS PURCHASE");
+        assertThat(first.externalId()).isEqualTo("2024031501");
+        assertThat(first.lineNumber()).isEqualTo(9);
+        assertThat(rows.get(1).amount()).isEqualTo(Money.ofMinor(100_000));
+        assertThat(rows.get(1).memo()).isNull();
+    }
+
+    @Test
+    void xmlTransactionsWithClosingTagsAreRead() throws IOException {
+        List<StatementRow> rows = readAll("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <?OFX OFXHEADER="200" VERSION="220"?>
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN><TRNTYPE>DEBIT</TRNTYPE><DTPOSTED>20240315</DTPOSTED><TRNAMT>-4.50</TRNAMT>
+                <FITID>X1</FITID><NAME>Coffee</NAME></STMTTRN>
+                <stmttrn><trntype>DEBIT</trntype><dtposted>20240316</dtposted><trnamt>-9.00</trnamt>
+                <fitid>X2</fitid><name>Lunch</name></stmttrn>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """);
+
+        assertThat(rows).extracting(StatementRow::payee).containsExactly("Coffee", "Lunch");
+        assertThat(rows).extracting(StatementRow::amount).containsExactly(Money.ofMinor(-450), Money.ofMinor(-900));
+    }
+
+    @Test
+    void aQfxFileEndingInsideATransactionStillYieldsIt() throws IOException {
+        List<StatementRow> rows = readAll("""
+                OFXHEADER:100
+                DATA:OFXSGML
+                <OFX><SIGNONMSGSRSV1><SONRS><INTU.BID>3000</SONRS></SIGNONMSGSRSV1>
+                <STMTTRN><DTPOSTED>20240315<TRNAMT>-7.25<NAME>Parking
+                """);
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.payee()).isEqualTo("Parking");
+            assertThat(row.amount()).isEqualTo(Money.ofMinor(-725));
+        });
+    }
+
+    @Test
+    void subCentAmountsAreRoundedHalfUp() throws IOException {
+        List<StatementRow> rows = readAll("""
+                <STMTTRN><DTPOSTED>20240315<TRNAMT>-12.345
+                <STMTTRN><DTPOSTED>20240315<TRNAMT>0.0049
+                </BANKTRANLIST>
+                """);
+
+        assertThat(rows).extracting(StatementRow::amount).containsExactly(Money.ofMinor(-1_235), Money.ZERO);
+    }
+
+    @Test
+    void aMalformedTransactionIsReportedAndReadingContinues() throws IOException {
+        try (OfxStatementReader reader = reader("""
+                <BANKTRANLIST>
+                <STMTTRN><TRNAMT>-1.00<NAME>No date
+                <STMTTRN><DTPOSTED>20240315<TRNAMT>abc<NAME>Bad amount
+                <STMTTRN><DTPOSTED>20240316<TRNAMT>-2.00<NAME>Good
+                </BANKTRANLIST>
+                """)) {
+            assertThatThrownBy(reader::next).isInstanceOfSatisfying(StatementFormatException.class,
+                    e -> assertThat(e.getLineNumber()).isEqualTo(2));
+            assertThatThrownBy(reader::next).isInstanceOfSatisfying(StatementFormatException.class,
+                    e -> assertThat(e.getLineNumber()).isEqualTo(3));
+            assertThat(reader.next().payee()).isEqualTo("Good");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    private static List<StatementRow> readAll(String ofx) throws IOException {
+        List<StatementRow> rows = new ArrayList<>();
+        try (OfxStatementReader reader = reader(ofx)) {
+            StatementRow row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static OfxStatementReader reader(String ofx) {
+        return new OfxStatementReader(new StringReader(ofx));
+    }
+}
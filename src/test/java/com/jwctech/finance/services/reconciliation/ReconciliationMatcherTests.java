@@ -0,0 +1,133 @@
+package com.jwctech.finance.services.reconciliation;
+
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.services.imports.StatementRow;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.jwctech.finance.services.reconciliation.ReconciliationMatcher.UNMATCHED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReconciliationMatcherTests {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 15);
+
+    private final ReconciliationMatcher matcher = new ReconciliationMatcher(3, Money.ZERO, 0.5);
+
+    @Test
+    void anExactDateAndAmountHitIsAcceptedWhateverThePayee() {
+        List<LedgerEntry> ledger = List.of(entry(1, DAY, -500, "Rent"));
+
+        assertThat(matcher.match(ledger, List.of(line(DAY, -500, "ACH DEBIT 99812")))).containsExactly(0);
+    }
+
+    @Test
+    void thePayeeDecidesBetweenTransactionsOfTheSameDayAndAmount() {
+        List<LedgerEntry> ledger = List.of(
+                entry(1, DAY, -500, "Coffee Shop"),
+                entry(2, DAY, -500, "Bookstore"),
+                entry(3, DAY, -500, "Gas Station"));
+
+        assertThat(matcher.match(ledger, List.of(line(DAY, -500, "BOOKSTORE #12"), line(DAY, -500, "GAS STN"))))
+                .containsExactly(1, 2);
+    }
+
+    @Test
+    void theMemoStandsInForAMissingPayee() {
+        List<LedgerEntry> ledger = List.of(entry(1, DAY, -500, "Coffee Shop"), entry(2, DAY, -500, "Bookstore"));
+        StatementRow row = new StatementRow(1, DAY, Money.ofMinor(-500), null, "Bookstore purchase", null, null, null);
+
+        assertThat(matcher.match(ledger, List.of(row))).containsExactly(1);
+    }
+
+    @Test
+    void repeatedPostingsOfOneDayAndAmountAreMatchedOneToOne() {
+        List<LedgerEntry> ledger = List.of(
+                entry(1, DAY, -250, "Parking"),
+                entry(2, DAY, -250, "Parking"),
+                entry(3, DAY, -250, "Parking"));
+
+        assertThat(matcher.match(ledger, List.of(line(DAY, -250, "Parking"), line(DAY, -250, "Parking"))))
+                .containsExactly(0, 1);
+        assertThat(matcher.match(ledger, List.of(line(DAY, -250, "Parking"), line(DAY, -250, "Parking"),
+                line(DAY, -250, "Parking"), line(DAY, -250, "Parking")))).containsExactly(0, 1, 2, UNMATCHED);
+    }
+
+    @Test
+    void anExactHitWinsOverAToleranceMatchListedBeforeIt() {
+        List<LedgerEntry> ledger = List.of(entry(1, DAY, -500, "Coffee Shop"));
+
+        assertThat(matcher.match(ledger, List.of(line(DAY.plusDays(1), -500, "Coffee Shop"),
+                line(DAY, -500, "Coffee Shop")))).containsExactly(UNMATCHED, 0);
+    }
+
+    @Test
+    void aLinePostedAFewDaysOffMatchesWhenThePayeeAgrees() {
+        List<LedgerEntry> ledger = List.of(entry(1, DAY, -500, "Coffee Shop"), entry(2, DAY, -900, "Bookstore"));
+
+        assertThat(matcher.match(ledger, List.of(
+                line(DAY.plusDays(2), -500, "COFFEE SHOP 0042"),
+                line(DAY.minusDays(2), -900, "Pharmacy")))).containsExactly(0, UNMATCHED);
+    }
+
+    @Test
+    void linesOutsideTheDateToleranceStayUnmatched() {
+        List<LedgerEntry> ledger = List.of(entry(1, DAY, -500, "Coffee Shop"));
+
+        assertThat(matcher.match(ledger, List.of(line(DAY.plusDays(4), -500, "Coffee Shop"))))
+                .containsExactly(UNMATCHED);
+    }
+
+    @Test
+    void theClosestAmountInsideTheAmountToleranceWins() {
+        ReconciliationMatcher tolerant = new ReconciliationMatcher(3, Money.ofMinor(100), 0.5);
+        List<LedgerEntry> ledger = List.of(entry(1, DAY, -503, "Coffee Shop"), entry(2, DAY, -500, "Coffee Shop"));
+
+        assertThat(tolerant.match(ledger, List.of(line(DAY, -504, "Coffee Shop")))).containsExactly(0);
+        assertThat(tolerant.match(ledger, List.of(line(DAY, -699, "Coffee Shop")))).containsExactly(UNMATCHED);
+    }
+
+    @Test
+    void eachTransactionClearsAtMostOneLineWithinTolerance() {
+        List<LedgerEntry> ledger = List.of(entry(1, DAY, -500, "Coffee Shop"), entry(2, DAY.plusDays(3), -500,
+                "Coffee Shop"));
+
+        int[] matches = matcher.match(ledger, List.of(line(DAY.plusDays(1), -500, "Coffee Shop"),
+                line(DAY.plusDays(1), -500, "Coffee Shop"), line(DAY.plusDays(1), -500, "Coffee Shop")));
+
+        assertThat(matches).containsExactlyInAnyOrder(0, 1, UNMATCHED);
+    }
+
+    @Test
+    void linesAtThePeriodEdgesMatchTransactionsJustOutsideIt() {
+        // The ledger window reaches the date tolerance past both ends of a March statement.
+        List<LedgerEntry> ledger = List.of(
+                entry(1, LocalDate.of(2024, 2, 26), -700, "Insurance"),
+                entry(2, LocalDate.of(2024, 2, 28), -500, "Coffee Shop"),
+                entry(3, LocalDate.of(2024, 4, 3), -900, "Bookstore"));
+
+        assertThat(matcher.match(ledger, List.of(
+                line(LocalDate.of(2024, 3, 1), -500, "Coffee Shop"),
+                line(LocalDate.of(2024, 3, 31), -900, "Bookstore"),
+                line(LocalDate.of(2024, 3, 1), -700, "Insurance")))).containsExactly(1, 2, UNMATCHED);
+    }
+
+    @Test
+    void rejectsNegativeTolerances() {
+        assertThatThrownBy(() -> new ReconciliationMatcher(-1, Money.ZERO, 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ReconciliationMatcher(3, Money.ofMinor(-1), 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static LedgerEntry entry(long transactionId, LocalDate postedAt, long minorUnits, String payee) {
+        return new LedgerEntry(transactionId, postedAt, Money.ofMinor(minorUnits), payee);
+    }
+
+    private static StatementRow line(LocalDate postedAt, long minorUnits, String payee) {
+        return new StatementRow(1, postedAt, Money.ofMinor(minorUnits), payee, null, null, null, null);
+    }
+}
@@ -0,0 +1,27 @@
+package com.jwctech.finance.services.rules;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayeeNormalizerTests {
+
+    @Test
+    void caseAndPunctuationVariantsOfAPayeeAgree() {
+        assertThat(PayeeNormalizer.normalize("AMZN Mktp US*2K4")).isEqualTo("amzn mktp us 2k4");
+        assertThat(PayeeNormalizer.normalize("amzn mktp us 2k4")).isEqualTo("amzn mktp us 2k4");
+        assertThat(PayeeNormalizer.normalize("--Amzn-Mktp--US  2K4.")).isEqualTo("amzn mktp us 2k4");
+    }
+
+    @Test
+    void accentsAreFolded() {
+        assertThat(PayeeNormalizer.normalize("Café Crème")).isEqualTo("cafe creme");
+    }
+
+    @Test
+    void missingOrSymbolOnlyPayeesNormalizeToEmpty() {
+        assertThat(PayeeNormalizer.normalize(null)).isEmpty();
+        assertThat(PayeeNormalizer.normalize("")).isEmpty();
+        assertThat(PayeeNormalizer.normalize(" *-# ")).isEmpty();
+    }
+}
@@ -0,0 +1,31 @@
+package com.jwctech.finance.services.rules;
+
+import com.jwctech.finance.money.Money;
+import com.jwctech.finance.repositories.TransactionBatchRepository.NewSplit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RuleMatchTests {
+
+    @Test
+    void theLastSplitTakesTheRoundingRemainder() {
+        RuleMatch thirds = new RuleMatch(1L, null, List.of(
+                new RuleSplit(1L, 333_333), new RuleSplit(2L, 333_333), new RuleSplit(3L, 333_334)));
+
+        assertThat(thirds.allocate(Money.ofMinor(100))).extracting(NewSplit::amount)
+                .containsExactly(Money.ofMinor(33), Money.ofMinor(33), Money.ofMinor(34));
+        assertThat(thirds.allocate(Money.ofMinor(-200))).extracting(NewSplit::amount)
+                .containsExactly(Money.ofMinor(-67), Money.ofMinor(-67), Money.ofMinor(-66));
+    }
+
+    @Test
+    void aSingleSplitTakesTheWholeAmount() {
+        RuleMatch whole = new RuleMatch(1L, 5L, List.of(new RuleSplit(7L, RuleSplit.WHOLE)));
+
+        assertThat(whole.allocate(Money.ofMinor(-1_999))).singleElement()
+                .isEqualTo(new NewSplit(7L, Money.ofMinor(-1_999), null));
+    }
+}
@@ -0,0 +1,44 @@
+package com.jwctech.finance.services.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionSearchIndexTests {
+
+    private static final LocalDate POSTED_AT = LocalDate.of(2025, 3, 14);
+
+    @Test
+    void additionsAreFoundAfterTheLoad() {
+        TransactionSearchIndex index = new TransactionSearchIndex();
+        index.add(1, POSTED_AT, "Corner Bakery", null, List.of());
+        index.markLoaded();
+        index.add(2, POSTED_AT, "Bakery Supply", "flour", List.of());
+
+        assertThat(index.search("bakery", 0, 10).transactionIds()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("flour", 0, 10).transactionIds()).containsExactly(2L);
+    }
+
+    @Test
+    void anIndexOutgrowsItsWeighingOnlyAfterSubstantialGrowth() {
+        TransactionSearchIndex index = new TransactionSearchIndex();
+        index.add(1, POSTED_AT, "Corner Bakery", null, List.of());
+        index.markLoaded();
+        long weighed = index.weigh();
+
+        long id = 2;
+        for (; id < 100; id++) {
+            index.add(id, POSTED_AT, "payee" + id, null, List.of());
+        }
+        assertThat(index.outgrewWeighing()).isFalse();
+
+        for (; !index.outgrewWeighing(); id++) {
+            index.add(id, POSTED_AT, "payee" + id, null, List.of());
+        }
+        assertThat(index.weigh()).isGreaterThan(weighed + 16_384);
+        assertThat(index.outgrewWeighing()).isFalse();
+    }
+}